@@ -0,0 +1,46 @@
+#!/bin/bash
+
+# Compila y ejecuta los benchmarks JMH del paquete tda.
+#
+# Uso:
+#   ./benchmark/bench.sh                      # todos, con perfilador de GC
+#   ./benchmark/bench.sh BenchmarkDiccionario -p tamanio=1000000
+#   ./benchmark/bench.sh -l                   # listar benchmarks
+#
+# Los argumentos se pasan tal cual a JMH (filtro por nombre, -p, -f, -wi, -i...).
+# Cada corrida deja sus resultados en benchmark/resultados/<fecha>.json para
+# comparar antes y después de un cambio en una estructura de datos.
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+RAIZ="$(dirname "$DIR")"
+cd "$DIR"
+
+JMH_VERSION=1.37
+source "$DIR/dependencias.sh"
+dependencias \
+    "org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar" \
+    "org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar" \
+    "net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar" \
+    "org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar" || exit 1
+
+# Compilar: el procesador de anotaciones de JMH genera las clases de cada benchmark
+echo "Compilando benchmarks..."
+rm -rf out
+javac -encoding UTF-8 -cp "$CP" -processorpath "$CP" -sourcepath "$RAIZ/src" -implicit:class \
+    -d out src/benchmark/Benchmark*.java src/benchmark/Utilidades.java
+
+if [ $? -ne 0 ]; then
+    echo "❌ Error de compilación"
+    exit 1
+fi
+
+# Ejecutar (listar no necesita perfilador ni archivo de resultados)
+if [ "$1" = "-l" ]; then
+    java -cp "out:$CP" org.openjdk.jmh.Main -l
+    exit $?
+fi
+mkdir -p resultados
+RESULTADOS="resultados/$(date +%Y%m%d-%H%M%S).json"
+java -cp "out:$CP" org.openjdk.jmh.Main -prof gc -rf json -rff "$RESULTADOS" "$@"
+echo ""
+echo "Resultados: benchmark/$RESULTADOS"
@@ -0,0 +1,43 @@
+#!/bin/bash
+
+# Dataset sintético y carga de trabajo de punta a punta sobre GestorClientes.
+#
+# Uso:
+#   ./benchmark/carga.sh generar salida=data/clientes_1M.bin clientes=1000000
+#   ./benchmark/carga.sh correr datos=data/clientes_carga.bin operaciones=500000
+#
+# Argumentos clave=valor (ver GeneradorDataset y CargaDeTrabajo):
+#   generar: salida, clientes, exponente, solicitudes, vocabulario, semilla
+#   correr:  datos, operaciones, calentamiento, mezcla, semillaCarga, hilos
+#            (+ los de generar, usados si el archivo de datos no existe)
+# Las rutas son relativas a la raíz del proyecto.
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+RAIZ="$(dirname "$DIR")"
+cd "$RAIZ"
+
+case "$1" in
+    generar) CLASE=GeneradorDataset ;;
+    correr) CLASE=CargaDeTrabajo ;;
+    *)
+        echo "Uso: $0 generar|correr [clave=valor...]"
+        exit 1
+        ;;
+esac
+shift
+
+source "$DIR/dependencias.sh"
+dependencias "com/google/code/gson/gson/2.10.1/gson-2.10.1.jar" || exit 1
+
+echo "Compilando..."
+rm -rf "$DIR/out-carga"
+javac -encoding UTF-8 -cp "$CP" -sourcepath src -d "$DIR/out-carga" \
+    "$DIR"/src/benchmark/GeneradorDataset.java "$DIR"/src/benchmark/CargaDeTrabajo.java \
+    "$DIR"/src/benchmark/Argumentos.java
+
+if [ $? -ne 0 ]; then
+    echo "❌ Error de compilación"
+    exit 1
+fi
+
+java -Dfile.encoding=UTF-8 -Dstdout.encoding=UTF-8 -Xms2g -Xmx4g -cp "$DIR/out-carga:$CP" benchmark.$CLASE "$@"
@@ -0,0 +1,26 @@
+#!/bin/bash
+
+# Descarga en lib/ los jars que falten (desde Maven Central) y deja el
+# classpath resultante en CP. Uso: source dependencias.sh; dependencias <ruta>...
+# donde cada ruta es relativa al repositorio, p. ej. org/x/y/1.0/y-1.0.jar
+
+REPOSITORIO=https://repo1.maven.org/maven2
+
+dependencias() {
+    local lib="$RAIZ/lib"
+    mkdir -p "$lib"
+    CP=""
+    for ruta in "$@"; do
+        local jar="$lib/$(basename "$ruta")"
+        if [ ! -f "$jar" ]; then
+            echo "Descargando $(basename "$ruta")..."
+            if ! curl -fsSL -o "$jar" "$REPOSITORIO/$ruta"; then
+                rm -f "$jar"
+                echo "❌ No se pudo descargar $REPOSITORIO/$ruta (copiarlo a lib/ a mano)"
+                return 1
+            fi
+        fi
+        CP="$CP:$jar"
+    done
+    CP="${CP#:}"
+}
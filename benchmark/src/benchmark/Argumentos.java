@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+Argumentos de línea de comandos con la forma clave=valor (como los -p de JMH).
+Las claves que nadie consulta se informan al terminar de leer (verificarUsados),
+así un error de tipeo no pasa desapercibido.
+*/
+final class Argumentos {
+
+    /* Atributos */
+    private final Map<String, String> valores = new HashMap<>();
+    private final Map<String, Boolean> usados = new HashMap<>();
+
+    Argumentos(String[] args) {
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Se esperaba clave=valor: " + arg);
+            }
+            valores.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+    }
+
+    String texto(String clave, String porDefecto) {
+        usados.put(clave, true);
+        return valores.getOrDefault(clave, porDefecto);
+    }
+
+    int entero(String clave, int porDefecto) {
+        String valor = texto(clave, null);
+        return valor == null ? porDefecto : Integer.parseInt(valor.replace("_", ""));
+    }
+
+    double decimal(String clave, double porDefecto) {
+        String valor = texto(clave, null);
+        return valor == null ? porDefecto : Double.parseDouble(valor);
+    }
+
+    /*
+    Falla si quedó alguna clave sin consultar.
+    */
+    void verificarUsados() {
+        for (String clave : valores.keySet()) {
+            if (!usados.containsKey(clave)) {
+                throw new IllegalArgumentException("Argumento desconocido: " + clave);
+            }
+        }
+    }
+}
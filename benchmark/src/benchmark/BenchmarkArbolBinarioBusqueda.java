@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tda.ArbolBinarioBusqueda;
+
+/*
+Benchmark del ABB simple con dos distribuciones de claves:
+- aleatoria: claves enteras distintas en orden aleatorio (altura ~ 2,99 log N).
+- duplicados: claves en 0..100 como el scoring; los iguales se encadenan a la
+  derecha y la altura crece ~ N / 101 (el caso que motivó ArbolAVL).
+
+- buscar: todos los valores de una clave (con duplicados, ~N / 101 valores).
+- insertarYEliminar: alta y baja de un par nuevo (el tamaño no cambia).
+- cargar: llenado desde vacío hasta N (una medición por carga completa).
+
+Las operaciones son recursivas: con duplicados la profundidad llega a miles
+de niveles, por eso la JVM del benchmark usa una pila grande (-Xss).
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g", "-Xss256m" })
+@State(Scope.Thread)
+public class BenchmarkArbolBinarioBusqueda {
+
+    /* Constantes */
+    private static final int CLAVES_DISTINTAS_DUPLICADOS = 101;
+
+    @Param({ "1000", "10000", "100000" })
+    private int tamanio;
+
+    @Param({ "aleatoria", "duplicados" })
+    private String distribucion;
+
+    /* Atributos */
+    private ArbolBinarioBusqueda<Integer, Integer> arbol;
+    private Integer[] claves;   // claves[i] es la clave del valor i
+    private Integer[] valores;
+    private Integer[] nuevos;   // Valores que no están en el árbol
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random azar = new Random(42);
+        claves = new Integer[tamanio];
+        valores = new Integer[tamanio];
+        nuevos = new Integer[tamanio];
+        boolean conDuplicados = "duplicados".equals(distribucion);
+        Integer[] distintas = new Integer[tamanio];
+        for (int i = 0; i < tamanio; i++) distintas[i] = i;
+        Utilidades.mezclar(distintas, azar);
+        for (int i = 0; i < tamanio; i++) {
+            claves[i] = conDuplicados ? Integer.valueOf(azar.nextInt(CLAVES_DISTINTAS_DUPLICADOS)) : distintas[i];
+            valores[i] = i;
+            nuevos[i] = tamanio + i;
+        }
+
+        arbol = new ArbolBinarioBusqueda<>();
+        for (int i = 0; i < tamanio; i++) arbol.insertar(claves[i], valores[i]);
+    }
+
+    private int siguiente() {
+        int i = proximo;
+        if (++proximo == tamanio) proximo = 0;
+        return i;
+    }
+
+    @Benchmark
+    public Object[] buscar() {
+        return arbol.buscar(claves[siguiente()]);
+    }
+
+    @Benchmark
+    public boolean insertarYEliminar() {
+        int i = siguiente();
+        arbol.insertar(claves[i], nuevos[i]);
+        return arbol.eliminar(claves[i], nuevos[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ArbolBinarioBusqueda<Integer, Integer> cargar() {
+        ArbolBinarioBusqueda<Integer, Integer> nuevo = new ArbolBinarioBusqueda<>();
+        for (int i = 0; i < tamanio; i++) nuevo.insertar(claves[i], valores[i]);
+        return nuevo;
+    }
+}
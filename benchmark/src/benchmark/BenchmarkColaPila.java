@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tda.Cola;
+import tda.Pila;
+
+/*
+Throughput de Cola y Pila (listas enlazadas: un nodo por elemento).
+
+- encolarYDesencolar / apilarYDesapilar: una alta y una baja sobre una
+  estructura que ya tiene 'profundidad' elementos (el tamaño no cambia).
+- rafagaCola / rafagaPila: RAFAGA altas seguidas de RAFAGA bajas, como el
+  historial de acciones o una tanda de solicitudes. Cada alta y cada baja
+  cuentan como una operación, así las ops/us se comparan entre ambos modos;
+  con el perfilador de GC se ve el costo de un nodo por alta.
+*/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Thread)
+public class BenchmarkColaPila {
+
+    /* Constantes */
+    private static final int RAFAGA = 1000;
+
+    @Param({ "0", "1000000" })
+    private int profundidad;
+
+    /* Atributos */
+    private Cola<Integer> cola;
+    private Pila<Integer> pila;
+    private final Integer elemento = 12345;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        cola = new Cola<>();
+        pila = new Pila<>();
+        for (int i = 0; i < profundidad; i++) {
+            cola.encolar(i);
+            pila.apilar(i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer encolarYDesencolar() {
+        cola.encolar(elemento);
+        return cola.desencolar();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Integer apilarYDesapilar() {
+        pila.apilar(elemento);
+        return pila.desapilar();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * RAFAGA)
+    public int rafagaCola() {
+        for (int i = 0; i < RAFAGA; i++) cola.encolar(elemento);
+        int suma = 0;
+        for (int i = 0; i < RAFAGA; i++) suma += cola.desencolar();
+        return suma;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * RAFAGA)
+    public int rafagaPila() {
+        for (int i = 0; i < RAFAGA; i++) pila.apilar(elemento);
+        int suma = 0;
+        for (int i = 0; i < RAFAGA; i++) suma += pila.desapilar();
+        return suma;
+    }
+}
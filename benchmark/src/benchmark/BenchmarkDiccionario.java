@@ -0,0 +1,123 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tda.Diccionario;
+
+/*
+Benchmark de Diccionario con N claves ya cargadas.
+
+- obtener / obtenerAusente: búsqueda de una clave presente / inexistente.
+- insertarYEliminar: alta y baja de una clave nueva (el tamaño no cambia,
+  así cada medición ve la misma tabla).
+- eliminarYReinsertar: baja y alta de una clave presente.
+- cargar: llenado desde vacío hasta N, con todos los redimensionamientos
+  (una medición por carga completa; dividir por N para el costo por alta).
+
+Las claves son Integer creados en la preparación: lo medido no incluye boxing.
+El orden de acceso es aleatorio, recorrido de forma cíclica.
+funcionHash compara el hash directo con la mezcla fmix32 (ver
+Diccionario.FuncionHash): las claves pares ya dejan la mitad de los buckets
+vacíos cuando la tabla supera el rango de claves.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class BenchmarkDiccionario {
+
+    /* Constantes */
+    private static final int MAXIMO_AUSENTES = 1 << 20;
+
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    private int tamanio;
+
+    @Param({ "DIRECTA", "MEZCLADA" })
+    private Diccionario.FuncionHash funcionHash;
+
+    /* Atributos */
+    private Diccionario<Integer, Integer> diccionario;
+    private Integer[] presentes;  // Claves pares cargadas, en orden aleatorio
+    private Integer[] ausentes;   // Claves impares: nunca quedan en el diccionario
+    private int proximoPresente;
+    private int proximoAusente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random azar = new Random(42);
+        presentes = new Integer[tamanio];
+        for (int i = 0; i < tamanio; i++) presentes[i] = 2 * i;
+        Utilidades.mezclar(presentes, azar);
+        ausentes = new Integer[Math.min(tamanio, MAXIMO_AUSENTES)];
+        for (int i = 0; i < ausentes.length; i++) ausentes[i] = 2 * azar.nextInt(tamanio) + 1;
+
+        diccionario = nuevoDiccionario();
+        for (Integer clave : presentes) diccionario.insertar(clave, clave);
+    }
+
+    private Diccionario<Integer, Integer> nuevoDiccionario() {
+        return new Diccionario<>(64, Diccionario.FACTOR_CARGA_DEFAULT, false, funcionHash);
+    }
+
+    private Integer siguientePresente() {
+        Integer clave = presentes[proximoPresente];
+        if (++proximoPresente == presentes.length) proximoPresente = 0;
+        return clave;
+    }
+
+    private Integer siguienteAusente() {
+        Integer clave = ausentes[proximoAusente];
+        if (++proximoAusente == ausentes.length) proximoAusente = 0;
+        return clave;
+    }
+
+    @Benchmark
+    public Integer obtener() {
+        return diccionario.obtener(siguientePresente());
+    }
+
+    @Benchmark
+    public Integer obtenerAusente() {
+        return diccionario.obtener(siguienteAusente());
+    }
+
+    @Benchmark
+    public Integer insertarYEliminar() {
+        Integer clave = siguienteAusente();
+        diccionario.insertar(clave, clave);
+        return diccionario.eliminar(clave);
+    }
+
+    @Benchmark
+    public Integer eliminarYReinsertar() {
+        Integer clave = siguientePresente();
+        Integer valor = diccionario.eliminar(clave);
+        diccionario.insertar(clave, valor);
+        return valor;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Diccionario<Integer, Integer> cargar() {
+        Diccionario<Integer, Integer> nuevo = nuevoDiccionario();
+        for (Integer clave : presentes) nuevo.insertar(clave, clave);
+        return nuevo;
+    }
+}
@@ -0,0 +1,338 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import modelo.Cliente;
+import modelo.Sesion;
+import servicio.GestorClientes;
+
+/*
+Carga de trabajo de punta a punta sobre GestorClientes: reproduce tráfico
+mixto como el del menú y mide cada operación por separado.
+
+Operaciones (pesos configurables con mezcla=login:10,buscarPorId:35,...):
+- login: buscarPorId + iniciar sesión + percentil de influencia (como el menú).
+- buscarPorId: cliente uniforme.
+- seguir / enviarSolicitud: del usuario en sesión hacia un objetivo elegido
+  por popularidad (ley de Zipf sobre los IDs mezclados con la semilla).
+- deshacer: última acción del historial de la sesión.
+- buscarPorNombre: nombre de un cliente elegido por popularidad (siempre existe).
+
+Primero corre 'calentamiento' operaciones sin medir (JIT, índices perezosos) y
+después 'operaciones' medidas con System.nanoTime() alrededor de cada llamada.
+Informa, por operación: cantidad, ops/s dentro de la mezcla, media y
+percentiles p50 / p99 / p99.9 / máximo; y el throughput total.
+
+Con hilos=N (N > 1) el gestor pasa a modo concurrente y N usuarios corren la
+mezcla a la vez, cada uno con su Sesion vinculada al hilo y su propio Random
+(semillaCarga + i); cada hilo ejecuta operaciones / N. El throughput total es
+el de la fase medida completa (desde que todos terminaron de calentar hasta
+que termina el último) y las latencias son las de todos los hilos juntas.
+Comparar hilos=1 con hilos=N en la misma máquina da la escalabilidad; con
+más hilos que núcleos solo se mide la contención.
+
+Si el archivo de datos no existe se genera con GeneradorDataset (mismos
+argumentos: clientes, exponente, solicitudes, vocabulario, semilla).
+*/
+public class CargaDeTrabajo {
+
+    /* Constantes */
+    private static final String MEZCLA_POR_DEFECTO =
+            "login:10,buscarPorId:35,seguir:15,enviarSolicitud:15,deshacer:10,buscarPorNombre:15";
+
+    /*
+    Operaciones de la mezcla; el nombre es el del método del gestor (o del menú).
+    */
+    enum Operacion {
+        LOGIN("login"), BUSCAR_POR_ID("buscarPorId"), SEGUIR("seguir"),
+        ENVIAR_SOLICITUD("enviarSolicitud"), DESHACER("deshacer"), BUSCAR_POR_NOMBRE("buscarPorNombre");
+
+        final String nombre;
+
+        Operacion(String nombre) {
+            this.nombre = nombre;
+        }
+    }
+
+    /* Atributos */
+    private final GestorClientes gestor;
+    private final Random azar;
+    private final int[] ids;                  // Todos los IDs, mezclados: el índice es el rango de popularidad
+    private final GeneradorDataset.Zipf popularidad;
+    private final Operacion[] ruleta;         // Operación por cada punto de peso
+    private final Latencias[] latencias;
+    private long nanosMedidos;
+    private long resultados;                  // Evita que el JIT descarte llamadas sin efecto
+
+    /*
+    Latencias en nanosegundos de una operación (arreglo creciente).
+    */
+    static final class Latencias {
+        private long[] valores = new long[1024];
+        private int cantidad;
+
+        void agregar(long nanos) {
+            if (cantidad == valores.length) valores = java.util.Arrays.copyOf(valores, cantidad * 2);
+            valores[cantidad++] = nanos;
+        }
+
+        void agregar(Latencias otras) {
+            for (int i = 0; i < otras.cantidad; i++) agregar(otras.valores[i]);
+        }
+
+        /*
+        Ordena las latencias registradas (una vez, antes de pedir percentiles).
+        */
+        void ordenar() {
+            java.util.Arrays.sort(valores, 0, cantidad);
+        }
+
+        /*
+        Percentil por rango más cercano sobre latencias ya ordenadas.
+        */
+        long percentil(double p) {
+            if (cantidad == 0) return 0;
+            int posicion = (int) Math.ceil(p / 100.0 * cantidad) - 1;
+            return valores[Math.max(0, Math.min(cantidad - 1, posicion))];
+        }
+
+        double media() {
+            long suma = 0;
+            for (int i = 0; i < cantidad; i++) suma += valores[i];
+            return cantidad == 0 ? 0 : (double) suma / cantidad;
+        }
+
+        int getCantidad() {
+            return cantidad;
+        }
+    }
+
+    public CargaDeTrabajo(GestorClientes gestor, String mezcla, long semilla) {
+        this.gestor = gestor;
+        this.azar = new Random(semilla);
+        Cliente[] todos = gestor.obtenerTodosLosClientes();
+        if (todos.length == 0) throw new IllegalArgumentException("El gestor no tiene clientes");
+        this.ids = new int[todos.length];
+        for (int i = 0; i < todos.length; i++) ids[i] = todos[i].getId();
+        java.util.Arrays.sort(ids);  // Orden estable entre corridas, antes de mezclar con la semilla
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = azar.nextInt(i + 1);
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        this.popularidad = new GeneradorDataset.Zipf(ids.length, 1.0);
+        this.ruleta = armarRuleta(mezcla);
+        this.latencias = new Latencias[Operacion.values().length];
+        for (int i = 0; i < latencias.length; i++) latencias[i] = new Latencias();
+    }
+
+    /*
+    Otro usuario sobre el mismo gestor y la misma población de IDs, con su
+    propio generador y sus propias latencias (para correr en otro hilo).
+    */
+    private CargaDeTrabajo(CargaDeTrabajo base, long semilla) {
+        this.gestor = base.gestor;
+        this.azar = new Random(semilla);
+        this.ids = base.ids;
+        this.popularidad = base.popularidad;
+        this.ruleta = base.ruleta;
+        this.latencias = new Latencias[Operacion.values().length];
+        for (int i = 0; i < latencias.length; i++) latencias[i] = new Latencias();
+    }
+
+    /*
+    Traduce "nombre:peso,..." a una ruleta con un casillero por punto de peso.
+    */
+    private static Operacion[] armarRuleta(String mezcla) {
+        int[] pesos = new int[Operacion.values().length];
+        int total = 0;
+        for (String parte : mezcla.split(",")) {
+            String[] nombrePeso = parte.trim().split(":");
+            if (nombrePeso.length != 2) throw new IllegalArgumentException("Mezcla inválida: " + parte);
+            Operacion operacion = operacionLlamada(nombrePeso[0]);
+            int peso = Integer.parseInt(nombrePeso[1]);
+            if (peso < 0) throw new IllegalArgumentException("Peso negativo: " + parte);
+            pesos[operacion.ordinal()] = peso;
+            total += peso;
+        }
+        if (total == 0) throw new IllegalArgumentException("La mezcla no tiene operaciones");
+        Operacion[] ruleta = new Operacion[total];
+        int k = 0;
+        for (Operacion operacion : Operacion.values()) {
+            for (int i = 0; i < pesos[operacion.ordinal()]; i++) ruleta[k++] = operacion;
+        }
+        return ruleta;
+    }
+
+    private static Operacion operacionLlamada(String nombre) {
+        for (Operacion operacion : Operacion.values()) {
+            if (operacion.nombre.equals(nombre)) return operacion;
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + nombre);
+    }
+
+    private int idUniforme() {
+        return ids[azar.nextInt(ids.length)];
+    }
+
+    private int idPopular() {
+        return ids[popularidad.muestra(azar)];
+    }
+
+    /*
+    Ejecuta 'cantidad' operaciones de la mezcla; si medir es false solo calienta.
+    */
+    public void ejecutar(int cantidad, boolean medir) {
+        Sesion sesion = Sesion.getInstancia();
+        if (!sesion.estaAutenticado()) sesion.iniciarSesion(gestor.buscarPorId(idUniforme()));
+        long inicioFase = System.nanoTime();
+        for (int i = 0; i < cantidad; i++) {
+            Operacion operacion = ruleta[azar.nextInt(ruleta.length)];
+            // Los argumentos se eligen fuera de la medición
+            int actual = sesion.getIdUsuarioActual();
+            int id = operacion == Operacion.BUSCAR_POR_NOMBRE || operacion == Operacion.SEGUIR
+                    || operacion == Operacion.ENVIAR_SOLICITUD ? idPopular() : idUniforme();
+            while (operacion == Operacion.ENVIAR_SOLICITUD && id == actual) {
+                id = idPopular();  // Una solicitud a sí mismo es inválida (SolicitudSeguimiento)
+            }
+            String nombre = operacion == Operacion.BUSCAR_POR_NOMBRE ? gestor.buscarPorId(id).getNombre() : null;
+
+            long inicio = System.nanoTime();
+            switch (operacion) {
+                case LOGIN:
+                    Cliente cliente = gestor.buscarPorId(id);
+                    sesion.iniciarSesion(cliente);
+                    resultados += (long) gestor.obtenerTopPorcentajeScoring(id);
+                    break;
+                case BUSCAR_POR_ID:
+                    resultados += gestor.buscarPorId(id).getScoring();
+                    break;
+                case SEGUIR:
+                    if (gestor.seguir(actual, id)) resultados++;
+                    break;
+                case ENVIAR_SOLICITUD:
+                    if (gestor.enviarSolicitud(actual, id)) resultados++;
+                    break;
+                case DESHACER:
+                    if (gestor.deshacer() != null) resultados++;
+                    break;
+                default:
+                    resultados += gestor.buscarPorNombre(nombre).length;
+                    break;
+            }
+            long nanos = System.nanoTime() - inicio;
+            if (medir) latencias[operacion.ordinal()].agregar(nanos);
+        }
+        if (medir) nanosMedidos += System.nanoTime() - inicioFase;
+    }
+
+    /*
+    Corre la mezcla con 'hilos' usuarios simultáneos (el gestor debe estar en
+    modo concurrente). Deja en este objeto las latencias de todos y, como
+    tiempo medido, el de la fase medida completa.
+    */
+    public void ejecutarEnParalelo(int hilos, int calentamiento, int operaciones, long semilla) {
+        CargaDeTrabajo[] usuarios = new CargaDeTrabajo[hilos];
+        Thread[] trabajadores = new Thread[hilos];
+        java.util.concurrent.CountDownLatch calientes = new java.util.concurrent.CountDownLatch(hilos);
+        java.util.concurrent.CountDownLatch largada = new java.util.concurrent.CountDownLatch(1);
+        for (int i = 0; i < hilos; i++) {
+            CargaDeTrabajo usuario = new CargaDeTrabajo(this, semilla + i + 1);
+            int cuota = operaciones / hilos + (i < operaciones % hilos ? 1 : 0);
+            usuarios[i] = usuario;
+            trabajadores[i] = new Thread(() -> {
+                Sesion.vincularAlHilo(Sesion.nueva());
+                usuario.ejecutar(calentamiento / hilos, false);
+                calientes.countDown();
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                usuario.ejecutar(cuota, true);
+            }, "usuario-" + i);
+            trabajadores[i].start();
+        }
+        try {
+            calientes.await();
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Thread t : trabajadores) t.join();
+            nanosMedidos += System.nanoTime() - inicio;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga interrumpida", e);
+        }
+        for (CargaDeTrabajo usuario : usuarios) {
+            for (int i = 0; i < latencias.length; i++) latencias[i].agregar(usuario.latencias[i]);
+            resultados += usuario.resultados;
+        }
+    }
+
+    /*
+    Tabla con throughput y percentiles (µs) por operación y total.
+    */
+    public String informe() {
+        StringBuilder sb = new StringBuilder();
+        double segundos = nanosMedidos / 1e9;
+        sb.append(String.format("%-16s %10s %11s %9s %9s %9s %9s %10s%n",
+                "Operación", "cantidad", "ops/s", "media µs", "p50 µs", "p99 µs", "p99.9 µs", "máx µs"));
+        Latencias todas = new Latencias();
+        for (Operacion operacion : Operacion.values()) {
+            Latencias l = latencias[operacion.ordinal()];
+            if (l.getCantidad() == 0) continue;
+            l.ordenar();
+            for (int i = 0; i < l.getCantidad(); i++) todas.agregar(l.valores[i]);
+            agregarFila(sb, operacion.nombre, l, segundos);
+        }
+        todas.ordenar();
+        agregarFila(sb, "TOTAL", todas, segundos);
+        sb.append(String.format("%,d operaciones en %.2f s (%d clientes)%n",
+                todas.getCantidad(), segundos, ids.length));
+        return sb.toString();
+    }
+
+    private static void agregarFila(StringBuilder sb, String nombre, Latencias l, double segundos) {
+        sb.append(String.format("%-16s %,10d %,11.0f %9.2f %9.2f %9.2f %9.2f %,10.1f%n",
+                nombre, l.getCantidad(), l.getCantidad() / segundos, l.media() / 1e3,
+                l.percentil(50) / 1e3, l.percentil(99) / 1e3, l.percentil(99.9) / 1e3,
+                l.percentil(100) / 1e3));
+    }
+
+    /*
+    Uso: CargaDeTrabajo [datos=data/clientes_carga.bin] [operaciones=500000]
+         [calentamiento=operaciones/5] [mezcla=login:10,...] [semillaCarga=7]
+         [hilos=1] + argumentos de GeneradorDataset si hay que generar los datos.
+    */
+    public static void main(String[] args) throws IOException {
+        Argumentos argumentos = new Argumentos(args);
+        String datos = argumentos.texto("datos", "data/clientes_carga.bin");
+        int operaciones = argumentos.entero("operaciones", 500_000);
+        int calentamiento = argumentos.entero("calentamiento", operaciones / 5);
+        String mezcla = argumentos.texto("mezcla", MEZCLA_POR_DEFECTO);
+        long semilla = argumentos.entero("semillaCarga", 7);
+        int hilos = argumentos.entero("hilos", 1);
+        GeneradorDataset generador = GeneradorDataset.desdeArgumentos(argumentos);
+        argumentos.verificarUsados();
+
+        if (!new File(datos).exists()) {
+            System.out.println("Generando " + datos + "...");
+            generador.generar(datos);
+        }
+        GestorClientes gestor = new GestorClientes(datos);
+        gestor.iniciarIndiceNombresEnSegundoPlano();  // Como el menú al arrancar
+        CargaDeTrabajo carga = new CargaDeTrabajo(gestor, mezcla, semilla);
+        if (hilos > 1) {
+            gestor.activarModoConcurrente();
+            carga.ejecutarEnParalelo(hilos, calentamiento, operaciones, semilla);
+            System.out.printf("%d hilos (%d núcleos)%n", hilos, Runtime.getRuntime().availableProcessors());
+        } else {
+            carga.ejecutar(calentamiento, false);
+            carga.ejecutar(operaciones, true);
+        }
+        System.out.print(carga.informe());
+    }
+}
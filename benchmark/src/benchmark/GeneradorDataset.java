@@ -0,0 +1,263 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import modelo.Cliente;
+import modelo.EstadoCliente;
+import persistencia.EscrituraClientes;
+import persistencia.SnapshotBinario;
+import util.Validador;
+
+/*
+Generador determinista de redes sociales sintéticas: misma configuración y
+semilla => mismo archivo, byte a byte.
+
+Modelo:
+- IDs 1..N, scoring uniforme en el dominio validado.
+- Popularidad con ley de potencias: cada cliente tiene un rango de
+  popularidad (permutación aleatoria de los IDs) y el de rango r es elegido
+  como objetivo con probabilidad proporcional a 1 / r^exponente (Zipf). Así la
+  cantidad de seguidores queda con cola pesada: pocos clientes con miles y la
+  mayoría con 0 o 1.
+- Cada cliente sigue a entre 0 y Cliente.MAX_SEGUIDOS objetivos distintos.
+- Solicitudes pendientes: solicitudesPorCliente * N en total, de un
+  solicitante uniforme hacia un objetivo elegido por popularidad.
+- Nombres: vocabulario de 'vocabulario' nombres completos (nombre + apellido
+  armado con sílabas); cada cliente toma uno con la misma ley de Zipf (los
+  nombres comunes se repiten mucho, como en datos reales).
+
+Los seguidores se escriben como inverso exacto de siguiendo. El archivo sale en
+binario si la ruta termina en .bin y en JSON en otro caso.
+Memoria: O(N) enteros para las relaciones, más N dobles para cada Zipf.
+*/
+public class GeneradorDataset {
+
+    /* Constantes */
+    public static final int PRIMER_ID = 1;
+    private static final String[] NOMBRES = {
+        "Ana", "Bruno", "Carla", "Diego", "Elena", "Facundo", "Gabriela", "Hernan", "Ines", "Julian",
+        "Karina", "Lucas", "Martina", "Nicolas", "Olivia", "Pablo", "Quimey", "Rocio", "Santiago", "Tamara",
+        "Ulises", "Valentina", "Walter", "Ximena", "Yamila", "Zoe", "Agustin", "Belen", "Camila", "Dario",
+        "Emilia", "Federico", "Guadalupe", "Hugo", "Ivan", "Josefina", "Lautaro", "Micaela", "Nahuel", "Paula"
+    };
+    private static final String[] SILABAS = {
+        "ra", "mi", "gon", "fer", "nan", "dez", "lo", "pe", "sil", "va", "ro", "dri", "guez", "mar",
+        "ti", "nez", "ca", "bre", "ra", "sua", "al", "var", "ez", "to", "rres", "mo", "li", "na"
+    };
+
+    /* Atributos */
+    private final int clientes;
+    private final double exponente;
+    private final double solicitudesPorCliente;
+    private final int vocabulario;
+    private final long semilla;
+
+    /*
+    clientes: N; exponente: de la ley de potencias (> 0, ~1 en redes reales);
+    solicitudesPorCliente: promedio de pendientes (>= 0); vocabulario: nombres
+    distintos posibles (>= 1); semilla: determina todo el resultado.
+    */
+    public GeneradorDataset(int clientes, double exponente, double solicitudesPorCliente,
+            int vocabulario, long semilla) {
+        if (clientes < 1) throw new IllegalArgumentException("Se necesita al menos un cliente");
+        if (!(exponente > 0)) throw new IllegalArgumentException("El exponente debe ser mayor a 0");
+        if (!(solicitudesPorCliente >= 0)) throw new IllegalArgumentException("Solicitudes inválidas");
+        if (vocabulario < 1) throw new IllegalArgumentException("El vocabulario debe tener al menos un nombre");
+        this.clientes = clientes;
+        this.exponente = exponente;
+        this.solicitudesPorCliente = solicitudesPorCliente;
+        this.vocabulario = vocabulario;
+        this.semilla = semilla;
+    }
+
+    /*
+    Muestreo por inversión de la distribución de Zipf sobre los rangos 0..n-1.
+    Complejidad: O(n) construir, O(log n) por muestra.
+    */
+    static final class Zipf {
+        private final double[] acumulada;
+
+        Zipf(int n, double exponente) {
+            acumulada = new double[n];
+            double suma = 0;
+            for (int r = 0; r < n; r++) {
+                suma += 1.0 / Math.pow(r + 1, exponente);
+                acumulada[r] = suma;
+            }
+        }
+
+        int muestra(Random azar) {
+            double objetivo = azar.nextDouble() * acumulada[acumulada.length - 1];
+            int bajo = 0, alto = acumulada.length - 1;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (acumulada[medio] < objetivo) bajo = medio + 1;
+                else alto = medio;
+            }
+            return bajo;
+        }
+    }
+
+    /*
+    Genera el dataset y lo escribe en ruta. Retorna la cantidad de relaciones
+    de seguimiento generadas.
+    */
+    public long generar(String ruta) throws IOException {
+        Random azar = new Random(semilla);
+        int n = clientes;
+
+        // Rango de popularidad -> ID (permutación Fisher-Yates)
+        int[] porRango = new int[n];
+        for (int i = 0; i < n; i++) porRango[i] = PRIMER_ID + i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = azar.nextInt(i + 1);
+            int t = porRango[i];
+            porRango[i] = porRango[j];
+            porRango[j] = t;
+        }
+        Zipf popularidad = new Zipf(n, exponente);
+
+        // Seguidos: a lo sumo MAX_SEGUIDOS por cliente, sin repetir ni seguirse a sí mismo
+        int maximo = Cliente.MAX_SEGUIDOS;
+        int[] seguidos = new int[n * maximo];
+        int[] cantidadSeguidos = new int[n];
+        int[] cantidadSeguidores = new int[n];
+        for (int i = 0; i < n; i++) {
+            int id = PRIMER_ID + i;
+            int deseados = azar.nextInt(maximo + 1);
+            for (int intento = 0; intento < 4 * deseados && cantidadSeguidos[i] < deseados; intento++) {
+                int objetivo = porRango[popularidad.muestra(azar)];
+                if (objetivo == id || contiene(seguidos, i * maximo, cantidadSeguidos[i], objetivo)) continue;
+                seguidos[i * maximo + cantidadSeguidos[i]++] = objetivo;
+                cantidadSeguidores[objetivo - PRIMER_ID]++;
+            }
+        }
+        int[] inicioSeguidores = prefijos(cantidadSeguidores);
+        int[] seguidores = new int[inicioSeguidores[n]];
+        int[] llenos = new int[n];
+        long relaciones = 0;
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < cantidadSeguidos[i]; k++) {
+                int destino = seguidos[i * maximo + k] - PRIMER_ID;
+                seguidores[inicioSeguidores[destino] + llenos[destino]++] = PRIMER_ID + i;
+                relaciones++;
+            }
+        }
+
+        // Solicitudes pendientes: solicitante uniforme, objetivo por popularidad
+        long totalSolicitudes = Math.round(solicitudesPorCliente * n);
+        if (totalSolicitudes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Demasiadas solicitudes: " + totalSolicitudes);
+        }
+        int[] solicitanteDe = new int[(int) totalSolicitudes];
+        int[] objetivoDe = new int[solicitanteDe.length];
+        int[] cantidadSolicitudes = new int[n];
+        for (int s = 0; s < solicitanteDe.length; s++) {
+            int objetivo = porRango[popularidad.muestra(azar)];
+            int solicitante = PRIMER_ID + azar.nextInt(n);
+            if (solicitante == objetivo) solicitante = solicitante == PRIMER_ID + n - 1 ? PRIMER_ID : solicitante + 1;
+            if (solicitante == objetivo) continue;  // N == 1
+            solicitanteDe[s] = solicitante;
+            objetivoDe[s] = objetivo;
+            cantidadSolicitudes[objetivo - PRIMER_ID]++;
+        }
+        int[] inicioSolicitudes = prefijos(cantidadSolicitudes);
+        int[] solicitantes = new int[inicioSolicitudes[n]];
+        java.util.Arrays.fill(llenos, 0);
+        for (int s = 0; s < solicitanteDe.length; s++) {
+            if (objetivoDe[s] == 0) continue;
+            int destino = objetivoDe[s] - PRIMER_ID;
+            solicitantes[inicioSolicitudes[destino] + llenos[destino]++] = solicitanteDe[s];
+        }
+        solicitanteDe = null;
+        objetivoDe = null;
+
+        // Nombres y escritura en orden de ID
+        String[] nombres = crearVocabulario(new Random(semilla ^ 0x5DEECE66DL));
+        Zipf frecuenciaNombres = new Zipf(nombres.length, 1.0);
+        try (EscrituraClientes escritura = EscrituraClientes.abrir(ruta, n, SnapshotBinario.esRutaBinaria(ruta))) {
+            for (int i = 0; i < n; i++) {
+                String nombre = nombres[frecuenciaNombres.muestra(azar)];
+                int scoring = Validador.SCORING_MINIMO
+                        + azar.nextInt(Validador.SCORING_MAXIMO - Validador.SCORING_MINIMO + 1);
+                escritura.agregar(new EstadoCliente(PRIMER_ID + i, nombre, scoring,
+                        java.util.Arrays.copyOfRange(seguidos, i * maximo, i * maximo + cantidadSeguidos[i]),
+                        java.util.Arrays.copyOfRange(seguidores, inicioSeguidores[i], inicioSeguidores[i + 1]),
+                        java.util.Arrays.copyOfRange(solicitantes, inicioSolicitudes[i], inicioSolicitudes[i + 1])));
+            }
+            escritura.finalizar();
+        }
+        return relaciones;
+    }
+
+    private static boolean contiene(int[] datos, int desde, int cantidad, int valor) {
+        for (int k = desde; k < desde + cantidad; k++) {
+            if (datos[k] == valor) return true;
+        }
+        return false;
+    }
+
+    /*
+    inicio[i] = suma de cantidades[0..i); inicio[n] = total.
+    */
+    private static int[] prefijos(int[] cantidades) {
+        int[] inicio = new int[cantidades.length + 1];
+        for (int i = 0; i < cantidades.length; i++) inicio[i + 1] = inicio[i] + cantidades[i];
+        return inicio;
+    }
+
+    /*
+    'vocabulario' nombres completos distintos: nombre de la lista + apellido de
+    2 a 4 sílabas. Con vocabularios grandes se agrega un segundo apellido.
+    */
+    private String[] crearVocabulario(Random azar) {
+        String[] resultado = new String[vocabulario];
+        java.util.HashSet<String> usados = new java.util.HashSet<>();
+        int i = 0;
+        int intentos = 0;
+        while (i < vocabulario) {
+            StringBuilder nombre = new StringBuilder(NOMBRES[azar.nextInt(NOMBRES.length)]).append(' ');
+            agregarApellido(nombre, azar);
+            if (++intentos > 4 * vocabulario) {  // Espacio casi agotado: doble apellido
+                nombre.append(' ');
+                agregarApellido(nombre, azar);
+            }
+            if (usados.add(nombre.toString())) resultado[i++] = nombre.toString();
+        }
+        return resultado;
+    }
+
+    private static void agregarApellido(StringBuilder destino, Random azar) {
+        int silabas = 2 + azar.nextInt(3);
+        int inicio = destino.length();
+        for (int s = 0; s < silabas; s++) destino.append(SILABAS[azar.nextInt(SILABAS.length)]);
+        destino.setCharAt(inicio, Character.toUpperCase(destino.charAt(inicio)));
+    }
+
+    /*
+    Uso: GeneradorDataset salida=data/clientes_1M.bin [clientes=1000000]
+         [exponente=1.0] [solicitudes=0.5] [vocabulario=20000] [semilla=42]
+    */
+    public static void main(String[] args) throws IOException {
+        Argumentos argumentos = new Argumentos(args);
+        String salida = argumentos.texto("salida", "data/clientes_1M.bin");
+        GeneradorDataset generador = desdeArgumentos(argumentos);
+        argumentos.verificarUsados();
+        long inicio = System.nanoTime();
+        long relaciones = generador.generar(salida);
+        System.out.printf("%s: %,d clientes, %,d relaciones en %d ms%n", salida, generador.clientes,
+                relaciones, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /*
+    Configuración a partir de argumentos clave=valor (con los valores por defecto de main).
+    */
+    static GeneradorDataset desdeArgumentos(Argumentos argumentos) {
+        return new GeneradorDataset(
+                argumentos.entero("clientes", 1_000_000),
+                argumentos.decimal("exponente", 1.0),
+                argumentos.decimal("solicitudes", 0.5),
+                argumentos.entero("vocabulario", 20_000),
+                argumentos.entero("semilla", 42));
+    }
+}
@@ -0,0 +1,24 @@
+package benchmark;
+
+import java.util.Random;
+
+/*
+Utilidades compartidas por los benchmarks (preparación de datos, fuera de lo medido).
+*/
+final class Utilidades {
+
+    private Utilidades() {
+    }
+
+    /*
+    Mezcla Fisher-Yates con la semilla dada: mismos datos en cada corrida.
+    */
+    static <T> void mezclar(T[] elementos, Random azar) {
+        for (int i = elementos.length - 1; i > 0; i--) {
+            int j = azar.nextInt(i + 1);
+            T t = elementos[i];
+            elementos[i] = elementos[j];
+            elementos[j] = t;
+        }
+    }
+}
@@ -11,7 +11,7 @@ rm -rf out
 # Compilar
 echo "Compilando..."
 cd src
-javac -cp ../lib/gson-2.10.1.jar -d ../out Main.java tda/*.java modelo/*.java servicio/*.java vista/*.java interfaces/*.java util/*.java
+javac -cp ../lib/gson-2.10.1.jar -d ../out Main.java tda/*.java modelo/*.java servicio/*.java vista/*.java interfaces/*.java util/*.java persistencia/*.java
 
 if [ $? -eq 0 ]; then
     echo "Compilación exitosa"
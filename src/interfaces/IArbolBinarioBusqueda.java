@@ -1,5 +1,7 @@
 package interfaces;
 
+import java.util.Iterator;
+
 /*
 Interfaz genérica para Árbol Binario de Búsqueda (ABB).
 Define el contrato para el TDA ABB ordenado por clave.
@@ -56,4 +58,49 @@ public interface IArbolBinarioBusqueda<K extends Comparable<K>, V> {
     Complejidad: O(N).
     */
     int getAltura();
+
+    /*
+    Recorre en orden ascendente de clave los valores con desde <= clave <= hasta.
+    Un límite null significa sin límite. El recorrido es perezoso: cada next()
+    avanza sobre el árbol, sin materializar los resultados. El árbol no debe
+    modificarse mientras se usa el iterador.
+    Complejidad: O(log N) al crear + O(1) amortizado por elemento.
+    */
+    Iterator<V> iterarRango(K desde, K hasta);
+
+    /*
+    Igual que iterarRango, en orden descendente de clave (de hasta a desde).
+    */
+    Iterator<V> iterarRangoDescendente(K desde, K hasta);
+
+    /*
+    Mayor clave presente <= clave, o null si no hay.
+    Complejidad: O(altura).
+    */
+    K piso(K clave);
+
+    /*
+    Menor clave presente >= clave, o null si no hay.
+    Complejidad: O(altura).
+    */
+    K techo(K clave);
+
+    /*
+    Cantidad de valores con clave < clave (rank).
+    Complejidad: O(altura), usando el tamaño de subárbol de cada nodo.
+    */
+    int contarMenores(K clave);
+
+    /*
+    Valor en la posición indicada del orden ascendente por clave (select),
+    0 = menor clave. Retorna null si la posición está fuera de rango.
+    Complejidad: O(altura).
+    */
+    V seleccionar(int posicion);
+
+    /*
+    Cantidad de valores con desde <= clave <= hasta (null = sin límite).
+    Complejidad: O(altura).
+    */
+    int contarEnRango(K desde, K hasta);
 }
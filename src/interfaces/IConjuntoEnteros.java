@@ -0,0 +1,46 @@
+package interfaces;
+
+/*
+Interfaz para conjuntos de enteros primitivos (elementos únicos, sin boxing).
+Define el contrato para el TDA ConjuntoEnteros.
+
+SOLID: ISP - Interfaz específica para conjuntos de IDs
+SOLID: DIP - Permite depender de la abstracción
+*/
+public interface IConjuntoEnteros {
+
+    /*
+    Agrega un elemento. Retorna false si ya estaba.
+    */
+    boolean agregar(int elemento);
+
+    /*
+    Verifica si el conjunto contiene un elemento.
+    */
+    boolean contiene(int elemento);
+
+    /*
+    Elimina un elemento. Retorna false si no estaba.
+    */
+    boolean eliminar(int elemento);
+
+    /*
+    Retorna la cantidad de elementos en el conjunto.
+    */
+    int getCantidad();
+
+    /*
+    Verifica si el conjunto está vacío.
+    */
+    boolean estaVacio();
+
+    /*
+    Retorna una copia de los elementos en orden ascendente.
+    */
+    int[] obtenerElementos();
+
+    /*
+    Aplica la acción a cada elemento, sin copiar ni ordenar (orden no especificado).
+    */
+    void recorrer(java.util.function.IntConsumer accion);
+}
@@ -1,5 +1,9 @@
 package interfaces;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+
 /*
 Interfaz genérica para estructura de diccionario (clave-valor).
 Define el contrato para el TDA Diccionario.
@@ -51,4 +55,21 @@ public interface IDiccionario<K, V> {
     Retorna todos los valores del diccionario.
     */
     Object[] obtenerValores();
+
+    /*
+    Aplica la acción a cada par clave-valor sin copiar la tabla.
+    El diccionario no debe modificarse durante el recorrido.
+    */
+    void recorrer(BiConsumer<? super K, ? super V> accion);
+
+    /*
+    Iterador de las claves con su tipo original (sin convertirlas a String).
+    */
+    Iterator<K> iterarClaves();
+
+    /*
+    Spliterator de los valores, divisible para recorrer en paralelo con
+    StreamSupport.stream(spliteratorValores(), true).
+    */
+    Spliterator<V> spliteratorValores();
 }
@@ -0,0 +1,75 @@
+package interfaces;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.ObjIntConsumer;
+
+/*
+Interfaz para diccionarios con claves int primitivas.
+Mismo contrato que IDiccionario, sin boxing de claves.
+
+SOLID: ISP - Operaciones específicas para claves enteras
+SOLID: DIP - Permite depender de la abstracción
+*/
+public interface IDiccionarioEntero<V> {
+
+    /*
+    Inserta un par clave-valor.
+    Si la clave ya existe, actualiza el valor.
+    */
+    void insertar(int clave, V valor);
+
+    /*
+    Obtiene el valor asociado a una clave.
+    Retorna null si la clave no existe.
+    */
+    V obtener(int clave);
+
+    /*
+    Verifica si existe una clave en el diccionario.
+    */
+    boolean contiene(int clave);
+
+    /*
+    Elimina un par clave-valor asociado a la clave.
+    Retorna el valor eliminado o null si no existe.
+    */
+    V eliminar(int clave);
+
+    /*
+    Retorna la cantidad de pares clave-valor en el diccionario.
+    */
+    int getCantidad();
+
+    /*
+    Verifica si el diccionario está vacío.
+    */
+    boolean estaVacio();
+
+    /*
+    Retorna todas las claves del diccionario.
+    */
+    int[] obtenerClavesEnteras();
+
+    /*
+    Retorna todos los valores del diccionario.
+    */
+    Object[] obtenerValores();
+
+    /*
+    Aplica la acción a cada par (valor, clave) sin copiar la tabla ni
+    convertir claves. El diccionario no debe modificarse durante el recorrido.
+    */
+    void recorrer(ObjIntConsumer<? super V> accion);
+
+    /*
+    Iterador de las claves como int primitivos.
+    */
+    PrimitiveIterator.OfInt iterarClaves();
+
+    /*
+    Spliterator de los valores, divisible para recorrer en paralelo con
+    StreamSupport.stream(spliteratorValores(), true).
+    */
+    Spliterator<V> spliteratorValores();
+}
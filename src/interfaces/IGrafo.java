@@ -0,0 +1,51 @@
+package interfaces;
+
+/*
+Interfaz para grafos dirigidos sobre nodos enteros (IDs >= 0).
+Define el contrato para el TDA GrafoCSR.
+
+SOLID: ISP - Operaciones específicas de la relación de seguimiento
+SOLID: DIP - Permite depender de la abstracción
+*/
+public interface IGrafo {
+
+    /*
+    Agrega la arista origen -> destino. Retorna false si ya existía.
+    */
+    boolean agregarArista(int origen, int destino);
+
+    /*
+    Elimina la arista origen -> destino. Retorna false si no existía.
+    */
+    boolean eliminarArista(int origen, int destino);
+
+    /*
+    Verifica si existe la arista origen -> destino.
+    */
+    boolean existeArista(int origen, int destino);
+
+    /*
+    Retorna los destinos de las aristas que salen del nodo, en orden ascendente.
+    */
+    int[] sucesores(int nodo);
+
+    /*
+    Retorna los orígenes de las aristas que llegan al nodo, en orden ascendente.
+    */
+    int[] predecesores(int nodo);
+
+    /*
+    Cantidad de aristas que salen del nodo.
+    */
+    int gradoSalida(int nodo);
+
+    /*
+    Cantidad de aristas que llegan al nodo.
+    */
+    int gradoEntrada(int nodo);
+
+    /*
+    Cantidad total de aristas.
+    */
+    long getCantidadAristas();
+}
@@ -0,0 +1,44 @@
+package interfaces;
+
+/*
+Interfaz para índices de texto -> IDs enteros (por ejemplo, nombre -> clientes).
+Define el contrato para el TDA IndiceTexto. Las búsquedas no distinguen
+mayúsculas de minúsculas.
+
+SOLID: ISP - Interfaz específica para búsquedas por texto
+SOLID: DIP - Permite depender de la abstracción
+*/
+public interface IIndiceTexto {
+
+    /*
+    Asocia el ID al texto. Retorna false si ya estaba asociado.
+    */
+    boolean agregar(String texto, int id);
+
+    /*
+    Quita la asociación texto -> ID. Retorna false si no existía.
+    */
+    boolean eliminar(String texto, int id);
+
+    /*
+    IDs asociados exactamente al texto, en orden ascendente.
+    */
+    int[] buscar(String texto);
+
+    /*
+    IDs cuyos textos empiezan con el prefijo, en orden alfabético de texto
+    (a lo sumo limite).
+    */
+    int[] buscarPorPrefijo(String prefijo, int limite);
+
+    /*
+    IDs de los textos parecidos al dado (tolerando errores de tipeo), del más
+    parecido al menos parecido (a lo sumo limite).
+    */
+    int[] buscarAproximado(String texto, int limite);
+
+    /*
+    Retorna la cantidad de asociaciones texto -> ID.
+    */
+    int getCantidad();
+}
@@ -0,0 +1,46 @@
+package interfaces;
+
+/*
+Interfaz para tablas de posiciones (leaderboards) de IDs enteros por puntaje.
+Define el contrato para el TDA TablaPosiciones.
+
+SOLID: ISP - Interfaz específica para rankings que cambian de a poco
+SOLID: DIP - Permite depender de la abstracción
+*/
+public interface ITablaPosiciones {
+
+    /*
+    Fija el puntaje (>= 0) de un ID, agregándolo si no estaba.
+    */
+    void actualizar(int id, int puntaje);
+
+    /*
+    Quita un ID de la tabla. Retorna false si no estaba.
+    */
+    boolean eliminar(int id);
+
+    /*
+    Verifica si el ID está en la tabla.
+    */
+    boolean contiene(int id);
+
+    /*
+    Puntaje del ID, o -1 si no está.
+    */
+    int getPuntaje(int id);
+
+    /*
+    Puesto del ID (1 = mayor puntaje; los empates comparten puesto), o -1 si no está.
+    */
+    int getPuesto(int id);
+
+    /*
+    Los N IDs de mayor puntaje, de mayor a menor (empates en orden arbitrario).
+    */
+    int[] obtenerTop(int n);
+
+    /*
+    Retorna la cantidad de IDs en la tabla.
+    */
+    int getCantidad();
+}
@@ -1,6 +1,7 @@
 package modelo;
 
 import tda.Cola;
+import tda.ConjuntoEnteros;
 import util.ResultadoValidacion;
 import util.Validador;
 
@@ -12,9 +13,17 @@ INVARIANTE DE REPRESENTACIÓN:
 - nombre != null && !nombre.trim().isEmpty()
 - 0 <= scoring <= 100
 - siguiendo != null
-- No existen duplicados en siguiendo (garantizado por Diccionario)
+- No existen duplicados en siguiendo ni en seguidores (garantizado por ConjuntoEnteros)
 - Ningún cliente se sigue a sí mismo
 - solicitudesPendientes != null
+- preImagen != null => epocaCapturada > 0
+
+CONCURRENCIA:
+Los métodos que modifican o serializan el estado son synchronized para que un
+snapshot asíncrono (otro hilo) nunca observe un Cliente a mitad de una mutación.
+En modo concurrente GestorClientes toma además los monitores de los dos
+extremos de una arista (en orden creciente de ID) para que seguir y
+dejarDeSeguir actualicen siguiendo y seguidores como una sola operación.
  */
 public class Cliente {
     
@@ -30,9 +39,13 @@ public class Cliente {
     private int id;
     private String nombre;
     private int scoring;
-    private tda.Diccionario<Integer, Boolean> siguiendo;  // Diccionario de usuarios que sigue
-    private tda.Diccionario<Integer, Boolean> seguidores;  // Diccionario de usuarios que lo siguen
+    private ConjuntoEnteros siguiendo;  // IDs de usuarios que sigue
+    private ConjuntoEnteros seguidores;  // IDs de usuarios que lo siguen
     private Cola<SolicitudSeguimiento> solicitudesPendientes;  // Cola de solicitudes recibidas
+    
+    /* Snapshot asíncrono: estado anterior a la primera mutación ocurrida durante el snapshot */
+    private long epocaCapturada;
+    private EstadoCliente preImagen;
 
     /*
     Constructor que inicializa un cliente con ID, nombre y scoring.
@@ -56,8 +69,8 @@ public class Cliente {
         this.id = id;
         this.nombre = nombre;
         this.scoring = scoring;
-        this.siguiendo = new tda.Diccionario<>(); // Inicializar diccionario vacío
-        this.seguidores = new tda.Diccionario<>(); // Inicializar diccionario vacío de seguidores
+        this.siguiendo = new ConjuntoEnteros();  // Vacío: no reserva arreglo hasta el primer seguido
+        this.seguidores = new ConjuntoEnteros();
         this.solicitudesPendientes = new Cola<>();  // Inicializar cola vacía
     }
 
@@ -76,7 +89,7 @@ public class Cliente {
     /*
     Modifica el scoring del cliente, validando el rango.
     */
-    public void setScoring(int scoring) {
+    public synchronized void setScoring(int scoring) {
         ResultadoValidacion validacion = Validador.validarScoring(scoring);
         if (!validacion.esValido()) {
             throw new IllegalArgumentException(validacion.getMensajeError());
@@ -85,25 +98,11 @@ public class Cliente {
     }
 
     /*
-    Retorna los IDs de los usuarios seguidos.
+    Retorna los IDs de los usuarios seguidos, en orden ascendente.
     */
-    public int[] getSiguiendo() {
-        String[] claves = siguiendo.obtenerClaves();
-        int[] ids = new int[claves.length];
-        for (int i = 0; i < claves.length; i++) {
-            if (claves[i] != null) {
-                try {
-                    ids[i] = Integer.parseInt(claves[i]);
-                } catch (NumberFormatException e) {
-                    ids[i] = 0; // Should not happen with Integer keys
-                }
-            }
-        }
-        return ids;
+    public synchronized int[] getSiguiendo() {
+        return siguiendo.obtenerElementos();
     }
-    
-    // Método auxiliar para compatibilidad si alguien necesita el diccionario direct (opcional)
-    // public tda.Diccionario<Integer, Boolean> getSiguiendoDiccionario() { return siguiendo; }
 
     /*
     Retorna la cantidad de usuarios que este cliente sigue.
@@ -113,21 +112,10 @@ public class Cliente {
     }
 
     /*
-    Retorna los IDs de los usuarios que siguen a este cliente (seguidores).
+    Retorna los IDs de los usuarios que siguen a este cliente (seguidores), en orden ascendente.
     */
-    public int[] getSeguidores() {
-        String[] claves = seguidores.obtenerClaves();
-        int[] ids = new int[claves.length];
-        for (int i = 0; i < claves.length; i++) {
-            if (claves[i] != null) {
-                try {
-                    ids[i] = Integer.parseInt(claves[i]);
-                } catch (NumberFormatException e) {
-                    ids[i] = 0;
-                }
-            }
-        }
-        return ids;
+    public synchronized int[] getSeguidores() {
+        return seguidores.obtenerElementos();
     }
 
     /*
@@ -139,17 +127,24 @@ public class Cliente {
 
     /*
     Agrega un seguidor a este cliente (uso interno desde GestorClientes).
-    Visibilidad package-private para evitar manipulación directa.
+    Público porque GestorClientes vive en otro paquete y mantiene el grafo bidireccional.
     */
-    void agregarSeguidor(int idSeguidor) {
-        seguidores.insertar(idSeguidor, true);
+    public synchronized void agregarSeguidor(int idSeguidor) {
+        seguidores.agregar(idSeguidor);
+    }
+
+    /*
+    Verifica si el cliente dado figura entre los seguidores de este cliente.
+    */
+    public synchronized boolean tieneSeguidor(int idSeguidor) {
+        return seguidores.contiene(idSeguidor);
     }
 
     /*
     Elimina un seguidor de este cliente (uso interno desde GestorClientes).
-    Visibilidad package-private para evitar manipulación directa.
+    Público porque GestorClientes vive en otro paquete y mantiene el grafo bidireccional.
     */
-    void eliminarSeguidor(int idSeguidor) {
+    public synchronized void eliminarSeguidor(int idSeguidor) {
         seguidores.eliminar(idSeguidor);
     }
 
@@ -157,7 +152,7 @@ public class Cliente {
     Intenta seguir a otro cliente por ID.
     Retorna false si ya lo sigue, si es él mismo, o si alcanzó el límite MAX_SEGUIDOS.
     */
-    public boolean seguir(int idObjetivo) {
+    public synchronized boolean seguir(int idObjetivo) {
         if (idObjetivo == this.id) {
             return false;
         }
@@ -167,25 +162,20 @@ public class Cliente {
         if (siguiendo.getCantidad() >= MAX_SEGUIDOS) {
             return false;
         }
-        siguiendo.insertar(idObjetivo, true);
-        return true;
+        return siguiendo.agregar(idObjetivo);
     }
 
     /*
     Deja de seguir a un cliente por ID.
     */
-    public boolean dejarDeSeguir(int idObjetivo) {
-        if (siguiendo.contiene(idObjetivo)) {
-            siguiendo.eliminar(idObjetivo);
-            return true;
-        }
-        return false;
+    public synchronized boolean dejarDeSeguir(int idObjetivo) {
+        return siguiendo.eliminar(idObjetivo);
     }
 
     /*
     Verifica si el cliente está siguiendo a otro cliente específico por ID.
     */
-    public boolean sigueA(int idObjetivo) {
+    public synchronized boolean sigueA(int idObjetivo) {
         return siguiendo.contiene(idObjetivo);
     }
 
@@ -199,13 +189,11 @@ public class Cliente {
         if (siguiendo.estaVacio()) {
             sb.append("nadie");
         } else {
-            String[] claves = siguiendo.obtenerClaves();
-            for (int i = 0; i < claves.length; i++) {
-                if (claves[i] != null) {
-                    sb.append(claves[i]);
-                    if (i < claves.length - 1) {
-                        sb.append(", ");
-                    }
+            int[] ids = getSiguiendo();
+            for (int i = 0; i < ids.length; i++) {
+                sb.append(ids[i]);
+                if (i < ids.length - 1) {
+                    sb.append(", ");
                 }
             }
         }
@@ -221,7 +209,7 @@ public class Cliente {
     /*
     Agrega una solicitud de seguimiento a la cola de pendientes.
     */
-    public void recibirSolicitud(SolicitudSeguimiento solicitud) {
+    public synchronized void recibirSolicitud(SolicitudSeguimiento solicitud) {
         if (solicitud != null) {
             solicitudesPendientes.encolar(solicitud);
         }
@@ -231,7 +219,7 @@ public class Cliente {
     Procesa (desencola) la siguiente solicitud pendiente.
     Retorna null si no hay pendientes.
     */
-    public SolicitudSeguimiento procesarSiguienteSolicitud() {
+    public synchronized SolicitudSeguimiento procesarSiguienteSolicitud() {
         if (!solicitudesPendientes.estaVacia()) {
             return solicitudesPendientes.desencolar();
         }
@@ -274,7 +262,7 @@ public class Cliente {
     Complejidad: O(k) donde k es la cantidad de solicitudes pendientes.
     Se debe recorrer la cola (copiándola) para no perder el orden ni los datos.
     */
-    public String[] getSolicitudesRecibidasSerialized() {
+    public synchronized String[] getSolicitudesRecibidasSerialized() {
         if (solicitudesPendientes.estaVacia()) {
             return new String[0];
         }
@@ -304,14 +292,68 @@ public class Cliente {
         return resultado;
     }
 
+    /*
+    Retorna los IDs de los solicitantes pendientes, en orden de llegada.
+    Complejidad: O(k) donde k es la cantidad de solicitudes pendientes.
+    */
+    public int[] getSolicitantesPendientes() {
+        String[] serializadas = getSolicitudesRecibidasSerialized();
+        int[] ids = new int[serializadas.length];
+        for (int i = 0; i < serializadas.length; i++) {
+            try {
+                ids[i] = Integer.parseInt(serializadas[i]);
+            } catch (NumberFormatException e) {
+                ids[i] = 0;
+            }
+        }
+        return ids;
+    }
+
+    /*
+    Copia inmutable del estado actual (para serializar desde otro hilo).
+    Complejidad: O(s + f + k) - seguidos, seguidores y solicitudes.
+    */
+    public synchronized EstadoCliente capturarEstado() {
+        return new EstadoCliente(id, nombre, scoring, getSiguiendo(), getSeguidores(),
+                getSolicitantesPendientes());
+    }
+
+    /*
+    Debe invocarse antes de modificar un cliente mientras corre el snapshot de
+    esa época. La primera vez guarda el estado previo (pre-imagen) para que el
+    snapshot lo serialice tal como estaba al iniciarse. Si el snapshot ya
+    capturó al cliente, no hace nada.
+    */
+    public synchronized void prepararMutacion(long epocaSnapshot) {
+        if (epocaSnapshot > epocaCapturada) {
+            preImagen = capturarEstado();
+            epocaCapturada = epocaSnapshot;
+        }
+    }
+
+    /*
+    Estado que corresponde al snapshot de la época dada: la pre-imagen si el
+    cliente cambió desde que empezó el snapshot, o el estado actual si no.
+    Marca al cliente como capturado para esa época (las mutaciones siguientes
+    ya no generan pre-imagen).
+    */
+    public synchronized EstadoCliente estadoParaSnapshot(long epocaSnapshot) {
+        EstadoCliente estado = (epocaCapturada == epocaSnapshot && preImagen != null)
+                ? preImagen
+                : capturarEstado();
+        preImagen = null;
+        epocaCapturada = Math.max(epocaCapturada, epocaSnapshot);
+        return estado;
+    }
+
     /*
     Carga IDs de usuarios seguidos desde la persistencia.
     */
-    public void cargarSiguiendo(int[] ids) {
+    public synchronized void cargarSiguiendo(int[] ids) {
         if (ids == null) return;
         for (int idObjetivo : ids) {
             if (idObjetivo != this.id) {
-                this.siguiendo.insertar(idObjetivo, true);
+                this.siguiendo.agregar(idObjetivo);
             }
         }
     }
@@ -319,19 +361,40 @@ public class Cliente {
     /*
     Carga solicitudes desde la persistencia.
     */
-    public void cargarSolicitudes(String[] idsSolicitantes) {
+    public synchronized void cargarSolicitudes(String[] idsSolicitantes) {
         if (idsSolicitantes == null) return;
         
         for (String idSolicitante : idsSolicitantes) {
-            if (idSolicitante != null && !idSolicitante.isEmpty()) {
-                // Reconstruimos la solicitud. El objetivo es este cliente.
-                try {
-                    SolicitudSeguimiento sol = new SolicitudSeguimiento(idSolicitante, String.valueOf(this.id));
-                    this.solicitudesPendientes.encolar(sol);
-                } catch (IllegalArgumentException e) {
-                    // Ignorar datos corruptos
-                }
+            if (idSolicitante == null) continue;
+            int id;
+            try {
+                id = Integer.parseInt(idSolicitante.trim());
+            } catch (NumberFormatException e) {
+                continue;  // Ignorar datos corruptos
             }
+            agregarSolicitudCargada(id);
+        }
+    }
+
+    /*
+    Carga solicitudes desde la persistencia binaria (IDs numéricos).
+    */
+    public synchronized void cargarSolicitantes(int[] idsSolicitantes) {
+        if (idsSolicitantes == null) return;
+        for (int idSolicitante : idsSolicitantes) {
+            agregarSolicitudCargada(idSolicitante);
+        }
+    }
+
+    /*
+    Filtro común de ambos formatos: se descartan IDs no positivos y las
+    solicitudes a sí mismo, y el solicitante queda en forma canónica
+    ("42", no "042"), así JSON y binario producen el mismo estado.
+    */
+    private void agregarSolicitudCargada(int idSolicitante) {
+        if (idSolicitante > 0 && idSolicitante != this.id) {
+            solicitudesPendientes.encolar(
+                new SolicitudSeguimiento(String.valueOf(idSolicitante), String.valueOf(this.id)));
         }
     }
 
@@ -351,10 +414,10 @@ public class Cliente {
     /*
     Carga seguidores desde la persistencia.
     */
-    public void cargarSeguidores(int[] ids) {
+    public synchronized void cargarSeguidores(int[] ids) {
         if (ids == null) return;
         for (int idSeguidor : ids) {
-            this.seguidores.insertar(idSeguidor, true);
+            this.seguidores.agregar(idSeguidor);
         }
     }
 }
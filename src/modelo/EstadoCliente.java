@@ -0,0 +1,66 @@
+package modelo;
+
+/*
+Copia inmutable del estado persistible de un Cliente en un instante dado.
+La usan los snapshots asíncronos para serializar sin bloquear al Cliente real.
+
+INVARIANTE DE REPRESENTACIÓN:
+- id > 0 && nombre != null
+- siguiendo y seguidores ordenados ascendentemente
+- solicitantes en orden de llegada
+- Los arreglos no se modifican después de construir el objeto
+ */
+public final class EstadoCliente {
+
+    /* Atributos */
+    private final int id;
+    private final String nombre;
+    private final int scoring;
+    private final int[] siguiendo;
+    private final int[] seguidores;
+    private final int[] solicitantes;
+
+    /*
+    Construye el estado tomando posesión de los arreglos recibidos
+    (ordena siguiendo y seguidores in-place).
+    */
+    public EstadoCliente(int id, String nombre, int scoring, int[] siguiendo,
+            int[] seguidores, int[] solicitantes) {
+        this.id = id;
+        this.nombre = nombre;
+        this.scoring = scoring;
+        this.siguiendo = siguiendo;
+        this.seguidores = seguidores;
+        this.solicitantes = solicitantes;
+        java.util.Arrays.sort(this.siguiendo);
+        java.util.Arrays.sort(this.seguidores);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getScoring() {
+        return scoring;
+    }
+
+    /*
+    Los siguientes getters exponen los arreglos internos (sin copia) por
+    rendimiento: el llamador no debe modificarlos.
+    */
+    public int[] getSiguiendo() {
+        return siguiendo;
+    }
+
+    public int[] getSeguidores() {
+        return seguidores;
+    }
+
+    public int[] getSolicitantes() {
+        return solicitantes;
+    }
+}
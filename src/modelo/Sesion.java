@@ -3,19 +3,30 @@ package modelo;
 import servicio.HistorialAcciones;
 
 /*
-TDA Sesion - Representa la sesión única del usuario en el sistema.
+TDA Sesion - Representa la sesión del usuario en el sistema.
 
-PATRÓN: Singleton - Garantiza una única instancia de sesión.
+PATRÓN: Singleton - Garantiza una única instancia de sesión global (la del menú).
+
+Para atender a varios usuarios en la misma JVM (GestorClientes en modo
+concurrente), cada hilo puede vincular su propia sesión con vincularAlHilo():
+desde ese hilo getInstancia() retorna la vinculada, así el historial de
+deshacer y el usuario actual son los de quien hace la operación. Una sesión
+no es thread-safe: la usa un solo hilo a la vez.
 
 INVARIANTE DE REPRESENTACIÓN:
-- instancia es única (garantizado por el patrón Singleton)
+- la instancia global es única (garantizado por el patrón Singleton)
 - Si estaAutenticado == true, entonces usuarioActual != null
 - Si estaAutenticado == false, entonces usuarioActual == null
  */
 public class Sesion {
     
-    /* Singleton: instancia única, por eso static*/
-    private static Sesion instancia;
+    /* Singleton: instancia única, por eso static (holder: creación perezosa y segura entre hilos) */
+    private static final class Global {
+        static final Sesion INSTANCIA = new Sesion();
+    }
+    
+    /* Sesión propia del hilo (null = usa la global) */
+    private static final ThreadLocal<Sesion> SESION_DEL_HILO = new ThreadLocal<>();
     
     /* Atributos */
     private Cliente usuarioActual;
@@ -32,13 +43,35 @@ public class Sesion {
     }
     
     /*
-    Obtiene la instancia única de Sesion (Singleton).
+    Obtiene la sesión vinculada al hilo actual o, si no hay, la instancia única (Singleton).
     */
     public static Sesion getInstancia() {
-        if (instancia == null) {
-            instancia = new Sesion();
+        Sesion propia = SESION_DEL_HILO.get();
+        return propia != null ? propia : Global.INSTANCIA;
+    }
+    
+    /*
+    Crea una sesión independiente de la global (sin usuario), para vincularla a un hilo.
+    */
+    public static Sesion nueva() {
+        return new Sesion();
+    }
+    
+    /*
+    Desde ahora getInstancia() en este hilo retorna la sesión dada.
+    */
+    public static void vincularAlHilo(Sesion sesion) {
+        if (sesion == null) {
+            throw new IllegalArgumentException("La sesión no puede ser null");
         }
-        return instancia;
+        SESION_DEL_HILO.set(sesion);
+    }
+    
+    /*
+    Vuelve a usar la sesión global en este hilo.
+    */
+    public static void desvincularDelHilo() {
+        SESION_DEL_HILO.remove();
     }
     
     /*
@@ -0,0 +1,132 @@
+package persistencia;
+
+import modelo.Cliente;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+Almacén de solo lectura sobre un snapshot binario (versión 2 o posterior) mapeado en memoria.
+
+No construye ningún Cliente al abrir: solo mapea el archivo y lee la cabecera.
+Cada búsqueda por ID resuelve el offset con búsqueda binaria sobre el índice
+del snapshot y decodifica ese único registro. El sistema operativo carga las
+páginas a demanda, por lo que la memoria residente sigue al conjunto de trabajo
+y no al tamaño del dataset.
+
+INVARIANTE DE REPRESENTACIÓN:
+- mapa != null, cubre el archivo completo en modo READ_ONLY
+- offsetIndice + cantidad * TAMANIO_ENTRADA_INDICE <= mapa.capacity()
+- Las entradas del índice están ordenadas por id ascendente
+
+COMPLEJIDAD:
+- Abrir: O(1) (sin lectura de registros)
+- contiene / materializar: O(log N) + O(tamaño del registro)
+*/
+public class AlmacenMapeado {
+
+    /* Atributos */
+    private final MappedByteBuffer mapa;
+    private final int cantidad;
+    private final int offsetIndice;
+
+    /*
+    Abre y mapea el snapshot. Lanza IOException si el archivo no es un
+    snapshot versión 2 o supera el límite de mapeo (2 GB).
+    */
+    public AlmacenMapeado(String ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            if (tamanio > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot demasiado grande para mapeo: " + tamanio + " bytes");
+            }
+            if (tamanio < SnapshotBinario.tamanioCabecera(2)) {
+                throw new IOException("Snapshot truncado: " + ruta);
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            this.mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanio);
+        }
+
+        if (mapa.getInt(0) != SnapshotBinario.MAGIC) {
+            throw new IOException("El archivo no es un snapshot binario: " + ruta);
+        }
+        if (mapa.getInt(4) < 2) {
+            throw new IOException("El modo mapeado requiere snapshot versión 2 (con índice)");
+        }
+        this.cantidad = mapa.getInt(8);
+        long offset = mapa.getLong(28);
+        if (cantidad < 0 || offset < SnapshotBinario.tamanioCabecera(mapa.getInt(4))
+                || offset + (long) cantidad * SnapshotBinario.TAMANIO_ENTRADA_INDICE > mapa.capacity()) {
+            throw new IOException("Índice de snapshot inválido: " + ruta);
+        }
+        this.offsetIndice = (int) offset;
+    }
+
+    /*
+    Cantidad de clientes en el snapshot.
+    */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /*
+    ID de la i-ésima entrada del índice (orden ascendente), 0 <= i < cantidad.
+    Permite recorrer todos los IDs sin decodificar registros.
+    */
+    public int getIdEn(int i) {
+        return mapa.getInt(offsetIndice + i * SnapshotBinario.TAMANIO_ENTRADA_INDICE);
+    }
+
+    /*
+    Mayor ID presente en el snapshot (0 si está vacío).
+    */
+    public int getMaximoId() {
+        return cantidad == 0 ? 0 : getIdEn(cantidad - 1);
+    }
+
+    /*
+    Busca la posición del ID en el índice. Retorna -1 si no existe.
+    */
+    private int buscarPosicion(int id) {
+        int izq = 0;
+        int der = cantidad - 1;
+        while (izq <= der) {
+            int medio = (izq + der) >>> 1;
+            int actual = getIdEn(medio);
+            if (actual < id) {
+                izq = medio + 1;
+            } else if (actual > id) {
+                der = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contiene(int id) {
+        return buscarPosicion(id) >= 0;
+    }
+
+    /*
+    Construye el Cliente con ese ID a partir de su registro.
+    Retorna null si no existe o el registro es inválido.
+    Cada llamada crea una instancia nueva: el llamador debe cachearla.
+    */
+    public Cliente materializar(int id) {
+        int posicion = buscarPosicion(id);
+        if (posicion < 0) return null;
+
+        long offset = mapa.getLong(offsetIndice + posicion * SnapshotBinario.TAMANIO_ENTRADA_INDICE + 4);
+        ByteBuffer vista = mapa.duplicate();  // Posición propia, sin copiar datos
+        vista.position((int) offset);
+        try {
+            return SnapshotBinario.leerRegistro(new LectorBinario(vista));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/*
+Escritor secuencial sobre un FileChannel con un buffer directo grande.
+Provee primitivas compactas: varint (LEB128 sin signo), enteros fijos y textos UTF-8
+prefijados por longitud.
+
+INVARIANTE DE REPRESENTACIÓN:
+- canal != null && buffer != null
+- bytesEscritos = bytes ya enviados al canal + buffer.position()
+*/
+public class EscritorBinario implements AutoCloseable {
+
+    /* Constantes */
+    public static final int TAMANIO_BUFFER = 4 << 20;  // 4 MB
+
+    /* Atributos */
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private long bytesVaciados;
+
+    public EscritorBinario(FileChannel canal) {
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocateDirect(TAMANIO_BUFFER);
+        this.bytesVaciados = 0;
+    }
+
+    /*
+    Garantiza que haya al menos n bytes libres en el buffer.
+    */
+    private void asegurar(int n) throws IOException {
+        if (buffer.remaining() < n) {
+            vaciar();
+        }
+    }
+
+    /*
+    Envía el contenido del buffer al canal.
+    */
+    public void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesVaciados += canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public void escribirByte(int valor) throws IOException {
+        asegurar(1);
+        buffer.put((byte) valor);
+    }
+
+    public void escribirEntero(int valor) throws IOException {
+        asegurar(4);
+        buffer.putInt(valor);
+    }
+
+    public void escribirLargo(long valor) throws IOException {
+        asegurar(8);
+        buffer.putLong(valor);
+    }
+
+    /*
+    Escribe un entero como varint sin signo (1 a 5 bytes).
+    Valores negativos se tratan como enteros sin signo de 32 bits.
+    */
+    public void escribirVarint(int valor) throws IOException {
+        asegurar(5);
+        ponerVarint(buffer, valor);
+    }
+
+    /*
+    Codifica un varint sin signo en un buffer cualquiera (requiere 5 bytes libres).
+    */
+    static void ponerVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    /*
+    Escribe un texto como varint(longitud en bytes) + bytes UTF-8.
+    */
+    public void escribirTexto(String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escribirVarint(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            asegurar(1);
+            int trozo = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, trozo);
+            offset += trozo;
+        }
+    }
+
+    /*
+    Escribe una lista de IDs ordenada ascendentemente con codificación delta.
+    Formato: varint(n), primer id, diferencias sucesivas (módulo 2^32).
+    Ordena el arreglo recibido in-place.
+    */
+    public void escribirListaDelta(int[] ids) throws IOException {
+        java.util.Arrays.sort(ids);
+        escribirVarint(ids.length);
+        int anterior = 0;
+        for (int id : ids) {
+            escribirVarint(id - anterior);
+            anterior = id;
+        }
+    }
+
+    /*
+    Escribe una lista de IDs respetando el orden (sin delta).
+    */
+    public void escribirLista(int[] ids) throws IOException {
+        escribirVarint(ids.length);
+        for (int id : ids) {
+            escribirVarint(id);
+        }
+    }
+
+    /*
+    Total de bytes escritos (incluye los pendientes en el buffer).
+    */
+    public long getBytesEscritos() {
+        return bytesVaciados + buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        vaciar();
+    }
+}
@@ -0,0 +1,117 @@
+package persistencia;
+
+import modelo.EstadoCliente;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+Escritura en streaming de un snapshot binario (formato en SnapshotBinario).
+La cabecera se escribe provisoria y se corrige al finalizar, cuando ya se
+conocen los conteos y el offset del índice.
+
+INVARIANTE DE REPRESENTACIÓN:
+- 0 <= agregados <= offsets.length
+- offsets[i] = posición del registro i; idsYPosiciones[i] = (id << 32) | i
+*/
+class EscrituraBinaria implements EscrituraClientes {
+
+    /* Atributos */
+    private final Path destino;
+    private final Path temporal;
+    private final FileChannel canal;
+    private final EscritorBinario escritor;
+    private final long[] offsets;
+    private final long[] idsYPosiciones;
+    private final long marcaLog;
+    private int agregados;
+    private long aristas;
+    private long solicitudes;
+    private boolean finalizada;
+
+    EscrituraBinaria(String ruta, int cantidad, long marcaLog) throws IOException {
+        this.destino = Paths.get(ruta);
+        this.marcaLog = marcaLog;
+        this.temporal = Paths.get(ruta + ".tmp");
+        this.canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.escritor = new EscritorBinario(canal);
+        this.offsets = new long[cantidad];
+        this.idsYPosiciones = new long[cantidad];
+        escribirCabecera(0, 0, 0, 0);  // Provisoria: se corrige al final
+    }
+
+    private void escribirCabecera(int clientes, long aristas, long solicitudes, long offsetIndice)
+            throws IOException {
+        escritor.escribirEntero(SnapshotBinario.MAGIC);
+        escritor.escribirEntero(SnapshotBinario.VERSION);
+        escritor.escribirEntero(clientes);
+        escritor.escribirLargo(aristas);
+        escritor.escribirLargo(solicitudes);
+        escritor.escribirLargo(offsetIndice);
+        escritor.escribirLargo(marcaLog);
+    }
+
+    @Override
+    public void agregar(EstadoCliente c) throws IOException {
+        if (agregados == offsets.length) {
+            throw new IOException("Se agregaron más clientes que los declarados (" + offsets.length + ")");
+        }
+        offsets[agregados] = escritor.getBytesEscritos();
+        idsYPosiciones[agregados] = ((long) c.getId() << 32) | agregados;  // IDs > 0: orden por id
+        agregados++;
+        escritor.escribirVarint(c.getId());
+        escritor.escribirTexto(c.getNombre());
+        escritor.escribirByte(c.getScoring());
+        escritor.escribirListaDelta(c.getSiguiendo());  // Ya ordenadas: el sort no reordena nada
+        escritor.escribirListaDelta(c.getSeguidores());
+        escritor.escribirLista(c.getSolicitantes());
+        aristas += c.getSiguiendo().length;
+        solicitudes += c.getSolicitantes().length;
+    }
+
+    @Override
+    public long getBytesEscritos() {
+        return escritor.getBytesEscritos();
+    }
+
+    @Override
+    public long finalizar() throws IOException {
+        // Índice id -> offset ordenado por id
+        long offsetIndice = escritor.getBytesEscritos();
+        java.util.Arrays.sort(idsYPosiciones, 0, agregados);
+        for (int i = 0; i < agregados; i++) {
+            long par = idsYPosiciones[i];
+            escritor.escribirEntero((int) (par >>> 32));
+            escritor.escribirLargo(offsets[(int) par]);
+        }
+        escritor.close();
+        long bytes = escritor.getBytesEscritos();
+
+        // Reescribir la cabecera con los conteos definitivos
+        ByteBuffer cabecera = ByteBuffer.allocate(SnapshotBinario.TAMANIO_CABECERA);
+        cabecera.putInt(SnapshotBinario.MAGIC).putInt(SnapshotBinario.VERSION).putInt(agregados)
+                .putLong(aristas).putLong(solicitudes).putLong(offsetIndice).putLong(marcaLog).flip();
+        while (cabecera.hasRemaining()) {
+            canal.write(cabecera, cabecera.position());
+        }
+        canal.force(false);
+        canal.close();
+
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finalizada = true;
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finalizada) return;
+        canal.close();
+        Files.deleteIfExists(temporal);
+    }
+}
@@ -0,0 +1,54 @@
+package persistencia;
+
+import modelo.EstadoCliente;
+import java.io.IOException;
+
+/*
+Escritura en streaming de un archivo de clientes, un registro a la vez.
+Se escribe sobre un archivo temporal: finalizar() lo publica de forma atómica
+y close() sin finalizar lo descarta (el archivo original queda intacto).
+
+SOLID: OCP - cada formato (binario, JSON) es una implementación
+SOLID: DIP - SnapshotAsincrono depende de esta abstracción
+*/
+public interface EscrituraClientes extends AutoCloseable {
+
+    /*
+    Agrega el siguiente cliente al archivo.
+    */
+    void agregar(EstadoCliente estado) throws IOException;
+
+    /*
+    Bytes escritos hasta el momento (aproximado mientras haya datos en buffers).
+    */
+    long getBytesEscritos();
+
+    /*
+    Completa el archivo, lo fuerza a disco y reemplaza al destino.
+    Retorna el tamaño final en bytes.
+    */
+    long finalizar() throws IOException;
+
+    /*
+    Libera recursos. Si no se llamó a finalizar(), borra el temporal.
+    */
+    @Override
+    void close() throws IOException;
+
+    /*
+    Abre la escritura en el formato indicado.
+    cantidad es la cantidad exacta de clientes que se agregarán.
+    */
+    static EscrituraClientes abrir(String ruta, int cantidad, boolean binario) throws IOException {
+        return abrir(ruta, cantidad, binario, 0);
+    }
+
+    /*
+    Igual que abrir(ruta, cantidad, binario), registrando en el archivo la marca
+    del WAL hasta la que el snapshot contiene las mutaciones (checkpoint).
+    */
+    static EscrituraClientes abrir(String ruta, int cantidad, boolean binario, long marcaLog)
+            throws IOException {
+        return binario ? new EscrituraBinaria(ruta, cantidad, marcaLog) : new EscrituraJson(ruta, marcaLog);
+    }
+}
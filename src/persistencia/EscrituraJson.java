@@ -0,0 +1,111 @@
+package persistencia;
+
+import modelo.EstadoCliente;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/*
+Escritura en streaming del JSON de intercambio con JsonWriter, sin construir DTOs.
+Mismo formato que lee GestorClientes.leerJson:
+    { "marcaLog": n, "clientes": [ { id, nombre, scoring, siguiendo, solicitudes, seguidores } ] }
+(solicitudes y seguidores como textos, por compatibilidad con archivos anteriores).
+marcaLog (marca del WAL que cubre el snapshot) se omite si es 0 y va antes de
+"clientes" para poder leerla sin recorrer el archivo.
+*/
+class EscrituraJson implements EscrituraClientes {
+
+    /* Atributos */
+    private final Path destino;
+    private final Path temporal;
+    private final ContadorBytes contador;
+    private final JsonWriter writer;
+    private boolean finalizada;
+
+    EscrituraJson(String ruta, long marcaLog) throws IOException {
+        this.destino = Paths.get(ruta);
+        this.temporal = Paths.get(ruta + ".tmp");
+        this.contador = new ContadorBytes(Files.newOutputStream(temporal));
+        this.writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(contador, StandardCharsets.UTF_8), 1 << 16));
+        writer.setIndent("  ");
+        writer.beginObject();
+        if (marcaLog > 0) writer.name("marcaLog").value(marcaLog);
+        writer.name("clientes");
+        writer.beginArray();
+    }
+
+    @Override
+    public void agregar(EstadoCliente c) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(c.getId());
+        writer.name("nombre").value(c.getNombre());
+        writer.name("scoring").value(c.getScoring());
+        writer.name("siguiendo").beginArray();
+        for (int id : c.getSiguiendo()) writer.value(id);
+        writer.endArray();
+        writer.name("solicitudes").beginArray();
+        for (int id : c.getSolicitantes()) writer.value(String.valueOf(id));
+        writer.endArray();
+        writer.name("seguidores").beginArray();
+        for (int id : c.getSeguidores()) writer.value(String.valueOf(id));
+        writer.endArray();
+        writer.endObject();
+    }
+
+    @Override
+    public long getBytesEscritos() {
+        return contador.bytes;
+    }
+
+    @Override
+    public long finalizar() throws IOException {
+        writer.endArray();
+        writer.endObject();
+        writer.close();  // Vacía los buffers y cierra el archivo
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finalizada = true;
+        return contador.bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finalizada) return;
+        try {
+            contador.close();
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /*
+    Cuenta los bytes que efectivamente llegan al archivo.
+    */
+    private static class ContadorBytes extends FilterOutputStream {
+        private volatile long bytes;
+
+        ContadorBytes(OutputStream destino) {
+            super(destino);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package persistencia;
+
+import modelo.Cliente;
+import com.google.gson.stream.JsonReader;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/*
+Importación paralela del JSON de clientes en tres etapas encadenadas:
+
+1. DIVISIÓN (1 hilo): recorre los bytes del archivo mapeado siguiendo la
+   profundidad de llaves y los textos entre comillas, y corta trozos de
+   ~tamanioTrozo bytes justo al terminar un objeto cliente del arreglo "clientes".
+   No decodifica nada: solo busca fronteras.
+2. PARSEO (N hilos): cada trozo se lee con su propio LectorJsonClientes
+   (como "[" + trozo + "]") y produce sus Cliente ya construidos.
+3. FUSIÓN (hilo llamador): entrega los clientes al destino en el orden del
+   archivo, trozo por trozo, apenas cada uno está listo. Al ser un único hilo,
+   el destino (diccionario e índices) no necesita sincronización y los IDs
+   repetidos se resuelven igual que en la carga secuencial (gana el primero).
+
+Las tres etapas se solapan: la fusión del trozo i ocurre mientras se parsean
+los siguientes. Al terminar se informa el rendimiento de cada etapa en
+clientes por segundo.
+
+Limitación: el archivo se mapea en una sola región (hasta 2 GB).
+
+INVARIANTE DE REPRESENTACIÓN:
+- hilos >= 1 && tamanioTrozo >= 1
+- Cada trozo empieza en '{' y termina en '}' de objetos completos del arreglo
+*/
+public class ImportadorParalelo {
+
+    /* Constantes */
+    public static final int TAMANIO_TROZO_DEFAULT = 4 << 20;  // 4 MB
+    private static final byte[] APERTURA = {'['};
+    private static final byte[] CIERRE = {']'};
+    private static final byte[] CLAVE_CLIENTES = "clientes".getBytes(StandardCharsets.UTF_8);
+
+    /* Atributos */
+    private final int hilos;
+    private final int tamanioTrozo;
+
+    /* Métricas de la última importación */
+    private int clientesLeidos;
+    private int clientesIncorporados;
+    private int trozos;
+    private long nanosDivision;
+    private long nanosParseo;
+    private long nanosFusion;
+    private long nanosTotal;
+
+    public ImportadorParalelo(int hilos, int tamanioTrozo) {
+        if (hilos < 1 || tamanioTrozo < 1) {
+            throw new IllegalArgumentException("Configuración de importación inválida");
+        }
+        this.hilos = hilos;
+        this.tamanioTrozo = tamanioTrozo;
+    }
+
+    /*
+    Un hilo de parseo por núcleo disponible y trozos de 4 MB.
+    */
+    public ImportadorParalelo() {
+        this(Runtime.getRuntime().availableProcessors(), TAMANIO_TROZO_DEFAULT);
+    }
+
+    /*
+    Importa el archivo entregando cada cliente al destino (en el hilo llamador).
+    Retorna la cantidad de clientes aceptados por el destino.
+    Lanza IOException si el archivo no existe, supera 2 GB o es JSON inválido.
+    */
+    public int importar(String ruta, Predicate<Cliente> destino) throws IOException {
+        long inicio = System.nanoTime();
+        MappedByteBuffer mapa;
+        try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Archivo demasiado grande para importación paralela: " + canal.size());
+            }
+            mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+
+        clientesLeidos = 0;
+        clientesIncorporados = 0;
+        trozos = 0;
+        nanosFusion = 0;
+        AtomicLong inicioParseo = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong finParseo = new AtomicLong(0);
+        LinkedBlockingQueue<Future<Cliente[]>> cola = new LinkedBlockingQueue<>();
+        Future<Cliente[]> fin = CompletableFuture.completedFuture(null);
+        ExecutorService trabajadores = Executors.newFixedThreadPool(hilos);
+        IOException[] errorDivision = new IOException[1];
+
+        Thread divisor = new Thread(() -> {
+            long t0 = System.nanoTime();
+            try {
+                dividir(mapa, (desde, hasta) -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new RejectedExecutionException("Importación cancelada");
+                    }
+                    cola.add(trabajadores.submit(() -> parsear(mapa, desde, hasta, inicioParseo, finParseo)));
+                });
+            } catch (IOException e) {
+                errorDivision[0] = e;
+            } catch (RejectedExecutionException e) {
+                // La fusión falló y canceló la importación: no hay nada más que dividir
+            } finally {
+                nanosDivision = System.nanoTime() - t0;
+                cola.add(fin);
+            }
+        }, "importacion-division");
+        divisor.start();
+
+        try {
+            while (true) {
+                Future<Cliente[]> trozo = cola.take();
+                if (trozo == fin) break;
+                Cliente[] leidos = trozo.get();
+                long t0 = System.nanoTime();
+                for (Cliente c : leidos) {
+                    if (destino.test(c)) clientesIncorporados++;
+                }
+                nanosFusion += System.nanoTime() - t0;
+                clientesLeidos += leidos.length;
+                trozos++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importación interrumpida");
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            throw causa instanceof IOException ? (IOException) causa
+                    : new IOException("JSON inválido: " + causa.getMessage(), causa);
+        } finally {
+            trabajadores.shutdownNow();
+            detener(divisor);  // En el camino de error sigue dividiendo: se lo corta y se espera
+        }
+        if (errorDivision[0] != null) throw errorDivision[0];
+
+        nanosParseo = trozos == 0 ? 0 : finParseo.get() - inicioParseo.get();
+        nanosTotal = System.nanoTime() - inicio;
+        return clientesIncorporados;
+    }
+
+    /*
+    Interrumpe el hilo y espera a que termine, aunque el llamador esté
+    interrumpido (en ese caso se restablece la marca al final).
+    */
+    private static void detener(Thread hilo) {
+        hilo.interrupt();
+        boolean interrumpido = false;
+        while (hilo.isAlive()) {
+            try {
+                hilo.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) Thread.currentThread().interrupt();
+    }
+
+    /* Receptor de cada trozo encontrado: [desde, hasta) en bytes */
+    private interface ReceptorTrozo {
+        void aceptar(int desde, int hasta);
+    }
+
+    /*
+    Etapa 1: busca las fronteras de objetos del arreglo "clientes".
+    Complejidad: O(bytes del archivo), sin asignar memoria por cliente.
+    */
+    private void dividir(ByteBuffer mapa, ReceptorTrozo receptor) throws IOException {
+        int profundidad = 0;
+        boolean enTexto = false;
+        boolean escape = false;
+        int inicioTexto = 0;
+        boolean ultimaClaveEsClientes = false;
+        boolean dentroDeClientes = false;
+        int inicioTrozo = -1;
+        int finUltimoObjeto = -1;
+
+        for (int i = 0, n = mapa.limit(); i < n; i++) {
+            byte b = mapa.get(i);
+            if (enTexto) {
+                if (escape) {
+                    escape = false;
+                } else if (b == '\\') {
+                    escape = true;
+                } else if (b == '"') {
+                    enTexto = false;
+                    if (profundidad == 1) {
+                        ultimaClaveEsClientes = coincide(mapa, inicioTexto, i, CLAVE_CLIENTES);
+                    }
+                }
+                continue;
+            }
+            switch (b) {
+                case '"':
+                    enTexto = true;
+                    inicioTexto = i + 1;
+                    break;
+                case '[':
+                case '{':
+                    if (profundidad == 1 && b == '[' && ultimaClaveEsClientes) {
+                        dentroDeClientes = true;
+                    } else if (dentroDeClientes && profundidad == 2 && b == '{' && inicioTrozo < 0) {
+                        inicioTrozo = i;
+                    }
+                    profundidad++;
+                    break;
+                case ']':
+                case '}':
+                    profundidad--;
+                    if (profundidad < 0) throw new IOException("JSON inválido: cierre sin apertura en byte " + i);
+                    if (dentroDeClientes && profundidad == 2 && b == '}') {
+                        finUltimoObjeto = i + 1;
+                        if (finUltimoObjeto - inicioTrozo >= tamanioTrozo) {
+                            receptor.aceptar(inicioTrozo, finUltimoObjeto);
+                            inicioTrozo = -1;
+                        }
+                    } else if (dentroDeClientes && profundidad == 1) {
+                        dentroDeClientes = false;
+                        ultimaClaveEsClientes = false;
+                        if (inicioTrozo >= 0) {
+                            receptor.aceptar(inicioTrozo, finUltimoObjeto);
+                            inicioTrozo = -1;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (profundidad != 0 || enTexto) {
+            throw new IOException("JSON inválido: el archivo termina con estructuras sin cerrar");
+        }
+    }
+
+    private static boolean coincide(ByteBuffer mapa, int desde, int hasta, byte[] esperado) {
+        if (hasta - desde != esperado.length) return false;
+        for (int i = 0; i < esperado.length; i++) {
+            if (mapa.get(desde + i) != esperado[i]) return false;
+        }
+        return true;
+    }
+
+    /*
+    Etapa 2: parsea un trozo completo en un hilo trabajador.
+    */
+    private static Cliente[] parsear(ByteBuffer mapa, int desde, int hasta,
+            AtomicLong inicioParseo, AtomicLong finParseo) throws IOException {
+        inicioParseo.accumulateAndGet(System.nanoTime(), Math::min);
+        ByteBuffer trozo = mapa.duplicate();  // Posición y límite propios, sin copiar datos
+        trozo.limit(hasta).position(desde);
+        InputStream entrada = new SequenceInputStream(new ByteArrayInputStream(APERTURA),
+                new SequenceInputStream(new EntradaBuffer(trozo), new ByteArrayInputStream(CIERRE)));
+
+        ArrayList<Cliente> leidos = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(entrada, StandardCharsets.UTF_8), 1 << 16))) {
+            new LectorJsonClientes().leerArreglo(reader, leidos::add);
+        } catch (IllegalStateException e) {
+            throw new IOException("JSON inválido: " + e.getMessage(), e);
+        }
+        finParseo.accumulateAndGet(System.nanoTime(), Math::max);
+        return leidos.toArray(new Cliente[0]);
+    }
+
+    /*
+    InputStream sobre un ByteBuffer (lee entre position y limit).
+    */
+    private static class EntradaBuffer extends InputStream {
+        private final ByteBuffer buffer;
+
+        EntradaBuffer(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int offset, int longitud) {
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(longitud, buffer.remaining());
+            buffer.get(destino, offset, n);
+            return n;
+        }
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    MÉTRICAS DE LA ÚLTIMA IMPORTACIÓN
+    ══════════════════════════════════════════════════════════
+    */
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    public int getClientesLeidos() {
+        return clientesLeidos;
+    }
+
+    public int getClientesIncorporados() {
+        return clientesIncorporados;
+    }
+
+    public int getTrozos() {
+        return trozos;
+    }
+
+    public long getMsDivision() {
+        return nanosDivision / 1_000_000;
+    }
+
+    /*
+    Tiempo de pared de la etapa de parseo (del primer trozo iniciado al último terminado).
+    */
+    public long getMsParseo() {
+        return nanosParseo / 1_000_000;
+    }
+
+    /*
+    Tiempo acumulado insertando en el destino.
+    */
+    public long getMsFusion() {
+        return nanosFusion / 1_000_000;
+    }
+
+    public long getMsTotal() {
+        return nanosTotal / 1_000_000;
+    }
+
+    private long porSegundo(long nanos) {
+        return nanos <= 0 ? 0 : (long) (clientesLeidos * 1e9 / nanos);
+    }
+
+    /*
+    Rendimiento de cada etapa en clientes por segundo.
+    */
+    public long getClientesPorSegundoDivision() {
+        return porSegundo(nanosDivision);
+    }
+
+    public long getClientesPorSegundoParseo() {
+        return porSegundo(nanosParseo);
+    }
+
+    public long getClientesPorSegundoFusion() {
+        return porSegundo(nanosFusion);
+    }
+
+    /*
+    Resumen legible de la última importación.
+    */
+    public String getResumen() {
+        return String.format("%d clientes en %d trozos, %d hilos, %d ms total%n"
+                + "  división: %6d ms (%,d clientes/s)%n"
+                + "  parseo:   %6d ms (%,d clientes/s)%n"
+                + "  fusión:   %6d ms (%,d clientes/s)",
+                clientesLeidos, trozos, hilos, getMsTotal(),
+                getMsDivision(), getClientesPorSegundoDivision(),
+                getMsParseo(), getClientesPorSegundoParseo(),
+                getMsFusion(), getClientesPorSegundoFusion());
+    }
+}
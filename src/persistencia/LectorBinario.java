@@ -0,0 +1,140 @@
+package persistencia;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/*
+Lector secuencial sobre un FileChannel con un buffer directo grande,
+o directamente sobre un buffer ya mapeado en memoria.
+Contraparte de EscritorBinario.
+
+INVARIANTE DE REPRESENTACIÓN:
+- buffer != null
+- canal == null => finCanal (todo el contenido ya está en el buffer)
+- buffer está en modo lectura (position = próximo byte a consumir)
+*/
+public class LectorBinario {
+
+    /* Atributos */
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private boolean finCanal;
+
+    public LectorBinario(FileChannel canal) {
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocateDirect(EscritorBinario.TAMANIO_BUFFER);
+        this.buffer.flip();  // Vacío, en modo lectura
+        this.finCanal = false;
+    }
+
+    /*
+    Lector sobre un buffer existente (por ejemplo un MappedByteBuffer).
+    No copia datos: lee desde la posición actual del buffer recibido.
+    */
+    public LectorBinario(ByteBuffer contenido) {
+        this.canal = null;
+        this.buffer = contenido;
+        this.finCanal = true;
+    }
+
+    /*
+    Intenta dejar al menos n bytes disponibles. Retorna false si el archivo terminó antes.
+    */
+    private boolean rellenar(int n) throws IOException {
+        if (buffer.remaining() >= n) return true;
+        if (canal == null) return false;
+        buffer.compact();
+        while (buffer.position() < n && !finCanal) {
+            if (canal.read(buffer) < 0) finCanal = true;
+        }
+        buffer.flip();
+        return buffer.remaining() >= n;
+    }
+
+    private void requerir(int n) throws IOException {
+        if (!rellenar(n)) {
+            throw new EOFException("Fin de archivo inesperado en snapshot binario");
+        }
+    }
+
+    public int leerByte() throws IOException {
+        requerir(1);
+        return buffer.get() & 0xFF;
+    }
+
+    public int leerEntero() throws IOException {
+        requerir(4);
+        return buffer.getInt();
+    }
+
+    public long leerLargo() throws IOException {
+        requerir(8);
+        return buffer.getLong();
+    }
+
+    /*
+    Lee un varint sin signo de 32 bits (1 a 5 bytes).
+    */
+    public int leerVarint() throws IOException {
+        rellenar(5);  // Puede haber menos de 5 bytes al final del archivo
+        int resultado = 0;
+        for (int desplazamiento = 0; desplazamiento < 35; desplazamiento += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("Varint truncado en snapshot binario");
+            }
+            byte b = buffer.get();
+            resultado |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) return resultado;
+        }
+        throw new IOException("Varint mal formado en snapshot binario");
+    }
+
+    /*
+    Lee un texto UTF-8 prefijado por su longitud.
+    */
+    public String leerTexto() throws IOException {
+        int longitud = leerVarint();
+        if (longitud < 0 || longitud > buffer.capacity()) {
+            throw new IOException("Longitud de texto inválida: " + longitud);
+        }
+        requerir(longitud);
+        byte[] bytes = new byte[longitud];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+    Lee una lista codificada con EscritorBinario.escribirListaDelta.
+    */
+    public int[] leerListaDelta() throws IOException {
+        int n = leerCantidad();
+        int[] ids = new int[n];
+        int anterior = 0;
+        for (int i = 0; i < n; i++) {
+            anterior += leerVarint();
+            ids[i] = anterior;
+        }
+        return ids;
+    }
+
+    /*
+    Lee una lista codificada con EscritorBinario.escribirLista.
+    */
+    public int[] leerLista() throws IOException {
+        int n = leerCantidad();
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = leerVarint();
+        }
+        return ids;
+    }
+
+    private int leerCantidad() throws IOException {
+        int n = leerVarint();
+        if (n < 0) throw new IOException("Cantidad inválida en snapshot binario: " + n);
+        return n;
+    }
+}
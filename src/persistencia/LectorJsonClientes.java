@@ -0,0 +1,173 @@
+package persistencia;
+
+import modelo.Cliente;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/*
+Lectura en streaming del JSON de clientes con JsonReader.
+Lee un cliente a la vez y lo entrega de inmediato, sin materializar el arreglo
+completo de DTOs. Contraparte de EscrituraJson.
+
+No es thread-safe (reutiliza buffers internos): cada hilo usa su propia instancia.
+
+INVARIANTE DE REPRESENTACIÓN:
+- bufferEnteros != null && bufferTextos != null
+*/
+public class LectorJsonClientes {
+
+    /* Buffers reutilizables entre clientes */
+    private int[] bufferEnteros = new int[16];
+    private String[] bufferTextos = new String[16];
+
+    /*
+    Lee el archivo completo (UTF-8, como lo escribe EscrituraJson) y entrega cada
+    cliente válido al destino. Solo se procesan los arreglos "clientes" del objeto raíz.
+    Retorna la cantidad de clientes aceptados por el destino.
+    Complejidad: O(N) tiempo, O(1) memoria adicional por cliente.
+    */
+    public int leer(String ruta, Predicate<Cliente> destino) throws IOException {
+        int incorporados = 0;
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(ruta), StandardCharsets.UTF_8), 1 << 16))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("clientes") || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                incorporados += leerArreglo(reader, destino);
+            }
+            reader.endObject();
+        }
+        return incorporados;
+    }
+
+    /*
+    Marca del WAL guardada por EscrituraJson (0 si el archivo no la tiene).
+    Solo lee hasta el arreglo "clientes", que siempre va después de la marca.
+    */
+    public static long leerMarcaLog(String ruta) throws IOException {
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(ruta), StandardCharsets.UTF_8)))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String nombre = reader.nextName();
+                if (nombre.equals("marcaLog")) return reader.nextLong();
+                if (nombre.equals("clientes")) return 0;
+                reader.skipValue();
+            }
+            return 0;
+        }
+    }
+
+    /*
+    Lee un arreglo JSON de clientes desde la posición actual del reader.
+    */
+    public int leerArreglo(JsonReader reader, Predicate<Cliente> destino) throws IOException {
+        int incorporados = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Cliente c = leerCliente(reader);
+            if (c != null && destino.test(c)) incorporados++;
+        }
+        reader.endArray();
+        return incorporados;
+    }
+
+    /*
+    Lee un objeto cliente del stream y construye el Cliente directamente.
+    Campos desconocidos se ignoran. Retorna null si el registro es inválido.
+    */
+    public Cliente leerCliente(JsonReader reader) throws IOException {
+        int id = 0;
+        String nombre = null;
+        int scoring = 0;
+        int[] siguiendo = null;
+        int[] seguidores = null;  // Puede faltar en versiones antiguas del JSON
+        String[] solicitudes = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String campo = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (campo) {
+                case "id": id = reader.nextInt(); break;
+                case "nombre": nombre = reader.nextString(); break;
+                case "scoring": scoring = reader.nextInt(); break;
+                case "siguiendo": siguiendo = leerArregloEnteros(reader); break;
+                case "seguidores": seguidores = leerArregloEnteros(reader); break;
+                case "solicitudes": solicitudes = leerArregloTextos(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        try {
+            Cliente c = new Cliente(id, nombre, scoring);
+            c.cargarSiguiendo(siguiendo);
+            c.cargarSolicitudes(solicitudes);
+            c.cargarSeguidores(seguidores);
+            return c;
+        } catch (IllegalArgumentException e) {
+            return null;  // Registro corrupto: se descarta
+        }
+    }
+
+    /*
+    Lee un arreglo JSON de enteros (acepta números o textos numéricos).
+    Reutiliza un buffer interno para no crear listas temporales.
+    */
+    private int[] leerArregloEnteros(JsonReader reader) throws IOException {
+        int n = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (n == bufferEnteros.length) {
+                int[] mayor = new int[n * 2];
+                System.arraycopy(bufferEnteros, 0, mayor, 0, n);
+                bufferEnteros = mayor;
+            }
+            int valor;
+            try {
+                valor = reader.nextInt();
+            } catch (NumberFormatException e) {
+                reader.skipValue();  // Dato corrupto: se descarta el token
+                valor = 0;
+            }
+            bufferEnteros[n++] = valor;
+        }
+        reader.endArray();
+        int[] resultado = new int[n];
+        System.arraycopy(bufferEnteros, 0, resultado, 0, n);
+        return resultado;
+    }
+
+    /*
+    Lee un arreglo JSON de textos (acepta números, que se convierten a texto).
+    */
+    private String[] leerArregloTextos(JsonReader reader) throws IOException {
+        int n = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (n == bufferTextos.length) {
+                String[] mayor = new String[n * 2];
+                System.arraycopy(bufferTextos, 0, mayor, 0, n);
+                bufferTextos = mayor;
+            }
+            bufferTextos[n++] = reader.nextString();
+        }
+        reader.endArray();
+        String[] resultado = new String[n];
+        System.arraycopy(bufferTextos, 0, resultado, 0, n);
+        return resultado;
+    }
+}
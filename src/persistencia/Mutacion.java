@@ -0,0 +1,70 @@
+package persistencia;
+
+/*
+Registro inmutable de una mutación del sistema (entrada del WAL).
+
+Significado de los campos según el tipo:
+- AGREGAR_CLIENTE:    idA = id, idB = scoring, nombre
+- ELIMINAR_CLIENTE:   idA = id
+- SEGUIR / DEJAR_DE_SEGUIR / ENVIAR_SOLICITUD: idA = solicitante, idB = objetivo
+- PROCESAR_SOLICITUD: idA = cliente que procesa su siguiente solicitud
+
+INVARIANTE DE REPRESENTACIÓN:
+- tipo != null
+- tipo == AGREGAR_CLIENTE <=> nombre != null
+ */
+public class Mutacion {
+
+    /* Atributos */
+    private final TipoMutacion tipo;
+    private final int idA;
+    private final int idB;
+    private final String nombre;
+
+    private Mutacion(TipoMutacion tipo, int idA, int idB, String nombre) {
+        this.tipo = tipo;
+        this.idA = idA;
+        this.idB = idB;
+        this.nombre = nombre;
+    }
+
+    public static Mutacion agregarCliente(int id, String nombre, int scoring) {
+        return new Mutacion(TipoMutacion.AGREGAR_CLIENTE, id, scoring, nombre);
+    }
+
+    public static Mutacion eliminarCliente(int id) {
+        return new Mutacion(TipoMutacion.ELIMINAR_CLIENTE, id, 0, null);
+    }
+
+    public static Mutacion procesarSolicitud(int id) {
+        return new Mutacion(TipoMutacion.PROCESAR_SOLICITUD, id, 0, null);
+    }
+
+    /*
+    Mutación sobre una relación entre dos clientes (seguir, dejar de seguir, solicitud).
+    */
+    public static Mutacion relacion(TipoMutacion tipo, int idSolicitante, int idObjetivo) {
+        return new Mutacion(tipo, idSolicitante, idObjetivo, null);
+    }
+
+    public TipoMutacion getTipo() {
+        return tipo;
+    }
+
+    public int getIdA() {
+        return idA;
+    }
+
+    public int getIdB() {
+        return idB;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + "(" + idA + (idB != 0 ? ", " + idB : "") + (nombre != null ? ", " + nombre : "") + ")";
+    }
+}
@@ -0,0 +1,436 @@
+package persistencia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/*
+Log de escritura anticipada (WAL) append-only para las mutaciones del Gestor.
+
+FORMATO:
+- Cabecera: MAGIC (int) | base (long)
+- Cada registro:
+    longitud (int) | código de tipo (byte) | payload (varints / texto UTF-8) | CRC32 (int)
+La longitud cubre tipo + payload. El CRC se calcula sobre esos mismos bytes.
+Un registro incompleto o con CRC inválido marca el fin del log (escritura cortada
+por un crash): se descarta junto con todo lo que le siga.
+
+POSICIONES LÓGICAS: la posición de un byte del log es base + (offset - CABECERA).
+No cambia al descartar registros viejos (la base avanza lo mismo que se recorta),
+por lo que una marca sigue identificando el mismo punto del log. El snapshot
+guarda la marca hasta la que cubre el log y la reproducción saltea los registros
+que terminan antes: un crash entre publicar el snapshot y recortar el log no
+reaplica mutaciones que el snapshot ya contiene.
+
+GROUP COMMIT: los registros se acumulan en un buffer y se escriben juntos al
+confirmar el lote: por cantidad, por tiempo (un hilo temporizador confirma el
+lote parcial cada intervaloMs) o explícitamente con confirmar().
+
+POLÍTICA DE SINCRONIZACIÓN:
+- SIEMPRE:  cada registro se escribe y se fuerza a disco (fsync) antes de retornar.
+- POR_LOTE: el lote se escribe y se fuerza a disco al confirmarse.
+- NUNCA:    el lote se escribe al confirmarse; el SO decide cuándo llega a disco.
+
+INVARIANTE DE REPRESENTACIÓN:
+- El archivo contiene la cabecera y solo registros completos y válidos (se trunca al abrir)
+- base >= 0; canal.position() >= CABECERA
+- 0 <= pendientes <= tamanioLote
+*/
+public class RegistroEscritura implements AutoCloseable {
+
+    public enum PoliticaSincronizacion { SIEMPRE, POR_LOTE, NUNCA }
+
+    /* Constantes */
+    public static final String EXTENSION = ".wal";
+    private static final int MAGIC = 0x5257414C;  // "RWAL"
+    private static final int CABECERA = 4 + 8;
+    private static final int TAMANIO_BUFFER = 1 << 20;
+    private static final int MAXIMO_REGISTRO = 64 * 1024;
+
+    /* Atributos */
+    private final Path ruta;
+    private final ByteBuffer lote;
+    private final PoliticaSincronizacion politica;
+    private final int tamanioLote;
+    private final long intervaloNanos;
+    private final CRC32 crc;
+    private final ScheduledExecutorService temporizador;  // null si no hay intervalo
+    private FileChannel canal;
+    private long base;      // Posición lógica del primer registro del archivo
+    private int pendientes;
+    private long ultimoCommit;
+    private int registros;  // Registros en el archivo desde el último recorte
+    private boolean cerrado;
+
+    /*
+    Abre (o crea) el log en la ruta indicada y lo deja listo para agregar al final.
+    Si el archivo termina en un registro cortado, se trunca al último registro válido.
+    tamanioLote e intervaloMs solo aplican a POR_LOTE y NUNCA.
+    baseMinima es la marca del snapshot actual: un log nuevo (o uno que el snapshot
+    ya cubre por completo) empieza en esa posición lógica.
+    */
+    public RegistroEscritura(String ruta, PoliticaSincronizacion politica, int tamanioLote,
+            long intervaloMs, long baseMinima) throws IOException {
+        if (politica == null || tamanioLote <= 0 || intervaloMs < 0 || baseMinima < 0) {
+            throw new IllegalArgumentException("Configuración de WAL inválida");
+        }
+        this.ruta = Paths.get(ruta);
+        this.politica = politica;
+        this.tamanioLote = politica == PoliticaSincronizacion.SIEMPRE ? 1 : tamanioLote;
+        this.intervaloNanos = intervaloMs * 1_000_000L;
+        this.lote = ByteBuffer.allocate(TAMANIO_BUFFER);
+        this.crc = new CRC32();
+        this.canal = abrirCanal(this.ruta);
+
+        try {
+            long baseLeida = leerBase(canal);
+            int[] contador = new int[1];
+            long finValido = baseLeida < 0 ? CABECERA : recorrer(canal, baseLeida, -1, m -> contador[0]++);
+            if (baseLeida < 0 || baseLeida + finValido - CABECERA < baseMinima) {
+                reemplazar(baseMinima, ByteBuffer.allocate(0));  // Nuevo, o cubierto por el snapshot
+            } else {
+                canal.truncate(finValido);
+                canal.position(finValido);
+                this.base = baseLeida;
+                this.registros = contador[0];
+            }
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        this.ultimoCommit = System.nanoTime();
+
+        if (this.tamanioLote > 1 && intervaloMs > 0) {
+            this.temporizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "wal-confirmacion");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            temporizador.scheduleWithFixedDelay(this::confirmarLoteVencido, intervaloMs, intervaloMs,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.temporizador = null;
+        }
+    }
+
+    public RegistroEscritura(String ruta, PoliticaSincronizacion politica, int tamanioLote,
+            long intervaloMs) throws IOException {
+        this(ruta, politica, tamanioLote, intervaloMs, 0);
+    }
+
+    private static FileChannel abrirCanal(Path ruta) throws IOException {
+        return FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /*
+    Lee la base de la cabecera. Retorna -1 si el archivo es más corto que la
+    cabecera (recién creado, o cortado antes de completarla).
+    */
+    private static long leerBase(FileChannel canal) throws IOException {
+        if (canal.size() < CABECERA) return -1;
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+        while (cabecera.hasRemaining()) {
+            if (canal.read(cabecera, cabecera.position()) < 0) return -1;
+        }
+        if (cabecera.getInt(0) != MAGIC) {
+            throw new IOException("El archivo no es un WAL");
+        }
+        return cabecera.getLong(4);
+    }
+
+    /*
+    Reproduce todas las mutaciones válidas del log, en orden.
+    Retorna la cantidad reproducida (0 si el archivo no existe).
+    */
+    public static int reproducir(String ruta, Consumer<Mutacion> destino) throws IOException {
+        return reproducir(ruta, -1, destino);
+    }
+
+    /*
+    Reproduce, en orden, las mutaciones que terminan después de la marca
+    (las anteriores ya están en el snapshot que la registró).
+    Retorna la cantidad reproducida (0 si el archivo no existe).
+    */
+    public static int reproducir(String ruta, long desde, Consumer<Mutacion> destino) throws IOException {
+        Path path = Paths.get(ruta);
+        if (!Files.exists(path)) return 0;
+        int[] contador = new int[1];
+        try (FileChannel canal = FileChannel.open(path, StandardOpenOption.READ)) {
+            long baseLeida = leerBase(canal);
+            if (baseLeida < 0) return 0;
+            recorrer(canal, baseLeida, desde, m -> {
+                destino.accept(m);
+                contador[0]++;
+            });
+        }
+        return contador[0];
+    }
+
+    /*
+    Posición lógica del final del log en disco (0 si el archivo no existe).
+    Es la marca que corresponde a un snapshot tomado sin WAL activo.
+    */
+    public static long leerMarcaFinal(String ruta) throws IOException {
+        Path path = Paths.get(ruta);
+        if (!Files.exists(path)) return 0;
+        try (FileChannel canal = FileChannel.open(path, StandardOpenOption.READ)) {
+            long baseLeida = leerBase(canal);
+            if (baseLeida < 0) return 0;
+            return baseLeida + recorrer(canal, baseLeida, Long.MAX_VALUE, m -> { }) - CABECERA;
+        }
+    }
+
+    /*
+    Recorre los registros válidos del canal y entrega los que terminan después
+    de la posición lógica desde. Retorna el offset donde termina el último
+    registro válido.
+    */
+    private static long recorrer(FileChannel canal, long base, long desde, Consumer<Mutacion> destino)
+            throws IOException {
+        long tamanio = canal.size();
+        if (tamanio > Integer.MAX_VALUE) {
+            throw new IOException("WAL demasiado grande: " + tamanio + " bytes");
+        }
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanio);
+        mapa.position(CABECERA);
+        CRC32 verificador = new CRC32();
+        int finValido = CABECERA;
+
+        while (mapa.remaining() >= 4) {
+            int longitud = mapa.getInt();
+            if (longitud <= 0 || longitud > MAXIMO_REGISTRO || mapa.remaining() < longitud + 4) break;
+
+            ByteBuffer contenido = mapa.slice();
+            contenido.limit(longitud);
+            verificador.reset();
+            verificador.update(contenido.duplicate());
+            mapa.position(mapa.position() + longitud);
+            if ((int) verificador.getValue() != mapa.getInt()) break;
+
+            Mutacion m = decodificar(contenido);
+            if (m == null) break;
+            finValido = mapa.position();
+            if (base + finValido - CABECERA > desde) destino.accept(m);
+        }
+        return finValido;
+    }
+
+    private static Mutacion decodificar(ByteBuffer contenido) throws IOException {
+        LectorBinario lector = new LectorBinario(contenido);
+        TipoMutacion tipo = TipoMutacion.desdeCodigo(lector.leerByte());
+        if (tipo == null) return null;
+        switch (tipo) {
+            case AGREGAR_CLIENTE: {
+                int id = lector.leerVarint();
+                int scoring = lector.leerVarint();
+                return Mutacion.agregarCliente(id, lector.leerTexto(), scoring);
+            }
+            case ELIMINAR_CLIENTE:
+                return Mutacion.eliminarCliente(lector.leerVarint());
+            case PROCESAR_SOLICITUD:
+                return Mutacion.procesarSolicitud(lector.leerVarint());
+            default: {
+                int idA = lector.leerVarint();
+                return Mutacion.relacion(tipo, idA, lector.leerVarint());
+            }
+        }
+    }
+
+    /*
+    Agrega una mutación al lote. Confirma el lote si se alcanzó el tamaño
+    o el intervalo configurado (con SIEMPRE, confirma en cada llamada).
+    */
+    public synchronized void agregar(Mutacion m) throws IOException {
+        byte[] nombre = m.getNombre() == null ? null : m.getNombre().getBytes(StandardCharsets.UTF_8);
+        int maximo = 4 + 1 + 15 + (nombre == null ? 0 : nombre.length) + 4;
+        if (maximo > MAXIMO_REGISTRO) {
+            throw new IOException("Registro de WAL demasiado grande");
+        }
+        if (lote.remaining() < maximo) {
+            escribirLote();
+        }
+
+        int inicio = lote.position();
+        lote.position(inicio + 4);  // Longitud: se completa al final
+        lote.put((byte) m.getTipo().getCodigo());
+        EscritorBinario.ponerVarint(lote, m.getIdA());
+        if (m.getTipo() != TipoMutacion.ELIMINAR_CLIENTE && m.getTipo() != TipoMutacion.PROCESAR_SOLICITUD) {
+            EscritorBinario.ponerVarint(lote, m.getIdB());
+        }
+        if (nombre != null) {
+            EscritorBinario.ponerVarint(lote, nombre.length);
+            lote.put(nombre);
+        }
+        int longitud = lote.position() - inicio - 4;
+        crc.reset();
+        crc.update(lote.array(), inicio + 4, longitud);
+        lote.putInt(inicio, longitud);
+        lote.putInt((int) crc.getValue());
+
+        pendientes++;
+        registros++;
+        if (pendientes >= tamanioLote
+                || (intervaloNanos > 0 && System.nanoTime() - ultimoCommit >= intervaloNanos)) {  // 0 = sin plazo
+            confirmar();
+        }
+    }
+
+    /*
+    Confirma el lote pendiente: lo escribe y, según la política, fuerza a disco.
+    */
+    public synchronized void confirmar() throws IOException {
+        if (cerrado) throw new IOException("WAL cerrado");
+        escribirLote();
+        if (politica != PoliticaSincronizacion.NUNCA) {
+            canal.force(false);
+        }
+        pendientes = 0;
+        ultimoCommit = System.nanoTime();
+    }
+
+    /*
+    Tarea del temporizador: confirma el lote parcial para que ninguna mutación
+    quede en memoria más de intervaloMs aunque no lleguen otras.
+    */
+    private synchronized void confirmarLoteVencido() {
+        if (cerrado || pendientes == 0) return;
+        try {
+            confirmar();
+        } catch (IOException e) {
+            System.err.println("Error confirmando WAL: " + e.getMessage());
+        }
+    }
+
+    private void escribirLote() throws IOException {
+        lote.flip();
+        while (lote.hasRemaining()) {
+            canal.write(lote);
+        }
+        lote.clear();
+    }
+
+    /*
+    Vacía el log (tras un checkpoint: el snapshot ya contiene todas las mutaciones).
+    */
+    public synchronized void truncar() throws IOException {
+        descartarHasta(marcar());
+    }
+
+    /*
+    Confirma lo pendiente y retorna la posición lógica del final del log.
+    Todo lo registrado antes de la marca queda cubierto por un snapshot que se
+    inicie a continuación; el snapshot debe guardar la marca en su cabecera.
+    */
+    public synchronized long marcar() throws IOException {
+        confirmar();
+        return base + canal.position() - CABECERA;
+    }
+
+    /*
+    Descarta los registros anteriores a la marca, conservando los posteriores
+    (mutaciones ocurridas mientras se escribía el snapshot). La cola se copia a
+    un archivo temporal que luego reemplaza al log de forma atómica: un crash a
+    mitad del recorte deja el log anterior completo, nunca uno a medias.
+    Complejidad: O(bytes posteriores a la marca).
+    */
+    public synchronized void descartarHasta(long marca) throws IOException {
+        confirmar();
+        long fin = canal.position();
+        long desde = marca - base + CABECERA;
+        if (desde <= CABECERA || desde > fin) return;
+        if (fin - desde > Integer.MAX_VALUE) {
+            throw new IOException("Cola de WAL demasiado grande: " + (fin - desde) + " bytes");
+        }
+        ByteBuffer cola = ByteBuffer.allocate((int) (fin - desde));
+        while (cola.hasRemaining()) {
+            if (canal.read(cola, desde + cola.position()) < 0) break;
+        }
+        cola.flip();
+        int restantes = contarRegistros(cola);
+        reemplazar(marca, cola);
+        registros = restantes;
+    }
+
+    /*
+    Recorta un log que no está abierto (checkpoint sin WAL activo).
+    */
+    public static void descartarHasta(String ruta, long marca) throws IOException {
+        if (!Files.exists(Paths.get(ruta))) return;
+        try (RegistroEscritura log = new RegistroEscritura(ruta, PoliticaSincronizacion.NUNCA, 1, 0)) {
+            log.descartarHasta(marca);
+        }
+    }
+
+    /*
+    Escribe cabecera (con la nueva base) + cola en un temporal, lo fuerza a disco
+    y lo renombra sobre el log. El canal queda abierto sobre el archivo nuevo.
+    */
+    private void reemplazar(long nuevaBase, ByteBuffer cola) throws IOException {
+        Path temporal = Paths.get(ruta + ".tmp");
+        try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+            cabecera.putInt(MAGIC).putLong(nuevaBase).flip();
+            while (cabecera.hasRemaining()) salida.write(cabecera);
+            while (cola.hasRemaining()) salida.write(cola);
+            salida.force(false);
+        }
+        canal.close();
+        try {
+            Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            base = nuevaBase;
+        } finally {
+            canal = abrirCanal(ruta);
+            canal.position(canal.size());
+        }
+    }
+
+    /*
+    Cuenta los registros completos de un buffer (ya validados al escribirse).
+    */
+    private static int contarRegistros(ByteBuffer contenido) {
+        int cantidad = 0;
+        int posicion = contenido.position();
+        while (contenido.limit() - posicion >= 4) {
+            posicion += 4 + contenido.getInt(posicion) + 4;
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    /*
+    Cantidad de registros acumulados desde el último recorte (incluye pendientes).
+    */
+    public synchronized int getRegistros() {
+        return registros;
+    }
+
+    public PoliticaSincronizacion getPolitica() {
+        return politica;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (cerrado) return;
+        if (temporizador != null) temporizador.shutdownNow();
+        try {
+            confirmar();
+        } finally {
+            cerrado = true;
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package persistencia;
+
+import interfaces.IDiccionarioEntero;
+import modelo.Cliente;
+import java.util.Iterator;
+import java.util.Spliterators;
+
+/*
+Snapshot en segundo plano de una vista inmutable del diccionario de clientes.
+
+El llamador obtiene la vista con IntDiccionario.instantanea() (O(capacidad)) y
+elige una época mayor a cualquier snapshot anterior. Mientras este hilo
+serializa, el sistema sigue mutando: antes de modificar un Cliente incluido en
+la vista se invoca Cliente.prepararMutacion(epoca), que conserva su estado
+previo. Así cada cliente se escribe tal como estaba al iniciarse el snapshot
+(vista consistente a un punto en el tiempo) sin detener a nadie.
+
+Progreso, duración y bytes escritos pueden consultarse desde cualquier hilo.
+
+Como checkpoint, la marca del WAL viaja en la cabecera del archivo: alCompletar
+recorta el log después de publicar el snapshot, y si el proceso muere entre
+ambos pasos la reproducción saltea lo que la marca ya cubre.
+
+INVARIANTE DE REPRESENTACIÓN:
+- vista no se modifica mientras el snapshot está EN_CURSO
+- 0 <= clientesEscritos <= totalClientes
+- estado != EN_CURSO => finNanos >= inicioNanos
+
+GRASP: Pure Fabrication - aísla el hilo de guardado del Gestor
+*/
+public class SnapshotAsincrono implements Runnable {
+
+    public enum Estado { PENDIENTE, EN_CURSO, COMPLETADO, FALLIDO }
+
+    /* Atributos */
+    private final String ruta;
+    private final boolean binario;
+    private final IDiccionarioEntero<Cliente> vista;
+    private final long epoca;
+    private final long marcaLog;
+    private final Runnable alCompletar;
+    private final int totalClientes;
+    private final Thread hilo;
+    private volatile Estado estado;
+    private volatile int clientesEscritos;
+    private volatile long bytesEscritos;
+    private volatile long inicioNanos;
+    private volatile long finNanos;
+    private volatile String error;
+
+    /*
+    Prepara el snapshot (no lo inicia).
+    marcaLog se guarda en la cabecera del archivo (ver RegistroEscritura).
+    alCompletar (opcional) se ejecuta en el hilo del snapshot solo si terminó bien.
+    */
+    public SnapshotAsincrono(String ruta, boolean binario, IDiccionarioEntero<Cliente> vista,
+            long epoca, long marcaLog, Runnable alCompletar) {
+        this.ruta = ruta;
+        this.binario = binario;
+        this.vista = vista;
+        this.epoca = epoca;
+        this.marcaLog = marcaLog;
+        this.alCompletar = alCompletar;
+        this.totalClientes = vista.getCantidad();
+        this.estado = Estado.PENDIENTE;
+        this.hilo = new Thread(this, "snapshot-" + epoca);
+    }
+
+    /*
+    Lanza el hilo de escritura. Retorna inmediatamente.
+    */
+    public void iniciar() {
+        inicioNanos = System.nanoTime();
+        estado = Estado.EN_CURSO;
+        hilo.start();
+    }
+
+    public SnapshotAsincrono(String ruta, boolean binario, IDiccionarioEntero<Cliente> vista,
+            long epoca, Runnable alCompletar) {
+        this(ruta, binario, vista, epoca, 0, alCompletar);
+    }
+
+    @Override
+    public void run() {
+        try (EscrituraClientes escritura = EscrituraClientes.abrir(ruta, totalClientes, binario, marcaLog)) {
+            Iterator<Cliente> pendientes = Spliterators.iterator(vista.spliteratorValores());
+            while (pendientes.hasNext()) {
+                escritura.agregar(pendientes.next().estadoParaSnapshot(epoca));
+                clientesEscritos++;
+                bytesEscritos = escritura.getBytesEscritos();
+            }
+            bytesEscritos = escritura.finalizar();
+            finNanos = System.nanoTime();
+            if (alCompletar != null) alCompletar.run();
+            estado = Estado.COMPLETADO;
+        } catch (Exception e) {
+            error = e.getMessage();
+            finNanos = System.nanoTime();
+            estado = Estado.FALLIDO;
+        }
+    }
+
+    /*
+    Bloquea hasta que el snapshot termine. Retorna true si se completó bien.
+    */
+    public boolean esperar() {
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return estado == Estado.COMPLETADO;
+    }
+
+    /*
+    Indica si el cliente pertenece a la vista capturada (misma instancia).
+    Los clientes creados después del inicio no necesitan pre-imagen.
+    */
+    public boolean incluye(Cliente c) {
+        return vista.obtener(c.getId()) == c;
+    }
+
+    public boolean estaTerminado() {
+        Estado e = estado;
+        return e == Estado.COMPLETADO || e == Estado.FALLIDO;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    /*
+    Fracción escrita, entre 0.0 y 1.0.
+    */
+    public double getProgreso() {
+        if (totalClientes == 0) return estado == Estado.COMPLETADO ? 1.0 : 0.0;
+        return (double) clientesEscritos / totalClientes;
+    }
+
+    public int getClientesEscritos() {
+        return clientesEscritos;
+    }
+
+    public int getTotalClientes() {
+        return totalClientes;
+    }
+
+    public long getBytesEscritos() {
+        return bytesEscritos;
+    }
+
+    /*
+    Duración en milisegundos (hasta ahora, si sigue en curso).
+    */
+    public long getDuracionMs() {
+        if (estado == Estado.PENDIENTE) return 0;
+        long fin = estaTerminado() ? finNanos : System.nanoTime();
+        return (fin - inicioNanos) / 1_000_000;
+    }
+
+    public long getEpoca() {
+        return epoca;
+    }
+
+    /*
+    Marca del WAL registrada en el archivo (0 si no es un checkpoint).
+    */
+    public long getMarcaLog() {
+        return marcaLog;
+    }
+
+    public String getRuta() {
+        return ruta;
+    }
+
+    /*
+    Mensaje de error si el snapshot falló, null en otro caso.
+    */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,155 @@
+package persistencia;
+
+import modelo.Cliente;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/*
+Snapshot binario versionado de la red social.
+
+FORMATO (versión 3, enteros fijos en big-endian):
+- Cabecera: MAGIC (int) | versión (int) | cantidadClientes (int)
+            | cantidadAristas (long) | cantidadSolicitudes (long) | offsetIndice (long)
+            | marcaLog (long)
+- Por cliente:
+    varint id | texto nombre (varint longitud + UTF-8) | byte scoring
+    | siguiendo (lista delta) | seguidores (lista delta) | solicitudes (lista en orden de llegada)
+- Índice (desde offsetIndice): cantidadClientes entradas (id int | offset long),
+  ordenadas por id. Permite ubicar un cliente por búsqueda binaria sin leer el resto
+  (ver AlmacenMapeado).
+
+marcaLog es la posición del WAL (RegistroEscritura) hasta la que el snapshot ya
+contiene las mutaciones; 0 si no se tomó como checkpoint.
+La versión 2 es idéntica pero sin marcaLog, y la versión 1 además sin offsetIndice
+ni índice; ambas se siguen pudiendo leer.
+
+Las listas delta guardan los IDs ordenados y solo la diferencia con el anterior,
+por lo que IDs cercanos ocupan 1 o 2 bytes en lugar de un String JSON.
+
+Escritura y lectura usan FileChannel con buffers directos de 4 MB.
+La escritura (EscrituraBinaria) se hace sobre un archivo temporal que luego
+reemplaza al original de forma atómica: un corte a mitad de guardado nunca deja
+un snapshot roto.
+
+GRASP: Pure Fabrication - separa el formato de persistencia del Gestor
+*/
+public class SnapshotBinario {
+
+    /* Constantes */
+    public static final int MAGIC = 0x52534E50;  // "RSNP"
+    public static final int VERSION = 3;
+    public static final String EXTENSION = ".bin";
+    static final int TAMANIO_CABECERA = 4 + 4 + 4 + 8 + 8 + 8 + 8;
+    static final int TAMANIO_ENTRADA_INDICE = 4 + 8;
+
+    private SnapshotBinario() {
+    }
+
+    /*
+    Indica si una ruta corresponde al formato binario (por extensión).
+    */
+    public static boolean esRutaBinaria(String ruta) {
+        return ruta != null && ruta.toLowerCase().endsWith(EXTENSION);
+    }
+
+    /*
+    Tamaño de la cabecera según la versión del archivo.
+    */
+    static int tamanioCabecera(int version) {
+        return version >= 3 ? TAMANIO_CABECERA : version == 2 ? TAMANIO_CABECERA - 8 : TAMANIO_CABECERA - 16;
+    }
+
+    /*
+    Marca del WAL guardada en la cabecera (0 en versiones anteriores a la 3).
+    Lanza IOException si el archivo no es un snapshot válido.
+    */
+    public static long leerMarcaLog(String ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+            LectorBinario lector = new LectorBinario(canal);
+            int version = leerVersion(lector, ruta);
+            if (version < 3) return 0;
+            lector.leerEntero();  // clientes
+            lector.leerLargo();   // aristas
+            lector.leerLargo();   // solicitudes
+            lector.leerLargo();   // offsetIndice
+            return lector.leerLargo();
+        }
+    }
+
+    private static int leerVersion(LectorBinario lector, String ruta) throws IOException {
+        if (lector.leerEntero() != MAGIC) {
+            throw new IOException("El archivo no es un snapshot binario: " + ruta);
+        }
+        int version = lector.leerEntero();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Versión de snapshot no soportada: " + version);
+        }
+        return version;
+    }
+
+    /*
+    Escribe todos los clientes en la ruta indicada (escritura síncrona).
+    Retorna la cantidad de bytes escritos.
+    Complejidad: O(N + E log d) donde E = aristas y d = grado (orden de cada lista).
+    */
+    public static long escribir(String ruta, Object[] clientes) throws IOException {
+        try (EscrituraClientes escritura = new EscrituraBinaria(ruta, clientes.length, 0)) {
+            for (Object obj : clientes) {
+                escritura.agregar(((Cliente) obj).capturarEstado());
+            }
+            return escritura.finalizar();
+        }
+    }
+
+    /*
+    Lee el snapshot y entrega cada cliente reconstruido al consumidor, uno a la vez.
+    Retorna la cantidad de clientes declarada en la cabecera.
+    Lanza IOException si el archivo no es un snapshot válido.
+    */
+    public static int leer(String ruta, Consumer<Cliente> destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+            LectorBinario lector = new LectorBinario(canal);
+            int version = leerVersion(lector, ruta);
+            int cantidad = lector.leerEntero();
+            lector.leerLargo();  // aristas (informativo)
+            lector.leerLargo();  // solicitudes (informativo)
+            if (version >= 2) {
+                lector.leerLargo();  // offsetIndice: la lectura secuencial no lo necesita
+            }
+            if (version >= 3) {
+                lector.leerLargo();  // marcaLog: ver leerMarcaLog
+            }
+
+            for (int i = 0; i < cantidad; i++) {
+                Cliente c = leerRegistro(lector);
+                if (c != null) destino.accept(c);
+            }
+            return cantidad;
+        }
+    }
+
+    /*
+    Decodifica un registro de cliente en la posición actual del lector.
+    Retorna null si el registro es inválido (se consume igual).
+    */
+    static Cliente leerRegistro(LectorBinario lector) throws IOException {
+        int id = lector.leerVarint();
+        String nombre = lector.leerTexto();
+        int scoring = lector.leerByte();
+        int[] siguiendo = lector.leerListaDelta();
+        int[] seguidores = lector.leerListaDelta();
+        int[] solicitantes = lector.leerLista();
+        try {
+            Cliente c = new Cliente(id, nombre, scoring);
+            c.cargarSiguiendo(siguiendo);
+            c.cargarSeguidores(seguidores);
+            c.cargarSolicitantes(solicitantes);
+            return c;
+        } catch (IllegalArgumentException e) {
+            return null;  // Registro corrupto: se descarta
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package persistencia;
+
+/*
+Tipos de mutación registrados en el log de escritura anticipada (WAL).
+Cada tipo tiene un código de un byte que se persiste en el archivo:
+los códigos existentes no deben reasignarse.
+ */
+public enum TipoMutacion {
+    AGREGAR_CLIENTE(1),
+    ELIMINAR_CLIENTE(2),
+    SEGUIR(3),
+    DEJAR_DE_SEGUIR(4),
+    ENVIAR_SOLICITUD(5),
+    PROCESAR_SOLICITUD(6);
+
+    private final int codigo;
+
+    TipoMutacion(int codigo) {
+        this.codigo = codigo;
+    }
+
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /*
+    Retorna el tipo asociado al código, o null si el código es desconocido.
+    */
+    public static TipoMutacion desdeCodigo(int codigo) {
+        for (TipoMutacion tipo : values()) {
+            if (tipo.codigo == codigo) return tipo;
+        }
+        return null;
+    }
+}
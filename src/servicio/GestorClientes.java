@@ -5,14 +5,30 @@ import modelo.Accion;
 import modelo.TipoAccion;
 import util.Validador;
 import modelo.Sesion;
+import persistencia.AlmacenMapeado;
+import persistencia.Mutacion;
+import persistencia.RegistroEscritura;
+import persistencia.SnapshotAsincrono;
+import persistencia.TipoMutacion;
+import persistencia.SnapshotBinario;
+import util.BloqueoPorFranjas;
+import util.RegistroMetricas;
 import util.ResultadoValidacion;
-import tda.Diccionario;
+import tda.ConjuntoEnteros;
+import tda.GrafoCSR;
+import tda.IndiceTexto;
+import tda.TablaPosiciones;
+import tda.IntDiccionario;
+import interfaces.IArbolBinarioBusqueda;
+import interfaces.IDiccionario;
 import tda.Pila;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import java.io.FileReader;
-import java.io.FileWriter;
+import tda.Cola;
+import persistencia.ImportadorParalelo;
+import persistencia.LectorJsonClientes;
 import java.io.IOException;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /*
 Gestiona los clientes del sistema usando IDs como identificadores únicos.
@@ -22,126 +38,779 @@ INVARIANTE DE REPRESENTACIÓN:
 - Todos los IDs son > 0
 - Todos los clientes tienen scoring entre 0 y 100
 
+CONCURRENCIA:
+Por defecto el gestor es de un solo hilo. activarModoConcurrente() lo prepara
+para atender a varios usuarios a la vez (un hilo por usuario, cada uno con su
+Sesion vinculada):
+- Las consultas y las operaciones sobre relaciones (seguir, dejarDeSeguir,
+  solicitudes) entran en modo compartido del BloqueoPorFranjas: no se
+  excluyen entre sí y escalan con los núcleos. Las altas, bajas, importaciones,
+  snapshots y activaciones entran en modo exclusivo: modifican los índices
+  (primario, scoring, nombres), que no se tocan en modo compartido.
+- seguir / dejarDeSeguir toman los monitores de los dos clientes en orden
+  creciente de ID (dos hilos con A->B y B->A no se bloquean mutuamente) y
+  dentro hacen ambos lados de la arista, el ranking, el grafo y el WAL: cada
+  una es atómica y el WAL queda en el orden en que se aplicaron.
+- Las estructuras globales que sí cambian en modo compartido se protegen con
+  su propio monitor (ranking de popularidad) o ya son thread-safe (WAL, grafo
+  CSR, contadores LongAdder). Las consultas que mutan estado interno al leer
+  (índice de scoring, búsqueda aproximada) se serializan con un monitor.
+- Los iteradores perezosos (buscarPorRangoScoring, iterarPorScoringDescendente)
+  y la vista de getClientes() no quedan protegidos al retornar: en modo
+  concurrente solo son seguros si no hay altas ni bajas mientras se usan.
+
 GRASP: Creator - crea instancias de Cliente y Accion
 GRASP: Information Expert - conoce el Diccionario de clientes
 SOLID: SRP - solo gestiona clientes
  */
 public class GestorClientes {
     
-    // Esta clase una un diccionario como TDA, donde la clave es el id del cliente, y el valor es el cliente
-    private Diccionario<Integer, Cliente> clientes;  // Índice primario por ID
-    private tda.ArbolBinarioBusqueda<Integer, Cliente> indiceScoring;  // Índice secundario por scoring
-    private boolean registrarEnHistorial;
+    // Esta clase usa un diccionario como TDA, donde la clave es el id del cliente, y el valor es el cliente.
+    // IntDiccionario: claves int sin boxing ni nodos (direccionamiento abierto)
+    private IntDiccionario<Cliente> clientes;  // Índice primario por ID
+    private IArbolBinarioBusqueda<Integer, Cliente> indiceScoring;  // Índice secundario por scoring (ver nuevoIndiceScoring)
+    private volatile boolean registrarEnHistorial;
     private int proximoId;
     private final String archivoPath;
+    private long tiempoCargaMs;
+    private long memoriaTrasCarga;
+    
+    /* Modo mapeado: clientes que siguen solo en el snapshot (se materializan al tocarlos) */
+    private AlmacenMapeado almacen;
+    private IntDiccionario<Boolean> eliminadosDelAlmacen;
+    private int pendientesDeMaterializar;
+    
+    /* Log de escritura anticipada (null = desactivado) */
+    private RegistroEscritura wal;
+    private int umbralCheckpoint;
+    private boolean reproduciendoLog;
+    private volatile long marcaLogSnapshot;  // Posición del WAL que ya cubre el snapshot de archivoPath
+    
+    /* Snapshot en segundo plano (a lo sumo uno a la vez) */
+    private volatile SnapshotAsincrono snapshotEnCurso;
+    private long epocaSnapshots;
+    
+    /* Grafo de seguimiento global en CSR (null = desactivado) */
+    private GrafoCSR grafo;
+    
+    /* Ranking por cantidad de seguidores (null hasta la primera consulta) */
+    private TablaPosiciones popularidad;
+    
+    /* true cuando seguidores es el inverso exacto de siguiendo (ver asegurarSeguidoresCompletos) */
+    private boolean seguidoresCompletos;
+    
+    /* Índice por nombre: exacto, por prefijo y aproximado (null hasta construirse) */
+    private IndiceTexto indiceNombres;
+    private Thread construccionNombres;            // != null mientras se construye en segundo plano
+    private IndiceTexto nombresConstruidos;        // Resultado del hilo (visible tras join)
+    private Cola<CambioNombre> cambiosNombres;     // Altas/bajas ocurridas durante la construcción
+    
+    /* Métricas: llamadas y latencias por operación pública, e indicadores */
+    private final RegistroMetricas<OperacionGestor> metricas = new RegistroMetricas<>(OperacionGestor.class);
+    private final LongAdder relaciones = new LongAdder();             // Aristas de seguimiento de los clientes en memoria
+    private final LongAdder solicitudesPendientes = new LongAdder();  // Solicitudes encoladas en los clientes en memoria
+    
+    /* Modo concurrente (null = un solo hilo, ver activarModoConcurrente) */
+    private BloqueoPorFranjas bloqueo;
+    private volatile boolean checkpointPendiente;  // Checkpoint pedido en modo compartido
+    private final Object cerrojoNombres = new Object();    // Índice de nombres: construcción y búsqueda aproximada
+    
+    /*
+    Alta o baja de un nombre pendiente de aplicar al índice en construcción.
+    */
+    private static final class CambioNombre {
+        final boolean alta;
+        final String nombre;
+        final int id;
+        
+        CambioNombre(boolean alta, String nombre, int id) {
+            this.alta = alta;
+            this.nombre = nombre;
+            this.id = id;
+        }
+    }
     
     /* Constantes */
     private static final String DEFAULT_PATH = "data/clientes_1M.json";
+    private static final String DEFAULT_PATH_BINARIO = "data/clientes_1M.bin";
+    private static final int UMBRAL_CHECKPOINT_DEFAULT = 100_000;
 
+    /*
+    Constructor por defecto.
+    Si existe el snapshot binario lo abre en modo mapeado (arranque inmediato);
+    si no, carga el dataset JSON completo.
+    */
     public GestorClientes() {
-        this(DEFAULT_PATH);
+        this(new java.io.File(DEFAULT_PATH_BINARIO).exists() ? DEFAULT_PATH_BINARIO : DEFAULT_PATH,
+             new java.io.File(DEFAULT_PATH_BINARIO).exists());
     }
     
     /*
     Constructor principal.
-    Carga los clientes desde el archivo JSON especificado.
+    Carga los clientes desde el archivo especificado: snapshot binario si la
+    extensión es .bin, JSON en cualquier otro caso.
     */
     public GestorClientes(String dbPath) {
+        this(dbPath, false);
+    }
+
+    /*
+    Constructor con modo mapeado opcional.
+    Con modoMapeado = true y un snapshot .bin (versión 2), no se construye ningún
+    Cliente al iniciar: cada uno se materializa la primera vez que se lo toca.
+    Las consultas globales (listar, buscar por nombre/scoring, guardar) materializan
+    todo una única vez, a partir de ahí el gestor opera como en el modo normal.
+    */
+    public GestorClientes(String dbPath, boolean modoMapeado) {
         this.archivoPath = dbPath;
         this.registrarEnHistorial = true;
         this.proximoId = 1001;
-        this.indiceScoring = new tda.ArbolBinarioBusqueda<>();  // Inicializar índice secundario
-        cargarDesdeArchivo();
+        this.indiceScoring = nuevoIndiceScoring();  // Inicializar índice secundario
+        this.umbralCheckpoint = UMBRAL_CHECKPOINT_DEFAULT;
+        metricas.registrarIndicador("clientes", this::getCantidadClientes);
+        metricas.registrarIndicador("relaciones", relaciones::sum);
+        metricas.registrarIndicador("solicitudesPendientes", solicitudesPendientes::sum);
+        if (!(modoMapeado && SnapshotBinario.esRutaBinaria(dbPath) && abrirMapeado())) {
+            cargarDesdeArchivo();
+        }
+        reproducirLog();
+    }
+
+    /*
+    Índice secundario por scoring. Si el dominio validado es acotado (0..100)
+    se usa un arreglo de conteo con una cubeta de IDs por scoring; si no, el
+    multimapa ordenado general.
+    */
+    private IArbolBinarioBusqueda<Integer, Cliente> nuevoIndiceScoring() {
+        if ((long) Validador.SCORING_MAXIMO - Validador.SCORING_MINIMO < tda.IndiceScoring.DOMINIO_MAXIMO) {
+            return new tda.IndiceScoring<>(Validador.SCORING_MINIMO, Validador.SCORING_MAXIMO,
+                    Cliente::getId, id -> clientes.obtener(id));
+        }
+        return new tda.MultimapaOrdenado<>(Cliente::getId);
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    LOG DE ESCRITURA ANTICIPADA (WAL)
+    ══════════════════════════════════════════════════════════
+    */
+
+    private String getRutaLog() {
+        return archivoPath + RegistroEscritura.EXTENSION;
+    }
+
+    /*
+    Reaplica sobre el snapshot recién cargado las mutaciones registradas en el WAL
+    después de la marca guardada en el snapshot. Las anteriores ya están en él
+    (aunque un crash haya impedido recortar el log): reaplicarlas duplicaría
+    solicitudes. No registra historial ni vuelve a escribir el log.
+    */
+    private void reproducirLog() {
+        boolean historialPrevio = registrarEnHistorial;
+        registrarEnHistorial = false;
+        reproduciendoLog = true;
+        try {
+            marcaLogSnapshot = leerMarcaLogSnapshot();
+            int aplicadas = RegistroEscritura.reproducir(getRutaLog(), marcaLogSnapshot, this::aplicarMutacion);
+            if (aplicadas > 0) {
+                System.out.println("WAL: " + aplicadas + " mutaciones reaplicadas sobre el snapshot.");
+            }
+        } catch (IOException e) {
+            System.err.println("Error reproduciendo WAL: " + e.getMessage());
+        } finally {
+            reproduciendoLog = false;
+            registrarEnHistorial = historialPrevio;
+        }
+    }
+
+    /*
+    Marca del WAL registrada en el snapshot de archivoPath (0 si no hay snapshot o no la tiene).
+    */
+    private long leerMarcaLogSnapshot() {
+        if (!new java.io.File(archivoPath).exists()) return 0;
+        try {
+            return SnapshotBinario.esRutaBinaria(archivoPath) 
+                    ? SnapshotBinario.leerMarcaLog(archivoPath) 
+                    : LectorJsonClientes.leerMarcaLog(archivoPath);
+        } catch (IOException | IllegalStateException e) {
+            return 0;
+        }
+    }
+
+    /*
+    Reaplica una mutación con los cuerpos privados de las operaciones: la
+    reproducción no cuenta como llamadas públicas en las métricas.
+    */
+    private void aplicarMutacion(Mutacion m) {
+        switch (m.getTipo()) {
+            case AGREGAR_CLIENTE:
+                agregarConId(m.getIdA(), m.getNombre(), m.getIdB());
+                break;
+            case ELIMINAR_CLIENTE:
+                eliminarClientes(new int[] { m.getIdA() }, false);
+                break;
+            case SEGUIR:
+                seguir(m.getIdA(), m.getIdB(), false);
+                break;
+            case DEJAR_DE_SEGUIR:
+                dejarDeSeguir(m.getIdA(), m.getIdB(), false);
+                break;
+            case ENVIAR_SOLICITUD:
+                encolarSolicitud(m.getIdA(), m.getIdB());
+                break;
+            case PROCESAR_SOLICITUD:
+                Cliente c = obtenerCliente(m.getIdA());
+                if (c != null) consumirSolicitud(c);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /*
+    Activa el WAL: desde ahora cada mutación se agrega al log y sobrevive a un crash.
+    Cada umbralCheckpoint registros se hace un checkpoint (snapshot completo + log vacío).
+    */
+    public boolean activarRegistroEscritura(RegistroEscritura.PoliticaSincronizacion politica,
+            int tamanioLote, long intervaloMs, int umbralCheckpoint) {
+        return medir(OperacionGestor.ACTIVAR_REGISTRO_ESCRITURA, Acceso.EXCLUSIVO, () -> {
+            if (umbralCheckpoint <= 0) return false;
+            try {
+                if (wal != null) wal.close();
+                this.wal = new RegistroEscritura(getRutaLog(), politica, tamanioLote, intervaloMs, 
+                        marcaLogSnapshot);
+                this.umbralCheckpoint = umbralCheckpoint;
+                return true;
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("No se pudo activar el WAL: " + e.getMessage());
+                this.wal = null;
+                return false;
+            }
+        });
+    }
+
+    public boolean activarRegistroEscritura(RegistroEscritura.PoliticaSincronizacion politica) {
+        return activarRegistroEscritura(politica, 64, 200, UMBRAL_CHECKPOINT_DEFAULT);
+    }
+
+    /*
+    Agrega una mutación al WAL (si está activo) y dispara el checkpoint periódico.
+    El checkpoint corre en segundo plano: la operación actual no espera al snapshot.
+    En modo compartido no se puede lanzar (necesita el exclusivo): queda pendiente
+    y lo lanza este hilo al salir del compartido.
+    */
+    private void registrarMutacion(Mutacion m) {
+        if (wal == null || reproduciendoLog) return;
+        try {
+            wal.agregar(m);
+            if (wal.getRegistros() >= umbralCheckpoint && !haySnapshotEnCurso()) {
+                if (bloqueo == null || bloqueo.tieneExclusivo()) {
+                    lanzarCheckpoint();
+                } else {
+                    checkpointPendiente = true;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error escribiendo WAL: " + e.getMessage());
+        }
+    }
+
+    /*
+    Checkpoint síncrono: persiste un snapshot completo y vacía el log.
+    Solo se vacía el log si el snapshot se escribió correctamente.
+    */
+    public boolean checkpoint() {
+        return medir(OperacionGestor.CHECKPOINT, Acceso.LIBRE, this::checkpointSincrono);
+    }
+
+    private boolean checkpointSincrono() {
+        esperarSnapshotEnCurso();
+        SnapshotAsincrono snapshot = lanzarCheckpoint();
+        return snapshot != null && snapshot.esperar();
+    }
+
+    /*
+    Checkpoint asíncrono: marca la posición del WAL, toma una vista del estado
+    actual y la escribe en archivoPath en segundo plano, con la marca en la
+    cabecera. Al terminar descarta del WAL solo lo anterior a la marca; las
+    mutaciones hechas durante la escritura siguen en el log. Si hay un crash
+    entre publicar el snapshot y recortar el log, la reproducción saltea lo
+    anterior a la marca. Retorna null si ya hay un snapshot en curso.
+    */
+    public SnapshotAsincrono iniciarCheckpoint() {
+        return medir(OperacionGestor.INICIAR_CHECKPOINT, Acceso.LIBRE, this::lanzarCheckpoint);
+    }
+
+    /*
+    Cuerpo de iniciarCheckpoint, sin medir. Toma el exclusivo (reentrante) porque
+    también lo invocan el checkpoint periódico y guardarCambios.
+    */
+    private SnapshotAsincrono lanzarCheckpoint() {
+        entrarExclusivo();
+        try {
+            if (haySnapshotEnCurso()) return null;
+            final RegistroEscritura log = wal;
+            final String rutaLog = getRutaLog();
+            final long marca;
+            try {
+                // Sin WAL activo, el log en disco ya fue reproducido al cargar
+                marca = log != null ? log.marcar() 
+                        : Math.max(marcaLogSnapshot, RegistroEscritura.leerMarcaFinal(rutaLog));
+            } catch (IOException e) {
+                System.err.println("Error confirmando WAL: " + e.getMessage());
+                return null;
+            }
+            return lanzarSnapshot(archivoPath, SnapshotBinario.esRutaBinaria(archivoPath), marca, () -> {
+                marcaLogSnapshot = marca;
+                try {
+                    if (log != null) {
+                        log.descartarHasta(marca);
+                    } else {
+                        RegistroEscritura.descartarHasta(rutaLog, marca);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Error vaciando WAL: " + e.getMessage());
+                }
+            });
+        } finally {
+            salirExclusivo();
+        }
+    }
+
+    /*
+    Inicia un snapshot en segundo plano hacia la ruta indicada (.bin = binario,
+    otra extensión = JSON). Las operaciones siguen funcionando mientras se escribe.
+    Retorna el snapshot para consultar progreso, o null si ya hay uno en curso.
+    */
+    public SnapshotAsincrono iniciarSnapshotAsincrono(String ruta) {
+        return medir(OperacionGestor.INICIAR_SNAPSHOT_ASINCRONO, Acceso.EXCLUSIVO, () -> {
+            if (haySnapshotEnCurso()) return null;
+            return lanzarSnapshot(ruta, SnapshotBinario.esRutaBinaria(ruta), 0, null);
+        });
+    }
+
+    /*
+    Captura la vista (O(capacidad) en este hilo) y lanza la escritura.
+    marcaLog: posición del WAL que cubre la vista (0 si no es un checkpoint).
+    */
+    private SnapshotAsincrono lanzarSnapshot(String ruta, boolean binario, long marcaLog, Runnable alCompletar) {
+        materializarTodo();  // El snapshot recorre todos los clientes
+        SnapshotAsincrono snapshot = new SnapshotAsincrono(ruta, binario, clientes.instantanea(),
+                ++epocaSnapshots, marcaLog, alCompletar);
+        snapshotEnCurso = snapshot;
+        snapshot.iniciar();
+        return snapshot;
+    }
+
+    /*
+    Snapshot en curso o el último lanzado (null si nunca se lanzó ninguno).
+    */
+    public SnapshotAsincrono getSnapshotEnCurso() {
+        return snapshotEnCurso;
+    }
+
+    private boolean haySnapshotEnCurso() {
+        return snapshotEnCurso != null && !snapshotEnCurso.estaTerminado();
+    }
+
+    private void esperarSnapshotEnCurso() {
+        if (snapshotEnCurso != null) snapshotEnCurso.esperar();
+    }
+
+    /*
+    Debe llamarse antes de modificar un cliente existente: si un snapshot en
+    curso lo incluye y todavía no lo escribió, conserva su estado previo.
+    */
+    private void prepararMutacion(Cliente c) {
+        SnapshotAsincrono snapshot = snapshotEnCurso;
+        if (snapshot != null && !snapshot.estaTerminado() && snapshot.incluye(c)) {
+            c.prepararMutacion(snapshot.getEpoca());
+        }
+    }
+
+    /*
+    Cierre ordenado. Con WAL activo el guardado es incremental: solo se confirma
+    el log pendiente (el snapshot completo se reescribe recién al superar el umbral).
+    Sin WAL, equivale a guardarCambios().
+    */
+    public void cerrar() {
+        medir(OperacionGestor.CERRAR, Acceso.EXCLUSIVO, () -> {
+            esperarSnapshotEnCurso();
+            if (wal == null) {
+                guardar();
+                return;
+            }
+            try {
+                if (wal.getRegistros() >= umbralCheckpoint) {
+                    checkpointSincrono();
+                }
+                wal.close();
+                System.out.println("Cambios confirmados en " + getRutaLog() + ".");
+            } catch (IOException e) {
+                System.err.println("Error cerrando WAL: " + e.getMessage());
+            }
+            wal = null;
+        });
+    }
+
+    /*
+    Abre el snapshot en modo mapeado. Retorna false si no es posible
+    (archivo inexistente, versión sin índice, etc.) para caer en la carga completa.
+    */
+    private boolean abrirMapeado() {
+        long inicio = System.nanoTime();
+        try {
+            this.almacen = new AlmacenMapeado(archivoPath);
+        } catch (IOException e) {
+            System.err.println("Modo mapeado no disponible (" + e.getMessage() + "), carga completa.");
+            return false;
+        }
+        this.clientes = new IntDiccionario<>(almacen.getCantidad());
+        this.eliminadosDelAlmacen = new IntDiccionario<>();
+        this.pendientesDeMaterializar = almacen.getCantidad();
+        this.proximoId = Math.max(proximoId, almacen.getMaximoId() + 1);
+        this.tiempoCargaMs = (System.nanoTime() - inicio) / 1_000_000;
+        metricas.registrar(OperacionGestor.ABRIR_MAPEADO, inicio);
+        System.out.println("Snapshot mapeado: " + almacen.getCantidad() + " clientes en " + tiempoCargaMs + " ms");
+        return true;
+    }
+
+    /*
+    Punto único de acceso por ID.
+    En modo mapeado materializa el cliente la primera vez y lo deja en el índice.
+    */
+    private Cliente obtenerCliente(int id) {
+        Cliente c = clientes.obtener(id);
+        if (c == null && almacen != null && !eliminadosDelAlmacen.contiene(id)) {
+            c = almacen.materializar(id);
+            if (c != null && registrarCargado(c)) pendientesDeMaterializar--;
+        }
+        return c;
+    }
+
+    /*
+    Materializa todos los clientes que sigan en el snapshot y libera el almacén.
+    Se invoca antes de cualquier recorrido global. Costo: O(N) una única vez.
+    */
+    private void materializarTodo() {
+        if (almacen == null) return;
+        AlmacenMapeado origen = almacen;
+        for (int i = 0; i < origen.getCantidad(); i++) {
+            obtenerCliente(origen.getIdEn(i));
+        }
+        this.almacen = null;
+        this.eliminadosDelAlmacen = null;
+        this.pendientesDeMaterializar = 0;
+    }
+
+    /*
+    Recorrido de los clientes en memoria directamente sobre la tabla del índice
+    primario, sin copiarla a un arreglo. No modificar clientes mientras dura.
+    */
+    private Iterable<Cliente> recorridoClientes() {
+        return () -> Spliterators.iterator(clientes.spliteratorValores());
+    }
+
+    /*
+    Indica si el gestor sigue sirviendo clientes desde el snapshot mapeado.
+    */
+    public boolean isModoMapeado() {
+        return almacen != null;
     }
     
     /*
-    Carga los clientes desde un archivo JSON.
+    Carga los clientes desde archivoPath según su formato.
     Si falla, inicia con un sistema vacío.
     */
     private void cargarDesdeArchivo() {
         System.out.println("Cargando clientes...");
-        try (FileReader reader = new FileReader(archivoPath)) {
-            Gson gson = new Gson();
-            ClientesWrapper wrapper = gson.fromJson(reader, ClientesWrapper.class);
-            
-            this.clientes = new Diccionario<>(1000003);
-            
-            if (wrapper != null && wrapper.clientes != null) {
-                for (ClienteDTO dto : wrapper.clientes) {
-                    Cliente c = new Cliente(dto.id, dto.nombre, dto.scoring);
-                    c.cargarSiguiendo(dto.siguiendo);
-                    c.cargarSolicitudes(dto.solicitudes);
-                    
-                    // Cargar seguidores (puede ser null en versiones antiguas del JSON)
-                    if (dto.seguidores != null) {
-                        int[] idsSeguidores = new int[dto.seguidores.length];
-                        for (int i = 0; i < dto.seguidores.length; i++) {
-                            try {
-                                idsSeguidores[i] = Integer.parseInt(dto.seguidores[i]);
-                            } catch (NumberFormatException e) {
-                                idsSeguidores[i] = 0;
-                            }
-                        }
-                        c.cargarSeguidores(idsSeguidores);
-                    }
-                    
-                    clientes.insertar(c.getId(), c);
-                    indiceScoring.insertar(c.getScoring(), c);  // Insertar en índice secundario
-                    if(c.getId() >= proximoId) proximoId = c.getId() + 1;
-                }
+        long inicio = System.nanoTime();
+        this.clientes = new IntDiccionario<>();
+        
+        try {
+            if (SnapshotBinario.esRutaBinaria(archivoPath)) {
+                SnapshotBinario.leer(archivoPath, this::registrarCargado);
+            } else if (convieneImportarEnParalelo(archivoPath)) {
+                leerJsonEnParalelo(archivoPath, new ImportadorParalelo());
+            } else {
+                leerJson(archivoPath);
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
             System.err.println("Error cargando datos (iniciando vacío): " + e.getMessage());
-            this.clientes = new Diccionario<>(1000003);
+            this.clientes = new IntDiccionario<>();
+            this.indiceScoring = nuevoIndiceScoring();
+            this.proximoId = 1001;
+            this.relaciones.reset();
+            this.solicitudesPendientes.reset();
+        }
+        
+        this.tiempoCargaMs = (System.nanoTime() - inicio) / 1_000_000;
+        metricas.registrar(OperacionGestor.CARGAR_DESDE_ARCHIVO, inicio);
+        Runtime rt = Runtime.getRuntime();
+        this.memoriaTrasCarga = rt.totalMemory() - rt.freeMemory();
+        System.out.println("Clientes cargados: " + clientes.getCantidad() + " en " + tiempoCargaMs 
+                + " ms (heap en uso: " + (memoriaTrasCarga >> 20) + " MB)");
+    }
+
+    /*
+    Lee un archivo JSON en modo streaming (ver persistencia.LectorJsonClientes).
+    Cada cliente se inserta en los índices apenas se lee, sin materializar el
+    arreglo completo de DTOs. Retorna la cantidad de clientes incorporados.
+    Complejidad: O(N) tiempo, O(1) memoria adicional por cliente.
+    */
+    private int leerJson(String ruta) throws IOException {
+        return new LectorJsonClientes().leer(ruta, this::registrarCargado);
+    }
+
+    /*
+    Con más de un núcleo y un archivo grande conviene la importación paralela;
+    para archivos chicos el costo de lanzar hilos supera la ganancia.
+    */
+    private boolean convieneImportarEnParalelo(String ruta) {
+        long tamanio = new java.io.File(ruta).length();
+        return Runtime.getRuntime().availableProcessors() > 1
+                && tamanio >= ImportadorParalelo.TAMANIO_TROZO_DEFAULT
+                && tamanio <= Integer.MAX_VALUE;
+    }
+
+    /*
+    Lee el JSON con el pipeline paralelo (división / parseo / fusión).
+    La fusión corre en este hilo a través de registrarCargado, por lo que
+    proximoId y los índices quedan igual que con la lectura secuencial.
+    */
+    private int leerJsonEnParalelo(String ruta, ImportadorParalelo importador) throws IOException {
+        int incorporados = importador.importar(ruta, this::registrarCargado);
+        System.out.println("Importación paralela: " + importador.getResumen());
+        return incorporados;
+    }
+
+    /*
+    Inserta un cliente recién leído en los índices y ajusta proximoId.
+    Punto único de indexación durante la carga. IDs repetidos se ignoran.
+    */
+    private boolean registrarCargado(Cliente c) {
+        if (clientes.contiene(c.getId())) return false;
+        darDeAlta(c);
+        if (c.getId() >= proximoId) proximoId = c.getId() + 1;
+        relaciones.add(c.getCantidadSiguiendo());
+        solicitudesPendientes.add(c.getCantidadSolicitudesPendientes());
+        if (grafo != null) {
+            for (int seguido : c.getSiguiendo()) {
+                grafo.agregarArista(c.getId(), seguido);
+                Cliente destino = clientes.obtener(seguido);
+                if (destino != null) actualizarPopularidad(destino);  // Su grado de entrada cambió
+            }
         }
+        actualizarPopularidad(c);
+        indexarNombre(true, c.getNombre(), c.getId());
+        return true;
+    }
+
+    /*
+    Tiempo que demoró la carga inicial, en milisegundos.
+    */
+    public long getTiempoCargaMs() {
+        return tiempoCargaMs;
+    }
+
+    /*
+    Heap en uso (bytes) medido al terminar la carga inicial.
+    */
+    public long getMemoriaTrasCarga() {
+        return memoriaTrasCarga;
     }
 
     /*
-    Guarda estado actual en archivo. Llamar AL SALIR de la app.
+    Guarda estado actual en archivo (snapshot completo) y vacía el WAL.
+    El formato se elige por la extensión de archivoPath (.bin = snapshot binario).
+    La escritura corre en segundo plano; aquí solo se espera mostrando el progreso.
     */
     public void guardarCambios() {
+        medir(OperacionGestor.GUARDAR_CAMBIOS, Acceso.LIBRE, this::guardar);
+    }
+
+    private void guardar() {
         System.out.println("Guardando datos en " + archivoPath + "...");
-        try (FileWriter writer = new FileWriter(archivoPath)) {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            
-            ClientesWrapper wrapper = new ClientesWrapper();
-            Object[] objs = clientes.obtenerValores();
-            wrapper.clientes = new ClienteDTO[objs.length];
-            
-            for(int i=0; i<objs.length; i++) {
-                Cliente c = (Cliente) objs[i];
-                ClienteDTO dto = new ClienteDTO();
-                dto.id = c.getId();
-                dto.nombre = c.getNombre();
-                dto.scoring = c.getScoring();
-                dto.siguiendo = c.getSiguiendo();
-                dto.solicitudes = c.getSolicitudesRecibidasSerialized();
-                dto.seguidores = c.getSeguidoresSerialized();  // Guardar seguidores
-                wrapper.clientes[i] = dto;
-            }
-            
-            gson.toJson(wrapper, writer);
-            System.out.println("Datos guardados exitosamente.");
-        } catch (IOException e) {
-            System.err.println("Error guardando datos: " + e.getMessage());
+        esperarSnapshotEnCurso();
+        SnapshotAsincrono snapshot = lanzarCheckpoint();
+        if (snapshot == null) return;
+        while (!snapshot.estaTerminado()) {
+            System.out.printf("  %3.0f%% (%d MB)%n", snapshot.getProgreso() * 100,
+                    snapshot.getBytesEscritos() >> 20);
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (snapshot.esperar()) {
+            System.out.println("Datos guardados exitosamente (" + snapshot.getBytesEscritos() 
+                    + " bytes en " + snapshot.getDuracionMs() + " ms).");
+        } else {
+            System.err.println("Error guardando datos: " + snapshot.getError());
         }
     }
-    
-    // DTO para GSON
-    private static class ClienteDTO {
-        int id;
-        String nombre;
-        int scoring;
-        int[] siguiendo;
-        String[] solicitudes;
-        String[] seguidores;  // NUEVO campo para seguidores
+
+    /*
+    Exporta el estado actual como snapshot binario compacto (espera a que termine).
+    */
+    public boolean exportarBinario(String ruta) {
+        return medir(OperacionGestor.EXPORTAR_BINARIO, Acceso.LIBRE, () -> exportar(ruta, true));
+    }
+
+    /*
+    Exporta el estado actual como JSON legible (formato de intercambio).
+    */
+    public boolean exportarJson(String ruta) {
+        return medir(OperacionGestor.EXPORTAR_JSON, Acceso.LIBRE, () -> exportar(ruta, false));
     }
 
-    // Wrapper interno para GSON
-    private static class ClientesWrapper {
-        ClienteDTO[] clientes;
+    private boolean exportar(String ruta, boolean binario) {
+        esperarSnapshotEnCurso();
+        SnapshotAsincrono snapshot;
+        entrarExclusivo();  // Solo para capturar la vista: la escritura se espera sin bloquear
+        try {
+            snapshot = lanzarSnapshot(ruta, binario, 0, null);
+        } finally {
+            salirExclusivo();
+        }
+        if (snapshot.esperar()) return true;
+        System.err.println("Error guardando datos: " + snapshot.getError());
+        return false;
+    }
+
+    /*
+    Importa clientes desde un JSON y los agrega al sistema actual.
+    Los IDs que ya existen se ignoran. Retorna la cantidad importada o -1 si falla.
+    */
+    public int importarJson(String ruta) {
+        return medir(OperacionGestor.IMPORTAR_JSON, Acceso.EXCLUSIVO, () -> {
+            try {
+                return convieneImportarEnParalelo(ruta) 
+                        ? leerJsonEnParalelo(ruta, new ImportadorParalelo()) 
+                        : leerJson(ruta);
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Error importando datos: " + e.getMessage());
+                return -1;
+            }
+        });
+    }
+
+    /*
+    Importa con el pipeline paralelo usando la cantidad de hilos y el tamaño de
+    trozo indicados. El importador queda con las métricas por etapa.
+    Retorna la cantidad importada o -1 si falla.
+    */
+    public int importarJsonParalelo(String ruta, ImportadorParalelo importador) {
+        return medir(OperacionGestor.IMPORTAR_JSON_PARALELO, Acceso.EXCLUSIVO, () -> {
+            try {
+                return leerJsonEnParalelo(ruta, importador);
+            } catch (IOException e) {
+                System.err.println("Error importando datos: " + e.getMessage());
+                return -1;
+            }
+        });
     }
     
+    /*
+    ══════════════════════════════════════════════════════════
+    GRAFO DE SEGUIMIENTO (CSR)
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Construye el grafo global de seguimiento a partir de todos los clientes.
+    Desde ahora seguir / dejarDeSeguir / eliminarCliente lo mantienen al día y
+    el gestor lo lee en lugar de los conjuntos de cada cliente: la cascada de
+    eliminarCliente toma los seguidores de sus predecesores y el ranking de
+    popularidad se arma con los grados de entrada (un recorrido secuencial).
+    Complejidad: O(N + E log E) una única vez.
+    */
+    public GrafoCSR activarGrafoCSR() {
+        return medir(OperacionGestor.ACTIVAR_GRAFO_CSR, Acceso.EXCLUSIVO, () -> {
+            materializarTodo();
+            long inicioConstruccion = System.nanoTime();
+            int total = 0;
+            for (Cliente c : recorridoClientes()) total += c.getCantidadSiguiendo();
+            int[] origenes = new int[total];
+            int[] destinos = new int[total];
+            int k = 0;
+            for (Cliente c : recorridoClientes()) {
+                for (int seguido : c.getSiguiendo()) {
+                    origenes[k] = c.getId();
+                    destinos[k++] = seguido;
+                }
+            }
+            this.grafo = new GrafoCSR(origenes, destinos, k);
+            if (popularidad != null) construirPopularidad();  // Desde ahora cuenta el grafo
+            System.out.println("Grafo CSR: " + grafo.getCantidadAristas() + " aristas, "
+                    + (grafo.getBytesBase() >> 10) + " KB, construido en "
+                    + (System.nanoTime() - inicioConstruccion) / 1_000_000 + " ms");
+            return grafo;
+        });
+    }
+
+    /*
+    Grafo global de seguimiento, o null si no se activó.
+    */
+    public GrafoCSR getGrafo() {
+        return grafo;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    MODO CONCURRENTE
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Prepara el gestor para usarse desde varios hilos (ver CONCURRENCIA en la
+    cabecera). Deja listo todo lo que se construye de forma perezosa y que una
+    consulta en modo compartido no podría construir: materializa el snapshot
+    mapeado, completa los seguidores y arma el ranking de popularidad.
+    Debe llamarse antes de compartir el gestor; no se puede desactivar.
+    Complejidad: O(N + E) una única vez.
+    */
+    public void activarModoConcurrente() {
+        medir(OperacionGestor.ACTIVAR_MODO_CONCURRENTE, Acceso.LIBRE, () -> {
+            if (bloqueo != null) return;
+            materializarTodo();
+            asegurarSeguidoresCompletos();
+            if (popularidad == null) construirPopularidad();
+            metricas.activarModoConcurrente();
+            this.bloqueo = new BloqueoPorFranjas();
+        });
+    }
+
+    public boolean isModoConcurrente() {
+        return bloqueo != null;
+    }
+
+    private void entrarCompartido() {
+        if (bloqueo != null) bloqueo.entrarCompartido();
+    }
+
+    /*
+    Al salir del compartido más externo lanza el checkpoint que haya quedado pendiente.
+    */
+    private void salirCompartido() {
+        if (bloqueo == null) return;
+        bloqueo.salirCompartido();
+        if (checkpointPendiente && !bloqueo.tieneCompartido()) {
+            checkpointPendiente = false;
+            lanzarCheckpoint();
+        }
+    }
+
+    private void entrarExclusivo() {
+        if (bloqueo != null) bloqueo.entrarExclusivo();
+    }
+
+    private void salirExclusivo() {
+        if (bloqueo != null) bloqueo.salirExclusivo();
+    }
+
     public void activarHistorial() {
         this.registrarEnHistorial = true;
     }
@@ -163,43 +832,53 @@ public class GestorClientes {
     Retorna el ID generado o -1 si falla validación.
     */
     public int agregarCliente(String nombre, int scoring) {
-        ResultadoValidacion validacionNombre = Validador.validarNombre(nombre);
-        if (!validacionNombre.esValido()) return -1;
+        return medir(OperacionGestor.AGREGAR_CLIENTE, Acceso.EXCLUSIVO, () -> {
+            ResultadoValidacion validacionNombre = Validador.validarNombre(nombre);
+            if (!validacionNombre.esValido()) return -1;
         
-        ResultadoValidacion validacionScoring = Validador.validarScoring(scoring);
-        if (!validacionScoring.esValido()) return -1;
+            ResultadoValidacion validacionScoring = Validador.validarScoring(scoring);
+            if (!validacionScoring.esValido()) return -1;
         
-        int id = proximoId++;
-        Cliente cliente = new Cliente(id, nombre, scoring);
-        clientes.insertar(id, cliente);
-        indiceScoring.insertar(scoring, cliente);  // Insertar en índice secundario
+            int id = proximoId++;
+            Cliente cliente = new Cliente(id, nombre, scoring);
+            darDeAlta(cliente);
+            actualizarPopularidad(cliente);
+            indexarNombre(true, nombre, id);
+            registrarMutacion(Mutacion.agregarCliente(id, nombre, scoring));
         
-        if (registrarEnHistorial && sesionValida()) {
-            Accion accion = new Accion(TipoAccion.AGREGAR_CLIENTE, String.valueOf(id));
-            getSesion().getHistorial().registrar(accion);
-        }
+            if (registrarEnHistorial && sesionValida()) {
+                Accion accion = new Accion(TipoAccion.AGREGAR_CLIENTE, String.valueOf(id));
+                getSesion().getHistorial().registrar(accion);
+            }
         
-        return id;
+            return id;
+        });
     }
 
     /*
     Agrega un cliente con un ID específico.
     */
     public boolean agregarClienteConId(int id, String nombre, int scoring) {
+        return medir(OperacionGestor.AGREGAR_CLIENTE_CON_ID, Acceso.EXCLUSIVO, () -> agregarConId(id, nombre, scoring));
+    }
+
+    private boolean agregarConId(int id, String nombre, int scoring) {
         if (id <= 0) return false;
-        
+    
         ResultadoValidacion validacionNombre = Validador.validarNombre(nombre);
         if (!validacionNombre.esValido()) return false;
-        
+    
         ResultadoValidacion validacionScoring = Validador.validarScoring(scoring);
         if (!validacionScoring.esValido()) return false;
-        
-        if (clientes.contiene(id)) return false;
+    
+        if (existe(id)) return false;
 
         Cliente cliente = new Cliente(id, nombre, scoring);
-        clientes.insertar(id, cliente);
-        indiceScoring.insertar(scoring, cliente);  // Insertar en índice secundario
-        
+        darDeAlta(cliente);
+        actualizarPopularidad(cliente);
+        indexarNombre(true, nombre, id);
+        registrarMutacion(Mutacion.agregarCliente(id, nombre, scoring));
+    
         if (id >= proximoId) {
             proximoId = id + 1;
         }
@@ -210,34 +889,147 @@ public class GestorClientes {
     Busca un cliente por su ID.
     */
     public Cliente buscarPorId(int id) {
-        return clientes.obtener(id);
+        return medir(OperacionGestor.BUSCAR_POR_ID, Acceso.COMPARTIDO, () -> obtenerCliente(id));
     }
 
     /*
-    Busca clientes por nombre.
+    Busca clientes por nombre (sin distinguir mayúsculas).
     Retorna array con las coincidencias.
+    Complejidad: O(1) esperado + O(k) con el índice de nombres (la primera
+    búsqueda lo construye en O(N)).
     */
     public Cliente[] buscarPorNombre(String nombre) {
-        if (nombre == null) return new Cliente[0];
-        
-        Object[] todosLosClientes = clientes.obtenerValores();
-        String nombreNormalizado = nombre.toLowerCase();
-        
-        int count = 0;
-        for (Object obj : todosLosClientes) {
-            Cliente c = (Cliente) obj;
-            if (c.getNombre().toLowerCase().equals(nombreNormalizado)) {
-                count++;
+        return medir(OperacionGestor.BUSCAR_POR_NOMBRE, Acceso.COMPARTIDO, () -> {
+            if (nombre == null) return new Cliente[0];
+            return clientesDe(nombres().buscar(nombre));
+        });
+    }
+
+    /*
+    Busca clientes cuyo nombre empieza con el prefijo (sin distinguir
+    mayúsculas), en orden alfabético, a lo sumo limite.
+    Complejidad: O(log D + k), D = nombres distintos.
+    */
+    public Cliente[] buscarPorPrefijoNombre(String prefijo, int limite) {
+        return medir(OperacionGestor.BUSCAR_POR_PREFIJO_NOMBRE, Acceso.COMPARTIDO, () -> {
+            if (prefijo == null) return new Cliente[0];
+            return clientesDe(nombres().buscarPorPrefijo(prefijo, limite));
+        });
+    }
+
+    /*
+    Busca clientes con nombre parecido al dado, tolerando errores de tipeo
+    (1 error hasta 5 letras, 2 a partir de 6), del más parecido al menos parecido.
+    Complejidad: ver IndiceDifuso (milisegundos con 1M nombres).
+    */
+    public Cliente[] buscarPorNombreAproximado(String nombre, int limite) {
+        return medir(OperacionGestor.BUSCAR_POR_NOMBRE_APROXIMADO, Acceso.COMPARTIDO, () -> {
+            if (nombre == null) return new Cliente[0];
+            int[] ids;
+            synchronized (cerrojoNombres) {  // La búsqueda aproximada usa arreglos de trabajo del índice
+                ids = nombres().buscarAproximado(nombre, limite);
             }
-        }
+            return clientesDe(ids);
+        });
+    }
 
-        Cliente[] resultado = new Cliente[count];
-        int index = 0;
-        for (Object obj : todosLosClientes) {
-            Cliente c = (Cliente) obj;
-            if (c.getNombre().toLowerCase().equals(nombreNormalizado)) {
-                resultado[index++] = c;
+    /*
+    Construye el índice de nombres en un hilo aparte, sobre una instantánea de
+    los clientes, para que la primera búsqueda no pague la construcción. Las
+    altas y bajas posteriores se encolan y se aplican al terminar.
+    En modo mapeado no hace nada: el índice se construye en la primera búsqueda
+    (materializar todo al arrancar anularía el arranque inmediato).
+    */
+    public void iniciarIndiceNombresEnSegundoPlano() {
+        medir(OperacionGestor.INICIAR_INDICE_NOMBRES, Acceso.EXCLUSIVO, () -> {
+            if (indiceNombres != null || construccionNombres != null || almacen != null) return;
+            IntDiccionario<Cliente> vista = clientes.instantanea();
+            cambiosNombres = new Cola<>();
+            construccionNombres = new Thread(
+                () -> nombresConstruidos = construirIndiceNombres(vista), "indice-nombres");
+            construccionNombres.setDaemon(true);
+            construccionNombres.start();
+        });
+    }
+
+    private static IndiceTexto construirIndiceNombres(IntDiccionario<Cliente> todos) {
+        IndiceTexto indice = new IndiceTexto();
+        todos.recorrer((c, id) -> indice.agregar(c.getNombre(), id));
+        return indice;
+    }
+
+    /*
+    Índice de nombres listo para consultar: espera la construcción en segundo
+    plano si está en curso, o lo construye ahora si nunca se inició. Bajo
+    cerrojoNombres: en modo concurrente la primera búsqueda puede llegar desde
+    varios hilos a la vez.
+    */
+    private IndiceTexto nombres() {
+        synchronized (cerrojoNombres) {
+            materializarTodo();
+            if (construccionNombres != null) {
+                boolean interrumpido = false;
+                while (construccionNombres.isAlive()) {
+                    try {
+                        construccionNombres.join();
+                    } catch (InterruptedException e) {
+                        interrumpido = true;
+                    }
+                }
+                if (interrumpido) Thread.currentThread().interrupt();
+                IndiceTexto construido = nombresConstruidos;
+                Cola<CambioNombre> cambios = cambiosNombres;
+                construccionNombres = null;
+                nombresConstruidos = null;
+                cambiosNombres = null;
+                if (construido != null) {
+                    while (!cambios.estaVacia()) {
+                        CambioNombre cambio = cambios.desencolar();
+                        if (cambio.alta) construido.agregar(cambio.nombre, cambio.id);
+                        else construido.eliminar(cambio.nombre, cambio.id);
+                    }
+                    indiceNombres = construido;
+                }
             }
+            if (indiceNombres == null) {
+                indiceNombres = construirIndiceNombres(clientes);
+            }
+            return indiceNombres;
+        }
+    }
+
+    /*
+    Inserta el cliente en el índice por scoring y en el diccionario por ID, en ese
+    orden: si el índice secundario rechaza el alta, el primario no cambió; si la
+    rechaza el primario, se deshace la del secundario. Así existeCliente y
+    buscarPorScoring nunca discrepan.
+    */
+    private void darDeAlta(Cliente c) {
+        indiceScoring.insertar(c.getScoring(), c);
+        try {
+            clientes.insertar(c.getId(), c);
+        } catch (RuntimeException e) {
+            indiceScoring.eliminar(c.getScoring(), c);
+            throw e;
+        }
+    }
+
+    /*
+    Refleja un alta o baja en el índice de nombres (o la encola si se está construyendo).
+    */
+    private void indexarNombre(boolean alta, String nombre, int id) {
+        if (construccionNombres != null) {
+            cambiosNombres.encolar(new CambioNombre(alta, nombre, id));
+        } else if (indiceNombres != null) {
+            if (alta) indiceNombres.agregar(nombre, id);
+            else indiceNombres.eliminar(nombre, id);
+        }
+    }
+
+    private Cliente[] clientesDe(int[] ids) {
+        Cliente[] resultado = new Cliente[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            resultado[i] = clientes.obtener(ids[i]);
         }
         return resultado;
     }
@@ -246,26 +1038,32 @@ public class GestorClientes {
     Verifica si existe un cliente con el ID dado.
     */
     public boolean existeCliente(int id) {
-        return clientes.contiene(id);
+        return medir(OperacionGestor.EXISTE_CLIENTE, Acceso.COMPARTIDO, () -> existe(id));
+    }
+
+    private boolean existe(int id) {
+        if (clientes.contiene(id)) return true;
+        return almacen != null && !eliminadosDelAlmacen.contiene(id) && almacen.contiene(id);
     }
 
     /*
     Retorna la cantidad total de clientes registrados.
     */
     public int getCantidadClientes() {
-        return clientes.getCantidad();
+        return clientes.getCantidad() + pendientesDeMaterializar;
     }
 
     /*
     Retorna todos los clientes registrados.
     */
     public Cliente[] obtenerTodosLosClientes() {
-        Object[] valores = clientes.obtenerValores();
-        Cliente[] resultado = new Cliente[valores.length];
-        for (int i = 0; i < valores.length; i++) {
-            resultado[i] = (Cliente) valores[i];
-        }
-        return resultado;
+        return medir(OperacionGestor.OBTENER_TODOS_LOS_CLIENTES, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            Cliente[] resultado = new Cliente[clientes.getCantidad()];
+            int i = 0;
+            for (Cliente c : recorridoClientes()) resultado[i++] = c;
+            return resultado;
+        });
     }
 
     /*
@@ -273,12 +1071,15 @@ public class GestorClientes {
     Complejidad: O(log N + k) donde k = cantidad con ese scoring.
     */
     public Cliente[] buscarPorScoring(int scoring) {
-        Object[] resultados = indiceScoring.buscar(scoring);
-        Cliente[] clientes = new Cliente[resultados.length];
-        for (int i = 0; i < resultados.length; i++) {
-            clientes[i] = (Cliente) resultados[i];
-        }
-        return clientes;
+        return medir(OperacionGestor.BUSCAR_POR_SCORING, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            Object[] resultados = indiceScoring.buscar(scoring);
+            Cliente[] clientes = new Cliente[resultados.length];
+            for (int i = 0; i < resultados.length; i++) {
+                clientes[i] = (Cliente) resultados[i];
+            }
+            return clientes;
+        });
     }
 
     /*
@@ -286,218 +1087,649 @@ public class GestorClientes {
     Nivel 0 = raíz, nivel 1 = hijos de raíz, etc.
     */
     public Cliente[] obtenerClientesEnNivel(int nivel) {
-        if (nivel < 0) return new Cliente[0];
+        return medir(OperacionGestor.OBTENER_CLIENTES_EN_NIVEL, Acceso.COMPARTIDO, () -> {
+            if (nivel < 0) return new Cliente[0];
+            materializarTodo();
         
-        Object[] resultados = indiceScoring.obtenerEnNivel(nivel);
-        Cliente[] clientes = new Cliente[resultados.length];
-        for (int i = 0; i < resultados.length; i++) {
-            clientes[i] = (Cliente) resultados[i];
-        }
-        return clientes;
+            Object[] resultados = indiceScoring.obtenerEnNivel(nivel);
+            Cliente[] clientes = new Cliente[resultados.length];
+            for (int i = 0; i < resultados.length; i++) {
+                clientes[i] = (Cliente) resultados[i];
+            }
+            return clientes;
+        });
+    }
+
+    /*
+    Recorre los clientes con minimo <= scoring <= maximo, de menor a mayor scoring.
+    Perezoso: no arma el arreglo de resultados (apto para paginar).
+    Complejidad: O(log N) + O(1) por cliente recorrido.
+    */
+    public java.util.Iterator<Cliente> buscarPorRangoScoring(int minimo, int maximo) {
+        return medir(OperacionGestor.BUSCAR_POR_RANGO_SCORING, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            return indiceScoring.iterarRango(minimo, maximo);
+        });
+    }
+
+    /*
+    Recorre todos los clientes de mayor a menor scoring (perezoso).
+    */
+    public java.util.Iterator<Cliente> iterarPorScoringDescendente() {
+        return medir(OperacionGestor.ITERAR_POR_SCORING_DESCENDENTE, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            return indiceScoring.iterarRangoDescendente(null, null);
+        });
+    }
+
+    /*
+    Los N clientes de mayor scoring.
+    Complejidad: O(log N + top), sin recorrer el resto.
+    */
+    public Cliente[] obtenerTopScoring(int top) {
+        return medir(OperacionGestor.OBTENER_TOP_SCORING, Acceso.COMPARTIDO, () -> {
+            if (top <= 0) return new Cliente[0];
+            materializarTodo();
+            java.util.Iterator<Cliente> it = indiceScoring.iterarRangoDescendente(null, null);
+            Cliente[] resultado = new Cliente[Math.min(top, clientes.getCantidad())];
+            int k = 0;
+            while (k < resultado.length && it.hasNext()) {
+                resultado[k++] = it.next();
+            }
+            return k == resultado.length ? resultado : java.util.Arrays.copyOf(resultado, k);
+        });
+    }
+
+    /*
+    Mayor scoring existente <= scoring, o -1 si no hay.
+    */
+    public int scoringPiso(int scoring) {
+        return medir(OperacionGestor.SCORING_PISO, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            synchronized (indiceScoring) {
+                Integer piso = indiceScoring.piso(scoring);
+                return piso == null ? -1 : piso;
+            }
+        });
+    }
+
+    /*
+    Menor scoring existente >= scoring, o -1 si no hay.
+    */
+    public int scoringTecho(int scoring) {
+        return medir(OperacionGestor.SCORING_TECHO, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            synchronized (indiceScoring) {
+                Integer techo = indiceScoring.techo(scoring);
+                return techo == null ? -1 : techo;
+            }
+        });
+    }
+
+    /*
+    Cantidad de clientes con minimo <= scoring <= maximo, sin recorrerlos.
+    Complejidad: O(log N).
+    */
+    public int contarPorRangoScoring(int minimo, int maximo) {
+        return medir(OperacionGestor.CONTAR_POR_RANGO_SCORING, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            synchronized (indiceScoring) {
+                return indiceScoring.contarEnRango(minimo, maximo);
+            }
+        });
+    }
+
+    /*
+    Histograma de scorings: posición i = cantidad de clientes con scoring
+    SCORING_MINIMO + i. Complejidad: O(D) con el índice de conteo.
+    */
+    public int[] obtenerHistogramaScoring() {
+        return medir(OperacionGestor.OBTENER_HISTOGRAMA_SCORING, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            if (indiceScoring instanceof tda.IndiceScoring) {
+                return ((tda.IndiceScoring<Cliente>) indiceScoring).histograma();
+            }
+            int[] histograma = new int[Validador.SCORING_MAXIMO - Validador.SCORING_MINIMO + 1];
+            synchronized (indiceScoring) {
+                for (int i = 0; i < histograma.length; i++) {
+                    int scoring = Validador.SCORING_MINIMO + i;
+                    histograma[i] = indiceScoring.contarEnRango(scoring, scoring);
+                }
+            }
+            return histograma;
+        });
+    }
+
+    /*
+    Porcentaje de clientes con scoring estrictamente menor al del cliente
+    (0 = el de menor influencia). Retorna -1 si el cliente no existe.
+    Complejidad: O(log N).
+    */
+    public double percentilScoring(int idCliente) {
+        return medir(OperacionGestor.PERCENTIL_SCORING, Acceso.COMPARTIDO, () -> {
+            Cliente cliente = obtenerCliente(idCliente);
+            if (cliente == null) return -1.0;
+            materializarTodo();
+            synchronized (indiceScoring) {
+                return 100.0 * indiceScoring.contarMenores(cliente.getScoring()) / indiceScoring.getCantidad();
+            }
+        });
+    }
+
+    /*
+    Porcentaje superior en el que está el cliente por scoring: X en "top X%".
+    Cuenta a los que tienen scoring mayor más el propio cliente (los empates
+    comparten el mejor puesto). Retorna -1 si el cliente no existe.
+    Complejidad: O(log N).
+    */
+    public double obtenerTopPorcentajeScoring(int idCliente) {
+        return medir(OperacionGestor.OBTENER_TOP_PORCENTAJE_SCORING, Acceso.COMPARTIDO, () -> {
+            Cliente cliente = obtenerCliente(idCliente);
+            if (cliente == null) return -1.0;
+            materializarTodo();
+            int total = indiceScoring.getCantidad();
+            int mayores;
+            synchronized (indiceScoring) {
+                mayores = indiceScoring.contarEnRango(cliente.getScoring() + 1, null);
+            }
+            return 100.0 * (mayores + 1) / total;
+        });
+    }
+
+    /*
+    Scoring del cliente ubicado en el percentil p (0..100) del orden ascendente,
+    o -1 si no hay clientes. Complejidad: O(log N).
+    */
+    public int scoringEnPercentil(double percentil) {
+        return medir(OperacionGestor.SCORING_EN_PERCENTIL, Acceso.COMPARTIDO, () -> {
+            if (percentil < 0 || percentil > 100) {
+                throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+            }
+            materializarTodo();
+            int total = indiceScoring.getCantidad();
+            if (total == 0) return -1;
+            int posicion = Math.min(total - 1, (int) (percentil / 100.0 * total));
+            synchronized (indiceScoring) {
+                return indiceScoring.seleccionar(posicion).getScoring();
+            }
+        });
     }
 
     /*
     Obtiene los top N clientes por cantidad de seguidores.
-    Usa ordenamiento in-place para eficiencia de memoria.
+    Lee el prefijo de la tabla de posiciones, que seguir / dejarDeSeguir /
+    eliminarCliente mantienen al día: no recorre los N clientes. Si hay menos
+    de N clientes con seguidores, se completa con clientes sin seguidores.
+    Complejidad: O(top) (la primera consulta construye la tabla en O(N)).
     */
     public Cliente[] obtenerClientesMasPopulares(int top) {
-        Cliente[] todos = obtenerTodosLosClientes();
-        
-        // Ordenar por cantidad de seguidores (Selection Sort - solo top N)
-        for (int i = 0; i < todos.length - 1 && i < top; i++) {
-            int maxIdx = i;
-            for (int j = i + 1; j < todos.length; j++) {
-                if (todos[j].getCantidadSeguidores() > todos[maxIdx].getCantidadSeguidores()) {
-                    maxIdx = j;
+        return medir(OperacionGestor.OBTENER_CLIENTES_MAS_POPULARES, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            if (popularidad == null) construirPopularidad();
+            int[] ids;
+            synchronized (popularidad) {
+                ids = popularidad.obtenerTop(top);
+            }
+            Cliente[] resultado = new Cliente[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                resultado[i] = clientes.obtener(ids[i]);
+            }
+            return resultado;
+        });
+    }
+
+    /*
+    Puesto del cliente por cantidad de seguidores (1 = el más seguido; los
+    empates comparten puesto), o -1 si no existe. Complejidad: O(1).
+    */
+    public int obtenerPuestoPopularidad(int idCliente) {
+        return medir(OperacionGestor.OBTENER_PUESTO_POPULARIDAD, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            if (popularidad == null) construirPopularidad();
+            synchronized (popularidad) {
+                return popularidad.getPuesto(idCliente);
+            }
+        });
+    }
+
+    /*
+    Con el grafo CSR activo los conteos salen de sus grados de entrada: IDs
+    ordenados y un único recorrido secuencial de la base, sin visitar el
+    conjunto de seguidores de cada cliente.
+    */
+    private void construirPopularidad() {
+        int[] ids = new int[clientes.getCantidad()];
+        int[] seguidores = new int[ids.length];
+        int i = 0;
+        for (Cliente c : recorridoClientes()) {
+            ids[i] = c.getId();
+            seguidores[i++] = c.getCantidadSeguidores();
+        }
+        if (grafo != null) {
+            java.util.Arrays.sort(ids);
+            seguidores = grafo.gradosEntrada(ids);
+        }
+        TablaPosiciones tabla = new TablaPosiciones();
+        tabla.reconstruir(ids, seguidores);
+        this.popularidad = tabla;
+    }
+
+    /*
+    Refleja en la tabla de posiciones (si ya existe) la cantidad de seguidores del cliente.
+    Bajo el monitor de la tabla: en modo concurrente la actualizan seguir /
+    dejarDeSeguir de distintos hilos.
+    */
+    private void actualizarPopularidad(Cliente c) {
+        TablaPosiciones tabla = popularidad;
+        if (tabla == null) return;
+        int seguidores = grafo != null ? grafo.gradoEntrada(c.getId()) : c.getCantidadSeguidores();
+        synchronized (tabla) {
+            tabla.actualizar(c.getId(), seguidores);
+        }
+    }
+
+    /*
+    Top N por un criterio arbitrario (consultas ad hoc sin índice), de mayor a
+    menor. Mantiene un min-heap acotado de tamaño top: cada cliente se compara
+    contra el peor de los elegidos y solo entra si lo supera.
+    Complejidad: O(N log top) tiempo, O(top) memoria extra.
+    */
+    public Cliente[] obtenerTopPor(int top, java.util.function.ToIntFunction<Cliente> criterio) {
+        return medir(OperacionGestor.OBTENER_TOP_POR, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            int capacidad = Math.max(0, Math.min(top, clientes.getCantidad()));
+            Cliente[] monticulo = new Cliente[capacidad];
+            int[] valores = new int[capacidad];
+            int cantidad = 0;
+            for (Cliente c : recorridoClientes()) {
+                int valor = criterio.applyAsInt(c);
+                if (cantidad < capacidad) {
+                    // Flotar el nuevo elemento
+                    int i = cantidad++;
+                    while (i > 0 && valores[(i - 1) / 2] > valor) {
+                        monticulo[i] = monticulo[(i - 1) / 2];
+                        valores[i] = valores[(i - 1) / 2];
+                        i = (i - 1) / 2;
+                    }
+                    monticulo[i] = c;
+                    valores[i] = valor;
+                } else if (capacidad > 0 && valor > valores[0]) {
+                    hundir(monticulo, valores, cantidad, c, valor);
                 }
             }
-            // Swap
-            Cliente temp = todos[i];
-            todos[i] = todos[maxIdx];
-            todos[maxIdx] = temp;
+            // Extraer de menor a mayor y llenar el resultado desde el final
+            Cliente[] resultado = new Cliente[cantidad];
+            for (int k = cantidad - 1; k >= 0; k--) {
+                resultado[k] = monticulo[0];
+                hundir(monticulo, valores, k, monticulo[k], valores[k]);
+            }
+            return resultado;
+        });
+    }
+
+    /*
+    Reemplaza la raíz del min-heap monticulo[0..cantidad) por (c, valor) y lo hunde.
+    */
+    private static void hundir(Cliente[] monticulo, int[] valores, int cantidad, Cliente c, int valor) {
+        int i = 0;
+        while (2 * i + 1 < cantidad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < cantidad && valores[hijo + 1] < valores[hijo]) hijo++;
+            if (valores[hijo] >= valor) break;
+            monticulo[i] = monticulo[hijo];
+            valores[i] = valores[hijo];
+            i = hijo;
         }
-        
-        // Retornar top N
-        int cantidad = Math.min(top, todos.length);
-        Cliente[] resultado = new Cliente[cantidad];
-        for (int i = 0; i < cantidad; i++) {
-            resultado[i] = todos[i];
+        if (cantidad > 0) {
+            monticulo[i] = c;
+            valores[i] = valor;
         }
-        return resultado;
     }
 
-    public Diccionario<Integer, Cliente> getClientes() {
-        return clientes;
+    public IDiccionario<Integer, Cliente> getClientes() {
+        return medir(OperacionGestor.GET_CLIENTES, Acceso.COMPARTIDO, () -> {
+            materializarTodo();
+            return clientes.comoDiccionario();
+        });
     }
 
     /*
     Elimina un cliente del sistema por su ID.
     Limpia también las referencias en otros clientes (dejar de seguir).
+    Complejidad: O(seguidores + seguidos) del eliminado, gracias al índice
+    inverso de seguidores (ver asegurarSeguidoresCompletos).
     */
     public boolean eliminarCliente(int id) {
-        Cliente cliente = clientes.obtener(id);
-        if (cliente == null) return false;
-
-        // Guardar estado para historial antes de eliminar referencias
-        if (registrarEnHistorial && sesionValida()) {
-            StringBuilder seguidos = new StringBuilder();
-            int[] idsSeguidos = cliente.getSiguiendo();
-            for (int i = 0; i < idsSeguidos.length; i++) {
-                seguidos.append(idsSeguidos[i]);
-                if (i < idsSeguidos.length - 1) seguidos.append(",");
-            }
-            
-            Accion accion = new Accion(TipoAccion.ELIMINAR_CLIENTE, 
-                String.valueOf(id), 
-                cliente.getNombre(), 
-                String.valueOf(cliente.getScoring()),
-                seguidos.toString()
-            );
-            getSesion().getHistorial().registrar(accion);
+        return medir(OperacionGestor.ELIMINAR_CLIENTE, Acceso.EXCLUSIVO,
+                () -> eliminarClientes(new int[] { id }, registrarEnHistorial) == 1);
+    }
+
+    /*
+    Elimina varios clientes en una sola pasada y retorna cuántos existían.
+    Las relaciones entre dos eliminados no se deshacen una por una (ambos
+    extremos desaparecen), y cada sobreviviente que pierde seguidores se
+    reubica en el ranking una sola vez. IDs repetidos o inexistentes se ignoran.
+    Cada baja queda en el historial y en el WAL como una eliminación individual.
+    Complejidad: O(suma de seguidores + seguidos de los eliminados).
+    */
+    public int eliminarClientes(int[] ids) {
+        return medir(OperacionGestor.ELIMINAR_CLIENTES, Acceso.EXCLUSIVO,
+                () -> eliminarClientes(ids, registrarEnHistorial));
+    }
+
+    private int eliminarClientes(int[] ids, boolean conHistorial) {
+        if (ids == null || ids.length == 0) return 0;
+        if (grafo == null) asegurarSeguidoresCompletos();  // El grafo ya tiene el inverso exacto
+
+        ConjuntoEnteros eliminados = new ConjuntoEnteros();
+        Cliente[] aEliminar = new Cliente[ids.length];
+        int cantidad = 0;
+        for (int id : ids) {
+            Cliente cliente = clientes.obtener(id);
+            if (cliente != null && eliminados.agregar(id)) {
+                aEliminar[cantidad++] = cliente;
+            }
         }
 
-        clientes.eliminar(id);
-        indiceScoring.eliminar(cliente.getScoring(), cliente);  // Eliminar de índice secundario
-        
-        // Limpiar referencias en cascada
-        Object[] todosLosClientes = clientes.obtenerValores();
-        for (Object obj : todosLosClientes) {
-            Cliente c = (Cliente) obj;
-            c.dejarDeSeguir(id);
+        ConjuntoEnteros afectados = new ConjuntoEnteros();  // Seguidos que pierden seguidores
+        for (int i = 0; i < cantidad; i++) {
+            Cliente cliente = aEliminar[i];
+            int id = cliente.getId();
+            if (conHistorial) registrarEliminacionEnHistorial(cliente);
+
+            clientes.eliminar(id);
+            relaciones.add(-cliente.getCantidadSiguiendo());
+            solicitudesPendientes.add(-cliente.getCantidadSolicitudesPendientes());
+            indiceScoring.eliminar(cliente.getScoring(), cliente);  // Eliminar de índice secundario
+            if (popularidad != null) popularidad.eliminar(id);
+            indexarNombre(false, cliente.getNombre(), id);
+
+            // Los seguidores del eliminado dejan de seguirlo
+            int[] seguidores = grafo != null ? grafo.predecesores(id) : cliente.getSeguidores();
+            for (int idSeguidor : seguidores) {
+                if (eliminados.contiene(idSeguidor)) continue;
+                Cliente seguidor = clientes.obtener(idSeguidor);
+                if (seguidor != null && seguidor.sigueA(id)) {
+                    prepararMutacion(seguidor);
+                    if (seguidor.dejarDeSeguir(id)) relaciones.decrement();
+                }
+            }
+            // Los seguidos por el eliminado pierden un seguidor
+            for (int idSeguido : cliente.getSiguiendo()) {
+                if (eliminados.contiene(idSeguido)) continue;
+                Cliente seguido = clientes.obtener(idSeguido);
+                if (seguido != null) {
+                    prepararMutacion(seguido);
+                    seguido.eliminarSeguidor(id);
+                    afectados.agregar(idSeguido);
+                }
+            }
+            if (grafo != null) grafo.eliminarNodo(id);
+            registrarMutacion(Mutacion.eliminarCliente(id));
         }
-        return true;
+        if (popularidad != null) {
+            afectados.recorrer(idSeguido -> actualizarPopularidad(clientes.obtener(idSeguido)));
+        }
+        return cantidad;
+    }
+
+    /*
+    Guarda en el historial lo necesario para deshacer la baja: nombre,
+    scoring y seguidos del cliente, antes de tocar sus relaciones.
+    */
+    private void registrarEliminacionEnHistorial(Cliente cliente) {
+        if (!sesionValida()) return;
+        StringBuilder seguidos = new StringBuilder();
+        int[] idsSeguidos = cliente.getSiguiendo();
+        for (int i = 0; i < idsSeguidos.length; i++) {
+            seguidos.append(idsSeguidos[i]);
+            if (i < idsSeguidos.length - 1) seguidos.append(",");
+        }
+
+        Accion accion = new Accion(TipoAccion.ELIMINAR_CLIENTE,
+            String.valueOf(cliente.getId()),
+            cliente.getNombre(),
+            String.valueOf(cliente.getScoring()),
+            seguidos.toString()
+        );
+        getSesion().getHistorial().registrar(accion);
+    }
+
+    /*
+    La cascada de eliminación confía en que seguidores sea el inverso de
+    siguiendo. seguir() mantiene ambos lados, pero los datos cargados pueden
+    traerlo incompleto (los JSON antiguos no tienen "seguidores"). La primera
+    baja completa los seguidores faltantes a partir de siguiendo en una pasada
+    O(N + E); desde ahí cada baja visita solo a sus vecinos.
+    */
+    private void asegurarSeguidoresCompletos() {
+        if (seguidoresCompletos) return;
+        materializarTodo();
+        boolean completados = false;
+        for (Cliente c : recorridoClientes()) {
+            for (int idSeguido : c.getSiguiendo()) {
+                Cliente seguido = clientes.obtener(idSeguido);
+                if (seguido != null && !seguido.tieneSeguidor(c.getId())) {
+                    prepararMutacion(seguido);
+                    seguido.agregarSeguidor(c.getId());
+                    completados = true;
+                }
+            }
+        }
+        if (completados) popularidad = null;  // Cambiaron conteos: se reconstruye al consultarla
+        seguidoresCompletos = true;
     }
 
     /*
     Registra que un cliente sigue a otro.
+    Toma los monitores de ambos clientes en orden creciente de ID: la arista
+    se agrega en los dos lados de forma atómica y dos hilos que se siguen en
+    sentidos opuestos (A->B y B->A) no se bloquean mutuamente.
     */
     public boolean seguir(int idSolicitante, int idObjetivo) {
-        Cliente clienteSolicitante = clientes.obtener(idSolicitante);
-        Cliente clienteObjetivo = clientes.obtener(idObjetivo);
+        return medir(OperacionGestor.SEGUIR, Acceso.COMPARTIDO,
+                () -> seguir(idSolicitante, idObjetivo, registrarEnHistorial));
+    }
+
+    private boolean seguir(int idSolicitante, int idObjetivo, boolean conHistorial) {
+        Cliente clienteSolicitante = obtenerCliente(idSolicitante);
+        Cliente clienteObjetivo = obtenerCliente(idObjetivo);
 
         if (clienteSolicitante == null || clienteObjetivo == null) {
             return false;
         }
 
-        if (clienteSolicitante.seguir(idObjetivo)) {
-            clienteObjetivo.agregarSeguidor(idSolicitante);  // Actualizar grafo bidireccional
-            
-            if (registrarEnHistorial && sesionValida()) {
-                Accion accion = new Accion(TipoAccion.SEGUIR, 
-                                            String.valueOf(idSolicitante), 
-                                            String.valueOf(idObjetivo));
-                getSesion().getHistorial().registrar(accion);
+        Cliente primero = idSolicitante < idObjetivo ? clienteSolicitante : clienteObjetivo;
+        Cliente segundo = primero == clienteSolicitante ? clienteObjetivo : clienteSolicitante;
+        synchronized (primero) {
+            synchronized (segundo) {
+                prepararMutacion(clienteSolicitante);
+                prepararMutacion(clienteObjetivo);
+                if (!clienteSolicitante.seguir(idObjetivo)) {
+                    return false;
+                }
+                clienteObjetivo.agregarSeguidor(idSolicitante);  // Actualizar grafo bidireccional
+                if (grafo != null) grafo.agregarArista(idSolicitante, idObjetivo);
+                actualizarPopularidad(clienteObjetivo);
+                registrarMutacion(Mutacion.relacion(TipoMutacion.SEGUIR, idSolicitante, idObjetivo));
             }
-            // [Simplificacion] Ya no guardamos en disco aquí. Se guarda al salir.
-            return true;
         }
-        return false;
+        relaciones.increment();
+        
+        if (conHistorial && sesionValida()) {
+            Accion accion = new Accion(TipoAccion.SEGUIR, 
+                                        String.valueOf(idSolicitante), 
+                                        String.valueOf(idObjetivo));
+            getSesion().getHistorial().registrar(accion);
+        }
+        // [Simplificacion] Ya no guardamos en disco aquí. Se guarda al salir.
+        return true;
     }
 
     /*
     Gestiona el envío de una solicitud de seguimiento.
     */
     public boolean enviarSolicitud(int idSolicitante, int idObjetivo) {
-        Cliente solicitante = clientes.obtener(idSolicitante);
-        Cliente objetivo = clientes.obtener(idObjetivo);
-        
+        return medir(OperacionGestor.ENVIAR_SOLICITUD, Acceso.COMPARTIDO, () -> encolarSolicitud(idSolicitante, idObjetivo));
+    }
+
+    private boolean encolarSolicitud(int idSolicitante, int idObjetivo) {
+        Cliente solicitante = obtenerCliente(idSolicitante);
+        Cliente objetivo = obtenerCliente(idObjetivo);
+    
         if (solicitante == null || objetivo == null) return false;
-        
+    
         modelo.SolicitudSeguimiento solicitud = new modelo.SolicitudSeguimiento(
             String.valueOf(idSolicitante), 
             String.valueOf(idObjetivo)
         );
-        
-        objetivo.recibirSolicitud(solicitud);
-        
-        // [Simplificacion] Ya no guardamos en disco aquí.
+    
+        synchronized (objetivo) {  // La cola y el WAL en el mismo orden
+            prepararMutacion(objetivo);
+            objetivo.recibirSolicitud(solicitud);
+            registrarMutacion(Mutacion.relacion(TipoMutacion.ENVIAR_SOLICITUD, idSolicitante, idObjetivo));
+        }
+        solicitudesPendientes.increment();
         return true;
     }
 
+    /*
+    Extrae la siguiente solicitud pendiente del cliente (FIFO).
+    Pasa por el Gestor para que el consumo quede registrado en el WAL.
+    Retorna null si no hay pendientes.
+    */
+    public modelo.SolicitudSeguimiento procesarSiguienteSolicitud(Cliente objetivo) {
+        return medir(OperacionGestor.PROCESAR_SIGUIENTE_SOLICITUD, Acceso.COMPARTIDO, () -> consumirSolicitud(objetivo));
+    }
+
+    private modelo.SolicitudSeguimiento consumirSolicitud(Cliente objetivo) {
+        if (objetivo == null) return null;
+        modelo.SolicitudSeguimiento solicitud;
+        synchronized (objetivo) {
+            prepararMutacion(objetivo);
+            solicitud = objetivo.procesarSiguienteSolicitud();
+            if (solicitud == null) return null;
+            registrarMutacion(Mutacion.procesarSolicitud(objetivo.getId()));
+        }
+        solicitudesPendientes.decrement();
+        return solicitud;
+    }
+
     /*
     Procesa y acepta una solicitud de seguimiento.
     Encapsula la lógica de negocio y persistencia.
     */
     public boolean aceptarSolicitud(Cliente solicitante, Cliente objetivo, modelo.SolicitudSeguimiento solicitud) {
-        if (solicitante == null || objetivo == null || solicitud == null) return false;
+        return medir(OperacionGestor.ACEPTAR_SOLICITUD, Acceso.COMPARTIDO, () -> {
+            if (solicitante == null || objetivo == null || solicitud == null) return false;
         
-        // 1. Crear la relación de seguimiento (Esto ya persiste el cambio vía seguir())
-        boolean resultado = seguir(solicitante.getId(), objetivo.getId());
+            // 1. Crear la relación de seguimiento (Esto ya persiste el cambio vía seguir())
+            boolean resultado = seguir(solicitante.getId(), objetivo.getId(), registrarEnHistorial);
         
-        // 2. (Opcional) Si hubiera lógica adicional como notificaciones, iría aquí.
+            // 2. (Opcional) Si hubiera lógica adicional como notificaciones, iría aquí.
         
-        return resultado;
+            return resultado;
+        });
     }
 
     /*
     Registra que un cliente deja de seguir a otro.
+    Mismo orden de monitores que seguir().
     */
     public boolean dejarDeSeguir(int idSolicitante, int idObjetivo) {
-        Cliente solicitante = clientes.obtener(idSolicitante);
-        Cliente objetivo = clientes.obtener(idObjetivo);
+        return medir(OperacionGestor.DEJAR_DE_SEGUIR, Acceso.COMPARTIDO,
+                () -> dejarDeSeguir(idSolicitante, idObjetivo, registrarEnHistorial));
+    }
+
+    private boolean dejarDeSeguir(int idSolicitante, int idObjetivo, boolean conHistorial) {
+        Cliente solicitante = obtenerCliente(idSolicitante);
+        Cliente objetivo = obtenerCliente(idObjetivo);
         if (solicitante == null || objetivo == null) return false;
 
-        if (solicitante.dejarDeSeguir(idObjetivo)) {
-            objetivo.eliminarSeguidor(idSolicitante);  // Actualizar grafo bidireccional
-            
-            if (registrarEnHistorial && sesionValida()) {
-                Accion accion = new Accion(TipoAccion.DEJAR_DE_SEGUIR, 
-                                            String.valueOf(idSolicitante), 
-                                            String.valueOf(idObjetivo));
-                getSesion().getHistorial().registrar(accion);
+        Cliente primero = idSolicitante < idObjetivo ? solicitante : objetivo;
+        Cliente segundo = primero == solicitante ? objetivo : solicitante;
+        synchronized (primero) {
+            synchronized (segundo) {
+                prepararMutacion(solicitante);
+                prepararMutacion(objetivo);
+                if (!solicitante.dejarDeSeguir(idObjetivo)) {
+                    return false;
+                }
+                objetivo.eliminarSeguidor(idSolicitante);  // Actualizar grafo bidireccional
+                if (grafo != null) grafo.eliminarArista(idSolicitante, idObjetivo);
+                actualizarPopularidad(objetivo);
+                registrarMutacion(Mutacion.relacion(TipoMutacion.DEJAR_DE_SEGUIR, idSolicitante, idObjetivo));
             }
-            // [Simplificacion] Ya no guardamos en disco aquí.
-            return true;
         }
-        return false;
+        relaciones.decrement();
+        
+        if (conHistorial && sesionValida()) {
+            Accion accion = new Accion(TipoAccion.DEJAR_DE_SEGUIR, 
+                                        String.valueOf(idSolicitante), 
+                                        String.valueOf(idObjetivo));
+            getSesion().getHistorial().registrar(accion);
+        }
+        // [Simplificacion] Ya no guardamos en disco aquí.
+        return true;
     }
 
     /*
     Deshace la última acción registrada en el historial de la sesión.
+    Deshacer un alta o una baja corre en modo exclusivo (restaurar un cliente
+    eliminado, alta + sus seguidos, no se ve a medio hacer); deshacer una
+    relación, en modo compartido como seguir / dejarDeSeguir.
     */
     public Accion deshacer() {
-        if (!sesionValida()) return null;
-        HistorialAcciones historial = getSesion().getHistorial();
+        return medir(OperacionGestor.DESHACER, Acceso.LIBRE, () -> {
+            if (!sesionValida()) return null;
+            HistorialAcciones historial = getSesion().getHistorial();
         
-        if (historial.estaVacio()) return null;
+            if (historial.estaVacio()) return null;
 
-        Accion accion = historial.extraerUltima();
-        ejecutarUndo(accion);
-        return accion;
+            Accion accion = historial.extraerUltima();
+            boolean exclusivo = accion.getTipo() == TipoAccion.ELIMINAR_CLIENTE
+                    || accion.getTipo() == TipoAccion.AGREGAR_CLIENTE;
+            if (exclusivo) entrarExclusivo();
+            else entrarCompartido();
+            try {
+                ejecutarUndo(accion);
+            } finally {
+                if (exclusivo) salirExclusivo();
+                else salirCompartido();
+            }
+            return accion;
+        });
     }
 
 
     /*
     Ejecuta la lógica inversa de una acción para deshacerla.
+    Usa los mismos cuerpos que la interfaz pública, sin medir ni registrar
+    historial, para mantener el grafo bidireccional, los índices y el WAL
+    consistentes. El cerrojo lo toma deshacer.
+    No apaga registrarEnHistorial: en modo concurrente otro usuario podría
+    estar operando al mismo tiempo.
     */
     private void ejecutarUndo(Accion accion) {
         String[] datos = accion.getDatos();
-
         switch (accion.getTipo()) {
             case AGREGAR_CLIENTE:
-                int idEliminar = Integer.parseInt(datos[0]);
-                Cliente cEliminar = clientes.obtener(idEliminar);
-                if (cEliminar != null) {
-                    clientes.eliminar(idEliminar);
-                }
+                eliminarClientes(new int[] { Integer.parseInt(datos[0]) }, false);
                 break;
             case ELIMINAR_CLIENTE:
                 int idRestaurar = Integer.parseInt(datos[0]);
-                Cliente restaurado = new Cliente(idRestaurar, datos[1], Integer.parseInt(datos[2]));
-                clientes.insertar(idRestaurar, restaurado);
+                agregarConId(idRestaurar, datos[1], Integer.parseInt(datos[2]));
                 if (datos.length > 3 && !datos[3].isEmpty()) {
                     for (String seguido : datos[3].split(",")) {
-                        restaurado.seguir(Integer.parseInt(seguido));
+                        seguir(idRestaurar, Integer.parseInt(seguido), false);
                     }
                 }
                 break;
             case SEGUIR:
-                Cliente c1 = clientes.obtener(Integer.parseInt(datos[0]));
-                if (c1 != null) c1.dejarDeSeguir(Integer.parseInt(datos[1]));
+                dejarDeSeguir(Integer.parseInt(datos[0]), Integer.parseInt(datos[1]), false);
                 break;
             case DEJAR_DE_SEGUIR:
-                Cliente c2 = clientes.obtener(Integer.parseInt(datos[0]));
-                if (c2 != null) c2.seguir(Integer.parseInt(datos[1]));
+                seguir(Integer.parseInt(datos[0]), Integer.parseInt(datos[1]), false);
                 break;
             default:
                 break;
@@ -509,25 +1741,82 @@ public class GestorClientes {
     Retorna la última acción realizada por el usuario actual.
     */
     public Accion verUltimaAccion() {
-        if (!sesionValida()) return null;
-        return getSesion().getHistorial().verUltima();
+        return medir(OperacionGestor.VER_ULTIMA_ACCION, Acceso.LIBRE, () -> {
+            if (!sesionValida()) return null;
+            return getSesion().getHistorial().verUltima();
+        });
     }
 
     public boolean historialVacio() {
-        if (!sesionValida()) return true;
-        return getSesion().getHistorial().estaVacio();
+        return medir(OperacionGestor.HISTORIAL_VACIO, Acceso.LIBRE, () -> {
+            if (!sesionValida()) return true;
+            return getSesion().getHistorial().estaVacio();
+        });
     }
 
 
     public int getCantidadAcciones() {
-        if (!sesionValida()) return 0;
-        return getSesion().getHistorial().getCantidad();
+        return medir(OperacionGestor.GET_CANTIDAD_ACCIONES, Acceso.LIBRE, () -> {
+            if (!sesionValida()) return 0;
+            return getSesion().getHistorial().getCantidad();
+        });
     }
 
 
     public Accion[] obtenerHistorialCompleto() {
-        if (!sesionValida()) return new Accion[0];
-        return getSesion().getHistorial().obtenerTodas();
+        return medir(OperacionGestor.OBTENER_HISTORIAL_COMPLETO, Acceso.LIBRE, () -> {
+            if (!sesionValida()) return new Accion[0];
+            return getSesion().getHistorial().obtenerTodas();
+        });
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    MÉTRICAS
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Cerrojo que toma una operación pública mientras corre (ver CONCURRENCIA).
+    */
+    private enum Acceso { LIBRE, COMPARTIDO, EXCLUSIVO }
+
+    /*
+    Punto único de medición: toma el cerrojo indicado, ejecuta el cuerpo de la
+    operación pública y registra su latencia (también si termina con excepción).
+    Las operaciones que reutilizan a otras llaman a su versión privada, que no
+    se mide: cada llamada pública cuenta una sola vez.
+    */
+    private <T> T medir(OperacionGestor operacion, Acceso acceso, Supplier<T> cuerpo) {
+        long inicio = System.nanoTime();
+        if (acceso == Acceso.COMPARTIDO) entrarCompartido();
+        else if (acceso == Acceso.EXCLUSIVO) entrarExclusivo();
+        try {
+            return cuerpo.get();
+        } finally {
+            if (acceso == Acceso.COMPARTIDO) salirCompartido();
+            else if (acceso == Acceso.EXCLUSIVO) salirExclusivo();
+            metricas.registrar(operacion, inicio);
+        }
+    }
+
+    private void medir(OperacionGestor operacion, Acceso acceso, Runnable cuerpo) {
+        medir(operacion, acceso, () -> {
+            cuerpo.run();
+            return null;
+        });
+    }
+
+    /*
+    Llamadas y latencias de cada operación pública (más la carga inicial) e
+    indicadores de clientes, relaciones y solicitudes pendientes. Cada llamada
+    pública cuenta una vez: las internas (eliminarCliente, aceptarSolicitud,
+    deshacer, la reproducción del WAL) no suman a otras operaciones.
+    En modo mapeado los indicadores de relaciones y solicitudes cubren solo a
+    los clientes ya materializados.
+    */
+    public RegistroMetricas<OperacionGestor> getMetricas() {
+        return metricas;
     }
 
     /* 
@@ -0,0 +1,71 @@
+package servicio;
+
+/*
+Operaciones de GestorClientes medidas por su registro de métricas
+(ver GestorClientes.getMetricas). El nombre es el del método medido y es el
+que aparece en los volcados de texto y JSON.
+ */
+public enum OperacionGestor {
+    CARGAR_DESDE_ARCHIVO("cargarDesdeArchivo"),
+    ABRIR_MAPEADO("abrirMapeado"),
+    ACTIVAR_REGISTRO_ESCRITURA("activarRegistroEscritura"),
+    CHECKPOINT("checkpoint"),
+    INICIAR_CHECKPOINT("iniciarCheckpoint"),
+    INICIAR_SNAPSHOT_ASINCRONO("iniciarSnapshotAsincrono"),
+    CERRAR("cerrar"),
+    GUARDAR_CAMBIOS("guardarCambios"),
+    EXPORTAR_BINARIO("exportarBinario"),
+    EXPORTAR_JSON("exportarJson"),
+    IMPORTAR_JSON("importarJson"),
+    IMPORTAR_JSON_PARALELO("importarJsonParalelo"),
+    ACTIVAR_GRAFO_CSR("activarGrafoCSR"),
+    ACTIVAR_MODO_CONCURRENTE("activarModoConcurrente"),
+    AGREGAR_CLIENTE("agregarCliente"),
+    AGREGAR_CLIENTE_CON_ID("agregarClienteConId"),
+    BUSCAR_POR_ID("buscarPorId"),
+    BUSCAR_POR_NOMBRE("buscarPorNombre"),
+    BUSCAR_POR_PREFIJO_NOMBRE("buscarPorPrefijoNombre"),
+    BUSCAR_POR_NOMBRE_APROXIMADO("buscarPorNombreAproximado"),
+    INICIAR_INDICE_NOMBRES("iniciarIndiceNombresEnSegundoPlano"),
+    EXISTE_CLIENTE("existeCliente"),
+    OBTENER_TODOS_LOS_CLIENTES("obtenerTodosLosClientes"),
+    BUSCAR_POR_SCORING("buscarPorScoring"),
+    OBTENER_CLIENTES_EN_NIVEL("obtenerClientesEnNivel"),
+    BUSCAR_POR_RANGO_SCORING("buscarPorRangoScoring"),
+    ITERAR_POR_SCORING_DESCENDENTE("iterarPorScoringDescendente"),
+    OBTENER_TOP_SCORING("obtenerTopScoring"),
+    SCORING_PISO("scoringPiso"),
+    SCORING_TECHO("scoringTecho"),
+    CONTAR_POR_RANGO_SCORING("contarPorRangoScoring"),
+    OBTENER_HISTOGRAMA_SCORING("obtenerHistogramaScoring"),
+    PERCENTIL_SCORING("percentilScoring"),
+    OBTENER_TOP_PORCENTAJE_SCORING("obtenerTopPorcentajeScoring"),
+    SCORING_EN_PERCENTIL("scoringEnPercentil"),
+    OBTENER_CLIENTES_MAS_POPULARES("obtenerClientesMasPopulares"),
+    OBTENER_PUESTO_POPULARIDAD("obtenerPuestoPopularidad"),
+    OBTENER_TOP_POR("obtenerTopPor"),
+    GET_CLIENTES("getClientes"),
+    ELIMINAR_CLIENTE("eliminarCliente"),
+    ELIMINAR_CLIENTES("eliminarClientes"),
+    SEGUIR("seguir"),
+    ENVIAR_SOLICITUD("enviarSolicitud"),
+    PROCESAR_SIGUIENTE_SOLICITUD("procesarSiguienteSolicitud"),
+    ACEPTAR_SOLICITUD("aceptarSolicitud"),
+    DEJAR_DE_SEGUIR("dejarDeSeguir"),
+    DESHACER("deshacer"),
+    VER_ULTIMA_ACCION("verUltimaAccion"),
+    HISTORIAL_VACIO("historialVacio"),
+    GET_CANTIDAD_ACCIONES("getCantidadAcciones"),
+    OBTENER_HISTORIAL_COMPLETO("obtenerHistorialCompleto");
+
+    private final String nombre;
+
+    OperacionGestor(String nombre) {
+        this.nombre = nombre;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
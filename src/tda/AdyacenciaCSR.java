@@ -0,0 +1,410 @@
+package tda;
+
+/*
+Una dirección de un grafo dirigido (nodo -> vecinos) en formato CSR
+(compressed sparse row) con buffer de cambios y fusión en segundo plano.
+
+BASE CSR (inmutable una vez construida):
+    nodos[f] es el ID del nodo de la fila f (ascendentes, solo nodos con vecinos);
+    inicios[f] .. inicios[f + 1] delimitan en destinos[] sus vecinos, ordenados
+    ascendentemente. La fila de un nodo se ubica por búsqueda binaria en nodos[],
+    así los IDs pueden ser grandes o dispersos sin reservar filas vacías.
+    4 bytes por arista y 8 por nodo con vecinos; un recorrido completo es secuencial.
+
+CAPAS DE CAMBIOS (Delta): las mutaciones no tocan la base. Cada capa guarda,
+por nodo, las aristas agregadas y eliminadas respecto de las capas inferiores:
+    activo     -> recibe las mutaciones
+    congelado  -> capa que se está fusionando con la base (solo lectura), o null
+    base
+Al superar el umbral de cambios, activo pasa a congelado y un hilo construye
+la nueva base (base + congelado) sin bloquear; al terminar se reemplaza la base
+y se descarta congelado. Las mutaciones posteriores quedan en el nuevo activo.
+
+INVARIANTE DE REPRESENTACIÓN:
+- inicios.length == nodos.length + 1, inicios[0] == 0, inicios no decreciente,
+  inicios[nodos.length] == destinos.length
+- nodos estrictamente creciente; cada fila de la base no vacía, ordenada y sin repetidos
+- En cada capa: agregadas(n) no existen en las capas inferiores,
+  eliminadas(n) sí existen, y son disjuntas
+- aristas == cantidad de aristas visibles (base + capas)
+- congelado != null <=> hay una fusión en curso
+- Solo se modifica el estado dentro de métodos synchronized; el hilo de fusión
+  lee únicamente la base y congelado (que ya no cambian)
+
+Complejidad: existe O(log N + log grado), grado O(log N), vecinos O(log N + grado log grado),
+fusión O(N + E) en segundo plano (N = nodos con vecinos).
+*/
+class AdyacenciaCSR {
+
+    /* Constantes */
+    static final int MINIMO_CAMBIOS_FUSION = 4096;
+    private static final int[] SIN_VECINOS = new int[0];
+
+    /* Atributos */
+    private int[] nodos;
+    private int[] inicios;
+    private int[] destinos;
+    private Delta activo;
+    private Delta congelado;
+    private long aristas;
+    private Thread fusion;
+    private int fusionesCompletadas;
+    private final String nombre;
+
+    /*
+    Capa de cambios: por nodo, vecinos agregados y eliminados.
+    */
+    private static class Delta {
+        final IntDiccionario<ConjuntoEnteros> agregadas = new IntDiccionario<>();
+        final IntDiccionario<ConjuntoEnteros> eliminadas = new IntDiccionario<>();
+        int cambios;
+        int maximoNodo = -1;
+
+        /* +1 si la capa agrega la arista, -1 si la elimina, 0 si no la toca */
+        int estado(int nodo, int vecino) {
+            ConjuntoEnteros a = agregadas.obtener(nodo);
+            if (a != null && a.contiene(vecino)) return 1;
+            ConjuntoEnteros e = eliminadas.obtener(nodo);
+            if (e != null && e.contiene(vecino)) return -1;
+            return 0;
+        }
+
+        int ajusteGrado(int nodo) {
+            ConjuntoEnteros a = agregadas.obtener(nodo);
+            ConjuntoEnteros e = eliminadas.obtener(nodo);
+            return (a == null ? 0 : a.getCantidad()) - (e == null ? 0 : e.getCantidad());
+        }
+
+        boolean toca(int nodo) {
+            return agregadas.contiene(nodo) || eliminadas.contiene(nodo);
+        }
+
+        static void poner(IntDiccionario<ConjuntoEnteros> capa, int nodo, int vecino) {
+            ConjuntoEnteros conjunto = capa.obtener(nodo);
+            if (conjunto == null) {
+                conjunto = new ConjuntoEnteros();
+                capa.insertar(nodo, conjunto);
+            }
+            conjunto.agregar(vecino);
+        }
+
+        /* Retorna true si estaba en la capa indicada (y lo quita) */
+        static boolean quitar(IntDiccionario<ConjuntoEnteros> capa, int nodo, int vecino) {
+            ConjuntoEnteros conjunto = capa.obtener(nodo);
+            if (conjunto == null || !conjunto.eliminar(vecino)) return false;
+            if (conjunto.estaVacio()) capa.eliminar(nodo);
+            return true;
+        }
+
+        /* Aplica la capa sobre los vecinos (ordenados) de las capas inferiores */
+        int[] aplicar(int nodo, int[] vecinos) {
+            ConjuntoEnteros a = agregadas.obtener(nodo);
+            ConjuntoEnteros e = eliminadas.obtener(nodo);
+            if (a == null && e == null) return vecinos;
+            int[] extra = a == null ? SIN_VECINOS : a.obtenerElementos();
+            int[] resultado = new int[vecinos.length + extra.length - (e == null ? 0 : e.getCantidad())];
+            int k = 0;
+            int j = 0;
+            for (int v : vecinos) {
+                if (e != null && e.contiene(v)) continue;
+                while (j < extra.length && extra[j] < v) resultado[k++] = extra[j++];
+                resultado[k++] = v;
+            }
+            while (j < extra.length) resultado[k++] = extra[j++];
+            return resultado;
+        }
+    }
+
+    /*
+    Construye la dirección a partir de una base CSR ya armada.
+    */
+    AdyacenciaCSR(String nombre, int[] nodos, int[] inicios, int[] destinos) {
+        this.nombre = nombre;
+        this.nodos = nodos;
+        this.inicios = inicios;
+        this.destinos = destinos;
+        this.aristas = destinos.length;
+        this.activo = new Delta();
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    CONSULTAS
+    ══════════════════════════════════════════════════════════
+    */
+
+    /* Fila del nodo en la base, o -1 si no tiene vecinos en ella */
+    private int fila(int nodo) {
+        int f = java.util.Arrays.binarySearch(nodos, nodo);
+        return f < 0 ? -1 : f;
+    }
+
+    private boolean enBase(int nodo, int vecino) {
+        int f = fila(nodo);
+        if (f < 0) return false;
+        return java.util.Arrays.binarySearch(destinos, inicios[f], inicios[f + 1], vecino) >= 0;
+    }
+
+    private int gradoBase(int nodo) {
+        int f = fila(nodo);
+        return f < 0 ? 0 : inicios[f + 1] - inicios[f];
+    }
+
+    synchronized boolean existe(int nodo, int vecino) {
+        int estado = activo.estado(nodo, vecino);
+        if (estado == 0 && congelado != null) estado = congelado.estado(nodo, vecino);
+        return estado == 0 ? enBase(nodo, vecino) : estado > 0;
+    }
+
+    synchronized int grado(int nodo) {
+        int grado = gradoBase(nodo) + activo.ajusteGrado(nodo);
+        return congelado == null ? grado : grado + congelado.ajusteGrado(nodo);
+    }
+
+    synchronized int[] vecinos(int nodo) {
+        int f = fila(nodo);
+        int[] base = f < 0 ? SIN_VECINOS : java.util.Arrays.copyOfRange(destinos, inicios[f], inicios[f + 1]);
+        if (congelado != null) base = congelado.aplicar(nodo, base);
+        return activo.aplicar(nodo, base);
+    }
+
+    /*
+    Grado de cada nodo consultado (resultado[i] corresponde a consultados[i]).
+    Con consultados en orden ascendente la base se recorre una sola vez en
+    forma secuencial, a la par de la lista; un nodo fuera de orden se ubica
+    por búsqueda binaria. Las capas de cambios se corrigen por nodo.
+    Complejidad: O(consultados + N) ordenados.
+    */
+    synchronized int[] grados(int[] consultados) {
+        int[] grados = new int[consultados.length];
+        int filas = nodos.length;
+        int f = 0;
+        int previo = Integer.MIN_VALUE;
+        for (int i = 0; i < consultados.length; i++) {
+            int nodo = consultados[i];
+            if (nodo < previo) {
+                int posicion = java.util.Arrays.binarySearch(nodos, nodo);
+                f = posicion >= 0 ? posicion : -posicion - 1;
+            } else {
+                while (f < filas && nodos[f] < nodo) f++;
+            }
+            previo = nodo;
+            int grado = f < filas && nodos[f] == nodo ? inicios[f + 1] - inicios[f] : 0;
+            if (congelado != null) grado += congelado.ajusteGrado(nodo);
+            grados[i] = grado + activo.ajusteGrado(nodo);
+        }
+        return grados;
+    }
+
+    synchronized long getAristas() {
+        return aristas;
+    }
+
+    synchronized int getMaximoNodo() {
+        int maximo = Math.max(nodos.length == 0 ? -1 : nodos[nodos.length - 1], activo.maximoNodo);
+        return congelado == null ? maximo : Math.max(maximo, congelado.maximoNodo);
+    }
+
+    synchronized int getCambiosPendientes() {
+        return activo.cambios + (congelado == null ? 0 : congelado.cambios);
+    }
+
+    synchronized int getFusionesCompletadas() {
+        return fusionesCompletadas;
+    }
+
+    synchronized long getBytesBase() {
+        return 4L * (nodos.length + inicios.length + destinos.length);
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    MUTACIONES
+    ══════════════════════════════════════════════════════════
+    */
+
+    synchronized boolean agregar(int nodo, int vecino) {
+        if (nodo < 0 || vecino < 0) {
+            throw new IllegalArgumentException("Los nodos deben ser >= 0");
+        }
+        if (existe(nodo, vecino)) return false;
+        if (!Delta.quitar(activo.eliminadas, nodo, vecino)) {
+            Delta.poner(activo.agregadas, nodo, vecino);
+        }
+        activo.maximoNodo = Math.max(activo.maximoNodo, nodo);
+        aristas++;
+        registrarCambio();
+        return true;
+    }
+
+    synchronized boolean eliminar(int nodo, int vecino) {
+        if (!existe(nodo, vecino)) return false;
+        if (!Delta.quitar(activo.agregadas, nodo, vecino)) {
+            Delta.poner(activo.eliminadas, nodo, vecino);
+        }
+        aristas--;
+        registrarCambio();
+        return true;
+    }
+
+    private void registrarCambio() {
+        activo.cambios++;
+        if (congelado == null && activo.cambios >= Math.max(MINIMO_CAMBIOS_FUSION, aristas / 8)) {
+            iniciarFusion();
+        }
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    FUSIÓN (BASE + CAMBIOS -> NUEVA BASE)
+    ══════════════════════════════════════════════════════════
+    */
+
+    private void iniciarFusion() {
+        congelado = activo;
+        activo = new Delta();
+        final int[] baseNodos = nodos;
+        final int[] baseInicios = inicios;
+        final int[] baseDestinos = destinos;
+        final Delta capa = congelado;
+        fusion = new Thread(() -> {
+            int[][] nueva = fusionar(baseNodos, baseInicios, baseDestinos, capa);
+            instalar(nueva);
+        }, "fusion-csr-" + nombre);
+        fusion.setDaemon(true);
+        fusion.start();
+    }
+
+    private synchronized void instalar(int[][] nueva) {
+        nodos = nueva[0];
+        inicios = nueva[1];
+        destinos = nueva[2];
+        congelado = null;
+        fusion = null;
+        fusionesCompletadas++;
+        notifyAll();
+    }
+
+    /*
+    Construye la nueva base {nodos, inicios, destinos}. Las filas son la unión
+    ordenada de los nodos de la base y los que la capa agrega; las que quedan
+    sin vecinos se descartan. Las filas que la capa no toca se copian en bloque.
+    */
+    private static int[][] fusionar(int[] nodos, int[] inicios, int[] destinos, Delta capa) {
+        int[] nuevos = capa.agregadas.obtenerClavesEnteras();
+        java.util.Arrays.sort(nuevos);
+
+        // Unión ordenada de filas, con el grado resultante de cada una
+        int[] candidatos = new int[nodos.length + nuevos.length];
+        int[] filaBase = new int[candidatos.length];  // -1 si el nodo no tenía fila
+        int[] grados = new int[candidatos.length];
+        int cantidad = 0;
+        int i = 0;
+        int j = 0;
+        while (i < nodos.length || j < nuevos.length) {
+            int nodo;
+            int f = -1;
+            if (j == nuevos.length || (i < nodos.length && nodos[i] <= nuevos[j])) {
+                nodo = nodos[i];
+                f = i++;
+                if (j < nuevos.length && nuevos[j] == nodo) j++;
+            } else {
+                nodo = nuevos[j++];
+            }
+            int grado = (f < 0 ? 0 : inicios[f + 1] - inicios[f]) + capa.ajusteGrado(nodo);
+            if (grado == 0) continue;
+            candidatos[cantidad] = nodo;
+            filaBase[cantidad] = f;
+            grados[cantidad++] = grado;
+        }
+
+        int[] nuevosNodos = java.util.Arrays.copyOf(candidatos, cantidad);
+        int[] nuevosInicios = new int[cantidad + 1];
+        for (int k = 0; k < cantidad; k++) nuevosInicios[k + 1] = nuevosInicios[k] + grados[k];
+        int[] nuevosDestinos = new int[nuevosInicios[cantidad]];
+        for (int k = 0; k < cantidad; k++) {
+            int f = filaBase[k];
+            int desde = f < 0 ? 0 : inicios[f];
+            int hasta = f < 0 ? 0 : inicios[f + 1];
+            if (!capa.toca(nuevosNodos[k])) {
+                System.arraycopy(destinos, desde, nuevosDestinos, nuevosInicios[k], hasta - desde);
+            } else {
+                int[] fila = capa.aplicar(nuevosNodos[k], java.util.Arrays.copyOfRange(destinos, desde, hasta));
+                System.arraycopy(fila, 0, nuevosDestinos, nuevosInicios[k], fila.length);
+            }
+        }
+        return new int[][] { nuevosNodos, nuevosInicios, nuevosDestinos };
+    }
+
+    /*
+    Espera a que termine la fusión en curso, si la hay.
+    */
+    synchronized void esperarFusion() {
+        while (congelado != null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /*
+    Fusiona todos los cambios pendientes con la base en el hilo actual.
+    Al retornar la base contiene todas las aristas (capas vacías).
+    */
+    synchronized void compactar() {
+        esperarFusion();
+        if (activo.cambios == 0) return;
+        int[][] nueva = fusionar(nodos, inicios, destinos, activo);
+        activo = new Delta();
+        nodos = nueva[0];
+        inicios = nueva[1];
+        destinos = nueva[2];
+        fusionesCompletadas++;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    CONSTRUCCIÓN MASIVA
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Arma una base CSR ordenando las aristas por (nodo, vecino), empaquetadas en
+    un long, y cortando filas donde cambia el nodo. Las filas quedan numeradas
+    densamente (0..N-1) sin importar cuán grandes sean los IDs.
+    Precondición: sin aristas repetidas, nodos >= 0.
+    Complejidad: O(E log E) tiempo, 8 bytes temporales por arista.
+    */
+    static AdyacenciaCSR construir(String nombre, int[] nodos, int[] vecinos, int cantidad) {
+        long[] aristas = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            if (nodos[i] < 0 || vecinos[i] < 0) {
+                throw new IllegalArgumentException("Los nodos deben ser >= 0");
+            }
+            aristas[i] = (long) nodos[i] << 32 | vecinos[i];
+        }
+        java.util.Arrays.sort(aristas);
+
+        int filas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (i == 0 || (aristas[i] >>> 32) != (aristas[i - 1] >>> 32)) filas++;
+        }
+        int[] ids = new int[filas];
+        int[] inicios = new int[filas + 1];
+        int[] destinos = new int[cantidad];
+        int f = -1;
+        for (int i = 0; i < cantidad; i++) {
+            int nodo = (int) (aristas[i] >>> 32);
+            if (f < 0 || ids[f] != nodo) {
+                ids[++f] = nodo;
+                inicios[f] = i;
+            }
+            destinos[i] = (int) aristas[i];
+        }
+        inicios[filas] = cantidad;
+        return new AdyacenciaCSR(nombre, ids, inicios, destinos);
+    }
+}
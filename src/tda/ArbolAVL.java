@@ -0,0 +1,576 @@
+package tda;
+
+import interfaces.IArbolBinarioBusqueda;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/*
+TDA Árbol AVL - Árbol binario de búsqueda autobalanceado.
+
+A diferencia de ArbolBinarioBusqueda, la altura se mantiene en O(log N) aunque
+las claves lleguen ordenadas o con muchísimos duplicados (el scoring tiene solo
+101 valores posibles: con 1M clientes el ABB simple forma cadenas de miles de
+niveles hacia la derecha).
+
+Duplicados: cada nodo lleva un número de secuencia de inserción. El árbol se
+ordena por (clave, secuencia), por lo que no hay dos nodos iguales y las
+rotaciones conservan el orden; los valores con la misma clave quedan contiguos
+en el recorrido inorden, en orden de inserción.
+
+ESTADÍSTICAS DE ORDEN: cada nodo guarda el tamaño de su subárbol, por lo que
+contarMenores (rank), seleccionar (select) y contarEnRango bajan una sola vez
+por el árbol. Por defecto cada nodo pesa 1; un árbol creado con una función de
+peso (uso interno de MultimapaOrdenado) cuenta peso(valor) por nodo y debe
+recibir actualizarPeso(clave) cuando ese peso cambia.
+
+Todas las operaciones son iterativas: el camino desde la raíz se guarda en un
+arreglo (la altura de un AVL está acotada por ~1.44 log2 N, ALTURA_MAXIMA
+alcanza para cualquier N representable) y se recorre hacia arriba para
+actualizar alturas y rotar. No hay riesgo de StackOverflowError.
+
+INVARIANTE DE REPRESENTACIÓN:
+- Para todo nodo N: (clave, secuencia) del subárbol izquierdo < (N.clave, N.secuencia)
+  y del subárbol derecho > (N.clave, N.secuencia)
+- Para todo nodo N: |altura(N.izquierdo) - altura(N.derecho)| <= 1
+- N.altura == 1 + max(altura(N.izquierdo), altura(N.derecho)), altura(null) == 0
+- N.tamanio == peso(N.valor) + tamanio(N.izquierdo) + tamanio(N.derecho), tamanio(null) == 0
+- cantidad == cantidad de nodos; (raiz == null) <=> (cantidad == 0)
+- secuencia > secuencia de todo nodo existente
+
+COMPLEJIDAD TEMPORAL:
+- Insertar: O(log N)
+- Buscar: O(log N + k) donde k = cantidad con misma clave
+- Eliminar: O(log N + k) (se ubica el valor entre los k de su clave)
+- Obtener en nivel: O(N)
+- Altura: O(1)
+- Rango / piso / techo: O(log N) + O(1) amortizado por elemento
+- contarMenores / seleccionar / contarEnRango: O(log N)
+
+SOLID: DIP - Implementa interfaz IArbolBinarioBusqueda
+SOLID: LSP - Sustituye a ArbolBinarioBusqueda como índice
+*/
+public class ArbolAVL<K extends Comparable<K>, V> implements IArbolBinarioBusqueda<K, V> {
+
+    /* Constantes */
+    private static final int ALTURA_MAXIMA = 64;
+
+    /* Atributos */
+    private NodoAVL<K, V> raiz;
+    private int cantidad;
+    private long secuencia;
+    private final ToIntFunction<V> peso;  // null = cada nodo pesa 1
+
+    /*
+    Constructor que inicializa el árbol vacío.
+    */
+    public ArbolAVL() {
+        this(null);
+    }
+
+    /*
+    Árbol cuyos nodos pesan peso(valor) en las estadísticas de orden.
+    */
+    ArbolAVL(ToIntFunction<V> peso) {
+        this.raiz = null;
+        this.cantidad = 0;
+        this.secuencia = 0;
+        this.peso = peso;
+    }
+
+    /*
+    Compara (clave, secuencia) contra un nodo.
+    */
+    private int comparar(K clave, long secuencia, NodoAVL<K, V> nodo) {
+        int comparacion = clave.compareTo(nodo.getClave());
+        return comparacion != 0 ? comparacion : Long.compare(secuencia, nodo.getSecuencia());
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    BALANCEO
+    ══════════════════════════════════════════════════════════
+    */
+
+    private static int altura(NodoAVL<?, ?> nodo) {
+        return nodo == null ? 0 : nodo.getAltura();
+    }
+
+    private static int tamanio(NodoAVL<?, ?> nodo) {
+        return nodo == null ? 0 : nodo.getTamanio();
+    }
+
+    private int pesoDe(NodoAVL<K, V> nodo) {
+        return peso == null ? 1 : peso.applyAsInt(nodo.getValor());
+    }
+
+    /*
+    Recalcula altura y tamaño del nodo a partir de sus hijos.
+    */
+    private void actualizarAltura(NodoAVL<K, V> nodo) {
+        nodo.setAltura(1 + Math.max(altura(nodo.getIzquierdo()), altura(nodo.getDerecho())));
+        nodo.setTamanio(pesoDe(nodo) + tamanio(nodo.getIzquierdo()) + tamanio(nodo.getDerecho()));
+    }
+
+    private NodoAVL<K, V> rotarDerecha(NodoAVL<K, V> nodo) {
+        NodoAVL<K, V> hijo = nodo.getIzquierdo();
+        nodo.setIzquierdo(hijo.getDerecho());
+        hijo.setDerecho(nodo);
+        actualizarAltura(nodo);
+        actualizarAltura(hijo);
+        return hijo;
+    }
+
+    private NodoAVL<K, V> rotarIzquierda(NodoAVL<K, V> nodo) {
+        NodoAVL<K, V> hijo = nodo.getDerecho();
+        nodo.setDerecho(hijo.getIzquierdo());
+        hijo.setIzquierdo(nodo);
+        actualizarAltura(nodo);
+        actualizarAltura(hijo);
+        return hijo;
+    }
+
+    /*
+    Actualiza la altura del nodo y aplica la rotación simple o doble que
+    corresponda. Retorna la nueva raíz del subárbol.
+    */
+    private NodoAVL<K, V> balancear(NodoAVL<K, V> nodo) {
+        actualizarAltura(nodo);
+        int factor = altura(nodo.getIzquierdo()) - altura(nodo.getDerecho());
+        if (factor > 1) {
+            if (altura(nodo.getIzquierdo().getIzquierdo()) < altura(nodo.getIzquierdo().getDerecho())) {
+                nodo.setIzquierdo(rotarIzquierda(nodo.getIzquierdo()));  // Caso izquierda-derecha
+            }
+            return rotarDerecha(nodo);
+        }
+        if (factor < -1) {
+            if (altura(nodo.getDerecho().getDerecho()) < altura(nodo.getDerecho().getIzquierdo())) {
+                nodo.setDerecho(rotarDerecha(nodo.getDerecho()));  // Caso derecha-izquierda
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+
+    /*
+    Rebalancea desde camino[profundidad - 1] hasta la raíz, reenganchando
+    cada subárbol rotado en su padre.
+    */
+    private void rebalancearCamino(NodoAVL<K, V>[] camino, int profundidad) {
+        for (int i = profundidad - 1; i >= 0; i--) {
+            NodoAVL<K, V> nodo = camino[i];
+            NodoAVL<K, V> nuevo = balancear(nodo);
+            if (i == 0) {
+                raiz = nuevo;
+            } else if (camino[i - 1].getIzquierdo() == nodo) {
+                camino[i - 1].setIzquierdo(nuevo);
+            } else {
+                camino[i - 1].setDerecho(nuevo);
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private NodoAVL<K, V>[] nuevoCamino() {
+        return (NodoAVL<K, V>[]) new NodoAVL[ALTURA_MAXIMA];
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    OPERACIONES
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Inserta un par clave-valor en el árbol.
+    Permite duplicados: con la misma clave quedan en orden de inserción.
+    */
+    @Override
+    public void insertar(K clave, V valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("La clave no puede ser null");
+        }
+        NodoAVL<K, V> nuevo = new NodoAVL<>(clave, valor, secuencia++);
+        actualizarAltura(nuevo);
+        cantidad++;
+        if (raiz == null) {
+            raiz = nuevo;
+            return;
+        }
+
+        NodoAVL<K, V>[] camino = nuevoCamino();
+        int profundidad = 0;
+        NodoAVL<K, V> nodo = raiz;
+        while (true) {
+            camino[profundidad++] = nodo;
+            if (comparar(clave, nuevo.getSecuencia(), nodo) < 0) {
+                if (nodo.getIzquierdo() == null) {
+                    nodo.setIzquierdo(nuevo);
+                    break;
+                }
+                nodo = nodo.getIzquierdo();
+            } else {
+                if (nodo.getDerecho() == null) {
+                    nodo.setDerecho(nuevo);
+                    break;
+                }
+                nodo = nodo.getDerecho();
+            }
+        }
+        rebalancearCamino(camino, profundidad);
+    }
+
+    /*
+    Busca todos los valores asociados a una clave, en orden de inserción.
+    Recorrido inorden acotado a la clave (ver IteradorRango).
+    */
+    @Override
+    public Object[] buscar(K clave) {
+        if (clave == null) {
+            return new Object[0];
+        }
+        java.util.ArrayList<V> resultados = new java.util.ArrayList<>();
+        Iterator<V> it = iterarRango(clave, clave);
+        while (it.hasNext()) {
+            resultados.add(it.next());
+        }
+        return resultados.toArray();
+    }
+
+    /*
+    Retorna el primer valor insertado (aún presente) con la clave, o null.
+    Complejidad: O(log N).
+    */
+    public V obtenerPrimero(K clave) {
+        if (clave == null) return null;
+        NodoAVL<K, V> candidato = null;
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion <= 0) {
+                if (comparacion == 0) candidato = nodo;
+                nodo = nodo.getIzquierdo();
+            } else {
+                nodo = nodo.getDerecho();
+            }
+        }
+        return candidato == null ? null : candidato.getValor();
+    }
+
+    /*
+    Ubica el nodo con la clave y el valor indicados (recorre los k de la clave).
+    */
+    private NodoAVL<K, V> ubicar(K clave, V valor) {
+        IteradorRango it = new IteradorRango(clave, clave, false);
+        while (it.siguiente != null) {
+            NodoAVL<K, V> nodo = it.siguiente;
+            if (nodo.getValor().equals(valor)) return nodo;
+            it.avanzar();
+        }
+        return null;
+    }
+
+    /*
+    Elimina un valor específico asociado a una clave.
+    */
+    @Override
+    public boolean eliminar(K clave, V valor) {
+        if (clave == null || valor == null) {
+            return false;
+        }
+        NodoAVL<K, V> objetivo = ubicar(clave, valor);
+        if (objetivo == null) {
+            return false;
+        }
+
+        // Camino desde la raíz hasta el objetivo (orden total por clave y secuencia)
+        NodoAVL<K, V>[] camino = nuevoCamino();
+        int profundidad = 0;
+        long secuenciaObjetivo = objetivo.getSecuencia();
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != objetivo) {
+            camino[profundidad++] = nodo;
+            nodo = comparar(clave, secuenciaObjetivo, nodo) < 0 ? nodo.getIzquierdo() : nodo.getDerecho();
+        }
+
+        NodoAVL<K, V> quitado = objetivo;
+        if (objetivo.getIzquierdo() != null && objetivo.getDerecho() != null) {
+            // Dos hijos: se reemplaza el contenido por el sucesor inorden y se quita el sucesor
+            camino[profundidad++] = objetivo;
+            quitado = objetivo.getDerecho();
+            while (quitado.getIzquierdo() != null) {
+                camino[profundidad++] = quitado;
+                quitado = quitado.getIzquierdo();
+            }
+            objetivo.copiarContenido(quitado);
+        }
+
+        // quitado tiene a lo sumo un hijo
+        NodoAVL<K, V> hijo = quitado.getIzquierdo() != null ? quitado.getIzquierdo() : quitado.getDerecho();
+        if (profundidad == 0) {
+            raiz = hijo;
+        } else if (camino[profundidad - 1].getIzquierdo() == quitado) {
+            camino[profundidad - 1].setIzquierdo(hijo);
+        } else {
+            camino[profundidad - 1].setDerecho(hijo);
+        }
+        cantidad--;
+        rebalancearCamino(camino, profundidad);
+        return true;
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return raiz == null;
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /*
+    Obtiene todos los valores en el nivel N del árbol (recorrido BFS por niveles).
+    */
+    @Override
+    public Object[] obtenerEnNivel(int nivel) {
+        if (nivel < 0 || raiz == null) {
+            return new Object[0];
+        }
+        java.util.ArrayList<V> resultados = new java.util.ArrayList<>();
+        Cola<NodoAVL<K, V>> cola = new Cola<>();
+        cola.encolar(raiz);
+        int nivelActual = 0;
+
+        while (!cola.estaVacia()) {
+            int nodosEnNivel = cola.getCantidad();
+            for (int i = 0; i < nodosEnNivel; i++) {
+                NodoAVL<K, V> nodo = cola.desencolar();
+                if (nivelActual == nivel) {
+                    resultados.add(nodo.getValor());
+                } else {
+                    if (nodo.getIzquierdo() != null) cola.encolar(nodo.getIzquierdo());
+                    if (nodo.getDerecho() != null) cola.encolar(nodo.getDerecho());
+                }
+            }
+            if (nivelActual == nivel) break;
+            nivelActual++;
+        }
+        return resultados.toArray();
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    CONSULTAS ORDENADAS
+    ══════════════════════════════════════════════════════════
+    */
+
+    @Override
+    public Iterator<V> iterarRango(K desde, K hasta) {
+        return new IteradorRango(desde, hasta, false);
+    }
+
+    @Override
+    public Iterator<V> iterarRangoDescendente(K desde, K hasta) {
+        return new IteradorRango(desde, hasta, true);
+    }
+
+    @Override
+    public K piso(K clave) {
+        if (clave == null) return null;
+        K resultado = null;
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion == 0) return nodo.getClave();
+            if (comparacion < 0) {
+                nodo = nodo.getIzquierdo();
+            } else {
+                resultado = nodo.getClave();
+                nodo = nodo.getDerecho();
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public K techo(K clave) {
+        if (clave == null) return null;
+        K resultado = null;
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion == 0) return nodo.getClave();
+            if (comparacion > 0) {
+                nodo = nodo.getDerecho();
+            } else {
+                resultado = nodo.getClave();
+                nodo = nodo.getIzquierdo();
+            }
+        }
+        return resultado;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    ESTADÍSTICAS DE ORDEN
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Cantidad (peso) de valores con clave < clave, o <= clave si incluirIguales.
+    */
+    private int contarHasta(K clave, boolean incluirIguales) {
+        int cuenta = 0;
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion < 0 || (comparacion == 0 && !incluirIguales)) {
+                nodo = nodo.getIzquierdo();
+            } else {
+                cuenta += tamanio(nodo.getIzquierdo()) + pesoDe(nodo);
+                nodo = nodo.getDerecho();
+            }
+        }
+        return cuenta;
+    }
+
+    @Override
+    public int contarMenores(K clave) {
+        return clave == null ? 0 : contarHasta(clave, false);
+    }
+
+    @Override
+    public int contarEnRango(K desde, K hasta) {
+        int hastaInclusive = hasta == null ? tamanio(raiz) : contarHasta(hasta, true);
+        int antesDeDesde = desde == null ? 0 : contarHasta(desde, false);
+        return Math.max(0, hastaInclusive - antesDeDesde);
+    }
+
+    @Override
+    public V seleccionar(int posicion) {
+        NodoAVL<K, V> nodo = seleccionarNodo(posicion, null);
+        return nodo == null ? null : nodo.getValor();
+    }
+
+    /*
+    Nodo que contiene la posición indicada (0 = menor) contando pesos.
+    Si desplazamiento != null, deja en desplazamiento[0] la posición dentro del nodo.
+    */
+    NodoAVL<K, V> seleccionarNodo(int posicion, int[] desplazamiento) {
+        if (posicion < 0 || posicion >= tamanio(raiz)) return null;
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != null) {
+            int izquierdo = tamanio(nodo.getIzquierdo());
+            if (posicion < izquierdo) {
+                nodo = nodo.getIzquierdo();
+                continue;
+            }
+            posicion -= izquierdo;
+            int propio = pesoDe(nodo);
+            if (posicion < propio) {
+                if (desplazamiento != null) desplazamiento[0] = posicion;
+                return nodo;
+            }
+            posicion -= propio;
+            nodo = nodo.getDerecho();
+        }
+        return null;
+    }
+
+    /*
+    Recalcula los tamaños del camino hasta la clave indicada luego de que
+    cambió el peso de su valor (árboles sin claves repetidas). Complejidad: O(log N).
+    */
+    void actualizarPeso(K clave) {
+        NodoAVL<K, V>[] camino = nuevoCamino();
+        int profundidad = 0;
+        NodoAVL<K, V> nodo = raiz;
+        while (nodo != null) {
+            camino[profundidad++] = nodo;
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion == 0) break;
+            nodo = comparacion < 0 ? nodo.getIzquierdo() : nodo.getDerecho();
+        }
+        for (int i = profundidad - 1; i >= 0; i--) {
+            actualizarAltura(camino[i]);
+        }
+    }
+
+    /*
+    Recorrido inorden (o inorden inverso) acotado a [desde, hasta] con pila
+    explícita: la pila guarda el camino pendiente, a lo sumo la altura del árbol.
+    */
+    private final class IteradorRango implements Iterator<V> {
+        private final NodoAVL<K, V>[] pila = nuevoCamino();
+        private int tope;
+        private final K desde;
+        private final K hasta;
+        private final boolean descendente;
+        private NodoAVL<K, V> siguiente;
+
+        IteradorRango(K desde, K hasta, boolean descendente) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.descendente = descendente;
+            bajar(raiz);
+            avanzar();
+        }
+
+        private boolean sobreDesde(NodoAVL<K, V> nodo) {
+            return desde == null || desde.compareTo(nodo.getClave()) <= 0;
+        }
+
+        private boolean bajoHasta(NodoAVL<K, V> nodo) {
+            return hasta == null || hasta.compareTo(nodo.getClave()) >= 0;
+        }
+
+        /* Apila el borde izquierdo (derecho si es descendente) podando lo que queda fuera del rango */
+        private void bajar(NodoAVL<K, V> nodo) {
+            while (nodo != null) {
+                if (descendente ? bajoHasta(nodo) : sobreDesde(nodo)) {
+                    pila[tope++] = nodo;
+                    nodo = descendente ? nodo.getDerecho() : nodo.getIzquierdo();
+                } else {
+                    nodo = descendente ? nodo.getIzquierdo() : nodo.getDerecho();
+                }
+            }
+        }
+
+        private void avanzar() {
+            siguiente = null;
+            if (tope == 0) return;
+            NodoAVL<K, V> nodo = pila[--tope];
+            if (descendente ? !sobreDesde(nodo) : !bajoHasta(nodo)) {
+                tope = 0;  // Salimos del rango: no hay más
+                return;
+            }
+            siguiente = nodo;
+            bajar(descendente ? nodo.getIzquierdo() : nodo.getDerecho());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public V next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException();
+            }
+            V valor = siguiente.getValor();
+            avanzar();
+            return valor;
+        }
+    }
+
+    /*
+    Retorna la altura del árbol (vacío = -1, solo raíz = 0).
+    Complejidad: O(1), cada nodo conoce la altura de su subárbol.
+    */
+    @Override
+    public int getAltura() {
+        return altura(raiz) - 1;
+    }
+}
@@ -1,6 +1,8 @@
 package tda;
 
 import interfaces.IArbolBinarioBusqueda;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /*
 TDA Árbol Binario de Búsqueda (ABB) - Estructura ordenada por clave.
@@ -10,12 +12,15 @@ INVARIANTE DE REPRESENTACIÓN:
 - Para todo nodo N: claves en subárbol derecho >= N.clave (permite duplicados a la derecha)
 - cantidad >= 0 siempre
 - (raiz == null) <=> (cantidad == 0)
+- Para todo nodo N: N.tamanio == 1 + tamanio(N.izquierdo) + tamanio(N.derecho)
 
 COMPLEJIDAD TEMPORAL:
 - Insertar: O(log N) promedio, O(N) peor caso
 - Buscar: O(log N + k) donde k = cantidad con misma clave
 - Eliminar: O(log N)
 - Obtener en nivel: O(N)
+- Rango / piso / techo: O(altura) + O(1) amortizado por elemento
+- contarMenores / seleccionar / contarEnRango: O(altura)
 
 SOLID: DIP - Implementa interfaz IArbolBinarioBusqueda
 */
@@ -67,6 +72,7 @@ public class ArbolBinarioBusqueda<K extends Comparable<K>, V>
             nodo.setDerecho(insertarRecursivo(nodo.getDerecho(), clave, valor));
         }
         
+        nodo.actualizarTamanio();
         return nodo;
     }
 
@@ -165,14 +171,18 @@ public class ArbolBinarioBusqueda<K extends Comparable<K>, V>
                 // Caso 3: Nodo con dos hijos
                 // Reemplazar con el menor del subárbol derecho (sucesor inorder)
                 NodoABB<K, V> sucesor = encontrarMinimo(nodo.getDerecho());
-                nodo = new NodoABB<>(sucesor.getClave(), sucesor.getValor());
-                nodo.setDerecho(eliminarMinimo(nodo.getDerecho()));
+                NodoABB<K, V> reemplazo = new NodoABB<>(sucesor.getClave(), sucesor.getValor());
+                reemplazo.setIzquierdo(nodo.getIzquierdo());
+                reemplazo.setDerecho(eliminarMinimo(nodo.getDerecho()));
+                reemplazo.actualizarTamanio();
+                return reemplazo;
             } else {
                 // Valor no coincide: puede haber duplicado a la derecha
                 nodo.setDerecho(eliminarRecursivo(nodo.getDerecho(), clave, valor));
             }
         }
         
+        nodo.actualizarTamanio();
         return nodo;
     }
 
@@ -194,6 +204,7 @@ public class ArbolBinarioBusqueda<K extends Comparable<K>, V>
             return nodo.getDerecho();
         }
         nodo.setIzquierdo(eliminarMinimo(nodo.getIzquierdo()));
+        nodo.actualizarTamanio();
         return nodo;
     }
 
@@ -254,6 +265,170 @@ public class ArbolBinarioBusqueda<K extends Comparable<K>, V>
         return resultados.toArray();
     }
 
+    @Override
+    public Iterator<V> iterarRango(K desde, K hasta) {
+        return new IteradorRango(desde, hasta, false);
+    }
+
+    @Override
+    public Iterator<V> iterarRangoDescendente(K desde, K hasta) {
+        return new IteradorRango(desde, hasta, true);
+    }
+
+    @Override
+    public K piso(K clave) {
+        if (clave == null) return null;
+        K resultado = null;
+        NodoABB<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion == 0) return nodo.getClave();
+            if (comparacion < 0) {
+                nodo = nodo.getIzquierdo();
+            } else {
+                resultado = nodo.getClave();
+                nodo = nodo.getDerecho();
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public K techo(K clave) {
+        if (clave == null) return null;
+        K resultado = null;
+        NodoABB<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion == 0) return nodo.getClave();
+            if (comparacion > 0) {
+                nodo = nodo.getDerecho();
+            } else {
+                resultado = nodo.getClave();
+                nodo = nodo.getIzquierdo();
+            }
+        }
+        return resultado;
+    }
+
+    private static int tamanio(NodoABB<?, ?> nodo) {
+        return nodo == null ? 0 : nodo.getTamanio();
+    }
+
+    /*
+    Cantidad de valores con clave < clave, o <= clave si incluirIguales.
+    */
+    private int contarHasta(K clave, boolean incluirIguales) {
+        int cuenta = 0;
+        NodoABB<K, V> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = clave.compareTo(nodo.getClave());
+            if (comparacion < 0 || (comparacion == 0 && !incluirIguales)) {
+                nodo = nodo.getIzquierdo();
+            } else {
+                cuenta += tamanio(nodo.getIzquierdo()) + 1;
+                nodo = nodo.getDerecho();
+            }
+        }
+        return cuenta;
+    }
+
+    @Override
+    public int contarMenores(K clave) {
+        return clave == null ? 0 : contarHasta(clave, false);
+    }
+
+    @Override
+    public int contarEnRango(K desde, K hasta) {
+        int hastaInclusive = hasta == null ? cantidad : contarHasta(hasta, true);
+        int antesDeDesde = desde == null ? 0 : contarHasta(desde, false);
+        return Math.max(0, hastaInclusive - antesDeDesde);
+    }
+
+    @Override
+    public V seleccionar(int posicion) {
+        if (posicion < 0 || posicion >= cantidad) return null;
+        NodoABB<K, V> nodo = raiz;
+        while (nodo != null) {
+            int izquierdo = tamanio(nodo.getIzquierdo());
+            if (posicion < izquierdo) {
+                nodo = nodo.getIzquierdo();
+            } else if (posicion == izquierdo) {
+                return nodo.getValor();
+            } else {
+                posicion -= izquierdo + 1;
+                nodo = nodo.getDerecho();
+            }
+        }
+        return null;
+    }
+
+    /*
+    Recorrido inorden (o inorden inverso) acotado a [desde, hasta].
+    Usa una Pila enlazada porque la altura de este árbol no está acotada.
+    */
+    private final class IteradorRango implements Iterator<V> {
+        private final Pila<NodoABB<K, V>> pila = new Pila<>();
+        private final K desde;
+        private final K hasta;
+        private final boolean descendente;
+        private NodoABB<K, V> siguiente;
+
+        IteradorRango(K desde, K hasta, boolean descendente) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.descendente = descendente;
+            bajar(raiz);
+            avanzar();
+        }
+
+        private boolean sobreDesde(NodoABB<K, V> nodo) {
+            return desde == null || desde.compareTo(nodo.getClave()) <= 0;
+        }
+
+        private boolean bajoHasta(NodoABB<K, V> nodo) {
+            return hasta == null || hasta.compareTo(nodo.getClave()) >= 0;
+        }
+
+        private void bajar(NodoABB<K, V> nodo) {
+            while (nodo != null) {
+                if (descendente ? bajoHasta(nodo) : sobreDesde(nodo)) {
+                    pila.apilar(nodo);
+                    nodo = descendente ? nodo.getDerecho() : nodo.getIzquierdo();
+                } else {
+                    nodo = descendente ? nodo.getIzquierdo() : nodo.getDerecho();
+                }
+            }
+        }
+
+        private void avanzar() {
+            siguiente = null;
+            if (pila.estaVacia()) return;
+            NodoABB<K, V> nodo = pila.desapilar();
+            if (descendente ? !sobreDesde(nodo) : !bajoHasta(nodo)) {
+                while (!pila.estaVacia()) pila.desapilar();
+                return;
+            }
+            siguiente = nodo;
+            bajar(descendente ? nodo.getIzquierdo() : nodo.getDerecho());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public V next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException();
+            }
+            V valor = siguiente.getValor();
+            avanzar();
+            return valor;
+        }
+    }
+
     /*
     Retorna la altura del árbol.
     */
@@ -0,0 +1,277 @@
+package tda;
+
+import interfaces.IConjuntoEnteros;
+
+/*
+TDA Conjunto de enteros adaptativo, pensado para listas de adyacencia
+(seguidos / seguidores de cada cliente).
+
+Dos representaciones sobre un único int[]:
+- MODO ARREGLO (hasta UMBRAL_HASH elementos): arreglo ordenado del tamaño justo
+  (crece de a duplicaciones). Búsqueda binaria; agregar/eliminar desplazan a lo
+  sumo UMBRAL_HASH enteros. Un conjunto vacío no reserva arreglo propio.
+- MODO HASH (más de UMBRAL_HASH): direccionamiento abierto con sondeo lineal y
+  factor de carga <= 0.5; el 0 marca posición libre (si 0 es elemento, se
+  guarda aparte en tieneCero). Eliminación por desplazamiento hacia atrás.
+  Si el conjunto vuelve a achicarse por debajo de UMBRAL_HASH / 2, regresa al
+  modo arreglo.
+
+La mayoría de los clientes tiene pocas relaciones: quedan en modo arreglo
+con unos pocos bytes por elemento, sin nodos ni Integer.
+
+INVARIANTE DE REPRESENTACIÓN:
+- !modoHash => elementos[0..cantidad) ordenado ascendente y sin repetidos
+- modoHash => elementos.length potencia de 2, cantidad - (tieneCero ? 1 : 0)
+  posiciones != 0, cada una en el grupo contiguo que empieza en hash(x)
+- modoHash => cantidad > UMBRAL_HASH / 2
+
+Complejidad: O(log k) en modo arreglo (agregar/eliminar O(k) con k <= UMBRAL_HASH),
+O(1) esperado en modo hash.
+SOLID: DIP - Implementa interfaz IConjuntoEnteros
+*/
+public class ConjuntoEnteros implements IConjuntoEnteros {
+
+    /* Constantes */
+    public static final int UMBRAL_HASH = 32;
+    private static final int[] VACIO = new int[0];
+
+    /* Atributos */
+    private int[] elementos;
+    private int cantidad;
+    private boolean modoHash;
+    private boolean tieneCero;  // Solo en modo hash
+    private int bitsHash;       // Solo en modo hash: log2(elementos.length)
+
+    /*
+    Constructor que inicializa el conjunto vacío (sin reservar arreglo).
+    */
+    public ConjuntoEnteros() {
+        this.elementos = VACIO;
+        this.cantidad = 0;
+        this.modoHash = false;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    MODO ARREGLO
+    ══════════════════════════════════════════════════════════
+    */
+
+    private int buscarOrdenado(int elemento) {
+        return java.util.Arrays.binarySearch(elementos, 0, cantidad, elemento);
+    }
+
+    private boolean agregarOrdenado(int elemento) {
+        int posicion = buscarOrdenado(elemento);
+        if (posicion >= 0) return false;
+        if (cantidad == UMBRAL_HASH) {
+            pasarAModoHash(UMBRAL_HASH * 4);
+            return agregarHash(elemento);
+        }
+        int insercion = -posicion - 1;
+        if (cantidad == elementos.length) {
+            int[] mayor = new int[Math.max(2, cantidad * 2)];
+            System.arraycopy(elementos, 0, mayor, 0, insercion);
+            System.arraycopy(elementos, insercion, mayor, insercion + 1, cantidad - insercion);
+            elementos = mayor;
+        } else {
+            System.arraycopy(elementos, insercion, elementos, insercion + 1, cantidad - insercion);
+        }
+        elementos[insercion] = elemento;
+        cantidad++;
+        return true;
+    }
+
+    private boolean eliminarOrdenado(int elemento) {
+        int posicion = buscarOrdenado(elemento);
+        if (posicion < 0) return false;
+        System.arraycopy(elementos, posicion + 1, elementos, posicion, cantidad - posicion - 1);
+        cantidad--;
+        if (cantidad == 0) {
+            elementos = VACIO;
+        } else if (cantidad * 4 <= elementos.length && elementos.length > 2) {
+            elementos = java.util.Arrays.copyOf(elementos, elementos.length / 2);
+        }
+        return true;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    MODO HASH
+    ══════════════════════════════════════════════════════════
+    */
+
+    private int hash(int elemento) {
+        return (elemento * 0x9E3779B9) >>> (32 - bitsHash);
+    }
+
+    private int buscarHash(int elemento) {
+        int mascara = elementos.length - 1;
+        int i = hash(elemento);
+        while (true) {
+            int actual = elementos[i];
+            if (actual == elemento) return i;
+            if (actual == 0) return -1;
+            i = (i + 1) & mascara;
+        }
+    }
+
+    private boolean agregarHash(int elemento) {
+        if (elemento == 0) {
+            if (tieneCero) return false;
+            tieneCero = true;
+            cantidad++;
+            return true;
+        }
+        int mascara = elementos.length - 1;
+        int i = hash(elemento);
+        while (elementos[i] != 0) {
+            if (elementos[i] == elemento) return false;
+            i = (i + 1) & mascara;
+        }
+        elementos[i] = elemento;
+        cantidad++;
+        if (cantidad * 2 > elementos.length) {
+            rehash(elementos.length * 2);
+        }
+        return true;
+    }
+
+    private boolean eliminarHash(int elemento) {
+        if (elemento == 0) {
+            if (!tieneCero) return false;
+            tieneCero = false;
+        } else {
+            int hueco = buscarHash(elemento);
+            if (hueco < 0) return false;
+            // Desplazamiento hacia atrás (ver IntDiccionario.eliminar)
+            int mascara = elementos.length - 1;
+            int i = hueco;
+            while (true) {
+                i = (i + 1) & mascara;
+                int actual = elementos[i];
+                if (actual == 0) break;
+                int inicial = hash(actual);
+                if (((i - inicial) & mascara) >= ((i - hueco) & mascara)) {
+                    elementos[hueco] = actual;
+                    hueco = i;
+                }
+            }
+            elementos[hueco] = 0;
+        }
+        cantidad--;
+        if (cantidad <= UMBRAL_HASH / 2) {
+            pasarAModoArreglo();
+        }
+        return true;
+    }
+
+    /*
+    Reubica todos los elementos en una tabla hash de la capacidad dada (potencia de 2).
+    */
+    private void rehash(int capacidad) {
+        int[] viejos = elementos;
+        elementos = new int[capacidad];
+        bitsHash = Integer.numberOfTrailingZeros(capacidad);
+        int mascara = capacidad - 1;
+        for (int x : viejos) {
+            if (x == 0) continue;
+            int i = hash(x);
+            while (elementos[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            elementos[i] = x;
+        }
+    }
+
+    private void pasarAModoHash(int capacidad) {
+        int[] ordenados = elementos;
+        int n = cantidad;
+        modoHash = true;
+        tieneCero = false;
+        elementos = new int[0];
+        rehash(capacidad);  // Tabla vacía de la capacidad pedida
+        cantidad = 0;
+        for (int i = 0; i < n; i++) {
+            agregarHash(ordenados[i]);
+        }
+    }
+
+    private void pasarAModoArreglo() {
+        int[] ordenados = obtenerElementos();
+        modoHash = false;
+        tieneCero = false;
+        elementos = ordenados;
+        cantidad = ordenados.length;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    OPERACIONES
+    ══════════════════════════════════════════════════════════
+    */
+
+    @Override
+    public boolean agregar(int elemento) {
+        return modoHash ? agregarHash(elemento) : agregarOrdenado(elemento);
+    }
+
+    @Override
+    public boolean contiene(int elemento) {
+        if (!modoHash) return buscarOrdenado(elemento) >= 0;
+        return elemento == 0 ? tieneCero : buscarHash(elemento) >= 0;
+    }
+
+    @Override
+    public boolean eliminar(int elemento) {
+        return modoHash ? eliminarHash(elemento) : eliminarOrdenado(elemento);
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    /*
+    Indica si el conjunto está en modo hash (más de UMBRAL_HASH elementos).
+    */
+    public boolean isModoHash() {
+        return modoHash;
+    }
+
+    /*
+    Copia ordenada de los elementos.
+    Complejidad: O(k) en modo arreglo, O(capacidad + k log k) en modo hash.
+    */
+    @Override
+    public int[] obtenerElementos() {
+        if (!modoHash) {
+            return java.util.Arrays.copyOf(elementos, cantidad);
+        }
+        int[] resultado = new int[cantidad];
+        int k = 0;
+        if (tieneCero) resultado[k++] = 0;
+        for (int x : elementos) {
+            if (x != 0) resultado[k++] = x;
+        }
+        java.util.Arrays.sort(resultado);
+        return resultado;
+    }
+
+    @Override
+    public void recorrer(java.util.function.IntConsumer accion) {
+        if (!modoHash) {
+            for (int i = 0; i < cantidad; i++) accion.accept(elementos[i]);
+            return;
+        }
+        if (tieneCero) accion.accept(0);
+        for (int x : elementos) {
+            if (x != 0) accion.accept(x);
+        }
+    }
+}
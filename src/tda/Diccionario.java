@@ -2,27 +2,103 @@
 package tda;
 
 import interfaces.IDiccionario;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /*
 TDA Diccionario implementado como Tabla Hash (Abierta/Encadenamiento).
 
 Estructura: Array de listas enlazadas (buckets).
-Función Hash: Math.abs(clave.hashCode()) % capacidad.
+Función Hash: (h & 0x7FFFFFFF) % capacidad, donde h es clave.hashCode()
+(FuncionHash.DIRECTA, por defecto) o su mezcla con el finalizador fmix32 de
+MurmurHash3 (FuncionHash.MEZCLADA). Con capacidades potencia de 2 el módulo
+usa solo los bits bajos: claves como Integer espaciadas (pares, múltiplos de
+1024, IDs con prefijo) caen en pocos buckets. La mezcla reparte cada bit de
+entrada sobre todos los de salida y vuelve uniforme la distribución.
 
 Complejidad: O(1) amortizado para insertar/buscar/eliminar.
+
+REDIMENSIONAMIENTO:
+- Crece (duplica la capacidad) cuando cantidad > capacidad * factorCargaMaximo.
+- Se achica a la mitad cuando cantidad < capacidad * factorCargaMaximo / 4,
+  nunca por debajo de la capacidad inicial (la histéresis evita oscilar).
+- Modo completo (por defecto): el rehash mueve todas las entradas de una vez.
+- Modo incremental: al redimensionar se conserva la tabla anterior y cada
+  insertar/eliminar migra BUCKETS_POR_PASO buckets. Las búsquedas miran la
+  tabla anterior solo si el bucket de la clave todavía no migró. Ninguna
+  operación paga el rehash completo: no hay pausas largas con millones de entradas.
+  Las búsquedas nunca migran (no modifican la estructura).
+
+SALUD DE LA TABLA:
+estadisticas() recorre los buckets y reporta factor de carga, histograma de
+largos de cadena, cadena máxima y proporción de buckets vacíos frente a la
+esperada con un hash uniforme (ver EstadisticasHash). Además, obtener suma
+los nodos que compara cuando la clave cae en la muestra (1 de cada
+2^BITS_MUESTREO claves): el promedio de sondeos refleja las cadenas que
+recorren las consultas reales, ponderadas por su frecuencia.
+
+INSTANTÁNEAS (copy-on-write por bucket):
+instantanea() crea en O(capacidad) una copia lógica que comparte todos los nodos.
+Cada nodo guarda la época en que fue creado y cada diccionario tiene su época
+propia; un nodo solo se modifica en el lugar si pertenece a la época del
+diccionario. Si no, se copia el prefijo del bucket hasta ese nodo. Así la
+instantánea queda inmutable mientras el original sigue recibiendo cambios, y
+puede recorrerse desde otro hilo.
+
+INVARIANTE DE REPRESENTACIÓN:
+- tabla != null && tabla.length >= 1
+- tablaAnterior != null => 0 <= indiceMigracion < tablaAnterior.length
+  y los buckets [0, indiceMigracion) de tablaAnterior están vacíos
+- Cada clave está en exactamente un bucket: el de tablaAnterior si su índice
+  allí es >= indiceMigracion, el de tabla en otro caso
+- cantidad = total de nodos alcanzables desde ambas tablas
+- mezclarHash <=> la función hash es FuncionHash.MEZCLADA (no cambia nunca:
+  la posición de cada clave depende de ella)
+
 SOLID: DIP - Implementa interfaz IDiccionario
 */
 public class Diccionario<K, V> implements IDiccionario<K, V> {
     
-    /* Atributos */
+    /* Constantes */
     private static final int CAPACIDAD_INICIAL = 64; // Potencia de 2 para mejor distribución
+    public static final float FACTOR_CARGA_DEFAULT = 0.75f;
+    private static final int BUCKETS_POR_PASO = 4;  // Buckets migrados por operación (modo incremental)
+    private static final int BUCKETS_MINIMOS_POR_PARTE = 1 << 10;  // Spliterator: no dividir más allá
+    private static final int BITS_MUESTREO = 6;  // Se miden las búsquedas de 1 de cada 2^6 claves
+    
+    /*
+    Función aplicada a hashCode() antes de elegir el bucket.
+    */
+    public enum FuncionHash {
+        DIRECTA,   // hashCode() tal cual (compatible con el comportamiento original)
+        MEZCLADA   // fmix32(hashCode()): resiste claves agrupadas o adversarias
+    }
+    
+    /* Atributos */
     private NodoDiccionario<K, V>[] tabla;
+    private NodoDiccionario<K, V>[] tablaAnterior;  // != null mientras dura un rehash incremental
+    private int indiceMigracion;  // Próximo bucket de tablaAnterior a migrar
     private int cantidad;
+    private final int capacidadMinima;
+    private final float factorCargaMaximo;
+    private final boolean rehashIncremental;
+    private long epoca;  // Época propia: nodos de otra época son compartidos (solo lectura)
+    private final boolean mezclarHash;
+    
+    /* Muestreo de sondeos de obtener (solo estadística: sin sincronizar) */
+    private long consultasMuestreadas;
+    private long sondeosMuestreados;
+    
+    /* Reloj global de épocas: garantiza que dos diccionarios nunca compartan época */
+    private static final java.util.concurrent.atomic.AtomicLong RELOJ_EPOCAS = 
+        new java.util.concurrent.atomic.AtomicLong();
 
     /*
     Constructor que inicializa la tabla hash.
     */
-    @SuppressWarnings("unchecked")
     public Diccionario() {
         this(CAPACIDAD_INICIAL);
     }
@@ -30,59 +106,267 @@ public class Diccionario<K, V> implements IDiccionario<K, V> {
     /*
     Constructor que inicializa la tabla hash con una capacidad específica.
     Permite optimizar el rendimiento cuando se conoce el volumen de datos.
+    La capacidad dada es también el mínimo al que puede achicarse.
     */
-    @SuppressWarnings("unchecked")
     public Diccionario(int capacidad) {
+        this(capacidad, FACTOR_CARGA_DEFAULT, false);
+    }
+
+    /*
+    Constructor completo: capacidad inicial (y mínima), factor de carga máximo
+    y modo de rehash (true = incremental, false = completo).
+    */
+    public Diccionario(int capacidad, float factorCargaMaximo, boolean rehashIncremental) {
+        this(capacidad, factorCargaMaximo, rehashIncremental, FuncionHash.DIRECTA);
+    }
+
+    /*
+    Constructor completo con función hash.
+    */
+    public Diccionario(int capacidad, float factorCargaMaximo, boolean rehashIncremental,
+            FuncionHash funcionHash) {
         if (capacidad <= 0) {
             throw new IllegalArgumentException("La capacidad debe ser mayor a 0");
         }
-        this.tabla = (NodoDiccionario<K, V>[]) new NodoDiccionario[capacidad];
+        if (!(factorCargaMaximo > 0) || Float.isInfinite(factorCargaMaximo)) {
+            throw new IllegalArgumentException("El factor de carga debe ser mayor a 0");
+        }
+        this.tabla = crearTabla(capacidad);
         this.cantidad = 0;
+        this.capacidadMinima = capacidad;
+        this.factorCargaMaximo = factorCargaMaximo;
+        this.rehashIncremental = rehashIncremental;
+        this.mezclarHash = funcionHash == FuncionHash.MEZCLADA;
+        this.epoca = RELOJ_EPOCAS.incrementAndGet();
+    }
+
+    /*
+    Constructor interno para instantáneas: comparte los nodos del original.
+    */
+    private Diccionario(Diccionario<K, V> original) {
+        this.tabla = original.tabla.clone();
+        this.tablaAnterior = original.tablaAnterior == null ? null : original.tablaAnterior.clone();
+        this.indiceMigracion = original.indiceMigracion;
+        this.cantidad = original.cantidad;
+        this.capacidadMinima = original.capacidadMinima;
+        this.factorCargaMaximo = original.factorCargaMaximo;
+        this.rehashIncremental = original.rehashIncremental;
+        this.mezclarHash = original.mezclarHash;
+        this.epoca = RELOJ_EPOCAS.incrementAndGet();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> NodoDiccionario<K, V>[] crearTabla(int capacidad) {
+        return (NodoDiccionario<K, V>[]) new NodoDiccionario[capacidad];
+    }
+
+    /*
+    Retorna una copia lógica del diccionario en este instante.
+    Comparte los nodos existentes: ninguno de los dos los modificará en el lugar
+    a partir de ahora (copy-on-write). Ambos quedan totalmente independientes.
+    Complejidad: O(capacidad) - copia solo los arreglos de buckets.
+    */
+    public Diccionario<K, V> instantanea() {
+        Diccionario<K, V> copia = new Diccionario<>(this);
+        this.epoca = RELOJ_EPOCAS.incrementAndGet();  // Congela los nodos actuales
+        return copia;
+    }
+
+    /*
+    Copia los nodos del bucket desde la cabeza hasta 'hasta' (inclusive) con la
+    época actual y los enlaza al resto de la cadena original.
+    Retorna la copia de 'hasta', que ya puede modificarse.
+    */
+    private NodoDiccionario<K, V> copiarPrefijo(NodoDiccionario<K, V>[] buckets, int indice, 
+            NodoDiccionario<K, V> hasta) {
+        NodoDiccionario<K, V> original = buckets[indice];
+        NodoDiccionario<K, V> cabeza = null;
+        NodoDiccionario<K, V> ultimo = null;
+        while (true) {
+            NodoDiccionario<K, V> copia = new NodoDiccionario<>(original.getClave(), original.getValor(), epoca);
+            if (ultimo == null) {
+                cabeza = copia;
+            } else {
+                ultimo.setSiguiente(copia);
+            }
+            ultimo = copia;
+            if (original == hasta) break;
+            original = original.getSiguiente();
+        }
+        ultimo.setSiguiente(hasta.getSiguiente());
+        buckets[indice] = cabeza;
+        return ultimo;
+    }
+
+    /*
+    Retorna el nodo listo para modificarse: él mismo si es de la época actual,
+    o su copia (junto con el prefijo del bucket) si está compartido.
+    */
+    private NodoDiccionario<K, V> propio(NodoDiccionario<K, V>[] buckets, int indice, 
+            NodoDiccionario<K, V> nodo) {
+        return nodo.getEpoca() == epoca ? nodo : copiarPrefijo(buckets, indice, nodo);
+    }
+
+    /*
+    Función hash privada para calcular el índice en una tabla de la capacidad dada.
+    El enmascarado del bit de signo evita índices negativos (incluido MIN_VALUE).
+    */
+    private int indice(Object clave, int capacidad) {
+        int h = clave.hashCode();
+        if (mezclarHash) h = mezclar(h);
+        return (h & 0x7FFFFFFF) % capacidad;
+    }
+
+    /*
+    Finalizador fmix32 de MurmurHash3: biyectivo, y cada bit de entrada
+    cambia cada bit de salida con probabilidad ~1/2.
+    */
+    static int mezclar(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
     }
 
     /*
-    Función hash privada para calcular el índice.
     Valida que la clave no sea null.
     */
-    private int hash(K clave) {
+    private void validar(K clave) {
         if (clave == null) {
             throw new IllegalArgumentException("La clave no puede ser null");
         }
-        return Math.abs(clave.hashCode()) % tabla.length;
     }
 
     /*
-    Inserta un par clave-valor en O(1).
+    Tabla donde vive (o debe vivir) la clave: la anterior si su bucket
+    todavía no migró, la actual en otro caso.
+    */
+    private NodoDiccionario<K, V>[] tablaDe(K clave) {
+        if (tablaAnterior != null && indice(clave, tablaAnterior.length) >= indiceMigracion) {
+            return tablaAnterior;
+        }
+        return tabla;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    REDIMENSIONAMIENTO / REHASH
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Cambia la capacidad. En modo completo mueve todo ahora; en modo incremental
+    solo inicia la migración (se completa de a pasos en las próximas operaciones).
+    */
+    private void redimensionar(int nuevaCapacidad) {
+        terminarRehash();
+        if (nuevaCapacidad == tabla.length) return;
+        tablaAnterior = tabla;
+        indiceMigracion = 0;
+        tabla = crearTabla(nuevaCapacidad);
+        if (!rehashIncremental) {
+            terminarRehash();
+        }
+    }
+
+    /*
+    Mueve un bucket de tablaAnterior a tabla. Los nodos propios se reenlazan;
+    los compartidos con una instantánea se copian (copy-on-write).
+    */
+    private void migrarBucket() {
+        NodoDiccionario<K, V> actual = tablaAnterior[indiceMigracion];
+        tablaAnterior[indiceMigracion] = null;
+        while (actual != null) {
+            NodoDiccionario<K, V> siguiente = actual.getSiguiente();
+            NodoDiccionario<K, V> movido = actual.getEpoca() == epoca 
+                    ? actual 
+                    : new NodoDiccionario<>(actual.getClave(), actual.getValor(), epoca);
+            int i = indice(movido.getClave(), tabla.length);
+            movido.setSiguiente(tabla[i]);
+            tabla[i] = movido;
+            actual = siguiente;
+        }
+        if (++indiceMigracion == tablaAnterior.length) {
+            tablaAnterior = null;
+            indiceMigracion = 0;
+        }
+    }
+
+    /*
+    Paso de migración incremental: O(BUCKETS_POR_PASO) buckets.
+    */
+    private void avanzarRehash() {
+        for (int i = 0; i < BUCKETS_POR_PASO && tablaAnterior != null; i++) {
+            migrarBucket();
+        }
+    }
+
+    private void terminarRehash() {
+        while (tablaAnterior != null) {
+            migrarBucket();
+        }
+    }
+
+    private void verificarCrecimiento() {
+        if (cantidad > tabla.length * factorCargaMaximo && tabla.length <= Integer.MAX_VALUE / 2) {
+            redimensionar(tabla.length * 2);
+        }
+    }
+
+    private void verificarAchique() {
+        if (tabla.length > capacidadMinima && cantidad < tabla.length * factorCargaMaximo / 4) {
+            redimensionar(Math.max(capacidadMinima, tabla.length / 2));
+        }
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    OPERACIONES
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Inserta un par clave-valor en O(1) amortizado.
     Maneja colisiones agregando al inicio de la lista del bucket.
     */
     @Override
     public void insertar(K clave, V valor) {
-        int indice = hash(clave);
-        NodoDiccionario<K, V> actual = tabla[indice];
+        validar(clave);
+        avanzarRehash();
+        NodoDiccionario<K, V>[] buckets = tablaDe(clave);
+        int indice = indice(clave, buckets.length);
+        NodoDiccionario<K, V> actual = buckets[indice];
 
         // 1. Buscar si ya existe para actualizar
         while (actual != null) {
             if (actual.getClave().equals(clave)) {
-                actual.setValor(valor);
+                propio(buckets, indice, actual).setValor(valor);
                 return;
             }
             actual = actual.getSiguiente();
         }
 
         // 2. No existe, agregar al inicio del bucket (O(1))
-        NodoDiccionario<K, V> nuevo = new NodoDiccionario<>(clave, valor);
-        nuevo.setSiguiente(tabla[indice]);
-        tabla[indice] = nuevo;
+        NodoDiccionario<K, V> nuevo = new NodoDiccionario<>(clave, valor, epoca);
+        nuevo.setSiguiente(buckets[indice]);
+        buckets[indice] = nuevo;
         cantidad++;
+        verificarCrecimiento();
     }
 
     /*
     Obtiene el valor asociado a una clave en O(1).
+    No modifica la estructura (solo el contador de muestreo de sondeos): puede
+    usarse sobre una instantánea desde otro hilo.
     */
     @Override
     public V obtener(K clave) {
-        int indice = hash(clave);
-        NodoDiccionario<K, V> actual = tabla[indice];
+        validar(clave);
+        NodoDiccionario<K, V>[] buckets = tablaDe(clave);
+        NodoDiccionario<K, V> actual = buckets[indice(clave, buckets.length)];
+        if (enMuestra(clave)) return obtenerMidiendo(actual, clave);
         
         while (actual != null) {
             if (actual.getClave().equals(clave)) {
@@ -93,6 +377,34 @@ public class Diccionario<K, V> implements IDiccionario<K, V> {
         return null; // No encontrado
     }
 
+    /*
+    La muestra se elige por clave (bits altos de su hash multiplicativo, sin
+    relación con el bucket) y no con un contador por llamada: contar en cada
+    búsqueda duplicaba el costo de las que están en caché.
+    */
+    private static boolean enMuestra(Object clave) {
+        return (clave.hashCode() * 0x9E3779B9) >>> (32 - BITS_MUESTREO) == 0;
+    }
+
+    /*
+    Búsqueda en la cadena que además acumula los nodos comparados.
+    */
+    private V obtenerMidiendo(NodoDiccionario<K, V> actual, K clave) {
+        int sondeos = 0;
+        V valor = null;
+        while (actual != null) {
+            sondeos++;
+            if (actual.getClave().equals(clave)) {
+                valor = actual.getValor();
+                break;
+            }
+            actual = actual.getSiguiente();
+        }
+        consultasMuestreadas++;
+        sondeosMuestreados += sondeos;
+        return valor;
+    }
+
     /*
     Verifica si existe una clave en O(1).
     */
@@ -102,22 +414,26 @@ public class Diccionario<K, V> implements IDiccionario<K, V> {
     }
 
     /*
-    Elimina un par clave-valor en O(1).
+    Elimina un par clave-valor en O(1) amortizado.
     */
     @Override
     public V eliminar(K clave) {
-        int indice = hash(clave);
-        NodoDiccionario<K, V> actual = tabla[indice];
+        validar(clave);
+        avanzarRehash();
+        NodoDiccionario<K, V>[] buckets = tablaDe(clave);
+        int indice = indice(clave, buckets.length);
+        NodoDiccionario<K, V> actual = buckets[indice];
         NodoDiccionario<K, V> anterior = null;
 
         while (actual != null) {
             if (actual.getClave().equals(clave)) {
                 if (anterior == null) {
-                    tabla[indice] = actual.getSiguiente(); // Eliminar primero del bucket
+                    buckets[indice] = actual.getSiguiente(); // Eliminar primero del bucket
                 } else {
-                    anterior.setSiguiente(actual.getSiguiente()); // Eliminar del medio/fin
+                    propio(buckets, indice, anterior).setSiguiente(actual.getSiguiente()); // Eliminar del medio/fin
                 }
                 cantidad--;
+                verificarAchique();
                 return actual.getValor();
             }
             anterior = actual;
@@ -136,43 +452,267 @@ public class Diccionario<K, V> implements IDiccionario<K, V> {
         return cantidad == 0;
     }
 
+    /*
+    Capacidad actual (cantidad de buckets de la tabla vigente).
+    */
+    public int getCapacidad() {
+        return tabla.length;
+    }
+
+    /*
+    Factor de carga actual: cantidad / capacidad.
+    */
+    public double getFactorCarga() {
+        return (double) cantidad / tabla.length;
+    }
+
+    public float getFactorCargaMaximo() {
+        return factorCargaMaximo;
+    }
+
+    /*
+    Indica si hay un rehash incremental en curso (dos tablas activas).
+    */
+    public boolean isRehashEnCurso() {
+        return tablaAnterior != null;
+    }
+
+    public FuncionHash getFuncionHash() {
+        return mezclarHash ? FuncionHash.MEZCLADA : FuncionHash.DIRECTA;
+    }
+
+    /*
+    Salud de la tabla: largos de cadena, vacíos y sondeos muestreados.
+    Durante un rehash incremental incluye los buckets sin migrar de la anterior.
+    Complejidad: O(n + capacidad).
+    */
+    public EstadisticasHash estadisticas() {
+        long[] histograma = new long[EstadisticasHash.LARGO_MAXIMO_HISTOGRAMA + 1];
+        int cadenaMaxima = contarCadenas(tabla, 0, histograma);
+        int buckets = tabla.length;
+        if (tablaAnterior != null) {
+            cadenaMaxima = Math.max(cadenaMaxima, contarCadenas(tablaAnterior, indiceMigracion, histograma));
+            buckets += tablaAnterior.length - indiceMigracion;
+        }
+        return new EstadisticasHash(cantidad, tabla.length, buckets, (int) histograma[0], cadenaMaxima,
+                histograma, consultasMuestreadas, sondeosMuestreados);
+    }
+
+    /*
+    Suma al histograma el largo de cada bucket [desde, length) y retorna el mayor.
+    */
+    private static <K, V> int contarCadenas(NodoDiccionario<K, V>[] buckets, int desde, long[] histograma) {
+        int maximo = 0;
+        for (int i = desde; i < buckets.length; i++) {
+            int largo = 0;
+            for (NodoDiccionario<K, V> actual = buckets[i]; actual != null; actual = actual.getSiguiente()) {
+                largo++;
+            }
+            histograma[Math.min(largo, histograma.length - 1)]++;
+            if (largo > maximo) maximo = largo;
+        }
+        return maximo;
+    }
+
+    /*
+    Descarta los sondeos muestreados hasta ahora (p. ej. tras cambiar la carga).
+    */
+    public void reiniciarSondeos() {
+        consultasMuestreadas = 0;
+        sondeosMuestreados = 0;
+    }
+
     /*
     Retorna todas las claves del diccionario.
-    Complejidad: O(n) - recorre todos los buckets.
+    Complejidad: O(n + capacidad) - recorre todos los buckets.
     */
     @Override
     public String[] obtenerClaves() {
-        String[] claves = new String[cantidad];
-        int indice = 0;
-        
-        for (int i = 0; i < tabla.length; i++) {
-            NodoDiccionario<K, V> actual = tabla[i];
-            while (actual != null) {
-                claves[indice++] = actual.getClave().toString();
-                actual = actual.getSiguiente();
-            }
+        Object[] claves = volcar(true);
+        String[] resultado = new String[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            resultado[i] = claves[i].toString();
         }
-        return claves;
+        return resultado;
     }
 
     /*
     NUEVO: Obtiene todos los valores del diccionario.
     Optimización: Permite iterar valores sin buscar por clave repetidamente.
-    Complejidad: O(n)
+    Complejidad: O(n + capacidad)
     */
     @Override
-    @SuppressWarnings("unchecked")
     public Object[] obtenerValores() {
-        Object[] valores = new Object[cantidad];
-        int indice = 0;
-        
-        for (int i = 0; i < tabla.length; i++) {
-            NodoDiccionario<K, V> actual = tabla[i];
+        return volcar(false);
+    }
+
+    /*
+    Recorre los pares de ambas tablas (la anterior solo desde indiceMigracion).
+    Complejidad: O(n + capacidad), sin reservar memoria.
+    */
+    @Override
+    public void recorrer(BiConsumer<? super K, ? super V> accion) {
+        recorrerTabla(tabla, 0, accion);
+        if (tablaAnterior != null) {
+            recorrerTabla(tablaAnterior, indiceMigracion, accion);
+        }
+    }
+
+    private static <K, V> void recorrerTabla(NodoDiccionario<K, V>[] buckets, int desde,
+            BiConsumer<? super K, ? super V> accion) {
+        for (int i = desde; i < buckets.length; i++) {
+            for (NodoDiccionario<K, V> actual = buckets[i]; actual != null; actual = actual.getSiguiente()) {
+                accion.accept(actual.getClave(), actual.getValor());
+            }
+        }
+    }
+
+    @Override
+    public Iterator<K> iterarClaves() {
+        Cursor<K, V> cursor = new Cursor<>(tabla, tablaAnterior, indiceMigracion);
+        return new Iterator<K>() {
+            private NodoDiccionario<K, V> proximo = cursor.siguiente();
+
+            @Override
+            public boolean hasNext() {
+                return proximo != null;
+            }
+
+            @Override
+            public K next() {
+                if (proximo == null) throw new NoSuchElementException();
+                K clave = proximo.getClave();
+                proximo = cursor.siguiente();
+                return clave;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<V> spliteratorValores() {
+        return new SpliteratorValores<>(new Cursor<>(tabla, tablaAnterior, indiceMigracion), cantidad);
+    }
+
+    /*
+    Posición de un recorrido sobre los buckets [indice, fin) de un espacio que
+    concatena la tabla actual y la parte sin migrar de la anterior. Guarda sus
+    propias referencias a las tablas: un redimensionamiento posterior no lo
+    afecta, aunque modificar el diccionario durante el recorrido no está soportado.
+    */
+    private static final class Cursor<K, V> {
+        private final NodoDiccionario<K, V>[] actual;
+        private final NodoDiccionario<K, V>[] anterior;
+        private final int desdeAnterior;
+        private int indice;
+        private int fin;
+        private NodoDiccionario<K, V> nodo;  // Próximo nodo dentro del bucket en curso
+
+        Cursor(NodoDiccionario<K, V>[] actual, NodoDiccionario<K, V>[] anterior, int desdeAnterior) {
+            this.actual = actual;
+            this.anterior = anterior;
+            this.desdeAnterior = desdeAnterior;
+            this.fin = actual.length + (anterior == null ? 0 : anterior.length);
+        }
+
+        private NodoDiccionario<K, V> bucket(int i) {
+            if (i < actual.length) return actual[i];
+            i -= actual.length;
+            return i >= desdeAnterior ? anterior[i] : null;
+        }
+
+        NodoDiccionario<K, V> siguiente() {
+            while (nodo == null) {
+                if (indice >= fin) return null;
+                nodo = bucket(indice++);
+            }
+            NodoDiccionario<K, V> resultado = nodo;
+            nodo = nodo.getSiguiente();
+            return resultado;
+        }
+
+        /*
+        Cede la primera mitad de los buckets pendientes (con el resto del
+        bucket en curso) a un cursor nuevo, o null si quedan pocos.
+        */
+        Cursor<K, V> dividir() {
+            int medio = (indice + fin) >>> 1;
+            if (medio - indice < BUCKETS_MINIMOS_POR_PARTE) return null;
+            Cursor<K, V> primera = new Cursor<>(actual, anterior, desdeAnterior);
+            primera.indice = indice;
+            primera.fin = medio;
+            primera.nodo = nodo;
+            indice = medio;
+            nodo = null;
+            return primera;
+        }
+    }
+
+    /*
+    Spliterator de valores sobre un Cursor. El tamaño es exacto hasta la
+    primera división; después, estimado.
+    */
+    private static final class SpliteratorValores<K, V> implements Spliterator<V> {
+        private final Cursor<K, V> cursor;
+        private long estimado;
+        private boolean exacto;
+
+        SpliteratorValores(Cursor<K, V> cursor, long estimado) {
+            this.cursor = cursor;
+            this.estimado = estimado;
+            this.exacto = true;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super V> accion) {
+            NodoDiccionario<K, V> nodo = cursor.siguiente();
+            if (nodo == null) return false;
+            accion.accept(nodo.getValor());
+            return true;
+        }
+
+        @Override
+        public Spliterator<V> trySplit() {
+            Cursor<K, V> primera = cursor.dividir();
+            if (primera == null) return null;
+            estimado >>>= 1;
+            exacto = false;
+            SpliteratorValores<K, V> parte = new SpliteratorValores<>(primera, estimado);
+            parte.exacto = false;
+            return parte;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimado;
+        }
+
+        @Override
+        public int characteristics() {
+            return exacto ? Spliterator.SIZED : 0;
+        }
+    }
+
+    /*
+    Vuelca claves o valores de ambas tablas (la anterior solo desde indiceMigracion).
+    */
+    private Object[] volcar(boolean claves) {
+        Object[] resultado = new Object[cantidad];
+        int k = volcarTabla(tabla, 0, resultado, 0, claves);
+        if (tablaAnterior != null) {
+            volcarTabla(tablaAnterior, indiceMigracion, resultado, k, claves);
+        }
+        return resultado;
+    }
+
+    private static <K, V> int volcarTabla(NodoDiccionario<K, V>[] buckets, int desde, Object[] destino, 
+            int k, boolean claves) {
+        for (int i = desde; i < buckets.length; i++) {
+            NodoDiccionario<K, V> actual = buckets[i];
             while (actual != null) {
-                valores[indice++] = actual.getValor();
+                destino[k++] = claves ? actual.getClave() : actual.getValor();
                 actual = actual.getSiguiente();
             }
         }
-        return valores;
+        return k;
     }
 }
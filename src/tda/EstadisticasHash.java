@@ -0,0 +1,133 @@
+package tda;
+
+/*
+Foto de la salud de una tabla hash con encadenamiento (ver Diccionario.estadisticas):
+factor de carga, histograma de largos de cadena, cadena máxima, proporción de
+buckets vacíos y sondeos promedio por búsqueda (muestreados).
+
+Con una función hash uniforme los largos de cadena siguen una distribución de
+Poisson de media alfa = cantidad / buckets: la proporción esperada de buckets
+vacíos es e^-alfa (~47% con alfa = 0,75). Muchos más vacíos que los esperados,
+o una cadena máxima muy por encima de la media, indican agrupamiento: claves
+con hashCode() que solo difieren en bits altos (IDs espaciados, múltiplos de
+una potencia de dos) o elegidas a propósito para colisionar.
+
+INVARIANTE DE REPRESENTACIÓN:
+- buckets >= 1, 0 <= bucketsVacios <= buckets
+- suma de histograma[i] == buckets
+- histograma[i] = buckets con i nodos; el último casillero acumula los de
+  LARGO_MAXIMO_HISTOGRAMA nodos o más
+
+GRASP: Information Expert - interpreta las cifras que mide el diccionario
+ */
+public class EstadisticasHash {
+
+    /* Constantes */
+    public static final int LARGO_MAXIMO_HISTOGRAMA = 16;
+
+    /* Atributos */
+    private final int cantidad;
+    private final int capacidad;
+    private final int buckets;
+    private final int bucketsVacios;
+    private final int cadenaMaxima;
+    private final long[] histograma;
+    private final long consultasMuestreadas;
+    private final long sondeosMuestreados;
+
+    EstadisticasHash(int cantidad, int capacidad, int buckets, int bucketsVacios, int cadenaMaxima,
+            long[] histograma, long consultasMuestreadas, long sondeosMuestreados) {
+        this.cantidad = cantidad;
+        this.capacidad = capacidad;
+        this.buckets = buckets;
+        this.bucketsVacios = bucketsVacios;
+        this.cadenaMaxima = cadenaMaxima;
+        this.histograma = histograma;
+        this.consultasMuestreadas = consultasMuestreadas;
+        this.sondeosMuestreados = sondeosMuestreados;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /*
+    Buckets de la tabla vigente.
+    */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /*
+    Buckets recorridos: la tabla vigente más los que faltan migrar de la
+    anterior si hay un rehash incremental en curso.
+    */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public double getFactorCarga() {
+        return (double) cantidad / capacidad;
+    }
+
+    public int getCadenaMaxima() {
+        return cadenaMaxima;
+    }
+
+    /*
+    Largo medio de las cadenas no vacías (lo que recorre una búsqueda exitosa
+    es, en promedio, algo más de la mitad de esto).
+    */
+    public double getCadenaMediaOcupados() {
+        int ocupados = buckets - bucketsVacios;
+        return ocupados == 0 ? 0 : (double) cantidad / ocupados;
+    }
+
+    public double getRazonVacios() {
+        return (double) bucketsVacios / buckets;
+    }
+
+    /*
+    Proporción de vacíos que tendría una función hash uniforme: e^-alfa.
+    */
+    public double getRazonVaciosEsperada() {
+        return Math.exp(-(double) cantidad / buckets);
+    }
+
+    /*
+    Copia del histograma: posición i = buckets con i nodos (la última, con
+    LARGO_MAXIMO_HISTOGRAMA o más).
+    */
+    public long[] getHistogramaCadenas() {
+        return histograma.clone();
+    }
+
+    public long getConsultasMuestreadas() {
+        return consultasMuestreadas;
+    }
+
+    /*
+    Nodos comparados por búsqueda en las consultas muestreadas (0 si no hubo).
+    */
+    public double getSondeosPromedio() {
+        return consultasMuestreadas == 0 ? 0 : (double) sondeosMuestreados / consultasMuestreadas;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%,d claves en %,d buckets (factor de carga %.2f)%n",
+                cantidad, buckets, getFactorCarga()));
+        sb.append(String.format("Vacíos: %.1f%% (uniforme: %.1f%%) | cadena media %.2f | máxima %d%n",
+                100 * getRazonVacios(), 100 * getRazonVaciosEsperada(), getCadenaMediaOcupados(), cadenaMaxima));
+        sb.append(String.format("Sondeos por búsqueda: %.2f (%,d muestras)%n",
+                getSondeosPromedio(), consultasMuestreadas));
+        sb.append("Largo de cadena -> buckets:");
+        for (int i = 0; i < histograma.length; i++) {
+            if (histograma[i] == 0) continue;
+            sb.append(' ').append(i).append(i == LARGO_MAXIMO_HISTOGRAMA ? "+" : "")
+              .append(':').append(histograma[i]);
+        }
+        return sb.append(System.lineSeparator()).toString();
+    }
+}
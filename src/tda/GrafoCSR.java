@@ -0,0 +1,167 @@
+package tda;
+
+import interfaces.IGrafo;
+
+/*
+TDA Grafo dirigido en formato CSR (compressed sparse row), pensado para la
+relación de seguimiento completa del sistema.
+
+Estructura: dos AdyacenciaCSR, una por dirección:
+- salida:  nodo -> nodos a los que apunta (seguidos)
+- entrada: nodo -> nodos que lo apuntan (seguidores)
+Cada una guarda arreglos int[] nodos / inicios / destinos con una fila densa por
+nodo con vecinos (el ID se traduce a fila por búsqueda binaria), por lo que una
+arista cuesta 8 bytes (4 por dirección), un ID grande no reserva filas vacías y
+los recorridos completos (grados, vecinos de todos los nodos) leen memoria
+contigua en lugar de saltar entre objetos del heap.
+
+Las mutaciones van a un buffer de cambios por dirección que se fusiona con
+la base en segundo plano (ver AdyacenciaCSR).
+
+INVARIANTE DE REPRESENTACIÓN:
+- salida.existe(a, b) <=> entrada.existe(b, a)
+- salida.getAristas() == entrada.getAristas()
+
+Complejidad: existeArista O(log N + log grado), grados O(log N),
+sucesores/predecesores O(log N + grado), gradosEntrada O(N) con nodos ordenados.
+Memoria: 8 B/arista + hasta 16 B/nodo con aristas (más el buffer).
+SOLID: DIP - Implementa interfaz IGrafo
+*/
+public class GrafoCSR implements IGrafo {
+
+    /* Atributos */
+    private final AdyacenciaCSR salida;
+    private final AdyacenciaCSR entrada;
+
+    /*
+    Construye un grafo vacío.
+    */
+    public GrafoCSR() {
+        this(new int[0], new int[0], 0);
+    }
+
+    /*
+    Construye el grafo a partir de las primeras 'cantidad' aristas
+    origenes[i] -> destinos[i]. Precondición: sin aristas repetidas.
+    Complejidad: O(N + E log grado).
+    */
+    public GrafoCSR(int[] origenes, int[] destinos, int cantidad) {
+        this.salida = AdyacenciaCSR.construir("salida", origenes, destinos, cantidad);
+        this.entrada = AdyacenciaCSR.construir("entrada", destinos, origenes, cantidad);
+    }
+
+    @Override
+    public synchronized boolean agregarArista(int origen, int destino) {
+        if (!salida.agregar(origen, destino)) return false;
+        entrada.agregar(destino, origen);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean eliminarArista(int origen, int destino) {
+        if (!salida.eliminar(origen, destino)) return false;
+        entrada.eliminar(destino, origen);
+        return true;
+    }
+
+    /*
+    Elimina todas las aristas que salen del nodo o llegan a él.
+    Retorna la cantidad de aristas eliminadas. Complejidad: O(grado).
+    */
+    public synchronized int eliminarNodo(int nodo) {
+        int eliminadas = 0;
+        for (int destino : salida.vecinos(nodo)) {
+            if (eliminarArista(nodo, destino)) eliminadas++;
+        }
+        for (int origen : entrada.vecinos(nodo)) {
+            if (eliminarArista(origen, nodo)) eliminadas++;
+        }
+        return eliminadas;
+    }
+
+    @Override
+    public boolean existeArista(int origen, int destino) {
+        return salida.existe(origen, destino);
+    }
+
+    @Override
+    public int[] sucesores(int nodo) {
+        return salida.vecinos(nodo);
+    }
+
+    @Override
+    public int[] predecesores(int nodo) {
+        return entrada.vecinos(nodo);
+    }
+
+    @Override
+    public int gradoSalida(int nodo) {
+        return salida.grado(nodo);
+    }
+
+    @Override
+    public int gradoEntrada(int nodo) {
+        return entrada.grado(nodo);
+    }
+
+    /*
+    Grado de entrada de cada nodo indicado (resultado[i] es el de nodos[i]).
+    Con nodos ascendentes es un único recorrido secuencial de la base.
+    */
+    public int[] gradosEntrada(int[] nodos) {
+        return entrada.grados(nodos);
+    }
+
+    /*
+    Grado de salida de cada nodo indicado (resultado[i] es el de nodos[i]).
+    */
+    public int[] gradosSalida(int[] nodos) {
+        return salida.grados(nodos);
+    }
+
+    @Override
+    public long getCantidadAristas() {
+        return salida.getAristas();
+    }
+
+    /*
+    Mayor ID de nodo con filas en el grafo (-1 si está vacío).
+    */
+    public int getMaximoNodo() {
+        return Math.max(salida.getMaximoNodo(), entrada.getMaximoNodo());
+    }
+
+    /*
+    Cambios (altas/bajas) todavía no fusionados con la base, sumando ambas direcciones.
+    */
+    public int getCambiosPendientes() {
+        return salida.getCambiosPendientes() + entrada.getCambiosPendientes();
+    }
+
+    public int getFusionesCompletadas() {
+        return salida.getFusionesCompletadas() + entrada.getFusionesCompletadas();
+    }
+
+    /*
+    Bytes ocupados por los arreglos CSR de ambas direcciones (sin el buffer de cambios).
+    */
+    public long getBytesBase() {
+        return salida.getBytesBase() + entrada.getBytesBase();
+    }
+
+    /*
+    Fusiona todos los cambios pendientes en el hilo actual.
+    */
+    public synchronized void compactar() {
+        salida.compactar();
+        entrada.compactar();
+    }
+
+    /*
+    Espera las fusiones en segundo plano que estén corriendo.
+    */
+    public void esperarFusiones() {
+        salida.esperarFusion();
+        entrada.esperarFusion();
+    }
+}
@@ -0,0 +1,283 @@
+package tda;
+
+/*
+TDA Índice difuso - búsqueda tolerante a errores de tipeo sobre textos distintos.
+
+Estructura:
+- Cada texto recibe un número (reutilizable); textos[numero] lo guarda.
+- Índice invertido de trigramas: el texto "ana" se rellena con marcas de
+  inicio y fin (^ana$) y aporta los trigramas {^an, ana, na$}. Cada trigrama se reduce a
+  un código int y apunta a un ConjuntoEnteros con los números de los textos que
+  lo contienen. Dos trigramas con el mismo código solo agregan candidatos: la
+  verificación los descarta.
+
+BÚSQUEDA con distancia de edición máxima k:
+1. Filtro de q-gramas: una edición destruye a lo sumo 3 trigramas, por lo que
+   un texto a distancia <= k comparte al menos |T(consulta)| - 3k trigramas.
+   Con umbral t, basta recorrer las (|T| - t + 1) listas más cortas para
+   encontrar a todos los candidatos (filtro por prefijo). En las listas
+   restantes solo se sondea a los candidatos que todavía pueden llegar a t.
+   Se exige t >= 1: los resultados comparten al menos un trigrama con la consulta.
+2. Filtro por largo: ||texto| - |consulta|| <= k.
+3. Verificación con Levenshtein acotado a la banda k (corta apenas la fila
+   supera k).
+Resultado: textos ordenados por (distancia, texto).
+
+INVARIANTE DE REPRESENTACIÓN:
+- numeros.obtener(t) == n <=> textos[n] == t
+- n está en la lista de cada trigrama de textos[n] y en ninguna otra
+- Los números libres (pila) tienen textos[n] == null
+- marcas[n] <= epoca para todo n
+
+COMPLEJIDAD TEMPORAL (L = largo del texto):
+- Agregar / eliminar: O(L)
+- Buscar: O(suma de las 3k + 1 listas más cortas + sondeos + verificados * L * k)
+
+No es seguro para uso concurrente (la búsqueda reutiliza arreglos de trabajo).
+*/
+public class IndiceDifuso {
+
+    /* Constantes */
+    private static final char INICIO = '\u0002';
+    private static final char FIN = '\u0003';
+
+    /* Atributos */
+    private final Diccionario<String, Integer> numeros;
+    private final IntDiccionario<ConjuntoEnteros> trigramas;
+    private String[] textos;
+    private int numerosUsados;
+    private final Pila<Integer> numerosLibres;
+    private int[] marcas;    // Trabajo de la búsqueda: marcas[n] == epoca => ya es candidato
+    private int[] contador;  // Trabajo de la búsqueda: listas de la consulta que contienen a n
+    private int epoca;
+
+    /*
+    Constructor que inicializa el índice vacío.
+    */
+    public IndiceDifuso() {
+        this.numeros = new Diccionario<>();
+        this.trigramas = new IntDiccionario<>();
+        this.textos = new String[16];
+        this.numerosLibres = new Pila<>();
+        this.marcas = new int[16];
+        this.contador = new int[16];
+    }
+
+    /*
+    Distancia de edición tolerada según el largo de la consulta: 0 hasta 2
+    caracteres, 1 hasta 5 y 2 a partir de 6 (errores de tipeo habituales).
+    */
+    public static int distanciaMaximaPara(int largo) {
+        return largo <= 2 ? 0 : (largo <= 5 ? 1 : 2);
+    }
+
+    /*
+    Códigos de los trigramas distintos del texto relleno.
+    */
+    private static int[] codigos(String texto) {
+        int cantidad = texto.length();  // Con relleno: largo + 2 caracteres, largo trigramas
+        int[] resultado = new int[Math.max(1, cantidad)];
+        char a = INICIO, b = cantidad > 0 ? texto.charAt(0) : FIN;
+        for (int i = 0; i < resultado.length; i++) {
+            char c = i + 1 < cantidad ? texto.charAt(i + 1) : FIN;
+            resultado[i] = codigo(a, b, c);
+            a = b;
+            b = c;
+        }
+        java.util.Arrays.sort(resultado);
+        int distintos = 0;
+        for (int i = 0; i < resultado.length; i++) {
+            if (i == 0 || resultado[i] != resultado[i - 1]) resultado[distintos++] = resultado[i];
+        }
+        return java.util.Arrays.copyOf(resultado, distintos);
+    }
+
+    private static int codigo(char a, char b, char c) {
+        long empaquetado = ((long) a << 32) | ((long) b << 16) | c;
+        return (int) (empaquetado ^ (empaquetado >>> 29));
+    }
+
+    /*
+    Agrega un texto (ya normalizado). Retorna false si ya estaba.
+    */
+    public boolean agregar(String texto) {
+        if (numeros.contiene(texto)) return false;
+        int numero;
+        if (!numerosLibres.estaVacia()) {
+            numero = numerosLibres.desapilar();
+        } else {
+            if (numerosUsados == textos.length) {
+                textos = java.util.Arrays.copyOf(textos, textos.length * 2);
+                marcas = java.util.Arrays.copyOf(marcas, textos.length);
+                contador = java.util.Arrays.copyOf(contador, textos.length);
+            }
+            numero = numerosUsados++;
+        }
+        textos[numero] = texto;
+        numeros.insertar(texto, numero);
+        for (int codigo : codigos(texto)) {
+            ConjuntoEnteros lista = trigramas.obtener(codigo);
+            if (lista == null) {
+                lista = new ConjuntoEnteros();
+                trigramas.insertar(codigo, lista);
+            }
+            lista.agregar(numero);
+        }
+        return true;
+    }
+
+    /*
+    Quita un texto. Retorna false si no estaba.
+    */
+    public boolean eliminar(String texto) {
+        Integer numero = numeros.eliminar(texto);
+        if (numero == null) return false;
+        for (int codigo : codigos(texto)) {
+            ConjuntoEnteros lista = trigramas.obtener(codigo);
+            lista.eliminar(numero);
+            if (lista.estaVacio()) trigramas.eliminar(codigo);
+        }
+        textos[numero] = null;
+        numerosLibres.apilar(numero);
+        return true;
+    }
+
+    /*
+    Textos a distancia de edición <= distanciaMaxima de la consulta (ya
+    normalizada), ordenados por (distancia, texto), a lo sumo limite.
+    */
+    public String[] buscar(String consulta, int distanciaMaxima, int limite) {
+        if (consulta == null || limite <= 0 || distanciaMaxima < 0) return new String[0];
+        int[] codigosConsulta = codigos(consulta);
+
+        // Listas de la consulta, de la más corta a la más larga
+        ConjuntoEnteros[] listas = new ConjuntoEnteros[codigosConsulta.length];
+        int presentes = 0;
+        for (int codigo : codigosConsulta) {
+            ConjuntoEnteros lista = trigramas.obtener(codigo);
+            if (lista != null) listas[presentes++] = lista;
+        }
+        java.util.Arrays.sort(listas, 0, presentes,
+                (x, y) -> Integer.compare(x.getCantidad(), y.getCantidad()));
+        int umbral = Math.max(1, codigosConsulta.length - 3 * distanciaMaxima);
+        int aRecorrer = codigosConsulta.length - umbral + 1;  // Filtro por prefijo
+
+        // Candidatos: unión de las listas más cortas, contando apariciones. Los
+        // trigramas ausentes del índice son listas vacías y cuentan como las primeras.
+        int ausentes = codigosConsulta.length - presentes;
+        int prefijo = Math.max(0, Math.min(presentes, aRecorrer - ausentes));
+        int[] candidatos = contarEnPrefijo(listas, prefijo);
+        int cantidad = candidatos.length;
+
+        // Resto de las listas (las más largas): solo se sondean los candidatos que
+        // todavía pueden alcanzar el umbral, y se descartan los que ya no
+        for (int i = prefijo; i <= presentes && cantidad > 0; i++) {
+            int restantes = presentes - i;
+            int quedan = 0;
+            for (int j = 0; j < cantidad; j++) {
+                int n = candidatos[j];
+                if (i < presentes && listas[i].contiene(n)) contador[n]++;
+                if (contador[n] + Math.max(0, restantes - 1) >= umbral) candidatos[quedan++] = n;
+            }
+            cantidad = quedan;
+        }
+
+        // Verificación: largo y Levenshtein acotado
+        int[] distancias = new int[cantidad];
+        int aceptados = 0;
+        for (int i = 0; i < cantidad; i++) {
+            String texto = textos[candidatos[i]];
+            if (Math.abs(texto.length() - consulta.length()) > distanciaMaxima) continue;
+            int d = distancia(consulta, texto, distanciaMaxima);
+            if (d <= distanciaMaxima) {
+                candidatos[aceptados] = candidatos[i];
+                distancias[aceptados++] = d;
+            }
+        }
+        return ordenarPorDistancia(candidatos, distancias, aceptados, limite);
+    }
+
+    /*
+    Unión sin repetidos de las primeras listas; deja en contador[n] cuántas de
+    ellas contienen a n.
+    */
+    private int[] contarEnPrefijo(ConjuntoEnteros[] listas, int cuantas) {
+        if (++epoca == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(marcas, 0);
+            epoca = 1;
+        }
+        int total = 0;
+        for (int i = 0; i < cuantas; i++) total += listas[i].getCantidad();
+        int[] resultado = new int[total];
+        int[] cantidad = new int[1];
+        for (int i = 0; i < cuantas; i++) {
+            listas[i].recorrer(n -> {
+                if (marcas[n] != epoca) {
+                    marcas[n] = epoca;
+                    contador[n] = 0;
+                    resultado[cantidad[0]++] = n;
+                }
+                contador[n]++;
+            });
+        }
+        return java.util.Arrays.copyOf(resultado, cantidad[0]);
+    }
+
+    private String[] ordenarPorDistancia(int[] numerosAceptados, int[] distancias, int cantidad, int limite) {
+        Integer[] orden = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) orden[i] = i;
+        java.util.Arrays.sort(orden, (x, y) -> distancias[x] != distancias[y]
+                ? Integer.compare(distancias[x], distancias[y])
+                : textos[numerosAceptados[x]].compareTo(textos[numerosAceptados[y]]));
+        String[] resultado = new String[Math.min(limite, cantidad)];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = textos[numerosAceptados[orden[i]]];
+        }
+        return resultado;
+    }
+
+    /*
+    Distancia de Levenshtein entre a y b, o maximo + 1 si supera maximo.
+    Solo calcula la banda |i - j| <= maximo y corta cuando toda la fila la supera.
+    Complejidad: O(min(|a|, |b|) * maximo).
+    */
+    public static int distancia(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) return maximo + 1;
+        if (a.length() > b.length()) {
+            String t = a;
+            a = b;
+            b = t;
+        }
+        int n = a.length(), m = b.length();
+        int fuera = maximo + 1;
+        int[] anterior = new int[m + 1];
+        int[] actual = new int[m + 1];
+        for (int j = 0; j <= m; j++) anterior[j] = j <= maximo ? j : fuera;
+        for (int i = 1; i <= n; i++) {
+            int desde = Math.max(1, i - maximo), hasta = Math.min(m, i + maximo);
+            actual[0] = i <= maximo ? i : fuera;
+            if (desde > 1) actual[desde - 1] = fuera;
+            int minimoFila = actual[0];
+            char ca = a.charAt(i - 1);
+            for (int j = desde; j <= hasta; j++) {
+                int costo = ca == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + costo);
+                actual[j] = Math.min(valor, fuera);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (hasta < m) actual[hasta + 1] = fuera;
+            if (minimoFila > maximo) return fuera;
+            int[] t = anterior;
+            anterior = actual;
+            actual = t;
+        }
+        return Math.min(anterior[m], fuera);
+    }
+
+    /*
+    Cantidad de textos distintos indexados.
+    */
+    public int getCantidad() {
+        return numeros.getCantidad();
+    }
+}
@@ -0,0 +1,405 @@
+package tda;
+
+import interfaces.IArbolBinarioBusqueda;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/*
+TDA Índice de conteo - índice secundario para claves enteras de dominio acotado.
+
+Pensado para el scoring (0..100, garantizado por Validador): en lugar de un
+árbol de comparación hay un arreglo con una cubeta por clave posible.
+
+Estructura:
+- cubetas[clave - minimo]: IDs de los valores con esa clave, empaquetados en un
+  int[] que crece por duplicación. No se guardan referencias: los valores se
+  obtienen con la función resolver (para clientes, el diccionario por ID).
+- cantidades[i]: valores en la cubeta i (el histograma).
+- acumulados[i]: valores en las cubetas 0..i-1 (prefijos del histograma). Se
+  recalcula perezosamente, O(D), en la primera consulta de conteo tras un cambio.
+- manijas: IntDiccionarioLargo id -> cubeta << bitsPosicion | posición. Al ser
+  un mapa disperso, un ID grande no reserva memoria para los menores. Con la
+  manija, eliminar va directo a la posición y tapa el hueco con el último ID.
+
+Con 1M clientes: ~4 bytes por valor en las cubetas (más la holgura de la
+duplicación) + ~25 bytes de manija, unos 32 MB en total.
+
+Los "niveles" y la altura son los de un árbol perfectamente balanceado sobre
+las claves presentes (raíz = clave del medio), para respetar el contrato de
+IArbolBinarioBusqueda.
+
+INVARIANTE DE REPRESENTACIÓN:
+- minimo <= maximo, D = maximo - minimo + 1 <= DOMINIO_MAXIMO
+- Para todo id presente: manijas.obtener(id) codifica (i, p) con cubetas[i][p] == id
+- manijas.contiene(id) <=> hay un valor con ese id
+- cantidad == suma de cantidades[i]
+- !prefijosVigentes || acumulados[i] == suma de cantidades[0..i-1]
+
+COMPLEJIDAD TEMPORAL (D = tamaño del dominio, constante: 101):
+- Insertar / eliminar: O(1) amortizado
+- Buscar: O(k)
+- Contar por clave / histograma: O(1) / O(D)
+- contarMenores / contarEnRango: O(1) con prefijos vigentes
+- seleccionar / piso / techo: O(log D)
+- Rango: O(D) + O(1) por valor
+
+SOLID: DIP - Implementa interfaz IArbolBinarioBusqueda
+SOLID: LSP - Sustituye a MultimapaOrdenado cuando el dominio de claves es acotado
+*/
+public class IndiceScoring<V> implements IArbolBinarioBusqueda<Integer, V> {
+
+    /* Constantes */
+    public static final int DOMINIO_MAXIMO = 1 << 10;
+    private static final int CAPACIDAD_CUBETA = 4;
+    private static final int[] VACIA = new int[0];
+
+    /* Atributos */
+    private final int minimo;
+    private final int maximo;
+    private final int bitsPosicion;
+    private final ToIntFunction<V> identificador;
+    private final IntFunction<V> resolver;
+    private final int[][] cubetas;
+    private final int[] cantidades;
+    private final int[] acumulados;
+    private boolean prefijosVigentes;
+    private final IntDiccionarioLargo manijas;
+    private int cantidad;
+
+    /*
+    Constructor. identificador asigna a cada valor un entero >= 0 único (para
+    clientes, su ID); resolver hace el camino inverso.
+    */
+    public IndiceScoring(int minimo, int maximo, ToIntFunction<V> identificador, IntFunction<V> resolver) {
+        if (minimo > maximo || (long) maximo - minimo + 1 > DOMINIO_MAXIMO) {
+            throw new IllegalArgumentException("Dominio de claves inválido: [" + minimo + ", " + maximo + "]");
+        }
+        if (identificador == null || resolver == null) {
+            throw new IllegalArgumentException("El identificador y el resolver no pueden ser null");
+        }
+        int dominio = maximo - minimo + 1;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.bitsPosicion = 31 - (32 - Integer.numberOfLeadingZeros(dominio));
+        this.identificador = identificador;
+        this.resolver = resolver;
+        this.cubetas = new int[dominio][];
+        java.util.Arrays.fill(cubetas, VACIA);
+        this.cantidades = new int[dominio];
+        this.acumulados = new int[dominio + 1];
+        this.prefijosVigentes = true;
+        this.manijas = new IntDiccionarioLargo();
+    }
+
+    private int idDe(V valor) {
+        int id = identificador.applyAsInt(valor);
+        if (id < 0) {
+            throw new IllegalArgumentException("El identificador debe ser >= 0");
+        }
+        return id;
+    }
+
+    private boolean enDominio(int clave) {
+        return clave >= minimo && clave <= maximo;
+    }
+
+    /*
+    Índice de cubeta más cercano dentro del dominio (para acotar límites de rango).
+    */
+    private int acotar(int clave) {
+        return Math.max(minimo, Math.min(maximo, clave)) - minimo;
+    }
+
+    @Override
+    public void insertar(Integer clave, V valor) {
+        if (clave == null || !enDominio(clave)) {
+            throw new IllegalArgumentException("Clave fuera del dominio [" + minimo + ", " + maximo + "]: " + clave);
+        }
+        int id = idDe(valor);
+        if (manijas.contiene(id)) {
+            quitar(id);
+        }
+        int indice = clave - minimo;
+        int posicion = cantidades[indice];
+        if (posicion >= (1 << bitsPosicion)) {
+            throw new IllegalStateException("Cubeta llena para la clave " + clave);
+        }
+        int[] cubeta = cubetas[indice];
+        if (posicion == cubeta.length) {
+            cubeta = java.util.Arrays.copyOf(cubeta, Math.max(CAPACIDAD_CUBETA, posicion * 2));
+            cubetas[indice] = cubeta;
+        }
+        cubeta[posicion] = id;
+        manijas.insertar(id, (indice << bitsPosicion) | posicion);
+        cantidades[indice]++;
+        cantidad++;
+        prefijosVigentes = false;
+    }
+
+    @Override
+    public Object[] buscar(Integer clave) {
+        if (clave == null || !enDominio(clave)) {
+            return new Object[0];
+        }
+        int indice = clave - minimo;
+        Object[] resultado = new Object[cantidades[indice]];
+        int[] cubeta = cubetas[indice];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = resolver.apply(cubeta[i]);
+        }
+        return resultado;
+    }
+
+    /*
+    Cantidad de valores con la clave. Complejidad: O(1).
+    */
+    public int contar(int clave) {
+        return enDominio(clave) ? cantidades[clave - minimo] : 0;
+    }
+
+    /*
+    Copia del histograma: posición i = cantidad de valores con clave minimo + i.
+    */
+    public int[] histograma() {
+        return cantidades.clone();
+    }
+
+    @Override
+    public boolean eliminar(Integer clave, V valor) {
+        if (clave == null || valor == null || !enDominio(clave)) {
+            return false;
+        }
+        int id = idDe(valor);
+        long manija = manijas.obtener(id, -1L);
+        if (manija < 0) {
+            return false;
+        }
+        if ((int) manija >>> bitsPosicion != clave - minimo) {
+            return false;  // El valor está, pero con otra clave
+        }
+        quitar(id);
+        return true;
+    }
+
+    /*
+    Quita el id, tapando el hueco con el último de su cubeta.
+    */
+    private void quitar(int id) {
+        int manija = (int) manijas.obtener(id, -1L);
+        int indice = manija >>> bitsPosicion;
+        int posicion = manija & ((1 << bitsPosicion) - 1);
+        int[] cubeta = cubetas[indice];
+        int ultima = --cantidades[indice];
+        if (posicion != ultima) {
+            int movido = cubeta[ultima];
+            cubeta[posicion] = movido;
+            manijas.insertar(movido, (indice << bitsPosicion) | posicion);
+        }
+        manijas.eliminar(id);
+        cantidad--;
+        prefijosVigentes = false;
+        if (ultima == 0) {
+            cubetas[indice] = VACIA;  // Libera la holgura de las claves que se vacían
+        }
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    CONTEOS (prefijos del histograma)
+    ══════════════════════════════════════════════════════════
+    */
+
+    private int[] prefijos() {
+        if (!prefijosVigentes) {
+            for (int i = 0; i < cantidades.length; i++) {
+                acumulados[i + 1] = acumulados[i] + cantidades[i];
+            }
+            prefijosVigentes = true;
+        }
+        return acumulados;
+    }
+
+    /*
+    Valores con clave < clave (no necesariamente dentro del dominio).
+    */
+    private int contarAntesDe(long clave) {
+        if (clave <= minimo) return 0;
+        if (clave > maximo) return cantidad;
+        return prefijos()[(int) (clave - minimo)];
+    }
+
+    @Override
+    public int contarMenores(Integer clave) {
+        return clave == null ? 0 : contarAntesDe(clave);
+    }
+
+    @Override
+    public int contarEnRango(Integer desde, Integer hasta) {
+        int hastaInclusive = hasta == null ? cantidad : contarAntesDe((long) hasta + 1);
+        int antesDeDesde = desde == null ? 0 : contarAntesDe(desde);
+        return Math.max(0, hastaInclusive - antesDeDesde);
+    }
+
+    /*
+    Índice de la cubeta que contiene la posición global (0 <= posicion < cantidad).
+    */
+    private int cubetaDePosicion(int posicion) {
+        int[] acumulados = prefijos();
+        int bajo = 0, alto = cantidades.length - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto + 1) >>> 1;
+            if (acumulados[medio] <= posicion) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    @Override
+    public V seleccionar(int posicion) {
+        if (posicion < 0 || posicion >= cantidad) return null;
+        int indice = cubetaDePosicion(posicion);
+        return resolver.apply(cubetas[indice][posicion - prefijos()[indice]]);
+    }
+
+    @Override
+    public Integer piso(Integer clave) {
+        if (clave == null) return null;
+        int hasta = contarAntesDe((long) clave + 1);
+        return hasta == 0 ? null : minimo + cubetaDePosicion(hasta - 1);
+    }
+
+    @Override
+    public Integer techo(Integer clave) {
+        if (clave == null) return null;
+        int antes = contarAntesDe(clave);
+        return antes == cantidad ? null : minimo + cubetaDePosicion(antes);
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    RECORRIDOS
+    ══════════════════════════════════════════════════════════
+    */
+
+    @Override
+    public Iterator<V> iterarRango(Integer desde, Integer hasta) {
+        return new IteradorCubetas(desde, hasta, false);
+    }
+
+    @Override
+    public Iterator<V> iterarRangoDescendente(Integer desde, Integer hasta) {
+        return new IteradorCubetas(desde, hasta, true);
+    }
+
+    /*
+    Recorre las cubetas de [desde, hasta] en orden, valor por valor.
+    */
+    private final class IteradorCubetas implements Iterator<V> {
+        private final int fin;
+        private final int paso;
+        private int indice;
+        private int posicion;
+
+        IteradorCubetas(Integer desde, Integer hasta, boolean descendente) {
+            int primero = desde == null ? 0 : acotar(desde);
+            int ultimo = hasta == null ? cantidades.length - 1 : acotar(hasta);
+            boolean vacio = (desde != null && desde > maximo) || (hasta != null && hasta < minimo)
+                    || primero > ultimo;
+            this.paso = descendente ? -1 : 1;
+            this.indice = vacio ? 0 : (descendente ? ultimo : primero);
+            this.fin = vacio ? 0 : (descendente ? primero - 1 : ultimo + 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (indice != fin && posicion >= cantidades[indice]) {
+                indice += paso;
+                posicion = 0;
+            }
+            return indice != fin;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return resolver.apply(cubetas[indice][posicion++]);
+        }
+    }
+
+    /*
+    Claves presentes, en orden ascendente (como índices de cubeta).
+    */
+    private int[] indicesPresentes() {
+        int distintas = 0;
+        for (int c : cantidades) if (c > 0) distintas++;
+        int[] presentes = new int[distintas];
+        int k = 0;
+        for (int i = 0; i < cantidades.length; i++) {
+            if (cantidades[i] > 0) presentes[k++] = i;
+        }
+        return presentes;
+    }
+
+    /*
+    Valores de las claves en el nivel N del árbol balanceado implícito.
+    */
+    @Override
+    public Object[] obtenerEnNivel(int nivel) {
+        if (nivel < 0) return new Object[0];
+        int[] presentes = indicesPresentes();
+        int[] enNivel = new int[presentes.length];
+        int claves = recolectarNivel(presentes, 0, presentes.length - 1, nivel, enNivel, 0);
+        int total = 0;
+        for (int i = 0; i < claves; i++) total += cantidades[enNivel[i]];
+        Object[] resultado = new Object[total];
+        int k = 0;
+        for (int i = 0; i < claves; i++) {
+            int[] cubeta = cubetas[enNivel[i]];
+            for (int p = 0; p < cantidades[enNivel[i]]; p++) {
+                resultado[k++] = resolver.apply(cubeta[p]);
+            }
+        }
+        return resultado;
+    }
+
+    /*
+    Agrega a destino las claves del nivel pedido dentro de presentes[bajo..alto].
+    Profundidad de recursión: a lo sumo log2(D).
+    */
+    private static int recolectarNivel(int[] presentes, int bajo, int alto, int nivel, int[] destino, int k) {
+        if (bajo > alto) return k;
+        int medio = (bajo + alto) >>> 1;
+        if (nivel == 0) {
+            destino[k++] = presentes[medio];
+            return k;
+        }
+        k = recolectarNivel(presentes, bajo, medio - 1, nivel - 1, destino, k);
+        return recolectarNivel(presentes, medio + 1, alto, nivel - 1, destino, k);
+    }
+
+    /*
+    Altura del árbol balanceado implícito sobre las claves presentes. Complejidad: O(D).
+    */
+    @Override
+    public int getAltura() {
+        int distintas = indicesPresentes().length;
+        return distintas == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(distintas);
+    }
+}
@@ -0,0 +1,156 @@
+package tda;
+
+import interfaces.IIndiceTexto;
+import java.util.Iterator;
+import java.util.Locale;
+
+/*
+TDA Índice de texto - asocia textos normalizados (minúsculas) a conjuntos de IDs.
+Pensado para buscar clientes por nombre sin recorrerlos a todos.
+
+Estructura: un ConjuntoEnteros de IDs por texto distinto, alcanzable por dos caminos:
+- exactos: Diccionario (hash) texto -> conjunto, para la búsqueda exacta en O(1).
+- ordenados: ArbolAVL texto -> conjunto, para la búsqueda por prefijo: los
+  textos que empiezan con p son el rango [p, p + Character.MAX_VALUE].
+- difuso: IndiceDifuso (trigramas + Levenshtein acotado) sobre los textos
+  distintos, para la búsqueda tolerante a errores de tipeo.
+
+Normalizar una vez al indexar evita el toLowerCase() por cliente en cada búsqueda.
+
+INVARIANTE DE REPRESENTACIÓN:
+- exactos, ordenados y difuso tienen los mismos textos; exactos y ordenados
+  comparten el conjunto de cada uno
+- Ningún conjunto está vacío (el texto se quita al quedarse sin IDs)
+- Las claves están normalizadas: normalizar(clave) == clave
+- cantidad == suma de los tamaños de los conjuntos
+
+COMPLEJIDAD TEMPORAL (D = textos distintos, k = resultados):
+- Agregar / eliminar: O(1) esperado si el texto ya existe, O(log D) si no
+- Buscar exacto: O(1) esperado + O(k)
+- Buscar por prefijo: O(log D + k)
+- Buscar aproximado: ver IndiceDifuso
+
+SOLID: DIP - Implementa interfaz IIndiceTexto
+*/
+public class IndiceTexto implements IIndiceTexto {
+
+    /* Constantes */
+    private static final char MAXIMO_CARACTER = Character.MAX_VALUE;
+
+    /* Atributos */
+    private final Diccionario<String, ConjuntoEnteros> exactos;
+    private final ArbolAVL<String, ConjuntoEnteros> ordenados;
+    private final IndiceDifuso difuso;
+    private int cantidad;
+
+    /*
+    Constructor que inicializa el índice vacío.
+    */
+    public IndiceTexto() {
+        this.exactos = new Diccionario<>();
+        this.ordenados = new ArbolAVL<>();
+        this.difuso = new IndiceDifuso();
+        this.cantidad = 0;
+    }
+
+    /*
+    Forma canónica de un texto para indexar y buscar.
+    */
+    public static String normalizar(String texto) {
+        return texto.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean agregar(String texto, int id) {
+        if (texto == null) {
+            throw new IllegalArgumentException("El texto no puede ser null");
+        }
+        String clave = normalizar(texto);
+        ConjuntoEnteros ids = exactos.obtener(clave);
+        if (ids == null) {
+            ids = new ConjuntoEnteros();
+            exactos.insertar(clave, ids);
+            ordenados.insertar(clave, ids);
+            difuso.agregar(clave);
+        }
+        if (!ids.agregar(id)) return false;
+        cantidad++;
+        return true;
+    }
+
+    @Override
+    public boolean eliminar(String texto, int id) {
+        if (texto == null) return false;
+        String clave = normalizar(texto);
+        ConjuntoEnteros ids = exactos.obtener(clave);
+        if (ids == null || !ids.eliminar(id)) return false;
+        cantidad--;
+        if (ids.estaVacio()) {
+            exactos.eliminar(clave);
+            ordenados.eliminar(clave, ids);
+            difuso.eliminar(clave);
+        }
+        return true;
+    }
+
+    @Override
+    public int[] buscar(String texto) {
+        if (texto == null) return new int[0];
+        ConjuntoEnteros ids = exactos.obtener(normalizar(texto));
+        return ids == null ? new int[0] : ids.obtenerElementos();
+    }
+
+    @Override
+    public int[] buscarPorPrefijo(String prefijo, int limite) {
+        if (prefijo == null || limite <= 0) return new int[0];
+        String desde = normalizar(prefijo);
+        Iterator<ConjuntoEnteros> textos = ordenados.iterarRango(desde, desde + MAXIMO_CARACTER);
+        int[] resultado = new int[Math.min(limite, 16)];
+        int k = 0;
+        while (k < limite && textos.hasNext()) {
+            for (int id : textos.next().obtenerElementos()) {
+                if (k == limite) break;
+                if (k == resultado.length) {
+                    resultado = java.util.Arrays.copyOf(resultado, Math.min(limite, k * 2));
+                }
+                resultado[k++] = id;
+            }
+        }
+        return java.util.Arrays.copyOf(resultado, k);
+    }
+
+    /*
+    Los textos parecidos se ordenan por distancia de edición (y alfabéticamente
+    a igual distancia); la tolerancia depende del largo de la consulta.
+    */
+    @Override
+    public int[] buscarAproximado(String texto, int limite) {
+        if (texto == null || limite <= 0) return new int[0];
+        String consulta = normalizar(texto);
+        String[] parecidos = difuso.buscar(consulta, IndiceDifuso.distanciaMaximaPara(consulta.length()), limite);
+        int total = 0;
+        for (String parecido : parecidos) total += exactos.obtener(parecido).getCantidad();
+        int[] resultado = new int[Math.min(limite, total)];
+        int k = 0;
+        for (String parecido : parecidos) {
+            int[] ids = exactos.obtener(parecido).obtenerElementos();
+            int copiar = Math.min(ids.length, resultado.length - k);
+            System.arraycopy(ids, 0, resultado, k, copiar);
+            k += copiar;
+            if (k == resultado.length) break;
+        }
+        return resultado;
+    }
+
+    /*
+    Cantidad de textos distintos.
+    */
+    public int getCantidadTextos() {
+        return exactos.getCantidad();
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+}
@@ -0,0 +1,480 @@
+package tda;
+
+import interfaces.IDiccionario;
+import interfaces.IDiccionarioEntero;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/*
+TDA Diccionario con claves int primitivas, por direccionamiento abierto.
+
+Estructura: dos arreglos paralelos, claves (int[]) y valores (Object[]).
+Sin nodos ni Integer por entrada: una búsqueda recorre posiciones contiguas
+de claves[] (amigable con la caché) y solo toca valores[] al encontrar la clave.
+Sondeo lineal: si la posición está ocupada por otra clave se prueba la siguiente.
+Función Hash: multiplicativa de Fibonacci (clave * 0x9E3779B9) tomando los bits altos,
+que dispersa bien IDs secuenciales.
+
+La clave 0 marca una posición libre; si se usa 0 como clave se guarda aparte
+(tieneCero / valorCero).
+
+Eliminación por desplazamiento hacia atrás (backward shift): las claves
+siguientes del mismo grupo se corren para tapar el hueco. No hay lápidas, por lo
+que las búsquedas no se degradan con las eliminaciones.
+
+Crecimiento: se duplica la capacidad al superar FACTOR_CARGA.
+
+Memoria por entrada: (4 + 4) / FACTOR_CARGA bytes en los arreglos (~13 a 27 bytes
+según la ocupación) contra ~60 de Diccionario (nodo + Integer + referencia en la tabla).
+
+INVARIANTE DE REPRESENTACIÓN:
+- claves.length == valores.length == mascara + 1, potencia de 2
+- claves[i] == 0 => valores[i] == null
+- Toda clave k != 0 está en el grupo contiguo (sin huecos) que empieza en hash(k)
+- cantidad = posiciones ocupadas + (tieneCero ? 1 : 0)
+- cantidad <= umbral < capacidad
+
+Complejidad: O(1) esperado para insertar/buscar/eliminar.
+No implementa IDiccionario<Integer, V> directamente: los métodos insertar(int, V)
+e insertar(Integer, V) serían ambiguos con V = Integer. Quien necesite la
+interfaz genérica usa la vista comoDiccionario().
+
+SOLID: DIP - Implementa IDiccionarioEntero
+SOLID: ISP - La vista IDiccionario se ofrece aparte (Adapter)
+*/
+public class IntDiccionario<V> implements IDiccionarioEntero<V> {
+
+    /* Constantes */
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final float FACTOR_CARGA = 0.6f;
+    private static final int CAPACIDAD_MAXIMA = 1 << 30;
+    private static final int POSICIONES_MINIMAS_POR_PARTE = 1 << 10;  // Spliterator: no dividir más allá
+
+    /* Atributos */
+    private int[] claves;
+    private Object[] valores;
+    private int mascara;
+    private int bitsHash;
+    private int cantidad;
+    private int umbral;
+    private boolean tieneCero;
+    private Object valorCero;
+
+    public IntDiccionario() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /*
+    Crea el diccionario con espacio para capacidadEsperada claves sin crecer.
+    */
+    public IntDiccionario(int capacidadEsperada) {
+        if (capacidadEsperada < 0) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacidadEsperada);
+        }
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad < CAPACIDAD_MAXIMA && capacidad * FACTOR_CARGA <= capacidadEsperada) {
+            capacidad <<= 1;
+        }
+        inicializarTabla(capacidad);
+    }
+
+    private IntDiccionario(IntDiccionario<V> original) {
+        this.claves = original.claves.clone();
+        this.valores = original.valores.clone();
+        this.mascara = original.mascara;
+        this.bitsHash = original.bitsHash;
+        this.cantidad = original.cantidad;
+        this.umbral = original.umbral;
+        this.tieneCero = original.tieneCero;
+        this.valorCero = original.valorCero;
+    }
+
+    private void inicializarTabla(int capacidad) {
+        this.claves = new int[capacidad];
+        this.valores = new Object[capacidad];
+        this.mascara = capacidad - 1;
+        this.bitsHash = Integer.numberOfTrailingZeros(capacidad);
+        this.umbral = (int) (capacidad * FACTOR_CARGA);
+    }
+
+    /*
+    Copia independiente del diccionario en este instante (para snapshots).
+    Complejidad: O(capacidad) - dos copias de arreglos (System.arraycopy).
+    */
+    public IntDiccionario<V> instantanea() {
+        return new IntDiccionario<>(this);
+    }
+
+    /*
+    Posición inicial de la clave: bits altos del producto de Fibonacci.
+    */
+    private int hash(int clave) {
+        return (clave * 0x9E3779B9) >>> (32 - bitsHash);
+    }
+
+    /*
+    Posición de la clave, o -1 si no está (clave != 0).
+    */
+    private int buscarPosicion(int clave) {
+        int i = hash(clave);
+        while (true) {
+            int actual = claves[i];
+            if (actual == clave) return i;
+            if (actual == 0) return -1;
+            i = (i + 1) & mascara;
+        }
+    }
+
+    @Override
+    public void insertar(int clave, V valor) {
+        if (clave == 0) {
+            if (!tieneCero) {
+                tieneCero = true;
+                cantidad++;
+            }
+            valorCero = valor;
+            return;
+        }
+        int i = hash(clave);
+        while (true) {
+            int actual = claves[i];
+            if (actual == clave) {
+                valores[i] = valor;  // Clave existente: actualizar
+                return;
+            }
+            if (actual == 0) break;
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++cantidad > umbral) {
+            if (claves.length == CAPACIDAD_MAXIMA) {
+                throw new IllegalStateException("IntDiccionario alcanzó la capacidad máxima");
+            }
+            redimensionar(claves.length << 1);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V obtener(int clave) {
+        if (clave == 0) return (V) valorCero;
+        int i = buscarPosicion(clave);
+        return i < 0 ? null : (V) valores[i];
+    }
+
+    @Override
+    public boolean contiene(int clave) {
+        if (clave == 0) return tieneCero;
+        return buscarPosicion(clave) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V eliminar(int clave) {
+        if (clave == 0) {
+            if (!tieneCero) return null;
+            V anterior = (V) valorCero;
+            tieneCero = false;
+            valorCero = null;
+            cantidad--;
+            return anterior;
+        }
+        int hueco = buscarPosicion(clave);
+        if (hueco < 0) return null;
+        V anterior = (V) valores[hueco];
+
+        // Desplazamiento hacia atrás: mover al hueco cada clave del grupo que
+        // no quedaría alcanzable desde su posición inicial si el hueco quedara vacío
+        int i = hueco;
+        while (true) {
+            i = (i + 1) & mascara;
+            int actual = claves[i];
+            if (actual == 0) break;
+            int inicial = hash(actual);
+            // ¿inicial está fuera del tramo circular (hueco, i]? => se puede mover
+            if (((i - inicial) & mascara) >= ((i - hueco) & mascara)) {
+                claves[hueco] = actual;
+                valores[hueco] = valores[i];
+                hueco = i;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = null;
+        cantidad--;
+        return anterior;
+    }
+
+    /*
+    Reubica todas las claves en una tabla de la capacidad indicada.
+    Complejidad: O(capacidad).
+    */
+    private void redimensionar(int nuevaCapacidad) {
+        int[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        inicializarTabla(nuevaCapacidad);
+        for (int j = 0; j < viejasClaves.length; j++) {
+            int clave = viejasClaves[j];
+            if (clave == 0) continue;
+            int i = hash(clave);
+            while (claves[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            valores[i] = viejosValores[j];
+        }
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    /*
+    Capacidad actual de la tabla (cantidad de posiciones).
+    */
+    public int getCapacidad() {
+        return claves.length;
+    }
+
+    @Override
+    public int[] obtenerClavesEnteras() {
+        int[] resultado = new int[cantidad];
+        int k = 0;
+        if (tieneCero) resultado[k++] = 0;
+        for (int clave : claves) {
+            if (clave != 0) resultado[k++] = clave;
+        }
+        return resultado;
+    }
+
+    @Override
+    public Object[] obtenerValores() {
+        Object[] resultado = new Object[cantidad];
+        int k = 0;
+        if (tieneCero) resultado[k++] = valorCero;
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != 0) resultado[k++] = valores[i];
+        }
+        return resultado;
+    }
+
+    /*
+    Recorre las posiciones ocupadas en orden de la tabla (la clave 0 primero).
+    Complejidad: O(capacidad), sin reservar memoria.
+    */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void recorrer(ObjIntConsumer<? super V> accion) {
+        if (tieneCero) accion.accept((V) valorCero, 0);
+        int[] c = claves;
+        Object[] v = valores;
+        for (int i = 0; i < c.length; i++) {
+            if (c[i] != 0) accion.accept((V) v[i], c[i]);
+        }
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterarClaves() {
+        return new IteradorClaves();
+    }
+
+    @Override
+    public Spliterator<V> spliteratorValores() {
+        return new SpliteratorValores(0, claves.length, tieneCero, cantidad, true);
+    }
+
+    /*
+    Iterador de claves sobre las posiciones de la tabla (la clave 0 primero).
+    */
+    private final class IteradorClaves implements PrimitiveIterator.OfInt {
+        private final int[] tabla = claves;
+        private boolean pendienteCero = tieneCero;
+        private int posicion = -1;  // Última posición ocupada entregada
+
+        @Override
+        public boolean hasNext() {
+            if (pendienteCero) return true;
+            int i = posicion + 1;
+            while (i < tabla.length && tabla[i] == 0) i++;
+            return i < tabla.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (pendienteCero) {
+                pendienteCero = false;
+                return 0;
+            }
+            int i = posicion + 1;
+            while (i < tabla.length && tabla[i] == 0) i++;
+            if (i >= tabla.length) throw new NoSuchElementException();
+            posicion = i;
+            return tabla[i];
+        }
+    }
+
+    /*
+    Spliterator de valores sobre el tramo [desde, hasta) de la tabla. Se divide
+    por la mitad del tramo: cada parte recorre posiciones contiguas y se
+    deja de dividir en tramos de POSICIONES_MINIMAS_POR_PARTE.
+    El tamaño es exacto hasta la primera división; después, estimado.
+    */
+    private final class SpliteratorValores implements Spliterator<V> {
+        private final int[] tabla = claves;
+        private final Object[] datos = valores;
+        private int desde;
+        private final int hasta;
+        private boolean incluyeCero;
+        private long estimado;
+        private boolean exacto;
+
+        SpliteratorValores(int desde, int hasta, boolean incluyeCero, long estimado, boolean exacto) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.incluyeCero = incluyeCero;
+            this.estimado = estimado;
+            this.exacto = exacto;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super V> accion) {
+            if (incluyeCero) {
+                incluyeCero = false;
+                accion.accept((V) valorCero);
+                return true;
+            }
+            while (desde < hasta) {
+                int i = desde++;
+                if (tabla[i] != 0) {
+                    accion.accept((V) datos[i]);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super V> accion) {
+            if (incluyeCero) {
+                incluyeCero = false;
+                accion.accept((V) valorCero);
+            }
+            for (int i = desde; i < hasta; i++) {
+                if (tabla[i] != 0) accion.accept((V) datos[i]);
+            }
+            desde = hasta;
+        }
+
+        @Override
+        public Spliterator<V> trySplit() {
+            int medio = (desde + hasta) >>> 1;
+            if (medio - desde < POSICIONES_MINIMAS_POR_PARTE) return null;
+            estimado >>>= 1;
+            exacto = false;
+            SpliteratorValores primera = new SpliteratorValores(desde, medio, incluyeCero, estimado, false);
+            desde = medio;
+            incluyeCero = false;
+            return primera;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimado;
+        }
+
+        @Override
+        public int characteristics() {
+            return exacto ? Spliterator.SIZED : 0;
+        }
+    }
+
+    /*
+    Vista IDiccionario<Integer, V> sobre este diccionario (sin copiar datos).
+    Las claves se convierten en la frontera; una clave null se trata como inexistente.
+    */
+    public IDiccionario<Integer, V> comoDiccionario() {
+        return new VistaGenerica();
+    }
+
+    /*
+    Adaptador a la interfaz genérica (boxing solo en la frontera).
+    */
+    private class VistaGenerica implements IDiccionario<Integer, V> {
+
+        @Override
+        public void insertar(Integer clave, V valor) {
+            if (clave == null) {
+                throw new IllegalArgumentException("La clave no puede ser null");
+            }
+            IntDiccionario.this.insertar(clave.intValue(), valor);
+        }
+
+        @Override
+        public V obtener(Integer clave) {
+            return clave == null ? null : IntDiccionario.this.obtener(clave.intValue());
+        }
+
+        @Override
+        public boolean contiene(Integer clave) {
+            return clave != null && IntDiccionario.this.contiene(clave.intValue());
+        }
+
+        @Override
+        public V eliminar(Integer clave) {
+            return clave == null ? null : IntDiccionario.this.eliminar(clave.intValue());
+        }
+
+        @Override
+        public int getCantidad() {
+            return cantidad;
+        }
+
+        @Override
+        public boolean estaVacio() {
+            return cantidad == 0;
+        }
+
+        @Override
+        public String[] obtenerClaves() {
+            int[] enteras = obtenerClavesEnteras();
+            String[] resultado = new String[enteras.length];
+            for (int i = 0; i < enteras.length; i++) {
+                resultado[i] = String.valueOf(enteras[i]);
+            }
+            return resultado;
+        }
+
+        @Override
+        public Object[] obtenerValores() {
+            return IntDiccionario.this.obtenerValores();
+        }
+
+        @Override
+        public void recorrer(BiConsumer<? super Integer, ? super V> accion) {
+            IntDiccionario.this.recorrer((valor, clave) -> accion.accept(clave, valor));
+        }
+
+        @Override
+        public Iterator<Integer> iterarClaves() {
+            return IntDiccionario.this.iterarClaves();
+        }
+
+        @Override
+        public Spliterator<V> spliteratorValores() {
+            return IntDiccionario.this.spliteratorValores();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package tda;
+
+/*
+TDA Diccionario int -> long, ambos primitivos, por direccionamiento abierto.
+
+Misma estructura que IntDiccionario (claves int[] con sondeo lineal, hash de
+Fibonacci, eliminación por desplazamiento hacia atrás, clave 0 aparte) pero con
+los valores en un long[]: sin un Long por entrada. Pensado para mapas dispersos
+ID -> manija (posición codificada) en los índices secundarios, donde un arreglo
+indexado por ID reservaría memoria hasta el mayor ID.
+
+Memoria por entrada: (4 + 8) / FACTOR_CARGA bytes (~20 a 40 según la ocupación).
+
+INVARIANTE DE REPRESENTACIÓN:
+- claves.length == valores.length == mascara + 1, potencia de 2
+- claves[i] == 0 => valores[i] == 0
+- Toda clave k != 0 está en el grupo contiguo (sin huecos) que empieza en hash(k)
+- cantidad = posiciones ocupadas + (tieneCero ? 1 : 0)
+- cantidad <= umbral < capacidad
+
+Complejidad: O(1) esperado para insertar/buscar/eliminar.
+*/
+public class IntDiccionarioLargo {
+
+    /* Constantes */
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final float FACTOR_CARGA = 0.6f;
+    private static final int CAPACIDAD_MAXIMA = 1 << 30;
+
+    /* Atributos */
+    private int[] claves;
+    private long[] valores;
+    private int mascara;
+    private int bitsHash;
+    private int cantidad;
+    private int umbral;
+    private boolean tieneCero;
+    private long valorCero;
+
+    public IntDiccionarioLargo() {
+        inicializarTabla(CAPACIDAD_INICIAL);
+    }
+
+    private void inicializarTabla(int capacidad) {
+        this.claves = new int[capacidad];
+        this.valores = new long[capacidad];
+        this.mascara = capacidad - 1;
+        this.bitsHash = Integer.numberOfTrailingZeros(capacidad);
+        this.umbral = (int) (capacidad * FACTOR_CARGA);
+    }
+
+    private int hash(int clave) {
+        return (clave * 0x9E3779B9) >>> (32 - bitsHash);
+    }
+
+    /*
+    Posición de la clave, o -1 si no está (clave != 0).
+    */
+    private int buscarPosicion(int clave) {
+        int i = hash(clave);
+        while (true) {
+            int actual = claves[i];
+            if (actual == clave) return i;
+            if (actual == 0) return -1;
+            i = (i + 1) & mascara;
+        }
+    }
+
+    /*
+    Inserta o actualiza el valor de la clave.
+    */
+    public void insertar(int clave, long valor) {
+        if (clave == 0) {
+            if (!tieneCero) {
+                tieneCero = true;
+                cantidad++;
+            }
+            valorCero = valor;
+            return;
+        }
+        int i = hash(clave);
+        while (true) {
+            int actual = claves[i];
+            if (actual == clave) {
+                valores[i] = valor;  // Clave existente: actualizar
+                return;
+            }
+            if (actual == 0) break;
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++cantidad > umbral) {
+            if (claves.length == CAPACIDAD_MAXIMA) {
+                throw new IllegalStateException("IntDiccionarioLargo alcanzó la capacidad máxima");
+            }
+            redimensionar(claves.length << 1);
+        }
+    }
+
+    /*
+    Valor de la clave, o porDefecto si no está.
+    */
+    public long obtener(int clave, long porDefecto) {
+        if (clave == 0) return tieneCero ? valorCero : porDefecto;
+        int i = buscarPosicion(clave);
+        return i < 0 ? porDefecto : valores[i];
+    }
+
+    public boolean contiene(int clave) {
+        if (clave == 0) return tieneCero;
+        return buscarPosicion(clave) >= 0;
+    }
+
+    /*
+    Elimina la clave. Retorna true si estaba.
+    */
+    public boolean eliminar(int clave) {
+        if (clave == 0) {
+            if (!tieneCero) return false;
+            tieneCero = false;
+            valorCero = 0;
+            cantidad--;
+            return true;
+        }
+        int hueco = buscarPosicion(clave);
+        if (hueco < 0) return false;
+
+        // Desplazamiento hacia atrás (ver IntDiccionario.eliminar)
+        int i = hueco;
+        while (true) {
+            i = (i + 1) & mascara;
+            int actual = claves[i];
+            if (actual == 0) break;
+            int inicial = hash(actual);
+            if (((i - inicial) & mascara) >= ((i - hueco) & mascara)) {
+                claves[hueco] = actual;
+                valores[hueco] = valores[i];
+                hueco = i;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = 0;
+        cantidad--;
+        return true;
+    }
+
+    /*
+    Reubica todas las claves en una tabla de la capacidad indicada.
+    Complejidad: O(capacidad).
+    */
+    private void redimensionar(int nuevaCapacidad) {
+        int[] viejasClaves = claves;
+        long[] viejosValores = valores;
+        inicializarTabla(nuevaCapacidad);
+        for (int j = 0; j < viejasClaves.length; j++) {
+            int clave = viejasClaves[j];
+            if (clave == 0) continue;
+            int i = hash(clave);
+            while (claves[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            valores[i] = viejosValores[j];
+        }
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+}
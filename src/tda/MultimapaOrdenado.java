@@ -0,0 +1,338 @@
+package tda;
+
+import interfaces.IArbolBinarioBusqueda;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/*
+TDA Multimapa ordenado - índice secundario para claves con muchos duplicados.
+
+Estructura:
+- Un ArbolAVL con UN nodo por clave distinta; su valor es una Cubeta.
+- Cada Cubeta guarda los valores de esa clave en un arreglo compacto que crece
+  por duplicación (contiguo: buscar copia un bloque de memoria).
+- manijas: IntDiccionarioLargo id(valor) -> (número de cubeta, posición en la cubeta),
+  donde id es un entero >= 0 que identifica al valor (para clientes, su ID).
+  Al ser un mapa disperso, un ID grande no reserva memoria para los menores.
+  Con la manija, eliminar no busca: va directo a la posición y tapa el hueco
+  con el último valor de la cubeta.
+- Los números de cubetas liberadas se reutilizan (pila de libres).
+- El árbol es ponderado: cada nodo pesa la cantidad de valores de su cubeta,
+  así contarMenores / seleccionar / contarEnRango cuentan valores y no claves.
+
+Con 1M clientes y 101 scorings: 101 nodos de árbol (en lugar de 1M) y ~36 bytes
+por valor (referencia en la cubeta + entrada int/long del mapa de manijas).
+
+El orden de los valores dentro de una cubeta no es el de inserción: la
+eliminación mueve el último valor al hueco.
+
+INVARIANTE DE REPRESENTACIÓN:
+- Cada clave del árbol tiene exactamente una Cubeta, con cantidad > 0
+- cubetas[c.numero] == c para toda cubeta del árbol; cubetas[n] == null para n libre
+- Para todo valor v presente: manijas.obtener(id(v)) codifica (c, p) con c.valores[p] == v
+- manijas.contiene(i) <=> hay un valor con id i
+- cantidad == suma de las cantidades de las cubetas
+- El tamaño de cada nodo del árbol es la suma de las cantidades de su subárbol
+
+COMPLEJIDAD TEMPORAL (D = claves distintas):
+- Insertar: O(log D)
+- Buscar: O(log D + k) con copia secuencial
+- Eliminar: O(log D): la manija ubica el valor en O(1); el resto es actualizar
+  los tamaños del camino hasta la clave (~7 nodos para 101 scorings)
+- Rango: O(log D) + O(1) por valor, recorriendo cada cubeta en bloque
+- contarMenores / seleccionar / contarEnRango: O(log D)
+
+SOLID: DIP - Implementa interfaz IArbolBinarioBusqueda
+SOLID: LSP - Sustituye a ArbolAVL como índice cuando los valores tienen ID
+*/
+public class MultimapaOrdenado<K extends Comparable<K>, V> implements IArbolBinarioBusqueda<K, V> {
+
+    /* Constantes */
+    private static final int CAPACIDAD_CUBETA = 4;
+    private static final long SIN_MANIJA = -1L;  // Las manijas válidas son >= 0
+
+    /* Atributos */
+    private final ArbolAVL<K, Cubeta<K>> arbol;
+    private final ToIntFunction<V> identificador;
+    private Cubeta<K>[] cubetas;
+    private int cubetasUsadas;
+    private final Pila<Integer> cubetasLibres;
+    private final IntDiccionarioLargo manijas;
+    private int cantidad;
+
+    /*
+    Valores de una misma clave en un arreglo compacto.
+    */
+    private static final class Cubeta<K> {
+        final K clave;
+        final int numero;
+        Object[] valores;
+        int cantidad;
+
+        Cubeta(K clave, int numero) {
+            this.clave = clave;
+            this.numero = numero;
+            this.valores = new Object[CAPACIDAD_CUBETA];
+        }
+    }
+
+    /*
+    Constructor. identificador asigna a cada valor un entero >= 0 único
+    (clave de su manija), como los IDs de cliente.
+    */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MultimapaOrdenado(ToIntFunction<V> identificador) {
+        if (identificador == null) {
+            throw new IllegalArgumentException("El identificador no puede ser null");
+        }
+        this.identificador = identificador;
+        this.arbol = new ArbolAVL<>(cubeta -> cubeta.cantidad);
+        this.cubetas = (Cubeta<K>[]) new Cubeta[16];
+        this.cubetasLibres = new Pila<>();
+        this.manijas = new IntDiccionarioLargo();
+    }
+
+    private int idDe(V valor) {
+        int id = identificador.applyAsInt(valor);
+        if (id < 0) {
+            throw new IllegalArgumentException("El identificador debe ser >= 0");
+        }
+        return id;
+    }
+
+    private static long codificar(int numeroCubeta, int posicion) {
+        return ((long) numeroCubeta << 32) | (posicion & 0xFFFFFFFFL);
+    }
+
+    private Cubeta<K> nuevaCubeta(K clave) {
+        int numero;
+        if (!cubetasLibres.estaVacia()) {
+            numero = cubetasLibres.desapilar();
+        } else {
+            if (cubetasUsadas == cubetas.length) {
+                cubetas = java.util.Arrays.copyOf(cubetas, cubetas.length * 2);
+            }
+            numero = cubetasUsadas++;
+        }
+        Cubeta<K> cubeta = new Cubeta<>(clave, numero);
+        cubetas[numero] = cubeta;
+        arbol.insertar(clave, cubeta);
+        return cubeta;
+    }
+
+    /*
+    Inserta un par clave-valor. Si el valor (por su identificador) ya estaba
+    con otra clave, se mueve a la nueva.
+    */
+    @Override
+    public void insertar(K clave, V valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("La clave no puede ser null");
+        }
+        int id = idDe(valor);
+        long previa = manijas.obtener(id, SIN_MANIJA);
+        if (previa != SIN_MANIJA) {
+            quitar(id, previa);
+        }
+        Cubeta<K> cubeta = arbol.obtenerPrimero(clave);
+        if (cubeta == null) {
+            cubeta = nuevaCubeta(clave);
+        }
+        if (cubeta.cantidad == cubeta.valores.length) {
+            cubeta.valores = java.util.Arrays.copyOf(cubeta.valores, cubeta.cantidad * 2);
+        }
+        cubeta.valores[cubeta.cantidad] = valor;
+        manijas.insertar(id, codificar(cubeta.numero, cubeta.cantidad));
+        cubeta.cantidad++;
+        cantidad++;
+        arbol.actualizarPeso(clave);
+    }
+
+    /*
+    Busca todos los valores asociados a una clave.
+    Complejidad: O(log D + k), k copiados en bloque.
+    */
+    @Override
+    public Object[] buscar(K clave) {
+        Cubeta<K> cubeta = clave == null ? null : arbol.obtenerPrimero(clave);
+        if (cubeta == null) {
+            return new Object[0];
+        }
+        return java.util.Arrays.copyOf(cubeta.valores, cubeta.cantidad);
+    }
+
+    /*
+    Cantidad de valores con la clave, sin copiarlos. Complejidad: O(log D).
+    */
+    public int contar(K clave) {
+        Cubeta<K> cubeta = clave == null ? null : arbol.obtenerPrimero(clave);
+        return cubeta == null ? 0 : cubeta.cantidad;
+    }
+
+    /*
+    Elimina un valor específico asociado a una clave.
+    Complejidad: O(log D) (ubicación O(1) vía manija).
+    */
+    @Override
+    public boolean eliminar(K clave, V valor) {
+        if (clave == null || valor == null) {
+            return false;
+        }
+        int id = idDe(valor);
+        long manija = manijas.obtener(id, SIN_MANIJA);
+        if (manija == SIN_MANIJA) {
+            return false;
+        }
+        Cubeta<K> cubeta = cubetas[(int) (manija >>> 32)];
+        if (clave.compareTo(cubeta.clave) != 0) {
+            return false;  // El valor está, pero con otra clave
+        }
+        quitar(id, manija);
+        return true;
+    }
+
+    /*
+    Quita el valor con el identificador dado, tapando el hueco con el último de su cubeta.
+    */
+    private void quitar(int id, long manija) {
+        Cubeta<K> cubeta = cubetas[(int) (manija >>> 32)];
+        int posicion = (int) manija;
+        int ultima = cubeta.cantidad - 1;
+        if (posicion != ultima) {
+            @SuppressWarnings("unchecked")
+            V movido = (V) cubeta.valores[ultima];
+            cubeta.valores[posicion] = movido;
+            manijas.insertar(idDe(movido), codificar(cubeta.numero, posicion));
+        }
+        cubeta.valores[ultima] = null;
+        cubeta.cantidad--;
+        manijas.eliminar(id);
+        cantidad--;
+
+        if (cubeta.cantidad == 0) {
+            arbol.eliminar(cubeta.clave, cubeta);
+            cubetas[cubeta.numero] = null;
+            cubetasLibres.apilar(cubeta.numero);
+        } else {
+            arbol.actualizarPeso(cubeta.clave);
+        }
+    }
+
+    /*
+    Cantidad de claves distintas (nodos del árbol).
+    */
+    public int getCantidadClaves() {
+        return arbol.getCantidad();
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /*
+    Valores de todas las claves ubicadas en el nivel N del árbol de claves distintas.
+    */
+    @Override
+    public Object[] obtenerEnNivel(int nivel) {
+        Object[] enNivel = arbol.obtenerEnNivel(nivel);
+        int total = 0;
+        for (Object obj : enNivel) total += ((Cubeta<?>) obj).cantidad;
+        Object[] resultado = new Object[total];
+        int k = 0;
+        for (Object obj : enNivel) {
+            Cubeta<?> cubeta = (Cubeta<?>) obj;
+            System.arraycopy(cubeta.valores, 0, resultado, k, cubeta.cantidad);
+            k += cubeta.cantidad;
+        }
+        return resultado;
+    }
+
+    @Override
+    public Iterator<V> iterarRango(K desde, K hasta) {
+        return new IteradorCubetas(arbol.iterarRango(desde, hasta));
+    }
+
+    @Override
+    public Iterator<V> iterarRangoDescendente(K desde, K hasta) {
+        return new IteradorCubetas(arbol.iterarRangoDescendente(desde, hasta));
+    }
+
+    @Override
+    public K piso(K clave) {
+        return arbol.piso(clave);
+    }
+
+    @Override
+    public K techo(K clave) {
+        return arbol.techo(clave);
+    }
+
+    @Override
+    public int contarMenores(K clave) {
+        return arbol.contarMenores(clave);
+    }
+
+    @Override
+    public int contarEnRango(K desde, K hasta) {
+        return arbol.contarEnRango(desde, hasta);
+    }
+
+    /*
+    Valor en la posición indicada del orden por clave; dentro de una misma
+    clave, el orden es el de la cubeta.
+    */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V seleccionar(int posicion) {
+        int[] desplazamiento = new int[1];
+        NodoAVL<K, Cubeta<K>> nodo = arbol.seleccionarNodo(posicion, desplazamiento);
+        return nodo == null ? null : (V) nodo.getValor().valores[desplazamiento[0]];
+    }
+
+    /*
+    Aplana las cubetas que entrega el iterador del árbol, valor por valor.
+    */
+    private final class IteradorCubetas implements Iterator<V> {
+        private final Iterator<Cubeta<K>> cubetasEnRango;
+        private Cubeta<K> actual;
+        private int posicion;
+
+        IteradorCubetas(Iterator<Cubeta<K>> cubetasEnRango) {
+            this.cubetasEnRango = cubetasEnRango;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (actual == null || posicion >= actual.cantidad) {
+                if (!cubetasEnRango.hasNext()) return false;
+                actual = cubetasEnRango.next();
+                posicion = 0;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (V) actual.valores[posicion++];
+        }
+    }
+
+    /*
+    Altura del árbol de claves distintas. Complejidad: O(1).
+    */
+    @Override
+    public int getAltura() {
+        return arbol.getAltura();
+    }
+}
@@ -22,12 +22,14 @@ public class NodoABB<K extends Comparable<K>, V> {
     
     private NodoABB<K, V> izquierdo;
     private NodoABB<K, V> derecho;
+    private int tamanio;  // Nodos del subárbol con raíz en este nodo
 
     public NodoABB(K clave, V valor) {
         this.clave = clave;
         this.valor = valor;
         this.izquierdo = null;
         this.derecho = null;
+        this.tamanio = 1;
     }
 
     public K getClave() {
@@ -42,6 +44,17 @@ public class NodoABB<K extends Comparable<K>, V> {
         this.valor = valor;
     }
 
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /*
+    Recalcula el tamaño del subárbol a partir de los hijos.
+    */
+    public void actualizarTamanio() {
+        this.tamanio = 1 + (izquierdo == null ? 0 : izquierdo.tamanio) + (derecho == null ? 0 : derecho.tamanio);
+    }
+
     public NodoABB<K, V> getIzquierdo() {
         return izquierdo;
     }
@@ -0,0 +1,81 @@
+package tda;
+
+/*
+Nodo para el Árbol AVL.
+Además de clave y valor guarda:
+- secuencia: número de inserción, desempata claves iguales (orden total)
+- altura: altura del subárbol con raíz en este nodo (hoja = 1)
+- tamanio: suma de los pesos del subárbol (peso 1 por nodo salvo que el árbol
+  defina otro, ver ArbolAVL)
+*/
+public class NodoAVL<K extends Comparable<K>, V> {
+    private K clave;
+    private V valor;
+    private long secuencia;
+    private int altura;
+    private int tamanio;
+    private NodoAVL<K, V> izquierdo;
+    private NodoAVL<K, V> derecho;
+
+    public NodoAVL(K clave, V valor, long secuencia) {
+        this.clave = clave;
+        this.valor = valor;
+        this.secuencia = secuencia;
+        this.altura = 1;
+        this.tamanio = 1;
+    }
+
+    public K getClave() {
+        return clave;
+    }
+
+    public V getValor() {
+        return valor;
+    }
+
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /*
+    Copia el contenido (clave, valor y secuencia) de otro nodo.
+    Usado al eliminar un nodo con dos hijos (se reemplaza por su sucesor).
+    */
+    void copiarContenido(NodoAVL<K, V> otro) {
+        this.clave = otro.clave;
+        this.valor = otro.valor;
+        this.secuencia = otro.secuencia;
+    }
+
+    public int getAltura() {
+        return altura;
+    }
+
+    void setAltura(int altura) {
+        this.altura = altura;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    void setTamanio(int tamanio) {
+        this.tamanio = tamanio;
+    }
+
+    public NodoAVL<K, V> getIzquierdo() {
+        return izquierdo;
+    }
+
+    void setIzquierdo(NodoAVL<K, V> izquierdo) {
+        this.izquierdo = izquierdo;
+    }
+
+    public NodoAVL<K, V> getDerecho() {
+        return derecho;
+    }
+
+    void setDerecho(NodoAVL<K, V> derecho) {
+        this.derecho = derecho;
+    }
+}
@@ -3,6 +3,8 @@ package tda;
 /*
 Nodo para la estructura de Diccionario.
 Almacena un par clave-valor genérico y referencia al siguiente nodo.
+La época indica en qué versión del diccionario se creó el nodo: solo el
+diccionario dueño de esa época puede modificarlo (ver Diccionario.instantanea).
  */
 public class NodoDiccionario<K, V> {
     
@@ -10,14 +12,23 @@ public class NodoDiccionario<K, V> {
     private K clave;
     private V valor;
     private NodoDiccionario<K, V> siguiente;
+    private final long epoca;
 
     /*
     Constructor que inicializa el nodo con una clave y valor.
     */
     public NodoDiccionario(K clave, V valor) {
+        this(clave, valor, 0);
+    }
+
+    /*
+    Constructor con época de creación explícita.
+    */
+    public NodoDiccionario(K clave, V valor, long epoca) {
         this.clave = clave;
         this.valor = valor;
         this.siguiente = null;
+        this.epoca = epoca;
     }
 
     public K getClave() {
@@ -39,4 +50,8 @@ public class NodoDiccionario<K, V> {
     public void setSiguiente(NodoDiccionario<K, V> siguiente) {
         this.siguiente = siguiente;
     }
+
+    public long getEpoca() {
+        return epoca;
+    }
 }
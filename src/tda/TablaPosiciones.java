@@ -0,0 +1,244 @@
+package tda;
+
+import interfaces.ITablaPosiciones;
+
+/*
+TDA Tabla de posiciones - ranking de IDs por puntaje que cambia de a +-1
+(cantidad de seguidores: cada seguir / dejar de seguir mueve un puesto).
+
+Cada ID ocupa una ranura densa 0..cantidad-1, asignada en un mapa disperso
+(IntDiccionarioLargo id -> ranura): un ID grande no reserva memoria para los
+menores. Los arreglos se indexan por ranura y solo se consulta el mapa una vez
+por operación; los intercambios del ranking no lo tocan.
+
+Estructura (lista de grupos por puntaje sobre un único arreglo):
+- orden[0..cantidad): ranuras ordenadas por puntaje descendente; las de igual
+  puntaje forman un grupo contiguo.
+- mayoresQue[p]: cantidad de IDs con puntaje > p, es decir, dónde empieza el
+  grupo de puntaje p. El grupo p ocupa [mayoresQue[p], mayoresQue[p - 1]),
+  con mayoresQue[-1] = cantidad.
+- Por ranura r: ids[r], posiciones[r] (índice en orden) y puntajes[r].
+
+Subir un puesto de puntaje: se intercambia la ranura con la primera de su grupo
+y se corre el borde del grupo (mayoresQue[p]++). Bajar es simétrico con la
+última. Así el top N es directamente el prefijo de orden. Al eliminar, la
+última ranura pasa a ocupar la liberada para mantenerlas densas.
+
+INVARIANTE DE REPRESENTACIÓN:
+- ranuras.obtener(ids[r]) == r para todo r < cantidad; ranuras.getCantidad() == cantidad
+- orden[0..cantidad) es una permutación de 0..cantidad-1 y posiciones[orden[i]] == i
+- puntajes[orden[i]] >= puntajes[orden[i + 1]] para todo i
+- mayoresQue[p] == |{ i : puntajes[orden[i]] > p }| para todo p
+- puntajes[r] >= 0
+
+COMPLEJIDAD TEMPORAL:
+- Incrementar / decrementar (actualizar con diferencia 1): O(1)
+- Actualizar en general: O(|diferencia|)
+- Eliminar: O(puntaje) (baja al grupo 0, al final del arreglo)
+- Reconstruir: O(N + puntaje máximo) con counting sort
+- Top N: O(N_top); puesto: O(1)
+
+SOLID: DIP - Implementa interfaz ITablaPosiciones
+*/
+public class TablaPosiciones implements ITablaPosiciones {
+
+    /* Constantes */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Atributos */
+    private IntDiccionarioLargo ranuras;
+    private int[] orden;
+    private int[] ids;
+    private int[] posiciones;
+    private int[] puntajes;
+    private int[] mayoresQue;
+    private int cantidad;
+
+    /*
+    Constructor que inicializa la tabla vacía.
+    */
+    public TablaPosiciones() {
+        this.ranuras = new IntDiccionarioLargo();
+        this.orden = new int[CAPACIDAD_INICIAL];
+        this.ids = new int[CAPACIDAD_INICIAL];
+        this.posiciones = new int[CAPACIDAD_INICIAL];
+        this.puntajes = new int[CAPACIDAD_INICIAL];
+        this.mayoresQue = new int[CAPACIDAD_INICIAL];
+        this.cantidad = 0;
+    }
+
+    /*
+    Reemplaza el contenido por los pares (ids[i], puntajes[i]) en una pasada.
+    Complejidad: O(N + puntaje máximo).
+    */
+    public void reconstruir(int[] idsIniciales, int[] puntajesIniciales) {
+        if (idsIniciales.length != puntajesIniciales.length) {
+            throw new IllegalArgumentException("ids y puntajes deben tener el mismo largo");
+        }
+        int maximoPuntaje = 0;
+        for (int i = 0; i < idsIniciales.length; i++) {
+            if (idsIniciales[i] < 0 || puntajesIniciales[i] < 0) {
+                throw new IllegalArgumentException("IDs y puntajes deben ser >= 0");
+            }
+            maximoPuntaje = Math.max(maximoPuntaje, puntajesIniciales[i]);
+        }
+        int capacidad = Math.max(CAPACIDAD_INICIAL, idsIniciales.length);
+        this.ranuras = new IntDiccionarioLargo();
+        this.orden = new int[capacidad];
+        this.ids = new int[capacidad];
+        this.posiciones = new int[capacidad];
+        this.puntajes = new int[capacidad];
+        this.mayoresQue = new int[Math.max(CAPACIDAD_INICIAL, maximoPuntaje + 2)];
+
+        // Asignación de ranuras (IDs repetidos: vale el primero)
+        int[] porPuntaje = new int[maximoPuntaje + 1];
+        int n = 0;
+        for (int i = 0; i < idsIniciales.length; i++) {
+            if (ranuras.contiene(idsIniciales[i])) continue;
+            ranuras.insertar(idsIniciales[i], n);
+            ids[n] = idsIniciales[i];
+            puntajes[n] = puntajesIniciales[i];
+            porPuntaje[puntajesIniciales[i]]++;
+            n++;
+        }
+
+        // Counting sort descendente: mayoresQue[p] = cuántos tienen puntaje > p
+        int acumulado = 0;
+        for (int p = maximoPuntaje; p >= 0; p--) {
+            mayoresQue[p] = acumulado;
+            acumulado += porPuntaje[p];
+        }
+        int[] siguiente = new int[maximoPuntaje + 1];
+        for (int p = 0; p <= maximoPuntaje; p++) siguiente[p] = mayoresQue[p];
+        for (int r = 0; r < n; r++) {
+            int indice = siguiente[puntajes[r]]++;
+            orden[indice] = r;
+            posiciones[r] = indice;
+        }
+        this.cantidad = n;
+    }
+
+    /*
+    Ranura del ID, o -1 si no está.
+    */
+    private int ranuraDe(int id) {
+        return (int) ranuras.obtener(id, -1L);
+    }
+
+    @Override
+    public void actualizar(int id, int puntaje) {
+        if (id < 0 || puntaje < 0) {
+            throw new IllegalArgumentException("ID y puntaje deben ser >= 0");
+        }
+        int ranura = ranuraDe(id);
+        if (ranura < 0) {
+            ranura = agregarConCero(id);
+        }
+        while (puntajes[ranura] < puntaje) incrementar(ranura);
+        while (puntajes[ranura] > puntaje) decrementar(ranura);
+    }
+
+    /*
+    Agrega el ID al final (grupo de puntaje 0) en una ranura nueva y la retorna.
+    */
+    private int agregarConCero(int id) {
+        if (cantidad == orden.length) {
+            int capacidad = orden.length * 2;
+            orden = java.util.Arrays.copyOf(orden, capacidad);
+            ids = java.util.Arrays.copyOf(ids, capacidad);
+            posiciones = java.util.Arrays.copyOf(posiciones, capacidad);
+            puntajes = java.util.Arrays.copyOf(puntajes, capacidad);
+        }
+        int ranura = cantidad;
+        ranuras.insertar(id, ranura);
+        ids[ranura] = id;
+        orden[cantidad] = ranura;
+        posiciones[ranura] = cantidad;
+        puntajes[ranura] = 0;
+        cantidad++;
+        return ranura;
+    }
+
+    /*
+    Sube la ranura al grupo de puntaje p + 1. Complejidad: O(1) amortizado.
+    */
+    private void incrementar(int ranura) {
+        int p = puntajes[ranura];
+        if (p + 2 > mayoresQue.length) {
+            mayoresQue = java.util.Arrays.copyOf(mayoresQue, Math.max(p + 2, mayoresQue.length * 2));
+        }
+        intercambiar(posiciones[ranura], mayoresQue[p]);  // Primera de su grupo
+        mayoresQue[p]++;
+        puntajes[ranura] = p + 1;
+    }
+
+    /*
+    Baja la ranura al grupo de puntaje p - 1 (p > 0). Complejidad: O(1).
+    */
+    private void decrementar(int ranura) {
+        int p = puntajes[ranura];
+        intercambiar(posiciones[ranura], mayoresQue[p - 1] - 1);  // Última de su grupo
+        mayoresQue[p - 1]--;
+        puntajes[ranura] = p - 1;
+    }
+
+    private void intercambiar(int i, int j) {
+        if (i == j) return;
+        int a = orden[i], b = orden[j];
+        orden[i] = b;
+        orden[j] = a;
+        posiciones[b] = i;
+        posiciones[a] = j;
+    }
+
+    @Override
+    public boolean eliminar(int id) {
+        int ranura = ranuraDe(id);
+        if (ranura < 0) return false;
+        while (puntajes[ranura] > 0) decrementar(ranura);
+        intercambiar(posiciones[ranura], cantidad - 1);  // El grupo 0 está al final
+        cantidad--;
+
+        // La última ranura pasa a ocupar la liberada
+        if (ranura != cantidad) {
+            ids[ranura] = ids[cantidad];
+            puntajes[ranura] = puntajes[cantidad];
+            posiciones[ranura] = posiciones[cantidad];
+            orden[posiciones[ranura]] = ranura;
+            ranuras.insertar(ids[ranura], ranura);
+        }
+        ranuras.eliminar(id);
+        return true;
+    }
+
+    @Override
+    public boolean contiene(int id) {
+        return ranuras.contiene(id);
+    }
+
+    @Override
+    public int getPuntaje(int id) {
+        int ranura = ranuraDe(id);
+        return ranura < 0 ? -1 : puntajes[ranura];
+    }
+
+    @Override
+    public int getPuesto(int id) {
+        int ranura = ranuraDe(id);
+        return ranura < 0 ? -1 : mayoresQue[puntajes[ranura]] + 1;
+    }
+
+    @Override
+    public int[] obtenerTop(int n) {
+        int[] top = new int[Math.max(0, Math.min(n, cantidad))];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = ids[orden[i]];
+        }
+        return top;
+    }
+
+    @Override
+    public int getCantidad() {
+        return cantidad;
+    }
+}
@@ -0,0 +1,103 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+Cerrojo lectores/escritor repartido en franjas (lock striping del lado lector).
+
+Con un único ReentrantReadWriteLock cada lectura hace un CAS sobre el mismo
+contador: con varios núcleos esa línea de caché rebota entre ellos y las
+lecturas dejan de escalar aunque nunca esperen. Aquí cada hilo queda asignado a
+una franja (round-robin, la primera vez que entra) y el modo compartido toma
+solo el cerrojo de lectura de su franja; hilos en franjas distintas no tocan
+memoria común. El modo exclusivo toma el cerrojo de escritura de todas las
+franjas en orden creciente, así que excluye a todos los lectores y a otros
+escritores sin riesgo de interbloqueo.
+
+Reentrante en ambos modos, y quien tiene el exclusivo puede entrar en
+compartido. Lo contrario (pasar de compartido a exclusivo) no se permite:
+dos lectores que lo intentaran a la vez se esperarían mutuamente para siempre.
+
+INVARIANTE DE REPRESENTACIÓN:
+- franjas.length es potencia de 2 entre 1 y FRANJAS_MAXIMAS, mascara = franjas.length - 1
+- franjaDelHilo de cada hilo es siempre la misma franja
+- un hilo con el exclusivo tiene el cerrojo de escritura de todas las franjas
+
+COMPLEJIDAD:
+- entrar / salir compartido: O(1), sin escrituras compartidas entre franjas
+- entrar / salir exclusivo: O(franjas)
+
+SOLID: SRP - solo coordina el acceso; no sabe qué protege
+ */
+public class BloqueoPorFranjas {
+
+    /* Constantes */
+    private static final int FRANJAS_MAXIMAS = 64;
+    private static final int FRANJAS_POR_NUCLEO = 4;
+
+    /* Atributos */
+    private final ReentrantReadWriteLock[] franjas;
+    private final int mascara;
+    private final AtomicInteger proximaFranja = new AtomicInteger();
+    private final ThreadLocal<ReentrantReadWriteLock> franjaDelHilo;
+
+    /*
+    Cuatro franjas por núcleo (con más hilos que franjas, los que comparten
+    franja solo compiten por su contador).
+    */
+    public BloqueoPorFranjas() {
+        this(Runtime.getRuntime().availableProcessors() * FRANJAS_POR_NUCLEO);
+    }
+
+    /*
+    La cantidad se redondea a la potencia de 2 siguiente, entre 1 y FRANJAS_MAXIMAS.
+    */
+    public BloqueoPorFranjas(int cantidadFranjas) {
+        int cantidad = Integer.highestOneBit(Math.max(1, Math.min(cantidadFranjas, FRANJAS_MAXIMAS)) * 2 - 1);
+        this.franjas = new ReentrantReadWriteLock[cantidad];
+        for (int i = 0; i < cantidad; i++) franjas[i] = new ReentrantReadWriteLock();
+        this.mascara = cantidad - 1;
+        this.franjaDelHilo = ThreadLocal.withInitial(
+                () -> franjas[proximaFranja.getAndIncrement() & mascara]);
+    }
+
+    public void entrarCompartido() {
+        franjaDelHilo.get().readLock().lock();
+    }
+
+    public void salirCompartido() {
+        franjaDelHilo.get().readLock().unlock();
+    }
+
+    /*
+    true si el hilo actual está dentro del modo compartido (en cualquier nivel).
+    */
+    public boolean tieneCompartido() {
+        return franjaDelHilo.get().getReadHoldCount() > 0;
+    }
+
+    /*
+    Espera a que salgan todos los lectores y otros escritores.
+    Lanza IllegalStateException si el hilo está en modo compartido sin tener el exclusivo.
+    */
+    public void entrarExclusivo() {
+        ReentrantReadWriteLock propia = franjaDelHilo.get();
+        if (propia.getReadHoldCount() > 0 && !propia.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("No se puede pasar de modo compartido a exclusivo");
+        }
+        for (ReentrantReadWriteLock franja : franjas) franja.writeLock().lock();
+    }
+
+    public void salirExclusivo() {
+        for (int i = franjas.length - 1; i >= 0; i--) franjas[i].writeLock().unlock();
+    }
+
+    public boolean tieneExclusivo() {
+        return franjas[0].isWriteLockedByCurrentThread();
+    }
+
+    public int getCantidadFranjas() {
+        return franjas.length;
+    }
+}
@@ -0,0 +1,55 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+Variante de HistogramaLatencias en la que varios hilos pueden registrar a la
+vez: mismas cubetas, con contadores atómicos. La usa RegistroMetricas en modo
+concurrente, una por operación y por franja, para que la memoria dependa de la
+cantidad de núcleos y no de la de hilos.
+
+Las lecturas (agregarA) no son una foto atómica: con hilos registrando, la
+cantidad y las cubetas pueden diferir en las llamadas en curso.
+
+INVARIANTE DE REPRESENTACIÓN:
+- cuentas.length() == HistogramaLatencias.CUBETAS
+- en reposo, cantidad == suma de cuentas[i]
+
+COMPLEJIDAD:
+- registrar: O(1), sin asignaciones ni bloqueos
+- agregarA / reiniciar: O(CUBETAS)
+ */
+final class HistogramaConcurrente {
+
+    /* Atributos */
+    private final AtomicLongArray cuentas = new AtomicLongArray(HistogramaLatencias.CUBETAS);
+    private final AtomicLong cantidad = new AtomicLong();
+    private final AtomicLong suma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /*
+    Igual que HistogramaLatencias.registrar, thread-safe.
+    */
+    void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cuentas.incrementAndGet(HistogramaLatencias.indice(Math.min(valor, HistogramaLatencias.VALOR_MAXIMO)));
+        cantidad.incrementAndGet();
+        suma.addAndGet(valor);
+        if (valor > maximo.get()) maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    /*
+    Suma este histograma al destino.
+    */
+    void agregarA(HistogramaLatencias destino) {
+        destino.agregar(cuentas, cantidad.get(), suma.get(), maximo.get());
+    }
+
+    void reiniciar() {
+        for (int i = 0; i < cuentas.length(); i++) cuentas.set(i, 0);
+        cantidad.set(0);
+        suma.set(0);
+        maximo.set(0);
+    }
+}
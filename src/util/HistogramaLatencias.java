@@ -0,0 +1,137 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+Histograma de latencias en nanosegundos con cubetas log-lineales (al estilo
+HdrHistogram): cada potencia de dos se divide en SUBCUBETAS cubetas iguales,
+así el error relativo de cualquier percentil es a lo sumo 1 / SUBCUBETAS
+(~3%) desde 1 ns hasta ~2 horas, con un arreglo fijo de ~1.250 contadores.
+
+registrar() no reserva memoria: calcula la cubeta con un par de operaciones
+de bits e incrementa un contador. Los percentiles se leen recorriendo las
+cubetas (O(cubetas)), solo al consultar.
+
+INVARIANTE DE REPRESENTACIÓN:
+- cuentas.length == CUBETAS
+- cantidad == suma de cuentas[i]
+- cantidad == 0 => suma == 0 && maximo == 0
+- todo valor registrado cayó en la cubeta indice(min(valor, VALOR_MAXIMO))
+
+COMPLEJIDAD:
+- registrar: O(1), sin asignaciones
+- percentil: O(CUBETAS)
+- agregar / reiniciar: O(CUBETAS)
+
+GRASP: Information Expert - conoce la distribución de las latencias
+ */
+public class HistogramaLatencias {
+
+    /* Constantes */
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    public static final long VALOR_MAXIMO = (1L << 43) - 1;   // ~2,4 horas en ns
+    static final int CUBETAS = indice(VALOR_MAXIMO) + 1;
+
+    /* Atributos */
+    private final long[] cuentas = new long[CUBETAS];
+    private long cantidad;
+    private long suma;
+    private long maximo;
+
+    /*
+    Cubeta del valor: los menores a SUBCUBETAS son exactos; a partir de ahí,
+    grupo = exponente de la potencia de dos y posición = los BITS_SUBCUBETA
+    bits siguientes al más significativo.
+    */
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) return (int) Math.max(0, valor);
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        return ((desplazamiento + 1) << BITS_SUBCUBETA) + (int) ((valor >>> desplazamiento) - SUBCUBETAS);
+    }
+
+    /*
+    Mayor valor que cae en la cubeta i.
+    */
+    private static long limiteSuperior(int i) {
+        if (i < SUBCUBETAS) return i;
+        int desplazamiento = (i >>> BITS_SUBCUBETA) - 1;
+        long inferior = (long) (SUBCUBETAS + (i & (SUBCUBETAS - 1))) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+
+    /*
+    Registra una latencia. Los valores negativos cuentan como 0 y los mayores
+    a VALOR_MAXIMO caen en la última cubeta (el máximo exacto se conserva).
+    */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cuentas[indice(Math.min(valor, VALOR_MAXIMO))]++;
+        cantidad++;
+        suma += valor;
+        if (valor > maximo) maximo = valor;
+    }
+
+    /*
+    Suma las cuentas de otro histograma a este (para totales).
+    */
+    public void agregar(HistogramaLatencias otro) {
+        for (int i = 0; i < CUBETAS; i++) cuentas[i] += otro.cuentas[i];
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        if (otro.maximo > maximo) maximo = otro.maximo;
+    }
+
+    /*
+    Suma las cuentas de un HistogramaConcurrente (mismas cubetas).
+    */
+    void agregar(AtomicLongArray otras, long otraCantidad, long otraSuma, long otroMaximo) {
+        for (int i = 0; i < CUBETAS; i++) cuentas[i] += otras.get(i);
+        cantidad += otraCantidad;
+        suma += otraSuma;
+        if (otroMaximo > maximo) maximo = otroMaximo;
+    }
+
+    public void reiniciar() {
+        java.util.Arrays.fill(cuentas, 0);
+        cantidad = 0;
+        suma = 0;
+        maximo = 0;
+    }
+
+    /*
+    Valor tal que el p% (0..100) de las latencias es menor o igual: el límite
+    superior de la cubeta que contiene esa posición, acotado por el máximo.
+    Retorna 0 si no hay registros.
+    */
+    public long percentil(double p) {
+        if (p < 0 || p > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+        }
+        if (cantidad == 0) return 0;
+        long posicion = Math.max(1, (long) Math.ceil(p / 100.0 * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= posicion) return Math.min(limiteSuperior(i), maximo);
+        }
+        return maximo;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public double getMedia() {
+        return cantidad == 0 ? 0 : (double) suma / cantidad;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public long getSuma() {
+        return suma;
+    }
+}
@@ -0,0 +1,231 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.LongSupplier;
+
+/*
+Registro de métricas por operación: un HistogramaLatencias por cada valor del
+enum E (la cantidad de llamadas es la cantidad del histograma) más indicadores
+instantáneos (gauges) que se leen al volcar.
+
+Uso en la operación medida:
+    long inicio = System.nanoTime();
+    try { ... } finally { metricas.registrar(Operacion.X, inicio); }
+
+registrar() no reserva memoria (índice por ordinal + contador). Los volcados
+en texto o JSON sí arman cadenas: son para consultar, no para el camino caliente.
+El nombre de cada operación en los volcados es el toString() del enum.
+
+Con activarModoConcurrente() se registra en franjas de histogramas con
+contadores atómicos (HistogramaConcurrente): tantas franjas como la potencia de
+2 >= núcleos, y cada hilo usa la de su ID. Los hilos de franjas distintas no
+comparten contadores y la memoria queda fija (~10 KB por operación y por
+franja, ~4 MB con 8 núcleos y 51 operaciones) aunque pasen miles de hilos. Las
+consultas suman todas las franjas. Mientras otros hilos registran lo
+consultado es aproximado (un contador puede leerse a mitad de una llamada); en
+reposo es exacto.
+
+INVARIANTE DE REPRESENTACIÓN:
+- latencias.length == operaciones.length, latencias[i] corresponde a operaciones[i]
+- franjas != null => franjas.length == mascaraFranjas + 1 (potencia de 2) y
+  franjas[f].length == operaciones.length
+- nombresIndicadores[0..cantidadIndicadores) y fuentes[0..cantidadIndicadores) != null
+- inicioVentana = System.nanoTime() del último reinicio (o de la creación)
+
+GRASP: Pure Fabrication - agrupa la observabilidad fuera de la lógica de negocio
+SOLID: SRP - solo acumula y presenta métricas
+ */
+public class RegistroMetricas<E extends Enum<E>> {
+
+    /* Atributos */
+    private final E[] operaciones;
+    private final HistogramaLatencias[] latencias;
+    private String[] nombresIndicadores = new String[4];
+    private LongSupplier[] fuentes = new LongSupplier[4];
+    private int cantidadIndicadores;
+    private long inicioVentana;
+    
+    /* Modo concurrente: franjas de histogramas atómicos (null = un solo hilo) */
+    private HistogramaConcurrente[][] franjas;
+    private int mascaraFranjas;
+
+    public RegistroMetricas(Class<E> tipo) {
+        this.operaciones = tipo.getEnumConstants();
+        this.latencias = new HistogramaLatencias[operaciones.length];
+        for (int i = 0; i < latencias.length; i++) latencias[i] = new HistogramaLatencias();
+        this.inicioVentana = System.nanoTime();
+    }
+
+    /*
+    Registra una llamada a la operación que empezó en 'inicio' (System.nanoTime()).
+    */
+    public void registrar(E operacion, long inicio) {
+        HistogramaConcurrente[][] actuales = franjas;
+        if (actuales == null) {
+            latencias[operacion.ordinal()].registrar(System.nanoTime() - inicio);
+        } else {
+            int franja = (int) Thread.currentThread().getId() & mascaraFranjas;
+            actuales[franja][operacion.ordinal()].registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /*
+    Pasa a franjas de histogramas atómicos. Debe llamarse antes de registrar
+    desde más de un hilo; lo ya registrado se conserva.
+    */
+    public void activarModoConcurrente() {
+        if (franjas != null) return;
+        int nucleos = Math.max(1, Runtime.getRuntime().availableProcessors());
+        int cantidad = Integer.highestOneBit(nucleos * 2 - 1);  // Potencia de 2 >= núcleos
+        HistogramaConcurrente[][] nuevas = new HistogramaConcurrente[cantidad][operaciones.length];
+        for (HistogramaConcurrente[] franja : nuevas) {
+            for (int i = 0; i < franja.length; i++) franja[i] = new HistogramaConcurrente();
+        }
+        this.mascaraFranjas = cantidad - 1;
+        this.franjas = nuevas;
+    }
+
+    /*
+    Agrega un indicador instantáneo; la fuente se consulta en cada volcado.
+    */
+    public void registrarIndicador(String nombre, LongSupplier fuente) {
+        if (cantidadIndicadores == fuentes.length) {
+            nombresIndicadores = java.util.Arrays.copyOf(nombresIndicadores, cantidadIndicadores * 2);
+            fuentes = java.util.Arrays.copyOf(fuentes, cantidadIndicadores * 2);
+        }
+        nombresIndicadores[cantidadIndicadores] = nombre;
+        fuentes[cantidadIndicadores++] = fuente;
+    }
+
+    /*
+    Histograma de la operación; en modo concurrente, una copia con la suma de
+    todas las franjas.
+    */
+    public HistogramaLatencias getLatencias(E operacion) {
+        return latenciasDe(operacion.ordinal());
+    }
+
+    public long getCantidad(E operacion) {
+        return latenciasDe(operacion.ordinal()).getCantidad();
+    }
+
+    private HistogramaLatencias latenciasDe(int i) {
+        if (franjas == null) return latencias[i];
+        HistogramaLatencias suma = new HistogramaLatencias();
+        suma.agregar(latencias[i]);
+        for (HistogramaConcurrente[] franja : franjas) franja[i].agregarA(suma);
+        return suma;
+    }
+
+    /*
+    Valor actual del indicador, o -1 si no existe.
+    */
+    public long getIndicador(String nombre) {
+        for (int i = 0; i < cantidadIndicadores; i++) {
+            if (nombresIndicadores[i].equals(nombre)) return fuentes[i].getAsLong();
+        }
+        return -1;
+    }
+
+    /*
+    Segundos transcurridos desde el último reinicio.
+    */
+    public double getSegundosVentana() {
+        return (System.nanoTime() - inicioVentana) / 1e9;
+    }
+
+    /*
+    Pone en cero contadores y latencias (los indicadores no se acumulan).
+    */
+    public void reiniciar() {
+        for (HistogramaLatencias h : latencias) h.reiniciar();
+        if (franjas != null) {
+            for (HistogramaConcurrente[] franja : franjas) {
+                for (HistogramaConcurrente h : franja) h.reiniciar();
+            }
+        }
+        inicioVentana = System.nanoTime();
+    }
+
+    /*
+    ══════════════════════════════════════════════════════════
+    VOLCADOS
+    ══════════════════════════════════════════════════════════
+    */
+
+    /*
+    Tabla legible: una fila por operación invocada al menos una vez (latencias
+    en µs) y después los indicadores.
+    */
+    public String volcadoTexto() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Ventana: %.1f s%n", getSegundosVentana()));
+        sb.append(String.format("%-30s %10s %9s %9s %9s %9s %10s%n",
+                "Operación", "llamadas", "media µs", "p50 µs", "p99 µs", "p99.9 µs", "máx µs"));
+        HistogramaLatencias total = new HistogramaLatencias();
+        for (int i = 0; i < operaciones.length; i++) {
+            HistogramaLatencias h = latenciasDe(i);
+            if (h.getCantidad() == 0) continue;
+            total.agregar(h);
+            agregarFila(sb, operaciones[i].toString(), h);
+        }
+        if (total.getCantidad() == 0) {
+            sb.append("(sin operaciones registradas)").append(System.lineSeparator());
+        } else {
+            agregarFila(sb, "TOTAL", total);
+        }
+        sb.append(System.lineSeparator());
+        for (int i = 0; i < cantidadIndicadores; i++) {
+            sb.append(String.format("%-30s %,12d%n", nombresIndicadores[i], fuentes[i].getAsLong()));
+        }
+        return sb.toString();
+    }
+
+    private static void agregarFila(StringBuilder sb, String nombre, HistogramaLatencias h) {
+        sb.append(String.format("%-30s %,10d %9.2f %9.2f %9.2f %9.2f %,10.1f%n",
+                nombre, h.getCantidad(), h.getMedia() / 1e3, h.percentil(50) / 1e3,
+                h.percentil(99) / 1e3, h.percentil(99.9) / 1e3, h.getMaximo() / 1e3));
+    }
+
+    /*
+    Objeto JSON con todas las operaciones (también las no invocadas, así el
+    esquema es estable) con latencias en ns, y los indicadores.
+    */
+    public String volcadoJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"ventana_s\": ").append(String.format(java.util.Locale.ROOT, "%.3f", getSegundosVentana()));
+        sb.append(",\n  \"operaciones\": {");
+        for (int i = 0; i < operaciones.length; i++) {
+            HistogramaLatencias h = latenciasDe(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    \"").append(operaciones[i]).append("\": {")
+              .append("\"llamadas\": ").append(h.getCantidad())
+              .append(", \"media_ns\": ").append(Math.round(h.getMedia()))
+              .append(", \"p50_ns\": ").append(h.percentil(50))
+              .append(", \"p90_ns\": ").append(h.percentil(90))
+              .append(", \"p99_ns\": ").append(h.percentil(99))
+              .append(", \"p999_ns\": ").append(h.percentil(99.9))
+              .append(", \"max_ns\": ").append(h.getMaximo())
+              .append(", \"total_ns\": ").append(h.getSuma())
+              .append('}');
+        }
+        sb.append("\n  },\n  \"indicadores\": {");
+        for (int i = 0; i < cantidadIndicadores; i++) {
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    \"").append(nombresIndicadores[i]).append("\": ").append(fuentes[i].getAsLong());
+        }
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    /*
+    Escribe el volcado en la ruta: JSON si termina en .json, texto si no.
+    */
+    public void exportar(String ruta) throws IOException {
+        String contenido = ruta.endsWith(".json") ? volcadoJson() : volcadoTexto();
+        Files.write(Paths.get(ruta), contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -8,6 +8,10 @@ SOLID: SRP - Solo se encarga de validaciones
 GRASP: Pure Fabrication - No representa concepto del dominio, pero provee servicio
  */
 public class Validador {
+
+    /* Constantes */
+    public static final int SCORING_MINIMO = 0;
+    public static final int SCORING_MAXIMO = 100;
     
     /*
     Valida que un nombre no sea nulo ni vacío.
@@ -23,11 +27,11 @@ public class Validador {
     }
     
     /*
-    Valida que un scoring esté en el rango [0, 100].
+    Valida que un scoring esté en el rango [SCORING_MINIMO, SCORING_MAXIMO].
     */
     public static ResultadoValidacion validarScoring(int scoring) {
-        if (scoring < 0 || scoring > 100) {
-            return ResultadoValidacion.error("El scoring debe estar entre 0 y 100");
+        if (scoring < SCORING_MINIMO || scoring > SCORING_MAXIMO) {
+            return ResultadoValidacion.error("El scoring debe estar entre " + SCORING_MINIMO + " y " + SCORING_MAXIMO);
         }
         return ResultadoValidacion.ok();
     }
@@ -3,6 +3,7 @@ package vista;
 import java.util.Scanner;
 import modelo.Cliente;
 import modelo.Sesion;
+import persistencia.RegistroEscritura;
 import servicio.GestorClientes;
 import static vista.Terminal.*;
 
@@ -20,11 +21,17 @@ public class Menu {
     /* Submenús */
     private final MenuHistorial menuHistorial;
     private final MenuSolicitudes menuSolicitudes;
+    private final MenuEstadisticas menuEstadisticas;
     
     private String mensajeEstado;
+    private final long tiempoArranqueMs;  // Desde el inicio hasta estar listo para el login (sin esperar al usuario)
+    private boolean primerLoginReportado;
 
     public Menu() {
+        long instanteInicio = System.nanoTime();
         this.gestor = new GestorClientes();
+        this.gestor.activarRegistroEscritura(RegistroEscritura.PoliticaSincronizacion.POR_LOTE);
+        this.gestor.iniciarIndiceNombresEnSegundoPlano();
         this.scanner = new Scanner(System.in);
         this.utils = new MenuUtils(scanner);
         this.mensajeEstado = "";
@@ -32,6 +39,8 @@ public class Menu {
         /* Inicializa los submenús */
         this.menuHistorial = new MenuHistorial(gestor, scanner);
         this.menuSolicitudes = new MenuSolicitudes(gestor, scanner);
+        this.menuEstadisticas = new MenuEstadisticas(gestor, scanner);
+        this.tiempoArranqueMs = (System.nanoTime() - instanteInicio) / 1_000_000;
     }
     
     /*
@@ -67,6 +76,7 @@ public class Menu {
                 continue;
             }
 
+            long inicioLogin = System.nanoTime();
             Cliente cliente = gestor.buscarPorId(userId);
             
             if (cliente != null) {
@@ -74,6 +84,9 @@ public class Menu {
                 getSesion().iniciarSesion(cliente);
                 System.out.println();
                 System.out.println("[OK] Hola, " + cliente.getNombre() + "! Bienvenido a la red social.");
+                System.out.println(String.format("  Estas en el top %.1f%% por influencia (scoring %d)",
+                        gestor.obtenerTopPorcentajeScoring(userId), cliente.getScoring()));
+                reportarPrimerLogin(System.nanoTime() - inicioLogin);
                 
                 if (getSesion().tieneSolicitudesPendientes()) {
                     int cantSolicitudes = getSesion().getCantidadSolicitudesPendientes();
@@ -91,6 +104,20 @@ public class Menu {
         return true;
     }
 
+    /*
+    Informa una única vez el tiempo hasta el primer login: el arranque (hasta
+    quedar listo para leer el ID) más lo que tardó el propio login. No incluye
+    el tiempo que el usuario demoró en escribir.
+    */
+    private void reportarPrimerLogin(long nanosLogin) {
+        if (primerLoginReportado) return;
+        primerLoginReportado = true;
+        long loginMs = nanosLogin / 1_000_000;
+        System.out.println("[INFO] Tiempo hasta primer login: " + (tiempoArranqueMs + loginMs) 
+                + " ms (carga de datos: " + gestor.getTiempoCargaMs() + " ms, arranque: " 
+                + tiempoArranqueMs + " ms, login: " + loginMs + " ms)");
+    }
+
     public void iniciar() {
         while (true) {
             if (!mostrarPantallaBienvenida()) {
@@ -112,12 +139,16 @@ public class Menu {
             if (getSesion().estaAutenticado()) {
                 System.out.println("\nCerrando sesion de " + getSesion().getNombreUsuarioActual() + "...");
                 getSesion().cerrarSesion();
+                // Snapshot en segundo plano: el próximo usuario puede ingresar mientras se escribe
+                if (gestor.iniciarCheckpoint() != null) {
+                    System.out.println("Guardando snapshot en segundo plano...");
+                }
                 pausar(scanner);
             }
         }
         
-        // Guardar cambios al terminar la aplicación
-        gestor.guardarCambios();
+        // Confirmar cambios al terminar la aplicación (incremental vía WAL)
+        gestor.cerrar();
         
         limpiarPantalla();
         imprimirTitulo("Hasta pronto!");
@@ -144,6 +175,7 @@ public class Menu {
     private void mostrarMenuPrincipal() {
         System.out.println(" 1. Amigos & Red Social - Explorar, seguir y solicitudes");
         System.out.println(" 2. Historial           - Acciones realizadas");
+        System.out.println(" 3. Estadisticas        - Metricas del sistema");
         System.out.println(" 0. Salir");
         imprimirSeparador(MenuUtils.ANCHO);
         
@@ -163,6 +195,9 @@ public class Menu {
             case 2:
                 menuHistorial.mostrar();
                 break;
+            case 3:
+                menuEstadisticas.mostrar();
+                break;
             case 0:
                 break;
             default:
@@ -0,0 +1,80 @@
+package vista;
+
+import java.io.IOException;
+import java.util.Scanner;
+import servicio.GestorClientes;
+import static vista.Terminal.*;
+
+/*
+Pantalla "Estadísticas del sistema": llamadas y latencias por operación del
+gestor e indicadores (clientes, relaciones, solicitudes pendientes), con
+exportación del volcado en texto o JSON.
+ */
+public class MenuEstadisticas {
+
+    /* Constantes */
+    private static final String RUTA_TEXTO = "data/metricas.txt";
+    private static final String RUTA_JSON = "data/metricas.json";
+
+    /* Atributos */
+    private final GestorClientes gestor;
+    private final Scanner scanner;
+    private final MenuUtils utils;
+
+    public MenuEstadisticas(GestorClientes gestor, Scanner scanner) {
+        this.gestor = gestor;
+        this.scanner = scanner;
+        this.utils = new MenuUtils(scanner);
+    }
+
+    public void mostrar() {
+        int opcion;
+        String mensaje = "";
+        do {
+            limpiarPantalla();
+            utils.mostrarCabecera("Inicio", "Estadisticas del sistema");
+
+            System.out.print(gestor.getMetricas().volcadoTexto());
+            if (gestor.isModoMapeado()) {
+                System.out.println("(modo mapeado: relaciones y solicitudes solo de clientes materializados)");
+            }
+            imprimirSeparador(MenuUtils.ANCHO);
+            System.out.println(" 1. Actualizar");
+            System.out.println(" 2. Exportar texto (" + RUTA_TEXTO + ")");
+            System.out.println(" 3. Exportar JSON  (" + RUTA_JSON + ")");
+            System.out.println(" 4. Reiniciar contadores");
+            System.out.println(" 0. <- Volver");
+            imprimirSeparador(MenuUtils.ANCHO);
+
+            if (!mensaje.isEmpty()) {
+                System.out.println(mensaje);
+                mensaje = "";
+            }
+
+            System.out.print("Opción: ");
+            opcion = utils.leerEntero();
+
+            switch (opcion) {
+                case 2:
+                    mensaje = exportar(RUTA_TEXTO);
+                    break;
+                case 3:
+                    mensaje = exportar(RUTA_JSON);
+                    break;
+                case 4:
+                    gestor.getMetricas().reiniciar();
+                    mensaje = "[OK] Contadores reiniciados";
+                    break;
+            }
+        } while (opcion != 0);
+    }
+
+    private String exportar(String ruta) {
+        try {
+            gestor.getMetricas().exportar(ruta);
+            return "[OK] Estadisticas exportadas a " + ruta;
+        } catch (IOException e) {
+            return "[ERROR] No se pudo exportar: " + e.getMessage();
+        }
+    }
+}
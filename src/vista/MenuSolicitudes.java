@@ -13,6 +13,9 @@ Usa Sesion.getInstancia() para acceder a la sesión Singleton.
  */
 public class MenuSolicitudes {
     
+    /* Constantes */
+    private static final int TAMANIO_PAGINA = 20;
+    
     /* Atributos */
     private final GestorClientes gestor;
     private final Scanner scanner;
@@ -149,6 +152,7 @@ public class MenuSolicitudes {
             System.out.println(" 2. Buscar por Nombre (y agregar)");
             System.out.println(" 3. Buscar por Influencia");
             System.out.println(" 4. Listar todos");
+            System.out.println(" 5. Buscar por rango de Influencia");
             System.out.println(" 0. Volver");
             imprimirSeparador(MenuUtils.ANCHO);
             
@@ -174,6 +178,9 @@ public class MenuSolicitudes {
                     listarTodos();
                     pausar(scanner);
                     break;
+                case 5:
+                    msg = buscarPorRangoScoring();
+                    break;
             }
         } while (opcionEx != 0);
         return "";
@@ -207,12 +214,25 @@ public class MenuSolicitudes {
 
     /*
     Busca usuarios por nombre y ofrece la opción de enviar solicitud.
+    Un "*" final busca los nombres que empiezan con lo ingresado. Si no hay
+    coincidencias exactas, sugiere nombres parecidos (errores de tipeo).
     */
     private String buscarPorNombreYAgregar() {
-        System.out.print("Nombre: ");
+        System.out.print("Nombre (termine en * para buscar por inicio): ");
         String nombre = utils.capitalizarNombre(scanner.nextLine().trim());
         
-        Cliente[] clientes = gestor.buscarPorNombre(nombre);
+        Cliente[] clientes;
+        if (nombre.endsWith("*")) {
+            String prefijo = nombre.substring(0, nombre.length() - 1);
+            if (prefijo.isEmpty()) return "[ERROR] Ingrese al menos una letra";
+            clientes = gestor.buscarPorPrefijoNombre(prefijo, TAMANIO_PAGINA);
+        } else {
+            clientes = gestor.buscarPorNombre(nombre);
+            if (clientes.length == 0) {
+                clientes = gestor.buscarPorNombreAproximado(nombre, TAMANIO_PAGINA);
+                if (clientes.length > 0) System.out.println("\n[AVISO] Sin coincidencias exactas. Quizas buscabas:");
+            }
+        }
 
         if (clientes.length > 0) {
             System.out.println();
@@ -253,6 +273,37 @@ public class MenuSolicitudes {
         return "";
     }
 
+    /*
+    Busca usuarios con influencia dentro de un rango, de menor a mayor,
+    mostrando los resultados por páginas (se recorren a medida que se piden).
+    */
+    private String buscarPorRangoScoring() {
+        System.out.print("Influencia mínima (0-100): ");
+        int minimo = utils.leerEntero();
+        System.out.print("Influencia máxima (0-100): ");
+        int maximo = utils.leerEntero();
+        if (minimo > maximo) return "[ERROR] Rango inválido";
+        
+        java.util.Iterator<Cliente> it = gestor.buscarPorRangoScoring(minimo, maximo);
+        if (!it.hasNext()) return "[AVISO] Sin resultados";
+        
+        int mostrados = 0;
+        while (it.hasNext()) {
+            System.out.println();
+            for (int i = 0; i < TAMANIO_PAGINA && it.hasNext(); i++) {
+                Cliente c = it.next();
+                System.out.println(" - ID: " + c.getId() + " | " + c.getNombre() + " (Influencia: " + c.getScoring() + ")");
+                mostrados++;
+            }
+            if (!it.hasNext()) break;
+            System.out.print("\nMostrados: " + mostrados + ". ¿Ver más? (1: Si, 0: No): ");
+            if (utils.leerEntero() != 1) return "";
+        }
+        System.out.println("\nTotal: " + mostrados);
+        pausar(scanner);
+        return "";
+    }
+
     /*
     Lista todos los usuarios registrados en el sistema.
     */
@@ -331,7 +382,7 @@ public class MenuSolicitudes {
         if (!sesion.estaAutenticado()) return "[ERROR] Error: no autenticado";
         Cliente usuarioActual = sesion.getUsuarioActual();
         
-        SolicitudSeguimiento solicitud = usuarioActual.procesarSiguienteSolicitud();
+        SolicitudSeguimiento solicitud = gestor.procesarSiguienteSolicitud(usuarioActual);
         if (solicitud == null) return "[AVISO] No tienes solicitudes";
 
         try {
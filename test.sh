@@ -6,7 +6,7 @@ DIR="$(cd "$(dirname "$0")" && pwd)"
 cd "$DIR"
 
 echo "Compilando tests..."
-javac -cp lib/gson-2.10.1.jar -d out test/TDATest.java src/tda/*.java src/modelo/*.java src/servicio/*.java src/util/*.java src/interfaces/*.java
+javac -cp lib/gson-2.10.1.jar -d out test/TDATest.java src/tda/*.java src/modelo/*.java src/servicio/*.java src/util/*.java src/interfaces/*.java src/persistencia/*.java
 
 if [ $? -eq 0 ]; then
     echo "Compilación exitosa"
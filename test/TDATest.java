@@ -59,6 +59,31 @@ public class TDATest {
         // Tests Adicionales para 10/10 (Hash negativo y MAX_SEGUIDOS)
         testDiccionarioHashNegativo();
         testClienteMaxSeguidos();
+        
+        // Tests de performance / persistencia
+        testCargaStreaming();
+        testSnapshotBinario();
+        testAlmacenMapeado();
+        testRegistroEscritura();
+        testSnapshotAsincrono();
+        testImportacionParalela();
+        testIntDiccionario();
+        testDiccionarioRedimensionamiento();
+        testConjuntoEnteros();
+        testGrafoCSR();
+        testArbolAVL();
+        testMultimapaOrdenado();
+        testConsultasPorRango();
+        testEstadisticasDeOrden();
+        testIndiceScoring();
+        testTablaPosiciones();
+        testIndiceTexto();
+        testBusquedaAproximada();
+        testEliminacionEnCascada();
+        testRecorridoDiccionarios();
+        testMetricasGestor();
+        testSaludDiccionario();
+        testModoConcurrente();
 
         System.out.println("\n═══════════════════════════════════════════");
         System.out.printf("RESULTADOS: %d pasados, %d fallados%n", testsPasados, testsFallados);
@@ -674,6 +699,1525 @@ public class TDATest {
         }
     }
 
+    // ═══════════════════════════════════════════════════════════════════
+    // TESTS DE PERFORMANCE / PERSISTENCIA
+    // ═══════════════════════════════════════════════════════════════════
+
+    private static void testCargaStreaming() {
+        try {
+            try (java.io.FileWriter writer = new java.io.FileWriter(TEST_DB)) {
+                writer.write("{ \"version\": 1, \"clientes\": [" +
+                    "{\"id\": 5, \"nombre\": \"Ana\", \"scoring\": 70, \"siguiendo\": [7]," +
+                    " \"solicitudes\": [\"9\"], \"extra\": {\"a\": [1, 2]}}," +
+                    "{\"id\": 7, \"nombre\": \"Beto\", \"scoring\": 30, \"siguiendo\": []," +
+                    " \"seguidores\": [\"5\"], \"solicitudes\": null}," +
+                    "{\"id\": -1, \"nombre\": \"Corrupto\", \"scoring\": 10}" +
+                    "] }");
+            } catch (java.io.IOException e) {
+                throw new AssertionError("No se pudo escribir la DB de prueba");
+            }
+            
+            GestorClientes g = new GestorClientes(TEST_DB);
+            assert g.getCantidadClientes() == 2 : "Debe cargar 2 clientes válidos y descartar el corrupto";
+            assert g.buscarPorId(5).sigueA(7) : "Ana debe seguir a Beto";
+            assert g.buscarPorId(7).getCantidadSeguidores() == 1 : "Beto debe tener 1 seguidor";
+            assert g.buscarPorId(5).getCantidadSolicitudesPendientes() == 1 : "Ana debe tener 1 solicitud";
+            assert g.buscarPorScoring(30).length == 1 : "Índice de scoring poblado durante la carga";
+            assert g.agregarCliente("Nuevo", 50) == 1001 : "proximoId no debe retroceder por IDs bajos";
+            assert g.getTiempoCargaMs() >= 0 : "Tiempo de carga debe reportarse";
+            
+            reportarExito("Persistencia - Carga en streaming");
+        } catch (AssertionError e) {
+            reportarFallo("Persistencia - Carga en streaming", e.getMessage());
+        }
+    }
+
+    private static void testSnapshotBinario() {
+        try {
+            String rutaBin = "data/clientes_TEST.bin";
+            new java.io.File(rutaBin).delete();
+            
+            GestorClientes g1 = new GestorClientes(rutaBin);
+            assert g1.getCantidadClientes() == 0 : "Snapshot inexistente debe iniciar vacío";
+            int idA = g1.agregarCliente("Ana María", 90);
+            int idB = g1.agregarCliente("Beto", 40);
+            int idC = g1.agregarCliente("Carla", 40);
+            g1.seguir(idA, idB);
+            g1.seguir(idA, idC);
+            g1.seguir(idC, idB);
+            g1.enviarSolicitud(idB, idA);
+            g1.enviarSolicitud(idC, idA);
+            g1.guardarCambios();
+            
+            GestorClientes g2 = new GestorClientes(rutaBin);
+            assert g2.getCantidadClientes() == 3 : "Debe recargar 3 clientes desde binario";
+            Cliente a = g2.buscarPorId(idA);
+            assert a.getNombre().equals("Ana María") : "Nombre UTF-8 debe preservarse";
+            assert a.sigueA(idB) && a.sigueA(idC) : "Relaciones de seguimiento deben preservarse";
+            assert g2.buscarPorId(idB).getCantidadSeguidores() == 2 : "Seguidores deben preservarse";
+            assert a.getCantidadSolicitudesPendientes() == 2 : "Solicitudes deben preservarse";
+            assert a.procesarSiguienteSolicitud().getSolicitante().equals(String.valueOf(idB)) 
+                : "Orden de solicitudes (FIFO) debe preservarse";
+            assert g2.buscarPorScoring(40).length == 2 : "Índice de scoring debe reconstruirse";
+            
+            // JSON como formato de intercambio
+            assert g2.exportarJson(TEST_DB) : "Exportar JSON debe funcionar";
+            initTestDB();
+            GestorClientes g3 = new GestorClientes(TEST_DB);
+            g2.exportarJson(TEST_DB);
+            assert g3.importarJson(TEST_DB) == 3 : "Importar JSON debe agregar 3 clientes";
+            assert g3.importarJson(TEST_DB) == 0 : "Reimportar no debe duplicar IDs";
+            assert g3.buscarPorId(idC).sigueA(idB) : "Importación debe preservar relaciones";
+            
+            new java.io.File(rutaBin).delete();
+            reportarExito("Persistencia - Snapshot binario e import/export JSON");
+        } catch (AssertionError e) {
+            reportarFallo("Persistencia - Snapshot binario e import/export JSON", e.getMessage());
+        }
+    }
+
+    private static void testAlmacenMapeado() {
+        try {
+            String rutaBin = "data/clientes_TEST.bin";
+            new java.io.File(rutaBin).delete();
+            GestorClientes g1 = new GestorClientes(rutaBin);
+            int idA = g1.agregarCliente("Ana", 90);
+            int idB = g1.agregarCliente("Beto", 40);
+            int idC = g1.agregarCliente("Carla", 40);
+            g1.seguir(idA, idB);
+            g1.guardarCambios();
+            
+            GestorClientes g2 = new GestorClientes(rutaBin, true);
+            assert g2.isModoMapeado() : "Debe abrir en modo mapeado";
+            assert g2.getCantidadClientes() == 3 : "Cantidad debe incluir clientes no materializados";
+            assert g2.existeCliente(idC) : "existeCliente debe resolver contra el snapshot";
+            assert !g2.existeCliente(idC + 100) : "ID inexistente no debe existir";
+            assert g2.buscarPorId(idA).sigueA(idB) : "Materialización debe conservar relaciones";
+            assert g2.buscarPorId(idA) == g2.buscarPorId(idA) : "Debe cachear la instancia materializada";
+            assert g2.agregarCliente("Dani", 10) == idC + 1 : "proximoId debe continuar desde el snapshot";
+            assert !g2.agregarClienteConId(idB, "Dup", 10) : "No debe duplicar IDs aún no materializados";
+            assert g2.getCantidadClientes() == 4 : "Cantidad tras agregar";
+            
+            assert g2.buscarPorScoring(40).length == 2 : "Consulta global debe materializar todo";
+            assert !g2.isModoMapeado() : "Tras materializar todo se libera el almacén";
+            assert g2.getCantidadClientes() == 4 : "Cantidad estable tras materializar";
+            
+            new java.io.File(rutaBin).delete();
+            reportarExito("Persistencia - Almacén mapeado (materialización perezosa)");
+        } catch (AssertionError e) {
+            reportarFallo("Persistencia - Almacén mapeado (materialización perezosa)", e.getMessage());
+        }
+    }
+
+    private static void testRegistroEscritura() {
+        try {
+            initTestDB();
+            String rutaWal = TEST_DB + persistencia.RegistroEscritura.EXTENSION;
+            new java.io.File(rutaWal).delete();
+            
+            // 1. Mutaciones con fsync inmediato y "crash" (sin guardar ni cerrar)
+            GestorClientes g1 = new GestorClientes(TEST_DB);
+            assert g1.activarRegistroEscritura(persistencia.RegistroEscritura.PoliticaSincronizacion.SIEMPRE)
+                : "Activar WAL debe funcionar";
+            int idA = g1.agregarCliente("Ana", 70);
+            int idB = g1.agregarCliente("Beto", 20);
+            int idC = g1.agregarCliente("Carla", 20);
+            g1.seguir(idA, idB);
+            g1.seguir(idC, idB);
+            g1.dejarDeSeguir(idC, idB);
+            g1.enviarSolicitud(idB, idA);
+            g1.enviarSolicitud(idC, idA);
+            g1.procesarSiguienteSolicitud(g1.buscarPorId(idA));
+            g1.eliminarCliente(idC);
+            
+            // Registro cortado al final del log
+            try (java.io.FileOutputStream out = new java.io.FileOutputStream(rutaWal, true)) {
+                out.write(new byte[] {0, 0, 0, 9, 3, 1});
+            } catch (java.io.IOException e) {
+                throw new AssertionError("No se pudo simular el registro cortado");
+            }
+            
+            // 2. Reinicio: snapshot vacío + reproducción del WAL
+            GestorClientes g2 = new GestorClientes(TEST_DB);
+            assert g2.getCantidadClientes() == 2 : "WAL debe restaurar 2 clientes, hay " + g2.getCantidadClientes();
+            assert g2.buscarPorId(idA).sigueA(idB) : "WAL debe restaurar el seguimiento";
+            assert g2.buscarPorId(idB).getCantidadSeguidores() == 1 : "WAL debe restaurar seguidores";
+            assert g2.buscarPorId(idA).getCantidadSolicitudesPendientes() == 1 
+                : "WAL debe restaurar envío y procesamiento de solicitudes";
+            assert g2.buscarPorId(idA).verSiguienteSolicitud().getSolicitante().equals(String.valueOf(idC))
+                : "Debe quedar pendiente la segunda solicitud (FIFO)";
+            assert !g2.existeCliente(idC) : "WAL debe restaurar la eliminación";
+            assert g2.agregarCliente("Dani", 5) == idC + 1 : "proximoId debe avanzar tras reproducir";
+            
+            // 3. Checkpoint: snapshot completo y log vacío
+            byte[] logPrevio = leerArchivo(rutaWal);
+            g2.guardarCambios();
+            assert contarRegistrosWal(rutaWal) == 0 : "El checkpoint debe vaciar el WAL";
+            GestorClientes g3 = new GestorClientes(TEST_DB);
+            assert g3.getCantidadClientes() == 3 : "Snapshot tras checkpoint debe tener 3 clientes";
+            
+            // Crash entre publicar el snapshot y recortar el log: no se reaplica lo ya cubierto
+            escribirArchivo(rutaWal, logPrevio);
+            GestorClientes trasCrash = new GestorClientes(TEST_DB);
+            assert trasCrash.getCantidadClientes() == 3 && !trasCrash.existeCliente(idC) 
+                : "El snapshot con marca no debe reaplicar el log completo";
+            assert trasCrash.buscarPorId(idA).getCantidadSolicitudesPendientes() == 1 
+                : "Reaplicar el log duplicaría solicitudes: " 
+                + trasCrash.buscarPorId(idA).getCantidadSolicitudesPendientes();
+            g3 = new GestorClientes(TEST_DB);
+            
+            // 4. Group commit: lo no confirmado se pierde ante un crash, cerrar() lo confirma
+            g3.activarRegistroEscritura(persistencia.RegistroEscritura.PoliticaSincronizacion.POR_LOTE, 
+                1000, 60_000, 100_000);
+            int idE = g3.agregarCliente("Eva", 40);
+            assert !new GestorClientes(TEST_DB).existeCliente(idE) : "Lote sin confirmar no debe estar en disco";
+            g3.cerrar();
+            assert new GestorClientes(TEST_DB).existeCliente(idE) : "cerrar() debe confirmar el lote";
+            
+            // 5. El lote parcial se confirma por tiempo aunque no lleguen más mutaciones
+            GestorClientes g4 = new GestorClientes(TEST_DB);
+            g4.activarRegistroEscritura(persistencia.RegistroEscritura.PoliticaSincronizacion.POR_LOTE, 
+                1000, 50, 100_000);
+            int confirmados = contarRegistrosWal(rutaWal);
+            int idF = g4.agregarCliente("Fede", 60);
+            long limite = System.currentTimeMillis() + 5_000;
+            while (contarRegistrosWal(rutaWal) == confirmados && System.currentTimeMillis() < limite) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            assert new GestorClientes(TEST_DB).existeCliente(idF) : "El temporizador debe confirmar el lote parcial";
+            g4.cerrar();
+
+            // 6. Intervalo 0 = sin plazo: el lote se confirma solo al llenarse
+            String rutaLote = TEST_DB + ".lote" + persistencia.RegistroEscritura.EXTENSION;
+            new java.io.File(rutaLote).delete();
+            try (persistencia.RegistroEscritura sinPlazo = new persistencia.RegistroEscritura(rutaLote,
+                    persistencia.RegistroEscritura.PoliticaSincronizacion.POR_LOTE, 4, 0)) {
+                for (int i = 0; i < 3; i++) {
+                    sinPlazo.agregar(persistencia.Mutacion.relacion(persistencia.TipoMutacion.SEGUIR, 1, 2 + i));
+                }
+                assert contarRegistrosWal(rutaLote) == 0 : "Con intervalo 0 no debe confirmar antes del lote";
+                sinPlazo.agregar(persistencia.Mutacion.relacion(persistencia.TipoMutacion.SEGUIR, 1, 9));
+                assert contarRegistrosWal(rutaLote) == 4 : "El lote lleno se confirma";
+            } catch (java.io.IOException e) {
+                throw new AssertionError("WAL sin plazo: " + e.getMessage());
+            }
+            new java.io.File(rutaLote).delete();
+            
+            new java.io.File(rutaWal).delete();
+            reportarExito("Persistencia - WAL (reproducción, registro cortado, checkpoint, group commit)");
+        } catch (AssertionError e) {
+            reportarFallo("Persistencia - WAL", e.getMessage());
+        }
+    }
+
+    private static int contarRegistrosWal(String rutaWal) {
+        try {
+            return persistencia.RegistroEscritura.reproducir(rutaWal, m -> { });
+        } catch (java.io.IOException e) {
+            throw new AssertionError("No se pudo leer el WAL: " + e.getMessage());
+        }
+    }
+
+    private static byte[] leerArchivo(String ruta) {
+        try {
+            return java.nio.file.Files.readAllBytes(java.nio.file.Paths.get(ruta));
+        } catch (java.io.IOException e) {
+            throw new AssertionError("No se pudo leer " + ruta);
+        }
+    }
+
+    private static void escribirArchivo(String ruta, byte[] contenido) {
+        try {
+            java.nio.file.Files.write(java.nio.file.Paths.get(ruta), contenido);
+        } catch (java.io.IOException e) {
+            throw new AssertionError("No se pudo escribir " + ruta);
+        }
+    }
+
+    private static void testSnapshotAsincrono() {
+        try {
+            // 1. Copy-on-write del Diccionario: la instantánea no ve cambios posteriores
+            Diccionario<Integer, String> dic = new Diccionario<>(4);  // Cadenas largas
+            for (int i = 1; i <= 200; i++) dic.insertar(i, "v" + i);
+            Diccionario<Integer, String> vista = dic.instantanea();
+            dic.insertar(5, "cambiado");
+            dic.eliminar(100);
+            dic.eliminar(6);
+            dic.insertar(500, "nuevo");
+            assert vista.obtener(5).equals("v5") : "La instantánea no debe ver actualizaciones";
+            assert vista.contiene(100) && vista.contiene(6) : "La instantánea no debe ver eliminaciones";
+            assert !vista.contiene(500) && vista.getCantidad() == 200 : "La instantánea no debe ver inserciones";
+            assert dic.obtener(5).equals("cambiado") && !dic.contiene(100) && dic.getCantidad() == 199 
+                : "El original debe reflejar los cambios";
+            vista.eliminar(7);
+            assert dic.contiene(7) : "Modificar la instantánea no debe afectar al original";
+            
+            // 2. Pre-imagen por cliente
+            Cliente c = new Cliente(1, "Ana", 50);
+            c.prepararMutacion(7);
+            c.seguir(2);
+            assert c.estadoParaSnapshot(7).getSiguiendo().length == 0 : "Debe entregar el estado previo";
+            c.prepararMutacion(7);  // Ya capturado: no genera otra pre-imagen
+            c.seguir(3);
+            assert c.estadoParaSnapshot(8).getSiguiendo().length == 2 : "Nueva época: estado actual";
+            
+            // 3. Snapshot en segundo plano con mutaciones concurrentes: vista al instante de inicio
+            initTestDB();
+            String rutaSnapshot = TEST_DB + "_async.bin";
+            GestorClientes g = new GestorClientes(TEST_DB);
+            int primero = g.agregarCliente("Cliente0", 10);
+            for (int i = 1; i < 3000; i++) {
+                int id = g.agregarCliente("Cliente" + i, i % 101);
+                g.seguir(id, id - 1);
+            }
+            persistencia.SnapshotAsincrono snap = g.iniciarSnapshotAsincrono(rutaSnapshot);
+            assert snap != null : "Debe iniciar el snapshot";
+            assert g.iniciarSnapshotAsincrono(rutaSnapshot) == null || snap.estaTerminado() 
+                : "Solo un snapshot a la vez";
+            g.dejarDeSeguir(primero + 1, primero);
+            g.seguir(primero, primero + 2);
+            g.enviarSolicitud(primero + 3, primero + 4);
+            g.eliminarCliente(primero + 10);
+            int nuevo = g.agregarCliente("Posterior", 1);
+            assert snap.esperar() : "El snapshot debe completarse: " + snap.getError();
+            assert snap.getProgreso() == 1.0 && snap.getClientesEscritos() == 3000 : "Progreso completo";
+            assert snap.getBytesEscritos() == new java.io.File(rutaSnapshot).length() : "Bytes escritos";
+            assert snap.getDuracionMs() >= 0;
+            
+            GestorClientes copia = new GestorClientes(rutaSnapshot);
+            assert copia.getCantidadClientes() == 3000 && !copia.existeCliente(nuevo) 
+                : "El snapshot no debe incluir altas posteriores";
+            assert copia.existeCliente(primero + 10) : "El snapshot no debe incluir bajas posteriores";
+            assert copia.buscarPorId(primero + 1).sigueA(primero) : "Debe conservar el seguimiento previo";
+            assert copia.buscarPorId(primero).getCantidadSiguiendo() == 0 : "No debe ver seguimientos nuevos";
+            assert copia.buscarPorId(primero + 4).getCantidadSolicitudesPendientes() == 0 
+                : "No debe ver solicitudes nuevas";
+            assert g.buscarPorId(primero).sigueA(primero + 2) && !g.existeCliente(primero + 10) 
+                : "El gestor debe conservar los cambios";
+            
+            // 4. Checkpoint asíncrono: el WAL conserva lo ocurrido durante la escritura
+            String rutaWal = TEST_DB + persistencia.RegistroEscritura.EXTENSION;
+            new java.io.File(rutaWal).delete();
+            g.activarRegistroEscritura(persistencia.RegistroEscritura.PoliticaSincronizacion.SIEMPRE);
+            g.agregarCliente("AntesDelCheckpoint", 3);
+            g.enviarSolicitud(primero + 5, primero + 6);
+            byte[] logPrevio = leerArchivo(rutaWal);
+            persistencia.SnapshotAsincrono checkpoint = g.iniciarCheckpoint();
+            int durante = g.agregarCliente("DuranteElCheckpoint", 4);
+            assert checkpoint.esperar() : "El checkpoint debe completarse";
+            GestorClientes recuperado = new GestorClientes(TEST_DB);
+            assert recuperado.existeCliente(durante) : "Las mutaciones durante el checkpoint deben sobrevivir";
+            assert recuperado.getCantidadClientes() == g.getCantidadClientes() : "Estado completo tras reinicio";
+            
+            // Crash antes del recorte: log previo + lo registrado durante la escritura
+            // (el log recortado es cabecera de 12 bytes + esos registros)
+            byte[] recortado = leerArchivo(rutaWal);
+            byte[] sinRecortar = java.util.Arrays.copyOf(logPrevio, logPrevio.length + recortado.length - 12);
+            System.arraycopy(recortado, 12, sinRecortar, logPrevio.length, recortado.length - 12);
+            escribirArchivo(rutaWal, sinRecortar);
+            recuperado = new GestorClientes(TEST_DB);
+            assert recuperado.existeCliente(durante) && recuperado.getCantidadClientes() == g.getCantidadClientes()
+                : "Tras el crash deben reaplicarse solo las mutaciones posteriores a la marca";
+            assert recuperado.buscarPorId(primero + 6).getCantidadSolicitudesPendientes() 
+                == g.buscarPorId(primero + 6).getCantidadSolicitudesPendientes() 
+                : "La solicitud anterior a la marca no debe duplicarse";
+            g.cerrar();
+            
+            new java.io.File(rutaSnapshot).delete();
+            new java.io.File(rutaWal).delete();
+            reportarExito("Persistencia - Snapshot asíncrono (copy-on-write, pre-imagen, checkpoint con WAL)");
+        } catch (AssertionError e) {
+            reportarFallo("Persistencia - Snapshot asíncrono", e.getMessage());
+        }
+    }
+
+    private static void testImportacionParalela() {
+        try {
+            initTestDB();
+            String rutaJson = TEST_DB + "_paralelo.json";
+            GestorClientes origen = new GestorClientes(TEST_DB);
+            int primero = origen.agregarCliente("Ana \"la {jefa}\" \\ [x]", 90);  // Comillas, llaves y escapes
+            origen.agregarCliente("Ñandú, el del \"}\"", 15);
+            for (int i = 2; i < 500; i++) {
+                int id = origen.agregarCliente("Cliente" + i, i % 101);
+                origen.seguir(id, primero + i / 2);
+                if (i % 7 == 0) origen.enviarSolicitud(id, primero);
+            }
+            assert origen.exportarJson(rutaJson) : "Exportar JSON debe funcionar";
+            
+            // Trozos chicos para forzar varios trozos y varios hilos
+            GestorClientes paralelo = new GestorClientes(TEST_DB);
+            persistencia.ImportadorParalelo importador = new persistencia.ImportadorParalelo(4, 2048);
+            assert paralelo.importarJsonParalelo(rutaJson, importador) == 500 : "Debe importar 500 clientes";
+            assert importador.getTrozos() > 1 : "Debe dividir en varios trozos";
+            assert importador.getClientesLeidos() == 500;
+            assert importador.getClientesPorSegundoFusion() > 0 : "Debe informar rendimiento por etapa";
+            
+            GestorClientes secuencial = new GestorClientes(TEST_DB);
+            assert secuencial.importarJson(rutaJson) == 500;
+            for (Cliente esperado : secuencial.obtenerTodosLosClientes()) {
+                Cliente c = paralelo.buscarPorId(esperado.getId());
+                assert c != null && c.toString().equals(esperado.toString()) : "Cliente distinto: " + esperado.getId();
+                assert c.getCantidadSeguidores() == esperado.getCantidadSeguidores() : "Seguidores distintos";
+                assert c.getCantidadSolicitudesPendientes() == esperado.getCantidadSolicitudesPendientes() 
+                    : "Solicitudes distintas";
+            }
+            assert paralelo.buscarPorId(primero).getNombre().equals("Ana \"la {jefa}\" \\ [x]") : "Nombre con escapes";
+            assert paralelo.buscarPorScoring(90).length == secuencial.buscarPorScoring(90).length : "Índice de scoring";
+            assert paralelo.agregarCliente("Nuevo", 1) == primero + 500 : "proximoId debe quedar en máximo + 1";
+            assert paralelo.importarJsonParalelo(rutaJson, importador) == 0 : "IDs repetidos se ignoran";
+            
+            // JSON cortado: la importación informa el error
+            try (java.io.FileWriter writer = new java.io.FileWriter(rutaJson)) {
+                writer.write("{ \"clientes\": [ {\"id\": 1, \"nombre\": \"A\", \"scoring\": 1}, {\"id\": 2, ");
+            } catch (java.io.IOException e) {
+                throw new AssertionError("No se pudo escribir el JSON cortado");
+            }
+            assert new GestorClientes(TEST_DB).importarJsonParalelo(rutaJson, importador) == -1 
+                : "JSON cortado debe fallar";
+            
+            new java.io.File(rutaJson).delete();
+            reportarExito("Persistencia - Importación paralela (trozos, orden, proximoId, JSON inválido)");
+        } catch (AssertionError e) {
+            reportarFallo("Persistencia - Importación paralela", e.getMessage());
+        }
+    }
+
+    private static void testIntDiccionario() {
+        try {
+            // 1. Operaciones aleatorias contra un modelo de referencia (incluye 0, negativos y colisiones)
+            IntDiccionario<Integer> dic = new IntDiccionario<>();
+            java.util.HashMap<Integer, Integer> modelo = new java.util.HashMap<>();
+            java.util.Random r = new java.util.Random(42);
+            for (int op = 0; op < 200_000; op++) {
+                int clave = r.nextInt(4) == 0 ? r.nextInt() : r.nextInt(5000) - 100;  // Rango chico: muchas bajas
+                switch (r.nextInt(3)) {
+                    case 0:
+                        dic.insertar(clave, op);
+                        modelo.put(clave, op);
+                        break;
+                    case 1:
+                        assert java.util.Objects.equals(dic.eliminar(clave), modelo.remove(clave)) 
+                            : "eliminar(" + clave + ") distinto";
+                        break;
+                    default:
+                        assert java.util.Objects.equals(dic.obtener(clave), modelo.get(clave)) 
+                            : "obtener(" + clave + ") distinto";
+                }
+            }
+            assert dic.getCantidad() == modelo.size() : "Cantidad distinta";
+            for (java.util.Map.Entry<Integer, Integer> e : modelo.entrySet()) {
+                assert dic.contiene(e.getKey().intValue()) && dic.obtener(e.getKey().intValue()).equals(e.getValue()) 
+                    : "Falta la clave " + e.getKey();
+            }
+            int[] claves = dic.obtenerClavesEnteras();
+            assert claves.length == modelo.size() && dic.obtenerValores().length == modelo.size();
+            
+            // 2. Adaptador IDiccionario<Integer, V> y clave 0
+            interfaces.IDiccionario<Integer, String> generico = new IntDiccionario<String>(4).comoDiccionario();
+            generico.insertar(0, "cero");
+            generico.insertar(7, "siete");
+            assert generico.obtener(0).equals("cero") && generico.contiene(7) && !generico.contiene(null);
+            assert generico.obtenerClaves().length == 2 && generico.eliminar(0).equals("cero");
+            assert !generico.contiene(0) && generico.getCantidad() == 1;
+            
+            // 3. Instantánea independiente y crecimiento desde capacidad presupuestada
+            IntDiccionario<String> base = new IntDiccionario<>(1000);
+            int capacidadInicial = base.getCapacidad();
+            for (int i = 1; i <= 1000; i++) base.insertar(i, "v" + i);
+            assert base.getCapacidad() == capacidadInicial : "No debe crecer si se presupuestó la capacidad";
+            IntDiccionario<String> copia = base.instantanea();
+            base.eliminar(5);
+            base.insertar(6, "cambiado");
+            assert copia.obtener(5).equals("v5") && copia.obtener(6).equals("v6") : "La instantánea es independiente";
+
+            // 4. Variante int -> long primitiva contra el mismo tipo de modelo
+            IntDiccionarioLargo largo = new IntDiccionarioLargo();
+            java.util.HashMap<Integer, Long> modeloLargo = new java.util.HashMap<>();
+            for (int op = 0; op < 200_000; op++) {
+                int clave = r.nextInt(4) == 0 ? r.nextInt() : r.nextInt(5000) - 100;
+                switch (r.nextInt(3)) {
+                    case 0:
+                        long valor = ((long) op << 32) | op;
+                        largo.insertar(clave, valor);
+                        modeloLargo.put(clave, valor);
+                        break;
+                    case 1:
+                        assert largo.eliminar(clave) == (modeloLargo.remove(clave) != null)
+                            : "eliminar(" + clave + ") distinto (largo)";
+                        break;
+                    default:
+                        assert largo.obtener(clave, -1L) == modeloLargo.getOrDefault(clave, -1L)
+                            : "obtener(" + clave + ") distinto (largo)";
+                }
+            }
+            assert largo.getCantidad() == modeloLargo.size() : "Cantidad distinta (largo)";
+            for (java.util.Map.Entry<Integer, Long> e : modeloLargo.entrySet()) {
+                assert largo.contiene(e.getKey()) && largo.obtener(e.getKey(), -1L) == e.getValue()
+                    : "Falta la clave " + e.getKey() + " (largo)";
+            }
+
+            reportarExito("TDA - IntDiccionario (sondeo lineal, backward shift, adaptador IDiccionario, variante int->long)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - IntDiccionario", e.getMessage());
+        }
+    }
+
+    private static void testDiccionarioRedimensionamiento() {
+        try {
+            // 1. Rehash completo: crece con el factor de carga y se achica al vaciarse
+            Diccionario<Integer, Integer> completo = new Diccionario<>(4);
+            for (int i = 0; i < 10_000; i++) completo.insertar(i, i);
+            assert completo.getCapacidad() > 4 && completo.getFactorCarga() <= 0.75 : "Debe crecer";
+            assert !completo.isRehashEnCurso() : "El modo completo no deja migraciones pendientes";
+            for (int i = 0; i < 10_000; i++) assert completo.obtener(i) == i : "Valor perdido al crecer: " + i;
+            for (int i = 10; i < 10_000; i++) completo.eliminar(i);
+            assert completo.getCapacidad() < 64 && completo.getCapacidad() >= 4 : "Debe achicarse sin bajar del mínimo";
+            for (int i = 0; i < 10; i++) assert completo.obtener(i) == i : "Valor perdido al achicar: " + i;
+            
+            // 2. Rehash incremental contra un modelo de referencia, con instantánea a mitad de migración
+            Diccionario<Integer, Integer> incremental = new Diccionario<>(8, 0.5f, true);
+            java.util.HashMap<Integer, Integer> modelo = new java.util.HashMap<>();
+            java.util.Random r = new java.util.Random(3);
+            boolean vioMigracion = false;
+            Diccionario<Integer, Integer> vista = null;
+            java.util.HashMap<Integer, Integer> modeloVista = null;
+            for (int op = 0; op < 100_000; op++) {
+                int clave = r.nextInt(op < 60_000 ? 50_000 : 2_000) - 1000;
+                if (r.nextInt(4) == 0 || op >= 60_000) {
+                    assert java.util.Objects.equals(incremental.eliminar(clave), modelo.remove(clave)) : "eliminar distinto";
+                } else {
+                    incremental.insertar(clave, op);
+                    modelo.put(clave, op);
+                }
+                if (incremental.isRehashEnCurso()) {
+                    vioMigracion = true;
+                    if (vista == null && op > 20_000) {
+                        vista = incremental.instantanea();
+                        modeloVista = new java.util.HashMap<>(modelo);
+                    }
+                }
+                if (op % 997 == 0) {
+                    assert java.util.Objects.equals(incremental.obtener(clave), modelo.get(clave)) : "obtener distinto";
+                }
+            }
+            assert vioMigracion : "El modo incremental debe dejar migraciones en curso";
+            assert incremental.getCantidad() == modelo.size() : "Cantidad distinta";
+            for (java.util.Map.Entry<Integer, Integer> e : modelo.entrySet()) {
+                assert incremental.obtener(e.getKey()).equals(e.getValue()) : "Falta la clave " + e.getKey();
+            }
+            assert incremental.obtenerValores().length == modelo.size();
+            assert vista != null && vista.getCantidad() == modeloVista.size() : "La instantánea conserva su cantidad";
+            for (java.util.Map.Entry<Integer, Integer> e : modeloVista.entrySet()) {
+                assert vista.obtener(e.getKey()).equals(e.getValue()) : "Instantánea alterada en " + e.getKey();
+            }
+            assert vista.obtenerClaves().length == modeloVista.size();
+            
+            reportarExito("TDA - Diccionario redimensionable (factor de carga, achique, rehash incremental)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Diccionario redimensionable", e.getMessage());
+        }
+    }
+
+    private static void testConjuntoEnteros() {
+        try {
+            // 1. Operaciones aleatorias contra un modelo de referencia, cruzando el umbral en ambos sentidos
+            ConjuntoEnteros conjunto = new ConjuntoEnteros();
+            java.util.TreeSet<Integer> modelo = new java.util.TreeSet<>();
+            java.util.Random r = new java.util.Random(9);
+            boolean vioHash = false;
+            boolean volvioAArreglo = false;
+            for (int op = 0; op < 50_000; op++) {
+                int rango = (op / 5_000) % 2 == 0 ? 200 : 10;  // Alterna conjuntos grandes y chicos
+                boolean eliminar = r.nextInt(3) == 0 || rango == 10 && r.nextBoolean();
+                int x = r.nextInt(eliminar ? 200 : rango) - 20;  // Incluye el 0 y negativos
+                if (eliminar) {
+                    assert conjunto.eliminar(x) == modelo.remove(x) : "eliminar distinto en " + x;
+                } else {
+                    assert conjunto.agregar(x) == modelo.add(x) : "agregar distinto en " + x;
+                }
+                assert conjunto.contiene(x) == modelo.contains(x) : "contiene distinto en " + x;
+                assert conjunto.getCantidad() == modelo.size() : "Cantidad distinta";
+                if (conjunto.isModoHash()) vioHash = true;
+                else if (vioHash) volvioAArreglo = true;
+            }
+            assert vioHash && volvioAArreglo : "Debe pasar a modo hash y volver a modo arreglo";
+            int[] esperado = modelo.stream().mapToInt(Integer::intValue).toArray();
+            assert java.util.Arrays.equals(conjunto.obtenerElementos(), esperado) : "Elementos distintos o desordenados";
+            
+            // 2. Cliente: relaciones sin ida y vuelta por String
+            Cliente c = new Cliente(5, "Ana", 50);
+            assert c.seguir(9) && c.seguir(3) && !c.seguir(9) && !c.seguir(5) : "Reglas de seguir";
+            assert java.util.Arrays.equals(c.getSiguiendo(), new int[] {3, 9}) : "Seguidos ordenados";
+            for (int i = 100; i > 0; i--) c.agregarSeguidor(i);
+            assert c.getCantidadSeguidores() == 100 && c.getSeguidores()[0] == 1 : "Seguidores en modo hash";
+            assert c.dejarDeSeguir(3) && !c.sigueA(3) && c.sigueA(9);
+            
+            reportarExito("TDA - ConjuntoEnteros adaptativo (arreglo ordenado / hash)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - ConjuntoEnteros adaptativo", e.getMessage());
+        }
+    }
+
+    private static void testGrafoCSR() {
+        try {
+            // 1. Mutaciones aleatorias contra un modelo, con fusiones en segundo plano
+            java.util.Random r = new java.util.Random(11);
+            int[] origenes = new int[500];
+            int[] destinos = new int[500];
+            java.util.HashSet<Long> modelo = new java.util.HashSet<>();
+            int k = 0;
+            while (k < 500) {
+                int a = r.nextInt(300), b = r.nextInt(300);
+                if (modelo.add((long) a << 32 | b)) { origenes[k] = a; destinos[k++] = b; }
+            }
+            GrafoCSR grafo = new GrafoCSR(origenes, destinos, k);
+            for (int op = 0; op < 30_000; op++) {
+                int a = r.nextInt(400), b = r.nextInt(400);  // También nodos fuera de la base
+                long arista = (long) a << 32 | b;
+                if (r.nextInt(3) == 0) {
+                    assert grafo.eliminarArista(a, b) == modelo.remove(arista) : "eliminar distinto";
+                } else {
+                    assert grafo.agregarArista(a, b) == modelo.add(arista) : "agregar distinto";
+                }
+                if (op % 101 == 0) {
+                    assert grafo.existeArista(b, a) == modelo.contains((long) b << 32 | a) : "existe distinto";
+                }
+            }
+            grafo.esperarFusiones();
+            assert grafo.getFusionesCompletadas() > 0 : "Debe fusionar en segundo plano";
+            int[] todos = new int[400];
+            for (int n = 0; n < 400; n++) todos[n] = n;
+            for (int paso = 0; paso < 2; paso++) {
+                assert grafo.getCantidadAristas() == modelo.size() : "Cantidad de aristas distinta";
+                int[] gradosEntrada = grafo.gradosEntrada(todos);
+                for (int n = 0; n < 400; n++) {
+                    int[] suc = grafo.sucesores(n);
+                    for (int i = 0; i < suc.length; i++) {
+                        assert modelo.contains((long) n << 32 | suc[i]) : "Sucesor inexistente";
+                        assert i == 0 || suc[i - 1] < suc[i] : "Sucesores desordenados";
+                    }
+                    assert suc.length == grafo.gradoSalida(n) : "Grado de salida distinto";
+                    for (int p : grafo.predecesores(n)) {
+                        assert modelo.contains((long) p << 32 | n) : "Predecesor inexistente";
+                    }
+                    int grado = gradosEntrada[n];
+                    assert grado == grafo.predecesores(n).length && grado == grafo.gradoEntrada(n);
+                }
+                grafo.compactar();  // Segunda pasada: todo en la base
+                assert grafo.getCambiosPendientes() == 0 : "compactar debe vaciar el buffer";
+            }
+            
+            // IDs grandes y dispersos: filas densas, sin reservar una por ID
+            int maximo = Integer.MAX_VALUE;
+            GrafoCSR disperso = new GrafoCSR(new int[] {maximo, 7, maximo}, new int[] {7, 2_000_000_000, 3}, 3);
+            disperso.agregarArista(1_500_000_000, maximo);
+            disperso.eliminarArista(7, 2_000_000_000);
+            disperso.compactar();
+            assert disperso.existeArista(maximo, 3) && disperso.existeArista(1_500_000_000, maximo) 
+                && !disperso.existeArista(7, 2_000_000_000) : "Aristas con IDs grandes";
+            assert disperso.getBytesBase() < 256 : "La base no debe crecer con el ID: " + disperso.getBytesBase();
+            int[] gradosDispersos = disperso.gradosEntrada(new int[] {maximo, 3, 7, 2_000_000_000});
+            assert gradosDispersos[0] == 1 && gradosDispersos[1] == 1 && gradosDispersos[2] == 1 
+                && gradosDispersos[3] == 0 : "Grados en orden arbitrario";
+            assert disperso.getMaximoNodo() == maximo : "Máximo nodo";
+            
+            // 2. Gestor: el grafo acompaña seguir / dejarDeSeguir / eliminarCliente
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            int idA = gestor.agregarCliente("Ana", 10);
+            int idB = gestor.agregarCliente("Beto", 20);
+            int idC = gestor.agregarCliente("Caro", 30);
+            gestor.seguir(idA, idC);
+            GrafoCSR g = gestor.activarGrafoCSR();
+            assert g.existeArista(idA, idC) : "Debe construirse con las relaciones existentes";
+            gestor.seguir(idB, idC);
+            gestor.seguir(idC, idA);
+            assert gestor.obtenerClientesMasPopulares(3)[0].getId() == idC : "C es el más seguido";
+            assert gestor.obtenerClientesMasPopulares(3).length == 3 : "Completa con clientes sin seguidores";
+            gestor.eliminarCliente(idC);
+            assert !gestor.buscarPorId(idA).sigueA(idC) && !gestor.buscarPorId(idB).sigueA(idC) : "Cascada por grafo";
+            assert g.getCantidadAristas() == 0 : "Sin aristas del eliminado";
+            
+            reportarExito("TDA - GrafoCSR (buffer de cambios, fusión, integración con Gestor)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - GrafoCSR", e.getMessage());
+        }
+    }
+
+    private static void testArbolAVL() {
+        try {
+            // 1. Entrada ordenada y con muchos duplicados: la altura queda logarítmica
+            ArbolAVL<Integer, Integer> ordenado = new ArbolAVL<>();
+            for (int i = 0; i < 100_000; i++) ordenado.insertar(i, i);
+            assert ordenado.getAltura() <= 1.45 * (Math.log(100_002) / Math.log(2)) : "Altura con claves ordenadas: " + ordenado.getAltura();
+            
+            ArbolAVL<Integer, Integer> duplicados = new ArbolAVL<>();
+            for (int i = 0; i < 200_000; i++) duplicados.insertar(i % 101, i);
+            assert duplicados.getAltura() <= 1.45 * (Math.log(200_002) / Math.log(2)) : "Altura con duplicados: " + duplicados.getAltura();
+            Object[] cincuenta = duplicados.buscar(50);
+            assert cincuenta.length == 1980 && (Integer) cincuenta[0] == 50 && (Integer) cincuenta[1] == 151 : "Duplicados en orden de inserción";
+            
+            // 2. Inserciones y eliminaciones aleatorias contra un modelo
+            ArbolAVL<Integer, Integer> arbol = new ArbolAVL<>();
+            java.util.TreeMap<Integer, java.util.List<Integer>> modelo = new java.util.TreeMap<>();
+            java.util.Random r = new java.util.Random(17);
+            for (int op = 0; op < 60_000; op++) {
+                int clave = r.nextInt(101);
+                int valor = r.nextInt(500);
+                if (r.nextInt(3) == 0) {
+                    java.util.List<Integer> lista = modelo.get(clave);
+                    boolean esperado = lista != null && lista.remove((Integer) valor);
+                    assert arbol.eliminar(clave, valor) == esperado : "eliminar distinto";
+                } else {
+                    arbol.insertar(clave, valor);
+                    modelo.computeIfAbsent(clave, c -> new java.util.ArrayList<>()).add(valor);
+                }
+            }
+            int total = 0;
+            for (java.util.Map.Entry<Integer, java.util.List<Integer>> e : modelo.entrySet()) {
+                assert java.util.Arrays.equals(arbol.buscar(e.getKey()), e.getValue().toArray()) : "buscar distinto en " + e.getKey();
+                total += e.getValue().size();
+            }
+            assert arbol.getCantidad() == total : "Cantidad distinta";
+            assert arbol.getAltura() <= 1.45 * (Math.log(total + 2) / Math.log(2)) : "Altura tras eliminar: " + arbol.getAltura();
+            int enNiveles = 0;
+            for (int nivel = 0; nivel <= arbol.getAltura(); nivel++) enNiveles += arbol.obtenerEnNivel(nivel).length;
+            assert enNiveles == total : "Los niveles deben cubrir todos los nodos";
+            
+            reportarExito("TDA - ArbolAVL (altura logarítmica con duplicados, operaciones iterativas)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - ArbolAVL", e.getMessage());
+        }
+    }
+
+    private static void testMultimapaOrdenado() {
+        try {
+            // Valores = IDs 0..1999 (el identificador es el propio valor)
+            MultimapaOrdenado<Integer, Integer> multimapa = new MultimapaOrdenado<>(Integer::intValue);
+            java.util.HashMap<Integer, Integer> claveDe = new java.util.HashMap<>();
+            java.util.Random r = new java.util.Random(23);
+            for (int op = 0; op < 80_000; op++) {
+                int valor = r.nextInt(2000);
+                int clave = r.nextInt(op < 40_000 ? 101 : 5);  // Luego pocas claves: se liberan cubetas
+                if (r.nextInt(3) == 0) {
+                    Integer actual = claveDe.get(valor);
+                    boolean esperado = actual != null && actual == clave;
+                    assert multimapa.eliminar(clave, valor) == esperado : "eliminar distinto";
+                    if (esperado) claveDe.remove(valor);
+                } else {
+                    multimapa.insertar(clave, valor);  // Si ya estaba con otra clave, se mueve
+                    claveDe.put(valor, clave);
+                }
+            }
+            assert multimapa.getCantidad() == claveDe.size() : "Cantidad distinta";
+            java.util.TreeMap<Integer, java.util.Set<Integer>> porClave = new java.util.TreeMap<>();
+            for (java.util.Map.Entry<Integer, Integer> e : claveDe.entrySet()) {
+                porClave.computeIfAbsent(e.getValue(), c -> new java.util.HashSet<>()).add(e.getKey());
+            }
+            assert multimapa.getCantidadClaves() == porClave.size() : "Una cubeta por clave distinta";
+            for (int clave = 0; clave <= 100; clave++) {
+                java.util.Set<Integer> esperados = porClave.getOrDefault(clave, java.util.Collections.emptySet());
+                Object[] encontrados = multimapa.buscar(clave);
+                assert encontrados.length == esperados.size() && multimapa.contar(clave) == esperados.size() : "buscar distinto en " + clave;
+                for (Object v : encontrados) assert esperados.contains(v) : "Valor ajeno en " + clave;
+            }
+            int enNiveles = 0;
+            for (int nivel = 0; nivel <= multimapa.getAltura(); nivel++) enNiveles += multimapa.obtenerEnNivel(nivel).length;
+            assert enNiveles == claveDe.size() : "Los niveles deben cubrir todos los valores";
+            
+            // Identificadores grandes y dispersos: manijas en un mapa, no en un arreglo por ID
+            MultimapaOrdenado<Integer, Integer> disperso = new MultimapaOrdenado<>(Integer::intValue);
+            disperso.insertar(1, Integer.MAX_VALUE);
+            disperso.insertar(1, 1_500_000_000);
+            disperso.insertar(2, 3);
+            disperso.insertar(2, Integer.MAX_VALUE);  // Se mueve de clave
+            assert disperso.contar(1) == 1 && disperso.contar(2) == 2 : "IDs grandes";
+            assert disperso.eliminar(2, Integer.MAX_VALUE) && !disperso.eliminar(2, Integer.MAX_VALUE) 
+                && disperso.getCantidad() == 2 : "Eliminar con ID grande";
+            
+            reportarExito("TDA - MultimapaOrdenado (cubetas por clave, eliminación por manija)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - MultimapaOrdenado", e.getMessage());
+        }
+    }
+
+    private static void testConsultasPorRango() {
+        try {
+            java.util.Random r = new java.util.Random(29);
+            java.util.List<interfaces.IArbolBinarioBusqueda<Integer, Integer>> arboles = java.util.Arrays.asList(
+                new ArbolBinarioBusqueda<>(), new ArbolAVL<>(), new MultimapaOrdenado<>(Integer::intValue),
+                new IndiceScoring<>(0, 100, Integer::intValue, Integer::valueOf));
+            java.util.TreeMap<Integer, Integer> cuenta = new java.util.TreeMap<>();
+            int[] claveDe = new int[3000];
+            for (int valor = 0; valor < 3000; valor++) {
+                int clave = 10 + 2 * r.nextInt(40);  // Claves pares entre 10 y 88
+                claveDe[valor] = clave;
+                for (interfaces.IArbolBinarioBusqueda<Integer, Integer> arbol : arboles) arbol.insertar(clave, valor);
+                cuenta.merge(clave, 1, Integer::sum);
+            }
+            for (interfaces.IArbolBinarioBusqueda<Integer, Integer> arbol : arboles) {
+                String nombre = arbol.getClass().getSimpleName();
+                for (int consulta = 0; consulta < 200; consulta++) {
+                    int desde = r.nextInt(100), hasta = desde + r.nextInt(30);
+                    int esperados = 0;
+                    for (int c : cuenta.subMap(desde, true, hasta, true).values()) esperados += c;
+                    
+                    int vistos = 0, anterior = Integer.MIN_VALUE;
+                    java.util.Iterator<Integer> asc = arbol.iterarRango(desde, hasta);
+                    while (asc.hasNext()) {
+                        int clave = claveDe[asc.next()];
+                        assert clave >= desde && clave <= hasta && clave >= anterior : nombre + ": rango ascendente";
+                        anterior = clave;
+                        vistos++;
+                    }
+                    assert vistos == esperados : nombre + ": cantidad en rango";
+                    
+                    vistos = 0; anterior = Integer.MAX_VALUE;
+                    java.util.Iterator<Integer> desc = arbol.iterarRangoDescendente(desde, hasta);
+                    while (desc.hasNext()) {
+                        int clave = claveDe[desc.next()];
+                        assert clave <= anterior : nombre + ": rango descendente";
+                        anterior = clave;
+                        vistos++;
+                    }
+                    assert vistos == esperados : nombre + ": cantidad descendente";
+                    
+                    int x = r.nextInt(100);
+                    assert java.util.Objects.equals(arbol.piso(x), cuenta.floorKey(x)) : nombre + ": piso de " + x;
+                    assert java.util.Objects.equals(arbol.techo(x), cuenta.ceilingKey(x)) : nombre + ": techo de " + x;
+                }
+            }
+            
+            // Gestor: top por scoring y rango perezoso
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            for (int i = 0; i <= 100; i += 10) gestor.agregarCliente("Cliente" + i, i);
+            Cliente[] top = gestor.obtenerTopScoring(3);
+            assert top.length == 3 && top[0].getScoring() == 100 && top[2].getScoring() == 80 : "Top 3 por scoring";
+            java.util.Iterator<Cliente> rango = gestor.buscarPorRangoScoring(35, 70);
+            assert rango.next().getScoring() == 40 : "Rango arranca en el primer scoring >= 35";
+            assert gestor.scoringPiso(55) == 50 && gestor.scoringTecho(55) == 60 && gestor.scoringTecho(101) == -1;
+            
+            reportarExito("TDA - Consultas por rango, piso/techo e iteración descendente");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Consultas por rango", e.getMessage());
+        }
+    }
+
+    private static void testEstadisticasDeOrden() {
+        try {
+            java.util.Random r = new java.util.Random(31);
+            java.util.List<interfaces.IArbolBinarioBusqueda<Integer, Integer>> arboles = java.util.Arrays.asList(
+                new ArbolBinarioBusqueda<>(), new ArbolAVL<>(), new MultimapaOrdenado<>(Integer::intValue),
+                new IndiceScoring<>(0, 100, Integer::intValue, Integer::valueOf));
+            java.util.TreeMap<Integer, Integer> cuenta = new java.util.TreeMap<>();
+            int[] claveDe = new int[3000];
+            for (int valor = 0; valor < 3000; valor++) {
+                int clave = r.nextInt(101);
+                claveDe[valor] = clave;
+                for (interfaces.IArbolBinarioBusqueda<Integer, Integer> arbol : arboles) arbol.insertar(clave, valor);
+                cuenta.merge(clave, 1, Integer::sum);
+            }
+            // Bajas salteadas: los tamaños de subárbol deben seguir a las rotaciones y reemplazos
+            for (int valor = 0; valor < 3000; valor += 3) {
+                for (interfaces.IArbolBinarioBusqueda<Integer, Integer> arbol : arboles) {
+                    assert arbol.eliminar(claveDe[valor], valor) : "Baja de " + valor;
+                }
+                cuenta.merge(claveDe[valor], -1, Integer::sum);
+            }
+            int[] ordenadas = new int[2000];  // Claves del modelo en orden ascendente
+            int k = 0;
+            for (java.util.Map.Entry<Integer, Integer> e : cuenta.entrySet()) {
+                for (int i = 0; i < e.getValue(); i++) ordenadas[k++] = e.getKey();
+            }
+            
+            for (interfaces.IArbolBinarioBusqueda<Integer, Integer> arbol : arboles) {
+                String nombre = arbol.getClass().getSimpleName();
+                for (int x = -1; x <= 102; x++) {
+                    int menores = 0;
+                    for (int c : cuenta.headMap(x, false).values()) menores += c;
+                    assert arbol.contarMenores(x) == menores : nombre + ": contarMenores(" + x + ")";
+                }
+                for (int consulta = 0; consulta < 200; consulta++) {
+                    int desde = r.nextInt(101), hasta = desde + r.nextInt(20);
+                    int esperados = 0;
+                    for (int c : cuenta.subMap(desde, true, hasta, true).values()) esperados += c;
+                    assert arbol.contarEnRango(desde, hasta) == esperados : nombre + ": contarEnRango";
+                }
+                assert arbol.contarEnRango(null, null) == 2000 : nombre + ": rango sin límites";
+                assert arbol.contarEnRango(60, 40) == 0 : nombre + ": rango invertido";
+                for (int posicion = 0; posicion < 2000; posicion++) {
+                    assert claveDe[arbol.seleccionar(posicion)] == ordenadas[posicion] : nombre + ": seleccionar(" + posicion + ")";
+                }
+                assert arbol.seleccionar(-1) == null && arbol.seleccionar(2000) == null : nombre + ": posición fuera de rango";
+            }
+            
+            // Gestor: percentiles por scoring (scorings 0, 10, ..., 90 con 10 clientes)
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            int[] ids = new int[10];
+            for (int i = 0; i < 10; i++) ids[i] = gestor.agregarCliente("Cliente" + i, i * 10);
+            assert gestor.contarPorRangoScoring(20, 55) == 4 : "Cantidad en rango de scoring";
+            assert gestor.obtenerTopPorcentajeScoring(ids[9]) == 10.0 : "El mayor scoring está en el top 10%";
+            assert gestor.obtenerTopPorcentajeScoring(ids[0]) == 100.0 : "El menor scoring está en el top 100%";
+            assert gestor.percentilScoring(ids[3]) == 30.0 : "Percentil del scoring 30";
+            assert gestor.scoringEnPercentil(50) == 50 && gestor.scoringEnPercentil(100) == 90 : "Scoring en percentil";
+            assert gestor.percentilScoring(999999) == -1 : "Cliente inexistente";
+            
+            reportarExito("TDA - Estadísticas de orden (rank/select) y percentiles por scoring");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Estadísticas de orden", e.getMessage());
+        }
+    }
+
+    private static void testIndiceScoring() {
+        try {
+            java.util.Random r = new java.util.Random(37);
+            IndiceScoring<Integer> indice = new IndiceScoring<>(0, 100, Integer::intValue, Integer::valueOf);
+            MultimapaOrdenado<Integer, Integer> modelo = new MultimapaOrdenado<>(Integer::intValue);
+            int[] claveDe = new int[5000];
+            java.util.Arrays.fill(claveDe, -1);
+            for (int paso = 0; paso < 20000; paso++) {
+                int valor = r.nextInt(5000);
+                if (claveDe[valor] >= 0 && r.nextInt(3) == 0) {
+                    assert indice.eliminar(claveDe[valor], valor) == modelo.eliminar(claveDe[valor], valor) : "Baja";
+                    claveDe[valor] = -1;
+                } else {
+                    int clave = r.nextInt(101);  // Si el valor ya estaba, se mueve de cubeta
+                    indice.insertar(clave, valor);
+                    modelo.insertar(clave, valor);
+                    claveDe[valor] = clave;
+                }
+            }
+            assert indice.getCantidad() == modelo.getCantidad() : "Cantidad";
+            int[] histograma = indice.histograma();
+            int presentes = 0;
+            for (int clave = 0; clave <= 100; clave++) {
+                Object[] valores = indice.buscar(clave);
+                assert valores.length == modelo.contar(clave) && histograma[clave] == valores.length : "Cubeta " + clave;
+                for (Object v : valores) assert claveDe[(Integer) v] == clave : "Valor en la cubeta equivocada";
+                if (valores.length > 0) presentes++;
+            }
+            assert indice.eliminar(claveDe[0] < 0 ? 50 : (claveDe[0] + 1) % 101, 0) == false : "Baja con otra clave";
+            
+            int total = 0;
+            for (int nivel = 0; nivel <= indice.getAltura(); nivel++) total += indice.obtenerEnNivel(nivel).length;
+            assert total == indice.getCantidad() : "Los niveles cubren todos los valores";
+            assert indice.getAltura() == 31 - Integer.numberOfLeadingZeros(presentes) : "Altura del árbol implícito";
+            
+            boolean rechazada = false;
+            try {
+                indice.insertar(101, 1);
+            } catch (IllegalArgumentException e) {
+                rechazada = true;
+            }
+            assert rechazada : "Clave fuera del dominio";
+            
+            // Gestor: el dominio 0..100 está acotado, usa el índice de conteo
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            for (int i = 0; i < 30; i++) gestor.agregarCliente("Cliente" + i, i % 3 * 50);
+            int[] porScoring = gestor.obtenerHistogramaScoring();
+            assert porScoring.length == 101 && porScoring[0] == 10 && porScoring[50] == 10 && porScoring[100] == 10 : "Histograma";
+            assert gestor.buscarPorScoring(50).length == 10 && gestor.buscarPorScoring(50)[0].getScoring() == 50 : "Exacta";
+            assert gestor.contarPorRangoScoring(1, 100) == 20 : "Conteo por rango";
+
+            // IDs dispersos: la manija no reserva memoria hasta el mayor ID
+            assert gestor.agregarClienteConId(Integer.MAX_VALUE - 1, "Lejano", 77) : "Alta con ID grande";
+            assert gestor.existeCliente(Integer.MAX_VALUE - 1) : "Está en el índice primario";
+            Cliente[] con77 = gestor.buscarPorScoring(77);
+            assert con77.length == 1 && con77[0].getId() == Integer.MAX_VALUE - 1 : "Está en el índice por scoring";
+            assert gestor.eliminarCliente(Integer.MAX_VALUE - 1) : "Baja con ID grande";
+            assert !gestor.existeCliente(Integer.MAX_VALUE - 1) && gestor.buscarPorScoring(77).length == 0 : "Baja en ambos índices";
+
+            reportarExito("TDA - IndiceScoring (cubetas de conteo para el dominio 0..100)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - IndiceScoring", e.getMessage());
+        }
+    }
+
+    private static void testTablaPosiciones() {
+        try {
+            java.util.Random r = new java.util.Random(41);
+            TablaPosiciones tabla = new TablaPosiciones();
+            int[] puntaje = new int[500];  // Modelo: -1 = ausente
+            java.util.Arrays.fill(puntaje, -1);
+            for (int paso = 0; paso < 20000; paso++) {
+                int id = r.nextInt(500);
+                int operacion = r.nextInt(10);
+                if (operacion == 0) {
+                    assert tabla.eliminar(id) == (puntaje[id] >= 0) : "Baja de " + id;
+                    puntaje[id] = -1;
+                } else {
+                    int nuevo = puntaje[id] < 0 ? r.nextInt(5)
+                            : Math.max(0, puntaje[id] + (operacion < 6 ? 1 : -1));  // Pasos de +-1
+                    tabla.actualizar(id, nuevo);
+                    puntaje[id] = nuevo;
+                }
+            }
+            int presentes = 0;
+            for (int p : puntaje) if (p >= 0) presentes++;
+            assert tabla.getCantidad() == presentes : "Cantidad";
+            int[] todos = tabla.obtenerTop(presentes + 10);
+            assert todos.length == presentes : "Top acotado a la cantidad";
+            for (int i = 1; i < todos.length; i++) {
+                assert puntaje[todos[i - 1]] >= puntaje[todos[i]] : "Orden descendente";
+            }
+            for (int id = 0; id < 500; id++) {
+                assert tabla.getPuntaje(id) == puntaje[id] : "Puntaje de " + id;
+                if (puntaje[id] < 0) continue;
+                int mayores = 0;
+                for (int p : puntaje) if (p > puntaje[id]) mayores++;
+                assert tabla.getPuesto(id) == mayores + 1 : "Puesto de " + id;
+            }
+            
+            TablaPosiciones reconstruida = new TablaPosiciones();
+            reconstruida.reconstruir(new int[] {7, 3, 9, 3}, new int[] {2, 5, 2, 1});
+            assert reconstruida.getCantidad() == 3 && reconstruida.obtenerTop(1)[0] == 3 : "Reconstruir (ID repetido: vale el primero)";
+            assert reconstruida.getPuesto(7) == 2 && reconstruida.getPuesto(9) == 2 : "Empates comparten puesto";
+
+            // IDs dispersos: ranuras densas, sin arreglos del tamaño del mayor ID
+            TablaPosiciones dispersa = new TablaPosiciones();
+            dispersa.reconstruir(new int[] {Integer.MAX_VALUE, 5}, new int[] {1, 3});
+            dispersa.actualizar(Integer.MAX_VALUE - 7, 2);
+            assert java.util.Arrays.equals(dispersa.obtenerTop(3), new int[] {5, Integer.MAX_VALUE - 7, Integer.MAX_VALUE}) : "Top con IDs grandes";
+            assert dispersa.eliminar(5) && dispersa.getPuesto(Integer.MAX_VALUE) == 2 && !dispersa.contiene(5) : "Baja compacta las ranuras";
+            dispersa.actualizar(Integer.MAX_VALUE, 4);
+            assert dispersa.obtenerTop(1)[0] == Integer.MAX_VALUE && dispersa.getPuntaje(Integer.MAX_VALUE - 7) == 2 : "Ranura movida sigue vigente";
+
+            // Gestor: la tabla sigue a seguir / dejarDeSeguir / eliminarCliente
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            gestor.desactivarHistorial();
+            int[] ids = new int[40];
+            for (int i = 0; i < ids.length; i++) ids[i] = gestor.agregarCliente("Cliente" + i, 50);
+            gestor.obtenerClientesMasPopulares(1);  // Construye la tabla
+            for (int i = 0; i < 400; i++) {
+                int a = ids[r.nextInt(40)], b = ids[r.nextInt(Math.max(1, r.nextInt(40)))];  // Sesgo hacia los primeros
+                if (a == b) continue;
+                if (r.nextInt(4) == 0) gestor.dejarDeSeguir(a, b); else gestor.seguir(a, b);
+            }
+            int seguidoresDelTercero = gestor.buscarPorId(ids[2]).getCantidadSeguidores();
+            boolean primeroSigueAlTercero = gestor.buscarPorId(ids[0]).sigueA(ids[2]);
+            gestor.eliminarCliente(ids[0]);
+            assert gestor.buscarPorId(ids[2]).getCantidadSeguidores()
+                    == seguidoresDelTercero - (primeroSigueAlTercero ? 1 : 0) : "El eliminado deja de contar como seguidor";
+            
+            Cliente[] top = gestor.obtenerClientesMasPopulares(5);
+            Cliente[] adHoc = gestor.obtenerTopPor(5, Cliente::getCantidadSeguidores);
+            assert top.length == 5 && adHoc.length == 5 : "Top 5";
+            for (int i = 0; i < 5; i++) {
+                assert top[i].getCantidadSeguidores() == adHoc[i].getCantidadSeguidores() : "Tabla vs min-heap en puesto " + i;
+            }
+            assert gestor.obtenerPuestoPopularidad(top[0].getId()) == 1 : "Puesto del más seguido";
+
+            assert gestor.agregarClienteConId(Integer.MAX_VALUE - 1, "Lejano", 50) : "Alta con ID grande";
+            assert gestor.obtenerPuestoPopularidad(Integer.MAX_VALUE - 1) > 0 : "El ID grande entra en la tabla";
+
+            reportarExito("TDA - TablaPosiciones (ranking incremental por seguidores)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - TablaPosiciones", e.getMessage());
+        }
+    }
+
+    private static void testIndiceTexto() {
+        try {
+            IndiceTexto indice = new IndiceTexto();
+            String[] nombres = {"Ana", "ana", "Anabel", "Andres", "Bruno", "ANA", "Anibal"};
+            for (int i = 0; i < nombres.length; i++) assert indice.agregar(nombres[i], i + 1) : "Alta " + i;
+            assert !indice.agregar("Ana", 1) : "Asociación repetida";
+            assert java.util.Arrays.equals(indice.buscar("aNa"), new int[] {1, 2, 6}) : "Exacta sin distinguir mayúsculas";
+            assert indice.getCantidadTextos() == 5 && indice.getCantidad() == 7 : "Textos distintos";
+            
+            // Prefijo: orden alfabético de texto (ana, anabel, andres, anibal)
+            assert java.util.Arrays.equals(indice.buscarPorPrefijo("AN", 10), new int[] {1, 2, 6, 3, 4, 7}) : "Prefijo";
+            assert java.util.Arrays.equals(indice.buscarPorPrefijo("an", 4), new int[] {1, 2, 6, 3}) : "Prefijo con límite";
+            assert indice.buscarPorPrefijo("z", 10).length == 0 : "Prefijo sin resultados";
+            
+            assert indice.eliminar("ANABEL", 3) && !indice.eliminar("Anabel", 3) : "Baja";
+            assert indice.getCantidadTextos() == 4 && indice.buscar("anabel").length == 0 : "Texto sin IDs se quita";
+            
+            // Gestor: el índice sigue a las altas y bajas
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            gestor.desactivarHistorial();
+            int idMaria = gestor.agregarCliente("Maria", 10);
+            int idMariano = gestor.agregarCliente("Mariano", 20);
+            assert gestor.buscarPorNombre("MARIA").length == 1 : "Exacta en el gestor";
+            int idMarta = gestor.agregarCliente("Marta", 30);  // Después de construir el índice
+            assert gestor.buscarPorPrefijoNombre("mar", 10).length == 3 : "Prefijo en el gestor";
+            gestor.eliminarCliente(idMaria);
+            Cliente[] quedan = gestor.buscarPorPrefijoNombre("Mari", 10);
+            assert quedan.length == 1 && quedan[0].getId() == idMariano : "Baja en el gestor";
+            assert gestor.buscarPorNombre("marta")[0].getId() == idMarta;
+            
+            reportarExito("TDA - IndiceTexto (búsqueda exacta y por prefijo de nombres)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - IndiceTexto", e.getMessage());
+        }
+    }
+
+    private static void testBusquedaAproximada() {
+        try {
+            java.util.Random r = new java.util.Random(43);
+            // Levenshtein acotado contra la programación dinámica completa
+            for (int caso = 0; caso < 2000; caso++) {
+                String a = palabraAleatoria(r, 1 + r.nextInt(8), 4), b = palabraAleatoria(r, 1 + r.nextInt(8), 4);
+                int[][] dp = new int[a.length() + 1][b.length() + 1];
+                for (int i = 0; i <= a.length(); i++) {
+                    for (int j = 0; j <= b.length(); j++) {
+                        dp[i][j] = i == 0 ? j : j == 0 ? i : Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
+                                dp[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+                    }
+                }
+                int maximo = r.nextInt(4);
+                assert IndiceDifuso.distancia(a, b, maximo) == Math.min(dp[a.length()][b.length()], maximo + 1)
+                        : "distancia(" + a + ", " + b + ", " + maximo + ")";
+            }
+            
+            // Búsqueda contra fuerza bruta: 3000 textos, consultas con errores de tipeo
+            IndiceDifuso indice = new IndiceDifuso();
+            String[] textos = new String[3000];
+            for (int i = 0; i < textos.length; i++) {
+                textos[i] = palabraAleatoria(r, 7 + r.nextInt(4), 26);
+                indice.agregar(textos[i]);
+            }
+            for (int i = 0; i < textos.length; i += 7) indice.eliminar(textos[i]);
+            for (int consulta = 0; consulta < 300; consulta++) {
+                char[] tipeo = textos[1 + r.nextInt(textos.length - 1)].toCharArray();
+                tipeo[r.nextInt(tipeo.length)] = (char) ('a' + r.nextInt(26));  // Un error de tipeo
+                String q = new String(tipeo);
+                String[] encontrados = indice.buscar(q, 2, Integer.MAX_VALUE);
+                java.util.Set<String> esperados = new java.util.TreeSet<>();
+                for (int i = 0; i < textos.length; i++) {
+                    if (i % 7 != 0 && IndiceDifuso.distancia(q, textos[i], 2) <= 2) esperados.add(textos[i]);
+                }
+                assert new java.util.TreeSet<>(java.util.Arrays.asList(encontrados)).equals(esperados) : "Resultados para " + q;
+                for (int i = 1; i < encontrados.length; i++) {
+                    assert IndiceDifuso.distancia(q, encontrados[i - 1], 2) <= IndiceDifuso.distancia(q, encontrados[i], 2) : "Orden por distancia";
+                }
+            }
+            
+            // Gestor: construcción en segundo plano con altas y bajas durante la construcción
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            gestor.desactivarHistorial();
+            int idValentina = gestor.agregarCliente("Valentina", 40);
+            int idSebastian = gestor.agregarCliente("Sebastian", 60);
+            gestor.iniciarIndiceNombresEnSegundoPlano();
+            int idValentino = gestor.agregarCliente("Valentino", 70);
+            gestor.eliminarCliente(idSebastian);
+            Cliente[] parecidos = gestor.buscarPorNombreAproximado("Valemtina", 10);
+            assert parecidos.length == 2 && parecidos[0].getId() == idValentina && parecidos[1].getId() == idValentino : "Ranking por distancia";
+            assert gestor.buscarPorNombreAproximado("Sebastain", 10).length == 0 : "Baja aplicada tras la construcción";
+            assert gestor.buscarPorNombre("valentino").length == 1 : "Alta aplicada tras la construcción";
+            
+            reportarExito("TDA - Búsqueda aproximada (trigramas + Levenshtein acotado)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Búsqueda aproximada", e.getMessage());
+        }
+    }
+
+    private static String palabraAleatoria(java.util.Random r, int largo, int letras) {
+        char[] caracteres = new char[largo];
+        for (int i = 0; i < largo; i++) caracteres[i] = (char) ('a' + r.nextInt(letras));
+        return new String(caracteres);
+    }
+
+    private static void testEliminacionEnCascada() {
+        try {
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            gestor.desactivarHistorial();
+            java.util.Random r = new java.util.Random(44);
+            int[] ids = new int[200];
+            for (int i = 0; i < ids.length; i++) ids[i] = gestor.agregarCliente("Cliente" + i, r.nextInt(101));
+            for (int i = 0; i < 1500; i++) gestor.seguir(ids[r.nextInt(ids.length)], ids[r.nextInt(ids.length)]);
+            
+            // Relación cargada sin su seguidor inverso (JSON antiguo): la primera baja la completa
+            Cliente huerfano = gestor.buscarPorId(ids[0]);
+            huerfano.cargarSiguiendo(new int[] { ids[1] });
+            assert gestor.eliminarCliente(ids[1]) : "Baja individual";
+            assert !huerfano.sigueA(ids[1]) : "Seguidor sin inverso también se limpia";
+            gestor.obtenerClientesMasPopulares(5);  // Activa el ranking antes de la baja masiva
+            
+            // Baja masiva con repetidos, inexistentes y relaciones entre eliminados
+            java.util.Set<Integer> eliminados = new java.util.HashSet<>();
+            eliminados.add(ids[1]);
+            int[] lote = new int[60];
+            for (int i = 0; i < lote.length; i++) lote[i] = ids[2 + r.nextInt(80)];
+            lote[0] = -5;
+            int esperados = 0;
+            for (int id : lote) if (id > 0 && eliminados.add(id)) esperados++;
+            assert gestor.eliminarClientes(lote) == esperados : "Cantidad eliminada";
+            assert gestor.eliminarClientes(lote) == 0 : "Segunda baja no elimina nada";
+            assert gestor.getCantidadClientes() == ids.length - eliminados.size() : "Cantidad restante";
+            
+            // Ambos sentidos consistentes y sin referencias a eliminados
+            for (Cliente c : gestor.obtenerTodosLosClientes()) {
+                for (int idSeguido : c.getSiguiendo()) {
+                    assert !eliminados.contains(idSeguido) : "Sigue a un eliminado";
+                    assert gestor.buscarPorId(idSeguido).tieneSeguidor(c.getId()) : "Falta el seguidor inverso";
+                }
+                for (int idSeguidor : c.getSeguidores()) {
+                    assert !eliminados.contains(idSeguidor) : "Seguidor eliminado";
+                    assert gestor.buscarPorId(idSeguidor).sigueA(c.getId()) : "Seguidor que no sigue";
+                }
+            }
+            Cliente[] top = gestor.obtenerClientesMasPopulares(ids.length);
+            assert top.length == gestor.getCantidadClientes() : "Ranking sin eliminados";
+            for (int i = 1; i < top.length; i++) {
+                assert top[i - 1].getCantidadSeguidores() >= top[i].getCantidadSeguidores() : "Ranking actualizado";
+            }
+            
+            reportarExito("TDA - Eliminación en cascada por índice inverso y en lote");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Eliminación en cascada", e.getMessage());
+        }
+    }
+
+    private static void testRecorridoDiccionarios() {
+        try {
+            // Diccionario con rehash incremental en curso: ambas tablas participan
+            Diccionario<Integer, Integer> dic = new Diccionario<>(16, 0.75f, true);
+            long sumaEsperada = 0;
+            int n = 0;
+            while (n < 5000 || !dic.isRehashEnCurso()) {
+                dic.insertar(n, n * 3);
+                sumaEsperada += n * 3;
+                n++;
+            }
+            verificarRecorrido(dic, n, sumaEsperada);
+            
+            // IntDiccionario (con la clave 0, guardada aparte) y su vista genérica
+            IntDiccionario<Integer> enteros = new IntDiccionario<>();
+            for (int i = 0; i < n; i++) enteros.insertar(i, i * 3);
+            verificarRecorrido(enteros.comoDiccionario(), n, sumaEsperada);
+            long[] suma = new long[1];
+            enteros.recorrer((valor, clave) -> {
+                assert valor == clave * 3 : "Par de la clave " + clave;
+                suma[0] += valor;
+            });
+            assert suma[0] == sumaEsperada : "recorrer IntDiccionario";
+            java.util.PrimitiveIterator.OfInt claves = enteros.iterarClaves();
+            java.util.BitSet vistas = new java.util.BitSet();
+            while (claves.hasNext()) {
+                int clave = claves.nextInt();
+                assert !vistas.get(clave) : "Clave repetida " + clave;
+                vistas.set(clave);
+            }
+            assert vistas.cardinality() == n : "iterarClaves IntDiccionario";
+            
+            reportarExito("TDA - Recorrido sin copiar (recorrer, iterarClaves, spliterator)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Recorrido sin copiar", e.getMessage());
+        }
+    }
+
+    private static void verificarRecorrido(interfaces.IDiccionario<Integer, Integer> dic, int n, long sumaEsperada) {
+        long[] suma = new long[1];
+        int[] pares = new int[1];
+        dic.recorrer((clave, valor) -> {
+            assert valor == clave * 3 : "Par de la clave " + clave;
+            suma[0] += valor;
+            pares[0]++;
+        });
+        assert pares[0] == n && suma[0] == sumaEsperada : "recorrer";
+        
+        java.util.BitSet vistas = new java.util.BitSet();
+        for (java.util.Iterator<Integer> it = dic.iterarClaves(); it.hasNext(); ) {
+            int clave = it.next();
+            assert !vistas.get(clave) : "Clave repetida " + clave;
+            vistas.set(clave);
+        }
+        assert vistas.cardinality() == n : "iterarClaves";
+        
+        // Partes disjuntas que cubren todo, y stream paralelo
+        java.util.Spliterator<Integer> resto = dic.spliteratorValores();
+        assert resto.estimateSize() == n && resto.hasCharacteristics(java.util.Spliterator.SIZED) : "Tamaño exacto";
+        java.util.Spliterator<Integer> primera = resto.trySplit();
+        assert primera != null : "Se divide";
+        long[] porPartes = new long[1];
+        int[] valores = new int[1];
+        primera.forEachRemaining(v -> { porPartes[0] += v; valores[0]++; });
+        resto.forEachRemaining(v -> { porPartes[0] += v; valores[0]++; });
+        assert valores[0] == n && porPartes[0] == sumaEsperada : "Partes del spliterator";
+        long enParalelo = java.util.stream.StreamSupport.stream(dic.spliteratorValores(), true)
+                .mapToLong(Integer::longValue).sum();
+        assert enParalelo == sumaEsperada : "Stream paralelo";
+    }
+
+    private static void testMetricasGestor() {
+        try {
+            // Histograma: error relativo acotado por la resolución de las cubetas
+            util.HistogramaLatencias h = new util.HistogramaLatencias();
+            for (long v = 1; v <= 100_000; v++) h.registrar(v * 1000);
+            assert h.getCantidad() == 100_000 : "Cantidad registrada";
+            assert h.getMaximo() == 100_000_000L : "Máximo exacto";
+            long[] esperados = { 50_000_000L, 99_000_000L, 99_900_000L };
+            double[] percentiles = { 50, 99, 99.9 };
+            for (int i = 0; i < percentiles.length; i++) {
+                long p = h.percentil(percentiles[i]);
+                assert p >= esperados[i] && p <= esperados[i] * 1.04 : "Percentil " + percentiles[i] + ": " + p;
+            }
+            assert h.percentil(100) == h.getMaximo() : "p100 es el máximo";
+            for (long v = 0; v < 32; v++) {
+                util.HistogramaLatencias exacto = new util.HistogramaLatencias();
+                exacto.registrar(v);
+                assert exacto.percentil(50) == v : "Valores chicos exactos";
+            }
+            
+            // Gestor: llamadas por operación e indicadores mantenidos al día
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            gestor.desactivarHistorial();
+            util.RegistroMetricas<OperacionGestor> metricas = gestor.getMetricas();
+            assert metricas.getCantidad(OperacionGestor.CARGAR_DESDE_ARCHIVO) == 1 : "Carga medida";
+            int[] ids = new int[50];
+            for (int i = 0; i < ids.length; i++) ids[i] = gestor.agregarCliente("Metrica" + i, i);
+            int relaciones = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (gestor.seguir(ids[i], ids[(i + 1) % ids.length])) relaciones++;
+                if (gestor.seguir(ids[i], ids[(i + 7) % ids.length])) relaciones++;
+            }
+            gestor.seguir(ids[0], ids[1]);  // Repetida: se mide pero no suma relación
+            for (int i = 1; i <= 10; i++) gestor.enviarSolicitud(ids[i], ids[0]);
+            gestor.procesarSiguienteSolicitud(gestor.buscarPorId(ids[0]));
+            for (int i = 0; i < 1000; i++) gestor.buscarPorId(ids[i % ids.length]);
+            
+            assert metricas.getCantidad(OperacionGestor.AGREGAR_CLIENTE) == ids.length : "Altas contadas";
+            assert metricas.getCantidad(OperacionGestor.SEGUIR) == 2 * ids.length + 1 : "seguir contado";
+            assert metricas.getCantidad(OperacionGestor.BUSCAR_POR_ID) == 1001 : "buscarPorId contado";
+            assert metricas.getIndicador("clientes") == ids.length : "Indicador de clientes";
+            assert metricas.getIndicador("relaciones") == relaciones : "Indicador de relaciones";
+            assert metricas.getIndicador("solicitudesPendientes") == 9 : "Indicador de solicitudes";
+            
+            // La baja en cascada descuenta relaciones salientes y entrantes y solicitudes del eliminado
+            int entrantes = gestor.buscarPorId(ids[0]).getCantidadSeguidores();
+            int salientes = gestor.buscarPorId(ids[0]).getCantidadSiguiendo();
+            assert gestor.eliminarCliente(ids[0]) : "Baja";
+            assert metricas.getIndicador("relaciones") == relaciones - entrantes - salientes : "Relaciones tras la baja";
+            assert metricas.getIndicador("solicitudesPendientes") == 0 : "Solicitudes del eliminado";
+            assert metricas.getCantidad(OperacionGestor.ELIMINAR_CLIENTE) == 1
+                    && metricas.getCantidad(OperacionGestor.ELIMINAR_CLIENTES) == 0 : "Baja contada una vez";
+
+            // Las operaciones que reutilizan a otras no cuentan llamadas internas
+            long porId = metricas.getCantidad(OperacionGestor.BUSCAR_POR_ID);
+            gestor.percentilScoring(ids[5]);
+            gestor.obtenerTopPorcentajeScoring(ids[5]);
+            gestor.obtenerTopScoring(3);
+            assert metricas.getCantidad(OperacionGestor.BUSCAR_POR_ID) == porId : "Percentiles sin buscarPorId";
+            assert metricas.getCantidad(OperacionGestor.ITERAR_POR_SCORING_DESCENDENTE) == 0 : "Top sin iterador público";
+            assert metricas.getCantidad(OperacionGestor.OBTENER_TOP_SCORING) == 1 : "Top contado";
+            long total = 0;
+            for (Cliente c : gestor.obtenerTodosLosClientes()) total += c.getCantidadSiguiendo();
+            assert metricas.getIndicador("relaciones") == total : "Indicador coincide con el recuento";
+            
+            // Volcados y reinicio
+            String json = metricas.volcadoJson();
+            assert json.contains("\"buscarPorId\": {\"llamadas\": "
+                    + metricas.getCantidad(OperacionGestor.BUSCAR_POR_ID) + ",") : "JSON por operación";
+            assert json.contains("\"relaciones\": " + total) : "JSON con indicadores";
+            assert metricas.volcadoTexto().contains("buscarPorId") : "Texto por operación";
+            metricas.reiniciar();
+            assert metricas.getCantidad(OperacionGestor.BUSCAR_POR_ID) == 0 : "Reinicio";
+            assert metricas.getIndicador("clientes") == ids.length - 1 : "Indicadores no se reinician";
+
+            // Modo concurrente: muchos más hilos que franjas, conteo exacto en reposo
+            util.RegistroMetricas<OperacionGestor> franjas = new util.RegistroMetricas<>(OperacionGestor.class);
+            franjas.activarModoConcurrente();
+            Thread[] hilos = new Thread[64];
+            for (int t = 0; t < hilos.length; t++) {
+                hilos[t] = new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) franjas.registrar(OperacionGestor.SEGUIR, System.nanoTime());
+                });
+                hilos[t].start();
+            }
+            for (Thread hilo : hilos) hilo.join();
+            assert franjas.getCantidad(OperacionGestor.SEGUIR) == 64_000 : "Llamadas de todas las franjas";
+            franjas.reiniciar();
+            assert franjas.getCantidad(OperacionGestor.SEGUIR) == 0 : "Reinicio de las franjas";
+            
+            reportarExito("TDA - Métricas del gestor (histograma, contadores e indicadores)");
+        } catch (AssertionError | InterruptedException e) {
+            reportarFallo("TDA - Métricas del gestor", e.getMessage());
+        }
+    }
+
+    private static void testSaludDiccionario() {
+        try {
+            // Claves múltiplos de 1024: con hash directo caen en pocos buckets
+            int n = 4096;
+            Diccionario<Integer, Integer> directo = new Diccionario<>();
+            Diccionario<Integer, Integer> mezclado = new Diccionario<>(64, Diccionario.FACTOR_CARGA_DEFAULT,
+                    false, Diccionario.FuncionHash.MEZCLADA);
+            for (int i = 0; i < n; i++) {
+                directo.insertar(i * 1024, i);
+                mezclado.insertar(i * 1024, i);
+            }
+            for (int i = 0; i < n; i++) {
+                assert directo.obtener(i * 1024) == i && mezclado.obtener(i * 1024) == i : "Búsqueda " + i;
+                assert mezclado.obtener(i * 1024 + 1) == null : "Ausente";
+            }
+            
+            EstadisticasHash agrupada = directo.estadisticas();
+            EstadisticasHash uniforme = mezclado.estadisticas();
+            assert agrupada.getCapacidad() == uniforme.getCapacidad() : "Misma capacidad";
+            assert agrupada.getCadenaMaxima() >= 256 : "Agrupamiento detectado: " + agrupada.getCadenaMaxima();
+            assert agrupada.getRazonVacios() > 0.99 : "Casi todo vacío";
+            assert uniforme.getCadenaMaxima() <= 10 : "Cadena máxima con mezcla: " + uniforme.getCadenaMaxima();
+            assert Math.abs(uniforme.getRazonVacios() - uniforme.getRazonVaciosEsperada()) < 0.05 : "Vacíos ~ Poisson";
+            assert agrupada.getSondeosPromedio() > 100 : "Sondeos con agrupamiento";
+            assert uniforme.getConsultasMuestreadas() > 0 : "Consultas muestreadas";
+            assert uniforme.getSondeosPromedio() >= 0.5 && uniforme.getSondeosPromedio() < 3 : "Sondeos con mezcla";
+            mezclado.reiniciarSondeos();
+            assert mezclado.estadisticas().getConsultasMuestreadas() == 0 : "Reinicio de sondeos";
+            
+            // Histograma coherente también con un rehash incremental en curso (ambas tablas)
+            Diccionario<Integer, Integer> incremental = new Diccionario<>(16, 0.75f, true,
+                    Diccionario.FuncionHash.MEZCLADA);
+            int k = 0;
+            while (k < 3000 || !incremental.isRehashEnCurso()) incremental.insertar(k, k++);
+            EstadisticasHash e = incremental.estadisticas();
+            long[] histograma = e.getHistogramaCadenas();
+            long buckets = 0, nodos = 0;
+            for (int i = 0; i < histograma.length; i++) {
+                buckets += histograma[i];
+                nodos += i * histograma[i];
+            }
+            assert buckets == e.getBuckets() && e.getBuckets() > e.getCapacidad() : "Buckets de ambas tablas";
+            assert nodos == incremental.getCantidad() : "Nodos contados";
+            
+            // La instantánea conserva la función hash
+            Diccionario<Integer, Integer> copia = mezclado.instantanea();
+            mezclado.eliminar(0);
+            assert copia.getFuncionHash() == Diccionario.FuncionHash.MEZCLADA : "Función de la copia";
+            assert copia.obtener(0) == 0 && mezclado.obtener(0) == null : "Copia independiente";
+            
+            reportarExito("TDA - Salud de Diccionario (cadenas, vacíos, sondeos, fmix32)");
+        } catch (AssertionError e) {
+            reportarFallo("TDA - Salud de Diccionario", e.getMessage());
+        }
+    }
+
+    private static void testModoConcurrente() {
+        try {
+            // Cerrojo por franjas: potencia de 2, reentrante, sin pasar de compartido a exclusivo
+            util.BloqueoPorFranjas bloqueo = new util.BloqueoPorFranjas(3);
+            assert bloqueo.getCantidadFranjas() == 4 : "Franjas redondeadas a potencia de 2";
+            bloqueo.entrarCompartido();
+            bloqueo.entrarCompartido();
+            boolean rechazado = false;
+            try {
+                bloqueo.entrarExclusivo();
+            } catch (IllegalStateException e) {
+                rechazado = true;
+            }
+            assert rechazado : "Compartido -> exclusivo no permitido";
+            bloqueo.salirCompartido();
+            bloqueo.salirCompartido();
+            assert !bloqueo.tieneCompartido() : "Compartido liberado";
+            bloqueo.entrarExclusivo();
+            bloqueo.entrarCompartido();  // Quien tiene el exclusivo puede leer
+            bloqueo.entrarExclusivo();
+            bloqueo.salirExclusivo();
+            bloqueo.salirCompartido();
+            assert bloqueo.tieneExclusivo() : "Exclusivo reentrante";
+            bloqueo.salirExclusivo();
+            assert !bloqueo.tieneExclusivo() : "Exclusivo liberado";
+            
+            // Gestor: 4 usuarios siguen y dejan de seguir entre 12 clientes (pares
+            // en ambos sentidos, mucha contención) mientras uno hace altas y bajas
+            initTestDB();
+            GestorClientes gestor = new GestorClientes(TEST_DB);
+            int[] ids = new int[12];
+            for (int i = 0; i < ids.length; i++) ids[i] = gestor.agregarCliente("Concurrente" + i, 10 * i);
+            gestor.activarModoConcurrente();
+            assert gestor.isModoConcurrente() : "Modo concurrente activo";
+            
+            final int hilos = 4, iteraciones = 20_000;
+            Sesion global = Sesion.getInstancia();
+            int[] exitos = new int[hilos];
+            int[] llamadasSeguir = new int[hilos];
+            int[] acciones = new int[hilos];
+            java.util.concurrent.atomic.AtomicReference<Throwable> error = new java.util.concurrent.atomic.AtomicReference<>();
+            Thread[] usuarios = new Thread[hilos];
+            for (int h = 0; h < hilos; h++) {
+                final int hilo = h;
+                usuarios[h] = new Thread(() -> {
+                    try {
+                        Sesion.vincularAlHilo(Sesion.nueva());
+                        if (Sesion.getInstancia() == global) throw new AssertionError("Sesión propia del hilo");
+                        Sesion.getInstancia().iniciarSesion(gestor.buscarPorId(ids[hilo]));
+                        java.util.Random azar = new java.util.Random(hilo);
+                        for (int i = 0; i < iteraciones; i++) {
+                            int a = ids[azar.nextInt(ids.length)];
+                            int b = ids[azar.nextInt(ids.length)];
+                            if (azar.nextBoolean()) {
+                                llamadasSeguir[hilo]++;
+                                if (gestor.seguir(a, b)) exitos[hilo]++;
+                            } else if (gestor.dejarDeSeguir(a, b)) {
+                                exitos[hilo]++;
+                            }
+                            if (hilo == 0 && i % 1000 == 0) {
+                                int efimero = gestor.agregarCliente("Efimero", 50);
+                                llamadasSeguir[hilo]++;
+                                if (gestor.seguir(efimero, ids[0])) exitos[hilo]++;
+                                if (gestor.eliminarCliente(efimero)) exitos[hilo] += 2;  // Alta + baja
+                            }
+                        }
+                        acciones[hilo] = gestor.getCantidadAcciones();
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+                }, "usuario-test-" + h);
+                usuarios[h].start();
+            }
+            for (Thread t : usuarios) t.join(60_000);
+            for (Thread t : usuarios) assert !t.isAlive() : "Interbloqueo: " + t.getName() + " no terminó";
+            assert error.get() == null : "Error en un hilo: " + error.get();
+            
+            // Cada sesión registró solo sus propias acciones
+            for (int h = 0; h < hilos; h++) {
+                assert acciones[h] == exitos[h] : "Historial del hilo " + h + ": " + acciones[h] + " vs " + exitos[h];
+            }
+            
+            // Aristas simétricas, límite respetado e indicador exacto
+            long aristas = 0;
+            int maximoSeguidores = 0;
+            for (Cliente c : gestor.obtenerTodosLosClientes()) {
+                assert c.getCantidadSiguiendo() <= Cliente.MAX_SEGUIDOS : "Límite de seguidos";
+                aristas += c.getCantidadSiguiendo();
+                maximoSeguidores = Math.max(maximoSeguidores, c.getCantidadSeguidores());
+                for (int seguido : c.getSiguiendo()) {
+                    Cliente otro = gestor.buscarPorId(seguido);
+                    assert otro == null || otro.tieneSeguidor(c.getId()) : "Falta seguidor inverso de " + c.getId();
+                }
+                for (int seguidor : c.getSeguidores()) {
+                    assert gestor.buscarPorId(seguidor).sigueA(c.getId()) : "Seguidor sin arista " + seguidor;
+                }
+            }
+            util.RegistroMetricas<OperacionGestor> metricas = gestor.getMetricas();
+            assert metricas.getIndicador("relaciones") == aristas : "Indicador de relaciones exacto";
+            long totalSeguir = 0;
+            for (int llamadas : llamadasSeguir) totalSeguir += llamadas;
+            assert metricas.getCantidad(OperacionGestor.SEGUIR) == totalSeguir : "Llamadas sumadas de todos los hilos";
+            assert gestor.obtenerClientesMasPopulares(1)[0].getCantidadSeguidores() == maximoSeguidores
+                    : "Ranking al día";
+            assert Sesion.getInstancia() == global : "El hilo principal sigue con la sesión global";
+            
+            reportarExito("TDA - Modo concurrente (franjas, aristas atómicas, sesiones por hilo)");
+        } catch (AssertionError | InterruptedException e) {
+            reportarFallo("TDA - Modo concurrente", e.getMessage());
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════════
     // UTILIDADES DE REPORTE
     // ═══════════════════════════════════════════════════════════════════